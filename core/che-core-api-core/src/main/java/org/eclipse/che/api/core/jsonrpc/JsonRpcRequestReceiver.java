@@ -43,4 +43,14 @@ public interface JsonRpcRequestReceiver {
      *         endpoint identifier
      */
     void receive(JsonRpcRequest request, Integer endpoint);
+
+    /**
+     * Defines whether requests must be received in order they came from an endpoint.
+     * Unordered requests of an endpoint may be received concurrently.
+     *
+     * @return <code>true</code> if requests must be received in order, <code>false</code> otherwise
+     */
+    default boolean isOrdered() {
+        return true;
+    }
 }
@@ -10,8 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
-import com.google.gson.JsonParser;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcObject;
 import org.slf4j.Logger;
@@ -19,6 +19,8 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.StringReader;
 import java.util.Map;
 import java.util.Set;
 
@@ -86,9 +88,12 @@ public class BasicJsonRpcObjectValidator implements JsonRpcObjectValidator {
     private void validateJson(String message) {
         boolean error = false;
 
-        try {
-            new JsonParser().parse(message);
-        } catch (JsonSyntaxException e) {
+        // check syntax without building tree of JSON elements
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            reader.setLenient(true);
+            reader.skipValue();
+            error = reader.peek() != JsonToken.END_DOCUMENT;
+        } catch (IOException | IllegalStateException e) {
             error = true;
         }
 
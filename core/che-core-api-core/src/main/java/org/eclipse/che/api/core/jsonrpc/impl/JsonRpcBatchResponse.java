@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Collects responses to requests of JSON RPC batch, so they are sent back as a single array of responses. Responses are
+ * collected while receivers of batch requests are run, response which is transmitted later or from another thread is sent
+ * separately. Nothing is sent back if receivers don't respond, e.g. if all requests of batch are notifications.
+ */
+class JsonRpcBatchResponse {
+    private static final ThreadLocal<JsonRpcBatchResponse> CURRENT = new ThreadLocal<>();
+
+    private final Integer          endpointId;
+    private final Consumer<String> sender;
+    private final List<String>     responses;
+
+    private int pendingRequests;
+
+    /**
+     * @param endpointId
+     *         endpoint which sent batch
+     * @param requests
+     *         number of requests of batch which are received
+     * @param sender
+     *         sends array of responses to endpoint
+     */
+    JsonRpcBatchResponse(Integer endpointId, int requests, Consumer<String> sender) {
+        this.endpointId = endpointId;
+        this.pendingRequests = requests;
+        this.sender = sender;
+        this.responses = new ArrayList<>(requests);
+    }
+
+    /**
+     * Adds response to the batch which request is received by the current thread.
+     *
+     * @return {@code true} if response is added to batch and {@code false} if it should be sent separately
+     */
+    static boolean collect(JsonRpcResponse response, Integer endpointId) {
+        final JsonRpcBatchResponse batch = CURRENT.get();
+        if (batch == null || !Objects.equals(batch.endpointId, endpointId)) {
+            return false;
+        }
+        batch.add(response.toString());
+        return true;
+    }
+
+    /** Runs receiver of batch request, responses which are transmitted by receiver on the current thread go to this batch. */
+    void receive(Runnable receiver) {
+        CURRENT.set(this);
+        try {
+            receiver.run();
+        } finally {
+            CURRENT.remove();
+            requestReceived();
+        }
+    }
+
+    private synchronized void add(String response) {
+        responses.add(response);
+    }
+
+    private void requestReceived() {
+        final String message;
+        synchronized (this) {
+            if (--pendingRequests > 0 || responses.isEmpty()) {
+                return;
+            }
+            message = '[' + String.join(",", responses) + ']';
+        }
+        sender.accept(message);
+    }
+}
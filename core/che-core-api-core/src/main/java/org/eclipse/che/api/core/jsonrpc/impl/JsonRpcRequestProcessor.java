@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs processing of JSON RPC requests on a pool of worker threads instead of I/O
+ * threads of WEB SOCKET container. Ordered tasks of the same endpoint are run one
+ * by one in order they were submitted, tasks of different endpoints and unordered
+ * tasks are run in parallel.
+ * <p/>
+ * Number of ordered tasks waiting for their turn is limited for each endpoint, tasks
+ * over the limit are rejected, so an endpoint that sends requests faster than they are
+ * processed can't exhaust memory.
+ * <p/>
+ * Receivers are expected not to block for long. A blocked task holds a worker thread,
+ * so as many blocked endpoints as there are workers stall processing of requests of all
+ * endpoints. If receivers may block, pool size should be greater than the number of
+ * endpoints expected to block at once.
+ */
+@Singleton
+public class JsonRpcRequestProcessor {
+    private static final Logger LOG = LoggerFactory.getLogger(JsonRpcRequestProcessor.class);
+
+    private static final int DEFAULT_MAX_QUEUED_TASKS = 1000;
+
+    private final ExecutorService                              executor;
+    private final ConcurrentMap<Integer, ArrayDeque<Runnable>> endpointQueues;
+    private final int                                          maxQueuedTasks;
+
+    public JsonRpcRequestProcessor(int poolSize) {
+        this(poolSize, DEFAULT_MAX_QUEUED_TASKS);
+    }
+
+    @Inject
+    public JsonRpcRequestProcessor(@Named("che.core.jsonrpc.processor_pool_size") int poolSize,
+                                   @Named("che.core.jsonrpc.processor_max_queued_tasks") int maxQueuedTasks) {
+        this.maxQueuedTasks = maxQueuedTasks;
+        this.executor = Executors.newFixedThreadPool(poolSize, new ThreadFactoryBuilder().setNameFormat("JsonRpcRequestProcessor-%d")
+                                                                                         .setDaemon(true)
+                                                                                         .build());
+        this.endpointQueues = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Runs task on a worker thread.
+     *
+     * @param endpointId
+     *         endpoint identifier
+     * @param ordered
+     *         whether the task must not be run before ordered tasks of the same endpoint submitted earlier are done
+     * @param task
+     *         task to run
+     * @return {@code false} if task is rejected because processor is stopped or too many ordered tasks of the endpoint are waiting,
+     * {@code true} otherwise
+     */
+    public boolean process(Integer endpointId, boolean ordered, Runnable task) {
+        if (!ordered) {
+            return execute(task);
+        }
+        final boolean[] accepted = {true};
+        final boolean[] full = {false};
+        // presence of the queue means that its tasks are being run, the head of the queue is the running task
+        endpointQueues.compute(endpointId, (id, queue) -> {
+            if (queue == null) {
+                final ArrayDeque<Runnable> newQueue = new ArrayDeque<>();
+                newQueue.add(task);
+                accepted[0] = execute(() -> drain(id, task));
+                return accepted[0] ? newQueue : null;
+            }
+            if (queue.size() > maxQueuedTasks) {
+                accepted[0] = false;
+                full[0] = true;
+                return queue;
+            }
+            queue.add(task);
+            return queue;
+        });
+        if (full[0]) {
+            LOG.warn("Too many json rpc requests of endpoint {} are waiting, request is rejected", endpointId);
+        }
+        return accepted[0];
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void drain(Integer endpointId, Runnable first) {
+        final Runnable[] next = {first};
+        while (next[0] != null) {
+            run(next[0]);
+            endpointQueues.computeIfPresent(endpointId, (id, queue) -> {
+                queue.poll();
+                next[0] = queue.peek();
+                return queue.isEmpty() ? null : queue;
+            });
+        }
+    }
+
+    private boolean execute(Runnable task) {
+        try {
+            executor.execute(() -> run(task));
+            return true;
+        } catch (RejectedExecutionException e) {
+            LOG.error("Json rpc request processor is stopped, request is rejected");
+            return false;
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            LOG.error("Error while processing json rpc request", e);
+        }
+    }
+}
@@ -10,6 +10,13 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.jsonrpc.impl;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
 import org.eclipse.che.api.core.jsonrpc.JsonRpcRequestReceiver;
 import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcRequest;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -18,16 +25,18 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Dispatches JSON RPC requests among all registered implementations of {@link JsonRpcRequestReceiver}
- * according to their method names.
+ * according to their method names. Only method name is read from the message to find receiver, so
+ * messages without receivers are not bound to DTO. Receivers are run by {@link JsonRpcRequestProcessor}.
+ * Message may be a batch, i.e. an array of requests, responses to batch requests are sent back in one
+ * array, see {@link JsonRpcBatchResponse}.
  *
  * @author Dmitry Kuleshov
  */
@@ -36,24 +45,95 @@ public class WebSocketJsonRpcRequestDispatcher implements JsonRpcDispatcher {
     private static final Logger LOG = LoggerFactory.getLogger(WebSocketJsonRpcRequestDispatcher.class);
 
     private final Map<String, JsonRpcRequestReceiver> receivers;
+    private final JsonRpcRequestProcessor             processor;
+    private final WebSocketJsonRpcTransmitter         transmitter;
 
     @Inject
-    public WebSocketJsonRpcRequestDispatcher(Map<String, JsonRpcRequestReceiver> receivers) {
+    public WebSocketJsonRpcRequestDispatcher(Map<String, JsonRpcRequestReceiver> receivers,
+                                             JsonRpcRequestProcessor processor,
+                                             WebSocketJsonRpcTransmitter transmitter) {
         this.receivers = receivers;
+        this.processor = processor;
+        this.transmitter = transmitter;
     }
 
     @Override
     public void dispatch(String message, Integer endpointId) {
-        final JsonRpcRequest request = DtoFactory.getInstance().createDtoFromJson(message, JsonRpcRequest.class);
-        final String method = request.getMethod();
-
-        for (Entry<String, JsonRpcRequestReceiver> entry : receivers.entrySet()) {
-            final String candidate = entry.getKey();
-            if (Objects.equals(candidate, method)) {
-                final JsonRpcRequestReceiver receiver = entry.getValue();
-                LOG.debug("Matching json rpc request receiver: {}", receiver.getClass());
-                receiver.receive(request, endpointId);
+        if (isBatch(message)) {
+            dispatchBatch(new JsonParser().parse(message).getAsJsonArray(), endpointId);
+        } else {
+            final JsonRpcRequestReceiver receiver = getReceiver(readMethod(message));
+            if (receiver != null) {
+                final JsonRpcRequest request = DtoFactory.getInstance().createDtoFromJson(message, JsonRpcRequest.class);
+                processor.process(endpointId, receiver.isOrdered(), () -> receiver.receive(request, endpointId));
+            }
+        }
+    }
+
+    private void dispatchBatch(JsonArray batch, Integer endpointId) {
+        final List<JsonRpcRequest> requests = new ArrayList<>(batch.size());
+        final List<JsonRpcRequestReceiver> requestReceivers = new ArrayList<>(batch.size());
+        for (JsonElement element : batch) {
+            final JsonElement methodElement = element.isJsonObject() ? element.getAsJsonObject().get("method") : null;
+            final String method = methodElement != null && methodElement.isJsonPrimitive() ? methodElement.getAsString() : null;
+            final JsonRpcRequestReceiver receiver = getReceiver(method);
+            if (receiver != null) {
+                requests.add(DtoFactory.getInstance().createDtoFromJson(element, JsonRpcRequest.class));
+                requestReceivers.add(receiver);
+            }
+        }
+        if (requests.isEmpty()) {
+            return;
+        }
+        final JsonRpcBatchResponse batchResponse = new JsonRpcBatchResponse(endpointId,
+                                                                            requests.size(),
+                                                                            responses -> transmitter.transmit("response",
+                                                                                                              responses,
+                                                                                                              endpointId));
+        for (int i = 0; i < requests.size(); i++) {
+            final JsonRpcRequest request = requests.get(i);
+            final JsonRpcRequestReceiver receiver = requestReceivers.get(i);
+            final Runnable task = () -> batchResponse.receive(() -> receiver.receive(request, endpointId));
+            if (!processor.process(endpointId, receiver.isOrdered(), task)) {
+                // rejected request is counted as received, so responses to the rest of batch are still sent
+                batchResponse.receive(() -> {});
+            }
+        }
+    }
+
+    private JsonRpcRequestReceiver getReceiver(String method) {
+        final JsonRpcRequestReceiver receiver = method == null ? null : receivers.get(method);
+        if (receiver == null) {
+            LOG.debug("No json rpc request receiver for method: {}", method);
+        } else {
+            LOG.debug("Matching json rpc request receiver: {}", receiver.getClass());
+        }
+        return receiver;
+    }
+
+    private static boolean isBatch(String message) {
+        for (int i = 0; i < message.length(); i++) {
+            final char c = message.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '[';
+            }
+        }
+        return false;
+    }
+
+    /** Reads only method of request skipping other values, nested values are not parsed. */
+    private static String readMethod(String message) {
+        try (JsonReader reader = new JsonReader(new StringReader(message))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("method".equals(reader.nextName()) && reader.peek() != JsonToken.NULL) {
+                    return reader.nextString();
+                }
+                reader.skipValue();
             }
+            return null;
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonSyntaxException(e);
         }
     }
 }
@@ -46,6 +46,10 @@ public class WebSocketJsonRpcResponseTransmitter implements JsonRpcResponseTrans
     }
 
     private void internalTransmit(JsonRpcResponse response, Integer endpointId) {
+        if (JsonRpcBatchResponse.collect(response, endpointId)) {
+            LOG.debug("Response is added to batch\n {}", response);
+            return;
+        }
         LOG.debug("Transmitting a response\n {}", response);
 
         if (endpointId == null) {
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Delivers events to {@link AsyncEventSubscriber} through its partitioned bounded queue. Each partition is drained by at most one
+ * thread of executor at a time, so events of the same partition are delivered in order they were published.
+ */
+class AsyncEventDelivery {
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncEventDelivery.class);
+
+    /** Max number of events delivered in one run of partition, to let other partitions use threads of executor. */
+    private static final int BATCH_SIZE = 64;
+
+    /** Partition which is drained by the current thread, used to avoid deadlock when subscribers publish events themselves. */
+    private static final ThreadLocal<Partition> DRAINING = new ThreadLocal<>();
+
+    private final AsyncEventSubscriber<Object>        subscriber;
+    private final Executor                            executor;
+    private final AsyncEventSubscriber.OverflowPolicy overflowPolicy;
+    private final int                                 capacity;
+    private final Partition[]                         partitions;
+    private final AtomicLong                          delivered;
+    private final AtomicLong                          dropped;
+    private final AtomicLong                          totalLatency;
+    private final AtomicLong                          maxLatency;
+
+    @SuppressWarnings("unchecked")
+    AsyncEventDelivery(AsyncEventSubscriber<?> subscriber, Executor executor) {
+        this.subscriber = (AsyncEventSubscriber<Object>)subscriber;
+        this.executor = executor;
+        this.overflowPolicy = subscriber.getOverflowPolicy();
+        this.capacity = Math.max(subscriber.getQueueCapacity(), 1);
+        this.partitions = new Partition[Math.max(subscriber.getPartitions(), 1)];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new Partition();
+        }
+        delivered = new AtomicLong();
+        dropped = new AtomicLong();
+        totalLatency = new AtomicLong();
+        maxLatency = new AtomicLong();
+    }
+
+    /**
+     * Puts event to the queue of subscriber, may block if queue is full and subscriber uses {@code BLOCK} overflow policy. Threads that
+     * deliver events never block.
+     */
+    void offer(Object event) {
+        final Object key = subscriber.getEventKey(event);
+        final Partition partition = key == null ? partitions[0] : partitions[(key.hashCode() & 0x7FFFFFFF) % partitions.length];
+        partition.offer(new PendingEvent(event, key));
+    }
+
+    /** Drops pending events and releases publishers blocked on full queue, called when executor is shut down. */
+    void stop() {
+        for (Partition partition : partitions) {
+            partition.stop();
+        }
+    }
+
+    EventDeliveryStatistics getStatistics() {
+        int depth = 0;
+        for (Partition partition : partitions) {
+            depth += partition.size();
+        }
+        return new EventDeliveryStatistics(depth, delivered.get(), dropped.get(), totalLatency.get(), maxLatency.get());
+    }
+
+    private void deliver(PendingEvent pending) {
+        try {
+            LOG.debug("Publish event {} for {}", pending.event, subscriber);
+            subscriber.onEvent(pending.event);
+        } catch (RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+        }
+        final long latency = System.nanoTime() - pending.published;
+        delivered.incrementAndGet();
+        totalLatency.addAndGet(latency);
+        long max;
+        while (latency > (max = maxLatency.get()) && !maxLatency.compareAndSet(max, latency)) {
+            // retry until max latency is updated
+        }
+    }
+
+    private class Partition implements Runnable {
+        private final ReentrantLock            lock    = new ReentrantLock();
+        private final Condition                notFull = lock.newCondition();
+        private final ArrayDeque<PendingEvent> queue   = new ArrayDeque<>();
+
+        private boolean scheduled;
+        private boolean stopped;
+
+        void offer(PendingEvent pending) {
+            lock.lock();
+            try {
+                if (stopped) {
+                    LOG.debug("Unable deliver event {} to {}, event service is stopped", pending.event, subscriber);
+                    return;
+                }
+                if (queue.size() >= capacity && !handleOverflow(pending)) {
+                    return;
+                }
+                queue.add(pending);
+                if (!scheduled) {
+                    scheduled = true;
+                    schedule();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void stop() {
+            lock.lock();
+            try {
+                if (!stopped) {
+                    stopped = true;
+                    clear();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return queue.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            DRAINING.set(this);
+            try {
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    final PendingEvent pending;
+                    lock.lock();
+                    try {
+                        pending = queue.poll();
+                        if (pending == null) {
+                            scheduled = false;
+                            return;
+                        }
+                        notFull.signal();
+                    } finally {
+                        lock.unlock();
+                    }
+                    deliver(pending);
+                }
+            } finally {
+                DRAINING.remove();
+            }
+            lock.lock();
+            try {
+                if (queue.isEmpty()) {
+                    scheduled = false;
+                } else {
+                    schedule();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Makes room for new event according to overflow policy. Must be called with lock held.
+         *
+         * @return {@code true} if new event should be added to the queue and {@code false} if it replaced pending event or delivery
+         * is stopped while waiting for room
+         */
+        private boolean handleOverflow(PendingEvent pending) {
+            switch (overflowPolicy) {
+                case COALESCE_BY_KEY:
+                    if (pending.key != null) {
+                        for (PendingEvent queued : queue) {
+                            if (Objects.equals(queued.key, pending.key)) {
+                                queued.event = pending.event;
+                                dropped.incrementAndGet();
+                                return false;
+                            }
+                        }
+                    }
+                    dropOldest();
+                    return true;
+                case DROP_OLDEST:
+                    dropOldest();
+                    return true;
+                default:
+                    if (DRAINING.get() != null) {
+                        // event is published by asynchronous subscriber, it might wait for partition that waits for this one
+                        return true;
+                    }
+                    try {
+                        // stopped delivery is never drained, publisher gives up waiting instead of hanging
+                        while (queue.size() >= capacity && !stopped) {
+                            notFull.await();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return !stopped;
+            }
+        }
+
+        private void dropOldest() {
+            final PendingEvent oldest = queue.poll();
+            if (oldest != null) {
+                LOG.debug("Queue of {} is full, dropping event {}", subscriber, oldest.event);
+                dropped.incrementAndGet();
+            }
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                stopped = true;
+                clear();
+            }
+        }
+
+        /** Drops pending events and wakes up publishers waiting for room. Must be called with lock held. */
+        private void clear() {
+            if (!queue.isEmpty()) {
+                LOG.warn("Unable deliver {} events to {}, event service is stopped", queue.size(), subscriber);
+                dropped.addAndGet(queue.size());
+                queue.clear();
+            }
+            scheduled = false;
+            notFull.signalAll();
+        }
+    }
+
+    private static class PendingEvent {
+        final Object key;
+        final long   published;
+
+        Object event;
+
+        PendingEvent(Object event, Object key) {
+            this.event = event;
+            this.key = key;
+            this.published = System.nanoTime();
+        }
+    }
+}
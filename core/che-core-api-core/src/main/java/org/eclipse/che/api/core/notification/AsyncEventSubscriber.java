@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Subscriber which receives events asynchronously. {@link EventService} doesn't call it on the publisher's thread but puts
+ * events to bounded queue of the subscriber, the queue is drained by threads of executor shared between all asynchronous
+ * subscribers. So slow subscriber doesn't delay publishers and other subscribers.
+ * <p/>
+ * Queue of subscriber may be split into a few partitions which are drained in parallel. Partition of event is selected by
+ * its {@link #getEventKey(Object) key}, events with the same key are always delivered in order they were published.
+ *
+ * @see EventService#getDeliveryStatistics()
+ */
+public interface AsyncEventSubscriber<T> extends EventSubscriber<T> {
+    /** Defines what to do when event is published but queue of subscriber is full. */
+    enum OverflowPolicy {
+        /**
+         * Publisher waits until there is room in the queue. Events published by asynchronous subscribers are queued without
+         * waiting, even if queue is full, otherwise subscribers which publish events to each other might deadlock.
+         */
+        BLOCK,
+        /** The oldest pending event is dropped. */
+        DROP_OLDEST,
+        /** Pending event with the same key is replaced with the new one, if there is no such event the oldest one is dropped. */
+        COALESCE_BY_KEY
+    }
+
+    /** Returns max number of pending events in each partition of the queue. */
+    default int getQueueCapacity() {
+        return 1000;
+    }
+
+    /** Returns number of partitions of the queue, events of different partitions may be delivered in parallel. */
+    default int getPartitions() {
+        return 1;
+    }
+
+    default OverflowPolicy getOverflowPolicy() {
+        return OverflowPolicy.BLOCK;
+    }
+
+    /**
+     * Returns key of event which is used for selection of partition and for coalescing of events. Called on the publisher's
+     * thread, should be fast.
+     *
+     * @return key of event or {@code null} if event has no key, such events go to the first partition and are never coalesced
+     */
+    default Object getEventKey(T event) {
+        return null;
+    }
+}
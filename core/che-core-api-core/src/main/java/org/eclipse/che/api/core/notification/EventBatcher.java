@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiConsumer;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Groups events with the same key in batches. Batch is sent when it reaches max size or when batch window passes
+ * after its first event. All batches are sent by single thread and each sending takes all batches of the key which
+ * are collected so far, so events of the same key are sent in order they were added.
+ *
+ * @param <K>
+ *         type of key of batch, e.g. channel which events are sent to
+ */
+class EventBatcher<K> {
+    private static final Logger LOG = LoggerFactory.getLogger(EventBatcher.class);
+
+    private final int                         maxBatchSize;
+    private final long                        windowMillis;
+    private final BiConsumer<K, List<Object>> sender;
+    private final Map<K, Deque<List<Object>>> batches;
+    private final ScheduledExecutorService    flusher;
+
+    /**
+     * @param name
+     *         name of the thread which sends batches
+     * @param maxBatchSize
+     *         max number of events in batch
+     * @param windowMillis
+     *         time during which events are collected in batch before it is sent
+     * @param sender
+     *         sends batch of events with given key
+     */
+    EventBatcher(String name, int maxBatchSize, long windowMillis, BiConsumer<K, List<Object>> sender) {
+        this.maxBatchSize = maxBatchSize;
+        this.windowMillis = windowMillis;
+        this.sender = sender;
+        this.batches = new HashMap<>();
+        this.flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat(name)
+                                                                                            .setDaemon(true)
+                                                                                            .build());
+    }
+
+    /** Adds event to the current batch of the key. */
+    void add(K key, Object event) {
+        synchronized (batches) {
+            final Deque<List<Object>> keyBatches = batches.computeIfAbsent(key, k -> new ArrayDeque<>());
+            List<Object> batch = keyBatches.peekLast();
+            if (batch == null || batch.size() == maxBatchSize) {
+                keyBatches.add(batch = new ArrayList<>());
+            }
+            batch.add(event);
+            try {
+                if (batch.size() == 1 && keyBatches.size() == 1) {
+                    flusher.schedule(() -> flush(key), windowMillis, MILLISECONDS);
+                } else if (batch.size() == maxBatchSize) {
+                    flusher.execute(() -> flush(key));
+                }
+            } catch (RejectedExecutionException e) {
+                LOG.debug("Batcher is stopped, event {} is not sent", event);
+                batches.remove(key);
+            }
+        }
+    }
+
+    /** Stops sending of batches, events which are not sent yet are dropped. */
+    void stop() {
+        flusher.shutdownNow();
+        synchronized (batches) {
+            batches.clear();
+        }
+    }
+
+    private void flush(K key) {
+        final Deque<List<Object>> keyBatches;
+        synchronized (batches) {
+            keyBatches = batches.remove(key);
+        }
+        if (keyBatches == null) {
+            return;
+        }
+        for (List<Object> batch : keyBatches) {
+            try {
+                sender.accept(key, batch);
+            } catch (RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Snapshot of delivery statistics of {@link AsyncEventSubscriber}.
+ */
+public final class EventDeliveryStatistics {
+    private final int  queueDepth;
+    private final long delivered;
+    private final long dropped;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+
+    EventDeliveryStatistics(int queueDepth, long delivered, long dropped, long totalLatencyNanos, long maxLatencyNanos) {
+        this.queueDepth = queueDepth;
+        this.delivered = delivered;
+        this.dropped = dropped;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+    }
+
+    /** Returns number of events which are waiting for delivery. */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /** Returns number of events delivered to subscriber. */
+    public long getDelivered() {
+        return delivered;
+    }
+
+    /** Returns number of events dropped or coalesced because of overflow of the queue. */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /** Returns average time between publishing of event and its delivery to subscriber in nanoseconds. */
+    public long getAverageLatencyNanos() {
+        return delivered == 0 ? 0 : totalLatencyNanos / delivered;
+    }
+
+    /** Returns max time between publishing of event and its delivery to subscriber in nanoseconds. */
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "EventDeliveryStatistics{" +
+               "queueDepth=" + queueDepth +
+               ", delivered=" + delivered +
+               ", dropped=" + dropped +
+               ", averageLatencyNanos=" + getAverageLatencyNanos() +
+               ", maxLatencyNanos=" + maxLatencyNanos +
+               '}';
+    }
+}
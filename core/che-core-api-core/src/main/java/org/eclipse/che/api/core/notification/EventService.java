@@ -13,20 +13,26 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Dispatchers events to listeners. Usage example:
@@ -40,6 +46,8 @@ import java.util.concurrent.CopyOnWriteArraySet;
  *     });
  *     bus.publish(new MyEvent());
  * </pre>
+ * Subscribers are called on the publisher's thread, except of {@link AsyncEventSubscriber}s which receive events
+ * through their own bounded queues drained by threads of executor shared between all asynchronous subscribers.
  *
  * @author andrew00x
  */
@@ -51,12 +59,18 @@ public class EventService {
     private static final int CACHE_MASK = CACHE_NUM - 1;
     private static final int SEG_SIZE   = 32;
 
-    private final LoadingCache<Class<?>, Set<Class<?>>>[]       typeCache;
-    private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+    private final LoadingCache<Class<?>, Set<Class<?>>>[]                    typeCache;
+    private final ConcurrentMap<Class<?>, Set<EventSubscriber>>              subscribersByEventType;
+    private final ConcurrentMap<AsyncEventSubscriber<?>, AsyncEventDelivery> deliveries;
+    private final ExecutorService                                            executor;
 
     @SuppressWarnings("unchecked")
     public EventService() {
         subscribersByEventType = new ConcurrentHashMap<>();
+        deliveries = new ConcurrentHashMap<>();
+        executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("EventService-%d")
+                                                                           .setDaemon(true)
+                                                                           .build());
         typeCache = new LoadingCache[CACHE_NUM];
         for (int i = 0; i < CACHE_NUM; i++) {
             typeCache[i] = CacheBuilder.newBuilder().concurrencyLevel(SEG_SIZE).build(
@@ -100,6 +114,14 @@ public class EventService {
             final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
             if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
                 for (EventSubscriber eventSubscriber : eventSubscribers) {
+                    if (eventSubscriber instanceof AsyncEventSubscriber) {
+                        final AsyncEventDelivery delivery = deliveries.get(eventSubscriber);
+                        // no delivery if subscriber is unsubscribed concurrently, it must not be called on the publisher's thread
+                        if (delivery != null) {
+                            delivery.offer(event);
+                        }
+                        continue;
+                    }
                     try {
                         LOG.debug("Publish event {} for {}", event, eventSubscriber);
                         eventSubscriber.onEvent(event);
@@ -134,7 +156,33 @@ public class EventService {
         doSubscribe(subscriber, eventType);
     }
 
+    /**
+     * Returns delivery statistics of subscribed {@link AsyncEventSubscriber}s.
+     *
+     * @return statistics mapped to subscribers
+     */
+    public Map<AsyncEventSubscriber<?>, EventDeliveryStatistics> getDeliveryStatistics() {
+        final Map<AsyncEventSubscriber<?>, EventDeliveryStatistics> statistics = new HashMap<>();
+        for (Map.Entry<AsyncEventSubscriber<?>, AsyncEventDelivery> entry : deliveries.entrySet()) {
+            statistics.put(entry.getKey(), entry.getValue().getStatistics());
+        }
+        return statistics;
+    }
+
+    /** Stops delivery of events to asynchronous subscribers, events which are not delivered yet are discarded. */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        // queued drains are dropped by shutdownNow, so publishers blocked on full queues must be released explicitly
+        for (AsyncEventDelivery delivery : deliveries.values()) {
+            delivery.stop();
+        }
+    }
+
     private void doSubscribe(EventSubscriber<?> subscriber, Class<?> eventType) {
+        if (subscriber instanceof AsyncEventSubscriber) {
+            deliveries.computeIfAbsent((AsyncEventSubscriber<?>)subscriber, s -> new AsyncEventDelivery(s, executor));
+        }
         Set<EventSubscriber> entries = subscribersByEventType.get(eventType);
         if (entries == null) {
             Set<EventSubscriber> newEntries = new CopyOnWriteArraySet<>();
@@ -169,6 +217,10 @@ public class EventService {
                 if (entries.isEmpty()) {
                     subscribersByEventType.remove(eventType);
                 }
+                if (subscriber instanceof AsyncEventSubscriber
+                    && subscribersByEventType.values().stream().noneMatch(subscribers -> subscribers.contains(subscriber))) {
+                    deliveries.remove(subscriber);
+                }
             }
         }
     }
@@ -181,7 +233,7 @@ public class EventService {
                 if (type instanceof ParameterizedType) {
                     final ParameterizedType parameterizedType = (ParameterizedType)type;
                     final Type rawType = parameterizedType.getRawType();
-                    if (EventSubscriber.class == rawType) {
+                    if (EventSubscriber.class == rawType || AsyncEventSubscriber.class == rawType) {
                         final Type[] typeArguments = parameterizedType.getActualTypeArguments();
                         if (typeArguments.length == 1) {
                             if (typeArguments[0] instanceof Class) {
@@ -25,6 +25,10 @@ import org.everrest.websockets.message.RestOutputMessage;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.MediaType;
@@ -33,17 +37,39 @@ import javax.ws.rs.core.MediaType;
  * @author andrew00x
  */
 class Messages {
+    /** Path of resource of {@link WSocketEventBusServer} which accepts batches of events. */
+    static final String BATCH_PATH           = "/event-bus/batch";
+    /** Suffix of channel which gets batches of events of the channel, such channels are used only by clients which know batches. */
+    static final String BATCH_CHANNEL_SUFFIX = ":batch";
+
     static RestInputMessage clientMessage(Object event) throws Exception {
+        return clientMessage("/event-bus", toJson(event));
+    }
+
+    /**
+     * Creates message which delivers all {@code events} at once, body of the message is JSON array of events. Message with empty
+     * array is used to check whether server accepts batches, server which doesn't know batches responds with error.
+     */
+    static RestInputMessage batchClientMessage(List<?> events) throws Exception {
+        return clientMessage(BATCH_PATH, toJsonArray(events));
+    }
+
+    private static RestInputMessage clientMessage(String path, String body) {
         RestInputMessage message = new RestInputMessage();
-        message.setBody(toJson(event));
+        message.setBody(body);
         message.setMethod(HttpMethod.POST);
         message.setHeaders(new org.everrest.websockets.message.Pair[]{
                 new org.everrest.websockets.message.Pair("Content-type", MediaType.APPLICATION_JSON)});
         message.setUuid(NameGenerator.generate(null, 8));
-        message.setPath("/event-bus");
+        message.setPath(path);
         return message;
     }
 
+    /** Returns name of channel which gets batches of events of the {@code channel}. */
+    static String batchChannel(String channel) {
+        return channel + BATCH_CHANNEL_SUFFIX;
+    }
+
     static InputMessage subscribeChannelMessage(String channel) throws Exception {
         return RestInputMessage.newSubscribeChannelMessage(NameGenerator.generate(null, 8), channel);
     }
@@ -55,15 +81,22 @@ class Messages {
         return message;
     }
 
-    static Object restoreEventFromBroadcastMessage(RestOutputMessage message) throws Exception {
-        return fromJson(message.getBody());
+    /** Creates message which delivers all {@code events} to subscribers of the channel at once, body of the message is JSON array. */
+    static ChannelBroadcastMessage broadcastMessage(String channel, List<?> events) throws Exception {
+        final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+        message.setBody(toJsonArray(events));
+        message.setChannel(channel);
+        return message;
     }
 
-    static Object restoreEventFromClientMessage(String message) throws Exception {
-        if (message != null) {
-            return fromJson(message);
-        }
-        return null;
+    /** Restores events from broadcast message which contains a single event or an array of events. */
+    static List<Object> restoreEventsFromBroadcastMessage(RestOutputMessage message) throws Exception {
+        return fromJsonList(message.getBody());
+    }
+
+    /** Restores events from message which contains a single event or an array of events. */
+    static List<Object> restoreEventsFromClientMessage(String message) throws Exception {
+        return fromJsonList(message);
     }
 
     private static String toJson(Object event) throws Exception {
@@ -75,13 +108,42 @@ class Messages {
         return w.toString();
     }
 
-    private static Object fromJson(String json) throws Exception {
+    private static String toJsonArray(List<?> events) throws Exception {
+        final StringBuilder json = new StringBuilder().append('[');
+        for (Object event : events) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append(toJson(event));
+        }
+        return json.append(']').toString();
+    }
+
+    private static List<Object> fromJsonList(String json) throws Exception {
         if (json == null || json.isEmpty()) {
-            return null;
+            return Collections.emptyList();
         }
         final JsonParser parser = new JsonParser();
         parser.parse(new StringReader(json));
-        final JsonValue node = parser.getJsonObject();
+        final JsonValue root = parser.getJsonObject();
+        final List<Object> events = new ArrayList<>();
+        if (root.isArray()) {
+            for (Iterator<JsonValue> it = root.getElements(); it.hasNext(); ) {
+                final Object event = fromJson(it.next());
+                if (event != null) {
+                    events.add(event);
+                }
+            }
+        } else {
+            final Object event = fromJson(root);
+            if (event != null) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    private static Object fromJson(JsonValue node) throws Exception {
         final JsonValue typeNode = node.getElement("$type");
         final String type;
         if (typeNode == null || (type = typeNode.getStringValue()) == null) {
@@ -17,6 +17,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.everrest.websockets.client.BaseClientMessageListener;
 import org.everrest.websockets.client.WSClient;
 import org.everrest.websockets.message.JsonMessageConverter;
+import org.everrest.websockets.message.RestInputMessage;
 import org.everrest.websockets.message.RestOutputMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,9 +33,11 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,10 +47,18 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Receives event over websocket and publish them to the local EventsService.
+ * <p/>
+ * Events which should be propagated to remote event services are collected during short time window and sent
+ * to each connection with one message. Batches are used only with servers which accept them, this is checked
+ * with request of empty batch when connection is opened, other servers get events one by one. Servers which
+ * accept batches also broadcast batches of events, so client subscribes to batch channels of such servers,
+ * see {@link Messages#batchChannel(String)}. Connection which can't be established or is lost is retried with
+ * exponentially growing delay.
  *
  * @author andrew00x
  */
@@ -57,14 +68,23 @@ public final class WSocketEventBusClient {
 
     private static final long WS_CONNECTION_TIMEOUT = 2;
 
+    /** Max number of events sent with one message. */
+    private static final int  MAX_BATCH_SIZE             = 100;
+    /** Time during which events are collected before they are sent. */
+    private static final long BATCH_WINDOW_MILLIS        = 50;
+    private static final long MIN_RECONNECT_DELAY_MILLIS = 1000;
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 60 * 1000;
+
     private final EventService                         eventService;
     private final Pair<String, String>[]               eventSubscriptions;
     private final ClientEventPropagationPolicy         policy;
     private final JsonMessageConverter                 messageConverter;
     private final ConcurrentMap<URI, Future<WSClient>> connections;
     private final AtomicBoolean                        start;
+    private final Set<URI>                             batchingServers;
 
-    private ExecutorService executor;
+    private ExecutorService   executor;
+    private EventBatcher<URI> batcher;
 
     @Inject
     public WSocketEventBusClient(EventService eventService,
@@ -77,12 +97,14 @@ public final class WSocketEventBusClient {
         messageConverter = new JsonMessageConverter();
         connections = new ConcurrentHashMap<>();
         start = new AtomicBoolean(false);
+        batchingServers = ConcurrentHashMap.newKeySet();
     }
 
     @PostConstruct
     void start() {
         if (start.compareAndSet(false, true)) {
             if (policy != null) {
+                batcher = new EventBatcher<>("WSocketEventBusClientFlusher", MAX_BATCH_SIZE, BATCH_WINDOW_MILLIS, this::sendBatch);
                 eventService.subscribe(new EventSubscriber<Object>() {
                     @Override
                     public void onEvent(Object event) {
@@ -117,12 +139,21 @@ public final class WSocketEventBusClient {
         }
     }
 
+    /**
+     * Sends event to each connected server which should get it. Server which accepts batches gets event with the current batch,
+     * batch is sent when it reaches {@link #MAX_BATCH_SIZE} events or when {@link #BATCH_WINDOW_MILLIS} pass after its first
+     * event. Batches are always sent by single thread, so events reach remote event services in order they were published.
+     */
     protected void propagate(Object event) {
-        connections.values().stream().filter(future -> future.isDone()).forEach(future -> {
+        connections.entrySet().stream().filter(entry -> entry.getValue().isDone()).forEach(entry -> {
             try {
-                final WSClient client = future.get();
+                final WSClient client = entry.getValue().get();
                 if (policy != null && policy.shouldPropagated(client.getServerUri(), event)) {
-                    client.send(messageConverter.toString(Messages.clientMessage(event)));
+                    if (batchingServers.contains(entry.getKey())) {
+                        batcher.add(entry.getKey(), event);
+                    } else {
+                        client.send(messageConverter.toString(Messages.clientMessage(event)));
+                    }
                 }
             } catch (Exception e) {
                 LOG.error(e.getMessage(), e);
@@ -132,8 +163,26 @@ public final class WSocketEventBusClient {
 
     @PreDestroy
     void stop() {
-        if (start.compareAndSet(true, false) && executor != null) {
-            executor.shutdownNow();
+        if (start.compareAndSet(true, false)) {
+            if (batcher != null) {
+                batcher.stop();
+            }
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void sendBatch(URI wsUri, List<Object> events) {
+        final Future<WSClient> clientFuture = connections.get(wsUri);
+        if (clientFuture == null || !clientFuture.isDone()) {
+            LOG.debug("Connection to {} is lost, {} events are not propagated", wsUri, events.size());
+            return;
+        }
+        try {
+            clientFuture.get().send(messageConverter.toString(Messages.batchClientMessage(events)));
+        } catch (Exception e) {
+            LOG.error(e.getMessage(), e);
         }
     }
 
@@ -180,15 +229,21 @@ public final class WSocketEventBusClient {
     private class WSocketListener extends BaseClientMessageListener {
         final URI         wsUri;
         final Set<String> channels;
+        final Set<String> subscribedChannels;
+
+        volatile WSClient client;
+        volatile String   batchProbeUuid;
 
         WSocketListener(URI wsUri, Collection<String> channels) {
             this.wsUri = wsUri;
             this.channels = new HashSet<>(channels);
+            this.subscribedChannels = ConcurrentHashMap.newKeySet();
         }
 
         @Override
         public void onClose(int status, String message) {
             connections.remove(wsUri);
+            batchingServers.remove(wsUri);
             LOG.info("Close connection to {} with status {} message {}. ", wsUri, status, message);
             LOG.info("Init connection task {}", wsUri);
             if (start.get()) {
@@ -200,13 +255,16 @@ public final class WSocketEventBusClient {
         public void onMessage(String data) {
             try {
                 final RestOutputMessage message = messageConverter.fromString(data, RestOutputMessage.class);
-                if (message != null && message.getHeaders() != null) {
+                if (message != null && message.getUuid() != null && message.getUuid().equals(batchProbeUuid)) {
+                    batchProbeUuid = null;
+                    // server which doesn't know batches responds with error
+                    subscribe(message.getResponseCode() / 100 == 2);
+                } else if (message != null && message.getHeaders() != null) {
                     for (org.everrest.websockets.message.Pair header : message.getHeaders()) {
                         if ("x-everrest-websocket-channel".equals(header.getName())) {
                             final String channel = header.getValue();
-                            if (channel != null && channels.contains(channel)) {
-                                final Object event = Messages.restoreEventFromBroadcastMessage(message);
-                                if (event != null) {
+                            if (channel != null && subscribedChannels.contains(channel)) {
+                                for (Object event : Messages.restoreEventsFromBroadcastMessage(message)) {
                                     eventService.publish(event);
                                 }
                             }
@@ -221,9 +279,29 @@ public final class WSocketEventBusClient {
         @Override
         public void onOpen(WSClient client) {
             LOG.info("Open connection to {}. ", wsUri);
+            this.client = client;
+            try {
+                final RestInputMessage batchProbe = Messages.batchClientMessage(Collections.emptyList());
+                batchProbeUuid = batchProbe.getUuid();
+                client.send(messageConverter.toString(batchProbe));
+            } catch (Exception e) {
+                LOG.error(e.getMessage(), e);
+                batchProbeUuid = null;
+                subscribe(false);
+            }
+        }
+
+        /** Subscribes to channels, to batch channels if server accepts batches. */
+        private void subscribe(boolean batching) {
+            if (batching) {
+                LOG.debug("Server {} accepts batches of events", wsUri);
+                batchingServers.add(wsUri);
+            }
             for (String channel : channels) {
+                final String subscribed = batching ? Messages.batchChannel(channel) : channel;
                 try {
-                    client.send(messageConverter.toString(Messages.subscribeChannelMessage(channel)));
+                    client.send(messageConverter.toString(Messages.subscribeChannelMessage(subscribed)));
+                    subscribedChannels.add(subscribed);
                 } catch (Exception e) {
                     LOG.error(e.getMessage(), e);
                 }
@@ -242,6 +320,7 @@ public final class WSocketEventBusClient {
 
         @Override
         public void run() {
+            long delay = MIN_RECONNECT_DELAY_MILLIS;
             for (; ; ) {
 
                 if (Thread.currentThread().isInterrupted()) {
@@ -257,12 +336,14 @@ public final class WSocketEventBusClient {
                     LOG.debug(e.getLocalizedMessage(), e);
                     synchronized (this) {
                         try {
-                            wait(WS_CONNECTION_TIMEOUT * 2 * 1000);
+                            // random part of delay prevents all clients from reconnecting at the same time after server restart
+                            wait(delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
                         } catch (InterruptedException ie) {
                             Thread.currentThread().interrupt();
                             return;
                         }
                     }
+                    delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MILLIS);
                 } catch (Throwable e) {
                     LOG.error("Unexpected here");
                     LOG.error(e.getLocalizedMessage(), e);
@@ -16,15 +16,21 @@ import org.slf4j.LoggerFactory;
 
 import org.eclipse.che.commons.annotation.Nullable;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.core.MediaType;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
+ * Publishes events received from {@link WSocketEventBusClient} to the local EventService and broadcasts local events
+ * to channels. Each propagated event is broadcast to its channel alone, for clients which don't know batches, and
+ * with batch of events to the batch channel, see {@link Messages#batchChannel(String)}.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -32,10 +38,21 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public final class WSocketEventBusServer {
     private static final Logger LOG = LoggerFactory.getLogger(WSocketEventBusServer.class);
 
+    /** Propagation of events to websocket is asynchronous, events of the same channel are sent in order they were published. */
+    private static final int QUEUE_CAPACITY = 10000;
+    private static final int PARTITIONS     = 4;
+
+    /** Max number of events broadcast with one message. */
+    private static final int  MAX_BATCH_SIZE      = 100;
+    /** Time during which events are collected before they are broadcast. */
+    private static final long BATCH_WINDOW_MILLIS = 50;
+
     private final EventService                 eventService;
     private final ServerEventPropagationPolicy policy;
     private final AtomicBoolean                start;
 
+    private EventBatcher<String> batcher;
+
     @Inject
     public WSocketEventBusServer(EventService eventService, @Nullable ServerEventPropagationPolicy policy) {
         this.eventService = eventService;
@@ -48,8 +65,7 @@ public final class WSocketEventBusServer {
     @Consumes(MediaType.APPLICATION_JSON)
     public void event(String message) {
         try {
-            final Object event = Messages.restoreEventFromClientMessage(message);
-            if (event != null) {
+            for (Object event : Messages.restoreEventsFromClientMessage(message)) {
                 eventService.publish(event);
             }
         } catch (Exception e) {
@@ -57,30 +73,72 @@ public final class WSocketEventBusServer {
         }
     }
 
+    /** Publishes events of batch sent by client. Clients send batches only if request with empty batch succeeds. */
+    @POST
+    @Path("batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public void events(String message) {
+        event(message);
+    }
+
     @PostConstruct
     void start() {
         if (start.compareAndSet(false, true)) {
             if (policy != null) {
-                eventService.subscribe(new EventSubscriber<Object>() {
+                batcher = new EventBatcher<>("WSocketEventBusServerFlusher", MAX_BATCH_SIZE, BATCH_WINDOW_MILLIS, this::broadcast);
+                eventService.subscribe(new AsyncEventSubscriber<Object>() {
                     @Override
                     public void onEvent(Object event) {
                         propagate(event);
                     }
+
+                    @Override
+                    public int getQueueCapacity() {
+                        return QUEUE_CAPACITY;
+                    }
+
+                    @Override
+                    public int getPartitions() {
+                        return PARTITIONS;
+                    }
+
+                    @Override
+                    public Object getEventKey(Object event) {
+                        final EventOrigin eventOrigin = event.getClass().getAnnotation(EventOrigin.class);
+                        return eventOrigin == null ? null : eventOrigin.value();
+                    }
                 });
             }
         }
     }
 
+    @PreDestroy
+    void stop() {
+        if (start.compareAndSet(true, false) && batcher != null) {
+            batcher.stop();
+        }
+    }
+
     protected void propagate(Object event) {
         if (policy.shouldPropagated(event)) {
             try {
-                WSConnectionContext.sendMessage(Messages.broadcastMessage(resolveChannelName(event), event));
+                final String channel = resolveChannelName(event);
+                WSConnectionContext.sendMessage(Messages.broadcastMessage(channel, event));
+                batcher.add(channel, event);
             } catch (Exception e) {
                 LOG.error(e.getMessage(), e);
             }
         }
     }
 
+    private void broadcast(String channel, List<Object> events) {
+        try {
+            WSConnectionContext.sendMessage(Messages.broadcastMessage(Messages.batchChannel(channel), events));
+        } catch (Exception e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
     protected String resolveChannelName(Object event) {
         final EventOrigin eventOrigin = event.getClass().getAnnotation(EventOrigin.class);
         if (eventOrigin == null) {
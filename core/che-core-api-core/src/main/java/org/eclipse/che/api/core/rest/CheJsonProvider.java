@@ -11,6 +11,8 @@
 package org.eclipse.che.api.core.rest;
 
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.dto.server.BinarySerializable;
+import org.eclipse.che.dto.server.DtoBinaryInput;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.eclipse.che.dto.shared.DTO;
@@ -28,21 +30,31 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.nio.charset.Charset;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * Implementation of {@link MessageBodyReader} and {@link MessageBodyWriter} needed for binding JSON content to and from Java Objects.
+ * <p/>
+ * DTOs and lists of DTOs may be also transferred in compact binary format with media type {@link BinarySerializable#MEDIA_TYPE}.
+ * Binary format is used when it is requested with {@code Accept} or {@code Content-Type} header and resource method declares it in
+ * {@link Produces} or {@link Consumes} annotation.
  *
  * @author andrew00x
  * @see DTO
@@ -50,9 +62,11 @@ import java.util.Set;
  */
 @Singleton
 @Provider
-@Produces({MediaType.APPLICATION_JSON})
-@Consumes({MediaType.APPLICATION_JSON})
+@Produces({MediaType.APPLICATION_JSON, BinarySerializable.MEDIA_TYPE})
+@Consumes({MediaType.APPLICATION_JSON, BinarySerializable.MEDIA_TYPE})
 public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWriter<T> {
+    private static final MediaType BINARY_DTO_TYPE = MediaType.valueOf(BinarySerializable.MEDIA_TYPE);
+
     private Set<Class> ignoredClasses;
     private final JsonEntityProvider delegate = new JsonEntityProvider<>();
 
@@ -64,6 +78,9 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
     @SuppressWarnings("unchecked")
     @Override
     public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        if (isBinary(mediaType)) {
+            return !ignoredClasses.contains(type) && (type.isAnnotationPresent(DTO.class) || isListOfDtos(type, genericType));
+        }
         return !ignoredClasses.contains(type) &&
                (type.isAnnotationPresent(DTO.class) || delegate.isWriteable(type, genericType, annotations, mediaType));
     }
@@ -79,9 +96,18 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
                         MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
         // Add Cache-Control before start write body.
         httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
-        if (t instanceof JsonSerializable) {
-            try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
-                w.write(((JsonSerializable)t).toJson());
+        if (isBinary(mediaType)) {
+            final OutputStream output = new BufferedOutputStream(entityStream);
+            if (t instanceof List) {
+                DtoFactory.getInstance().toBinary((List<?>)t, output);
+            } else {
+                DtoFactory.getInstance().toBinary(t, output);
+            }
+            output.flush();
+        } else if (t instanceof JsonSerializable) {
+            // DTO is written directly to response without building whole JSON in memory
+            try (Writer w = new BufferedWriter(new OutputStreamWriter(entityStream, UTF_8))) {
+                DtoFactory.getInstance().toJson(t, w);
             }
         } else {
             delegate.writeTo(t, type, genericType, annotations, mediaType, httpHeaders, entityStream);
@@ -91,6 +117,9 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
     @SuppressWarnings("unchecked")
     @Override
     public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        if (isBinary(mediaType)) {
+            return !ignoredClasses.contains(type) && (type.isAnnotationPresent(DTO.class) || isListOfDtos(type, genericType));
+        }
         return !ignoredClasses.contains(type) &&
                (type.isAnnotationPresent(DTO.class) || delegate.isReadable(type, genericType, annotations, mediaType));
     }
@@ -99,21 +128,66 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
     @Override
     public T readFrom(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType,
                       MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException, WebApplicationException {
+        if (isBinary(mediaType)) {
+            final InputStream input = new BufferedInputStream(entityStream);
+            final long maxLength = getContentLength(httpHeaders);
+            if (type.isAnnotationPresent(DTO.class)) {
+                return DtoFactory.getInstance().createDtoFromBinary(input, maxLength, type);
+            }
+            return (T)DtoFactory.getInstance().createListDtoFromBinary(input, maxLength, getListElementClass(genericType));
+        }
         if (type.isAnnotationPresent(DTO.class)) {
-            return DtoFactory.getInstance().createDtoFromJson(entityStream, type);
+            return DtoFactory.getInstance().createDtoFromJson(new BufferedReader(new InputStreamReader(entityStream, UTF_8)), type);
         } else if (type.isAssignableFrom(List.class) && genericType instanceof ParameterizedType) {
             ParameterizedType parameterizedType = (ParameterizedType)genericType;
             Type elementType = parameterizedType.getActualTypeArguments()[0];
             if (elementType instanceof Class) {
                 Class elementClass = (Class)elementType;
                 if (elementClass.isAnnotationPresent(DTO.class)) {
-                    return (T)DtoFactory.getInstance().createListDtoFromJson(entityStream, elementClass);
+                    return (T)DtoFactory.getInstance().createListDtoFromJson(new BufferedReader(new InputStreamReader(entityStream, UTF_8)),
+                                                                             elementClass);
                 }
             }
         }
         return (T)delegate.readFrom(type, genericType, annotations, mediaType, httpHeaders, entityStream);
     }
 
+    private static boolean isBinary(MediaType mediaType) {
+        return mediaType != null
+               && BINARY_DTO_TYPE.getType().equalsIgnoreCase(mediaType.getType())
+               && BINARY_DTO_TYPE.getSubtype().equalsIgnoreCase(mediaType.getSubtype());
+    }
+
+    /** Returns length of request body or {@link DtoBinaryInput#DEFAULT_MAX_LENGTH} if it isn't known. */
+    private static long getContentLength(MultivaluedMap<String, String> httpHeaders) {
+        final String contentLength = httpHeaders == null ? null : httpHeaders.getFirst(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null) {
+            try {
+                final long length = Long.parseLong(contentLength);
+                if (length >= 0) {
+                    return Math.min(length, DtoBinaryInput.DEFAULT_MAX_LENGTH);
+                }
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return DtoBinaryInput.DEFAULT_MAX_LENGTH;
+    }
+
+    private static boolean isListOfDtos(Class<?> type, Type genericType) {
+        final Class<?> elementClass = getListElementClass(genericType);
+        return List.class.isAssignableFrom(type) && elementClass != null && elementClass.isAnnotationPresent(DTO.class);
+    }
+
+    private static Class getListElementClass(Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            final Type elementType = ((ParameterizedType)genericType).getActualTypeArguments()[0];
+            if (elementType instanceof Class) {
+                return (Class)elementType;
+            }
+        }
+        return null;
+    }
+
     /**
      * Get Set of classes that we never try to serialize or deserialize. Returned Set is mutable and new classes may be added in ignored
      * Set.
@@ -22,6 +22,8 @@ import javax.websocket.OnOpen;
 import javax.websocket.Session;
 import javax.websocket.server.PathParam;
 import javax.websocket.server.ServerEndpoint;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Duplex WEB SOCKET endpoint, handles messages, errors, session open/close events.
@@ -32,6 +34,9 @@ import javax.websocket.server.ServerEndpoint;
 public class BasicWebSocketEndpoint {
     private static final Logger LOG = LoggerFactory.getLogger(BasicWebSocketEndpoint.class);
 
+    /** Query parameter with sequence number of the last message that reconnecting client has received. */
+    static final String LAST_SEQUENCE_PARAMETER = "lastSequence";
+
     private final WebSocketSessionRegistry        registry;
     private final PendingMessagesReSender         reSender;
     private final WebSocketTransmissionDispatcher dispatcher;
@@ -54,7 +59,14 @@ public class BasicWebSocketEndpoint {
         session.setMaxIdleTimeout(0);
 
         registry.add(endpointId, session);
-        reSender.resend(endpointId);
+
+        final Long lastSequence = getLastSequence(session);
+        if (lastSequence == null) {
+            reSender.resend(endpointId);
+        } else {
+            LOG.debug("Replaying messages after: {}", lastSequence);
+            reSender.resend(endpointId, lastSequence);
+        }
     }
 
     @OnMessage
@@ -66,6 +78,15 @@ public class BasicWebSocketEndpoint {
         dispatcher.dispatch(message, endpointId);
     }
 
+    @OnMessage
+    public void onMessage(byte[] message, Session session, @PathParam("endpoint-id") Integer endpointId) {
+        LOG.debug("Receiving a binary web socket message.");
+        LOG.debug("Endpoint: {}", endpointId);
+
+        WebSocketTransmissions.enableBinary(session);
+        dispatcher.dispatch(message, endpointId);
+    }
+
     @OnClose
     public void onClose(CloseReason closeReason, @PathParam("endpoint-id") Integer endpointId) {
         LOG.info("Web socket session closed");
@@ -81,4 +102,19 @@ public class BasicWebSocketEndpoint {
         LOG.debug("Endpoint: {}", endpointId);
         LOG.debug("Error: {}", t);
     }
+
+    /** Returns sequence number of the last message received by reconnecting client or {@code null} if client didn't send it. */
+    private static Long getLastSequence(Session session) {
+        final Map<String, List<String>> parameters = session.getRequestParameterMap();
+        final List<String> values = parameters == null ? null : parameters.get(LAST_SEQUENCE_PARAMETER);
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(values.get(0));
+        } catch (NumberFormatException e) {
+            LOG.warn("Invalid sequence number of the last received message: {}", values.get(0));
+            return null;
+        }
+    }
 }
@@ -17,7 +17,6 @@ import org.slf4j.Logger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.websocket.Session;
-import java.io.IOException;
 import java.util.Optional;
 
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
@@ -26,7 +25,8 @@ import static org.slf4j.LoggerFactory.getLogger;
 /**
  * Transmits messages over WEB SOCKET to a specific endpoint or broadcasts them.
  * If WEB SOCKET session is not opened adds messages to re-sender to try to send
- * them when session will be opened again.
+ * them when session will be opened again. Messages are sent asynchronously through
+ * {@link WebSocketSessionOutbox} of each session, so slow clients don't block others.
  *
  * @author Dmitry Kuleshov
  */
@@ -48,7 +48,7 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
     }
 
     @Override
-    public synchronized void transmit(String protocol, String message, Integer endpointId) {
+    public void transmit(String protocol, String message, Integer endpointId) {
         final WebSocketTransmission transmission = newDto(WebSocketTransmission.class).withProtocol(protocol).withMessage(message);
         validator.validate(transmission);
 
@@ -61,32 +61,23 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
         } else {
             LOG.debug("Session registered and open, sending message");
 
-            try {
-                sessionOptional.get().getBasicRemote().sendText(transmission.toString());
-            } catch (IOException e) {
-                LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-            }
+            resender.send(endpointId, transmission, sessionOptional.get());
         }
     }
 
     @Override
-    public synchronized void transmit(String protocol, String message) {
+    public void transmit(String protocol, String message) {
         final WebSocketTransmission transmission = newDto(WebSocketTransmission.class).withProtocol(protocol).withMessage(message);
         validator.validate(transmission);
 
-        LOG.debug("Broadcasting a web socket transmission: ", transmission.toString());
+        LOG.debug("Broadcasting a web socket transmission: {}", transmission);
 
+        // the same payload is used for all sessions so transmission is serialized once
+        final WebSocketPayload payload = new WebSocketPayload(transmission);
         registry.getSessions()
                 .stream()
                 .filter(Session::isOpen)
-                .map(Session::getBasicRemote)
-                .forEach(it -> {
-                    try {
-                        it.sendText(transmission.toString());
-                    } catch (IOException e) {
-                        LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
-                    }
-                });
+                .forEach(it -> WebSocketSessionOutbox.of(it).send(payload));
     }
 
 }
@@ -13,52 +13,112 @@ package org.eclipse.che.api.core.websocket.impl;
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.websocket.Session;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Instance is responsible for re-sending messages that were not sent during the period
  * when WEB SOCKET session was closed. If session is closed during re-send process it
  * stops and left messages will be re-sent as WEB SOCKET session becomes open again.
+ * <p/>
+ * Each endpoint has a ring buffer of recent messages, both sent and not sent ones. Every
+ * buffered message gets a sequence number which grows monotonically, so a reconnecting
+ * client may ask to replay messages after the last one it has seen. If the buffer is full
+ * the oldest message is overwritten. Messages older than time to live are not re-sent and
+ * buffers of endpoints that have only such messages are evicted.
  *
  * @author Dmitry Kuleshov
  */
 @Singleton
 public class PendingMessagesReSender {
-    private static final int MAX_MESSAGES = 100;
+    private static final int  DEFAULT_CAPACITY    = 100;
+    private static final long DEFAULT_TTL_SECONDS = 600;
 
     private final WebSocketSessionRegistry registry;
+    private final int                      capacity;
+    private final long                     ttlMillis;
+    private final AtomicLong               sequence;
+    private final AtomicLong               lastEviction;
 
-    private final Map<Integer, List<WebSocketTransmission>> messagesMap = new HashMap<>();
+    private final ConcurrentMap<Integer, MessageBuffer> buffers = new ConcurrentHashMap<>();
 
-    @Inject
     public PendingMessagesReSender(WebSocketSessionRegistry registry) {
+        this(registry, DEFAULT_CAPACITY, DEFAULT_TTL_SECONDS);
+    }
+
+    @Inject
+    public PendingMessagesReSender(WebSocketSessionRegistry registry,
+                                   @Named("che.core.websocket.pending_messages_capacity") int capacity,
+                                   @Named("che.core.websocket.pending_messages_ttl_sec") long ttlSeconds) {
         this.registry = registry;
+        this.capacity = capacity;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.sequence = new AtomicLong();
+        this.lastEviction = new AtomicLong(System.currentTimeMillis());
     }
 
+    /** Buffers message which was not sent because session of endpoint is closed. */
     public void add(Integer endpointId, WebSocketTransmission message) {
-        List<WebSocketTransmission> messages = messagesMap.get(endpointId);
+        buffer(endpointId, message, false, null);
+    }
 
-        if (messages == null) {
-            messages = new LinkedList<>();
-            messagesMap.put(endpointId, messages);
-        }
+    /** Buffers message which is being sent, so it may be replayed if client doesn't receive it. */
+    public void addSent(Integer endpointId, WebSocketTransmission message) {
+        buffer(endpointId, message, true, null);
+    }
 
-        if (messages.size() <= MAX_MESSAGES) {
-            messages.add(message);
-        }
+    /**
+     * Buffers message and sends it to the session of endpoint. Sequence number is assigned and message is put in
+     * {@link WebSocketSessionOutbox} of the session atomically, so messages go on the wire in order of their sequences.
+     */
+    public void send(Integer endpointId, WebSocketTransmission message, Session session) {
+        buffer(endpointId, message, true, session);
     }
 
+    /** Re-sends messages of endpoint which were not sent. */
     public void resend(Integer endpointId) {
-        final List<WebSocketTransmission> messages = messagesMap.remove(endpointId);
+        resend(endpointId, false, 0);
+    }
 
-        if (messages == null || messages.isEmpty()) {
+    /** Re-sends messages of endpoint that have sequence numbers greater than {@code lastSequence}, whether they were sent or not. */
+    public void resend(Integer endpointId, long lastSequence) {
+        resend(endpointId, true, lastSequence);
+    }
+
+    private void buffer(Integer endpointId, WebSocketTransmission message, boolean sent, Session session) {
+        final long now = System.currentTimeMillis();
+        evictExpired(now);
+        // map lock isn't held while message is handed off to outbox, buffer monitor alone orders sequences and sending
+        while (true) {
+            final MessageBuffer buffer = buffers.computeIfAbsent(endpointId, id -> new MessageBuffer(capacity));
+            synchronized (buffer) {
+                if (buffer.evicted) {
+                    // buffer was removed from map concurrently, message goes to the buffer which replaces it
+                    continue;
+                }
+                final long messageSequence = sequence.incrementAndGet();
+                message.setSequence(messageSequence);
+                buffer.add(new Entry(messageSequence, message, now, sent));
+                if (session != null) {
+                    // outbox only queues message or starts asynchronous sending, buffer lock is taken before outbox one as in resend
+                    WebSocketSessionOutbox.of(session).send(new WebSocketPayload(message));
+                }
+                return;
+            }
+        }
+    }
+
+    private void resend(Integer endpointId, boolean replay, long lastSequence) {
+        final MessageBuffer buffer = buffers.get(endpointId);
+        if (buffer == null) {
             return;
         }
 
@@ -69,19 +129,87 @@ public class PendingMessagesReSender {
         }
 
         final Session session = sessionOptional.get();
+        final long expiration = System.currentTimeMillis() - ttlMillis;
+
+        synchronized (buffer) {
+            for (Entry entry : buffer.entries()) {
+                if (!session.isOpen()) {
+                    return;
+                }
+                if (entry.created >= expiration && (replay ? entry.sequence > lastSequence : !entry.sent)) {
+                    entry.sent = true;
+                    WebSocketSessionOutbox.of(session).send(new WebSocketPayload(entry.message));
+                }
+            }
+        }
+    }
 
-        final List<WebSocketTransmission> backing = new ArrayList<>(messages);
-        messages.clear();
+    /** Evicts buffers which contain only expired messages, runs at most once per half of time to live. */
+    private void evictExpired(long now) {
+        final long last = lastEviction.get();
+        if (now - last < ttlMillis / 2 || !lastEviction.compareAndSet(last, now)) {
+            return;
+        }
+        final long expiration = now - ttlMillis;
+        for (Integer endpointId : buffers.keySet()) {
+            buffers.computeIfPresent(endpointId, (id, buffer) -> {
+                synchronized (buffer) {
+                    buffer.evicted = buffer.newest() < expiration;
+                    return buffer.evicted ? null : buffer;
+                }
+            });
+        }
+    }
 
-        for (WebSocketTransmission message : backing) {
+    /** Ring buffer of messages of one endpoint, must be accessed under its monitor. */
+    private static class MessageBuffer {
+        private final Entry[] entries;
 
-            if (session.isOpen()) {
-                session.getAsyncRemote().sendText(message.toString());
+        private int     head;
+        private int     size;
+        /** Set when buffer is removed from map, such buffer must not get new messages. */
+        private boolean evicted;
+
+        MessageBuffer(int capacity) {
+            this.entries = new Entry[Math.max(capacity, 1)];
+        }
+
+        void add(Entry entry) {
+            entries[(head + size) % entries.length] = entry;
+            if (size < entries.length) {
+                size++;
             } else {
-                messages.add(message);
+                head = (head + 1) % entries.length;
             }
         }
 
-        messagesMap.put(endpointId, messages);
+        /** Returns entries from the oldest to the newest. */
+        List<Entry> entries() {
+            final List<Entry> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(entries[(head + i) % entries.length]);
+            }
+            return result;
+        }
+
+        /** Returns creation time of the newest entry. */
+        long newest() {
+            return size == 0 ? 0 : entries[(head + size - 1) % entries.length].created;
+        }
+    }
+
+    private static class Entry {
+        final long                  sequence;
+        final WebSocketTransmission message;
+        final long                  created;
+
+        boolean sent;
+
+        Entry(long sequence, WebSocketTransmission message, long created, boolean sent) {
+            this.sequence = sequence;
+            this.message = message;
+            this.created = created;
+            this.sent = sent;
+        }
     }
 }
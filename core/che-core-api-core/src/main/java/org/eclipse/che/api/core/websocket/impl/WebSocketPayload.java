@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
+import org.eclipse.che.dto.server.DtoFactory;
+
+import javax.websocket.SendHandler;
+import javax.websocket.Session;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link WebSocketTransmission} prepared for sending. It is serialized at most once
+ * to each format, so the same payload may be sent to many sessions.
+ */
+final class WebSocketPayload {
+    private final WebSocketTransmission transmission;
+
+    private volatile String     text;
+    private volatile ByteBuffer binary;
+
+    WebSocketPayload(WebSocketTransmission transmission) {
+        this.transmission = transmission;
+    }
+
+    /** Sends payload asynchronously in format negotiated with the session, {@code handler} is notified when it is sent. */
+    void send(Session session, SendHandler handler) {
+        if (WebSocketTransmissions.isBinary(session)) {
+            session.getAsyncRemote().sendBinary(getBinary(), handler);
+        } else {
+            session.getAsyncRemote().sendText(getText(), handler);
+        }
+    }
+
+    private String getText() {
+        String result = text;
+        if (result == null) {
+            text = result = transmission.toString();
+        }
+        return result;
+    }
+
+    private ByteBuffer getBinary() {
+        ByteBuffer result = binary;
+        if (result == null) {
+            binary = result = ByteBuffer.wrap(DtoFactory.getInstance().toBinary(transmission));
+        }
+        // each session needs its own position in the buffer
+        return result.duplicate();
+    }
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.slf4j.Logger;
+
+import javax.websocket.CloseReason;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+
+import static javax.websocket.CloseReason.CloseCodes.TRY_AGAIN_LATER;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Bounded queue of outgoing messages of a WEB SOCKET session. Messages are sent
+ * asynchronously one by one, so senders are never blocked by slow clients. If
+ * client doesn't keep up, i.e. there are too many pending messages or a message
+ * is being sent for too long, the session is closed and pending messages are
+ * dropped, client is expected to reconnect.
+ */
+class WebSocketSessionOutbox implements SendHandler {
+    private static final Logger LOG = getLogger(WebSocketSessionOutbox.class);
+
+    static final String OUTBOX_PROPERTY = "che.websocket.outbox";
+
+    static final int  MAX_PENDING_MESSAGES = 1000;
+    static final long MAX_SEND_TIME_MILLIS = 30_000;
+
+    private final Session                      session;
+    private final ArrayDeque<WebSocketPayload> pending;
+
+    private boolean sending;
+    private long    sendStartTime;
+    private boolean shed;
+
+    /** Returns outbox of the session, creates it if session has no outbox yet. */
+    static WebSocketSessionOutbox of(Session session) {
+        final Map<String, Object> properties = session.getUserProperties();
+        if (properties == null) {
+            return new WebSocketSessionOutbox(session);
+        }
+        return (WebSocketSessionOutbox)properties.computeIfAbsent(OUTBOX_PROPERTY, key -> new WebSocketSessionOutbox(session));
+    }
+
+    private WebSocketSessionOutbox(Session session) {
+        this.session = session;
+        this.pending = new ArrayDeque<>();
+    }
+
+    /** Sends payload right away if nothing is being sent, otherwise adds it to the queue. */
+    void send(WebSocketPayload payload) {
+        final boolean overflow;
+        synchronized (this) {
+            if (shed) {
+                return;
+            }
+            if (!sending) {
+                sending = true;
+                sendStartTime = System.currentTimeMillis();
+                overflow = false;
+            } else if (pending.size() < MAX_PENDING_MESSAGES && System.currentTimeMillis() - sendStartTime < MAX_SEND_TIME_MILLIS) {
+                pending.add(payload);
+                return;
+            } else {
+                shed = overflow = true;
+                pending.clear();
+            }
+        }
+        if (overflow) {
+            shed();
+        } else {
+            doSend(payload);
+        }
+    }
+
+    @Override
+    public void onResult(SendResult result) {
+        if (!result.isOK()) {
+            LOG.error("Error while trying to send a message to a websocket remote endpoint", result.getException());
+        }
+        final WebSocketPayload next;
+        synchronized (this) {
+            next = pending.poll();
+            if (next == null) {
+                sending = false;
+                return;
+            }
+            sendStartTime = System.currentTimeMillis();
+        }
+        doSend(next);
+    }
+
+    /** Returns number of messages waiting to be sent. */
+    synchronized int getPendingMessages() {
+        return pending.size();
+    }
+
+    private void doSend(WebSocketPayload payload) {
+        try {
+            payload.send(session, this);
+        } catch (RuntimeException e) {
+            // session is closed or broken, nothing else can be sent
+            LOG.error("Error while trying to send a message to a websocket remote endpoint", e);
+            synchronized (this) {
+                pending.clear();
+                sending = false;
+            }
+        }
+    }
+
+    private void shed() {
+        LOG.warn("Websocket client doesn't keep up with messages, closing session {}", session.getId());
+        try {
+            session.close(new CloseReason(TRY_AGAIN_LATER, "Too many pending messages"));
+        } catch (IOException e) {
+            LOG.error("Error while trying to close a websocket session", e);
+        }
+    }
+}
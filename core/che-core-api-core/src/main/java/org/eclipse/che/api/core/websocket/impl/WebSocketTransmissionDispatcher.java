@@ -18,6 +18,8 @@ import org.slf4j.LoggerFactory;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -43,7 +45,23 @@ public class WebSocketTransmissionDispatcher {
     }
 
     public void dispatch(String rawTransmission, Integer endpointId) {
-        final WebSocketTransmission transmission = DtoFactory.getInstance().createDtoFromJson(rawTransmission, WebSocketTransmission.class);
+        dispatch(DtoFactory.getInstance().createDtoFromJson(rawTransmission, WebSocketTransmission.class), endpointId);
+    }
+
+    public void dispatch(byte[] rawTransmission, Integer endpointId) {
+        final WebSocketTransmission transmission;
+        try {
+            transmission = DtoFactory.getInstance().createDtoFromBinary(new ByteArrayInputStream(rawTransmission),
+                                                                        rawTransmission.length,
+                                                                        WebSocketTransmission.class);
+        } catch (IOException e) {
+            LOG.error("Can't read binary web socket transmission", e);
+            return;
+        }
+        dispatch(transmission, endpointId);
+    }
+
+    private void dispatch(WebSocketTransmission transmission, Integer endpointId) {
         validator.validate(transmission);
 
         final String protocol = transmission.getProtocol();
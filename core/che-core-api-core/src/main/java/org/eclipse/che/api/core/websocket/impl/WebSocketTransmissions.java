@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
+
+import javax.websocket.Session;
+import java.util.Map;
+
+/**
+ * Keeps format of {@link WebSocketTransmission}s negotiated with WEB SOCKET client.
+ * Transmissions are sent as JSON text frames until client sends the first binary
+ * frame, after that they are sent in binary DTO format to the session.
+ *
+ * @see WebSocketPayload
+ */
+class WebSocketTransmissions {
+    static final String BINARY_PROPERTY = "che.websocket.binary";
+
+    /** Switches session to binary frames. */
+    static void enableBinary(Session session) {
+        final Map<String, Object> properties = session.getUserProperties();
+        if (properties != null) {
+            properties.put(BINARY_PROPERTY, Boolean.TRUE);
+        }
+    }
+
+    static boolean isBinary(Session session) {
+        final Map<String, Object> properties = session.getUserProperties();
+        return properties != null && Boolean.TRUE.equals(properties.get(BINARY_PROPERTY));
+    }
+
+    private WebSocketTransmissions() {
+    }
+}
@@ -16,6 +16,8 @@ import org.eclipse.che.dto.shared.DTO;
  * Stores a WEB SOCKET transmission. Transmission contains the protocol and
  * the message. Transmission protocol is defined by <code>protocol</code> field,
  * while transmission message body is stored within <code>message</code> field.
+ * Transmissions sent to a specific endpoint have <code>sequence</code> number
+ * which may be used to ask for replay of messages after reconnection.
  */
 @DTO
 public interface WebSocketTransmission {
@@ -26,4 +28,10 @@ public interface WebSocketTransmission {
     String getMessage();
 
     WebSocketTransmission withMessage(final String message);
+
+    Long getSequence();
+
+    void setSequence(Long sequence);
+
+    WebSocketTransmission withSequence(Long sequence);
 }
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link JsonRpcRequestProcessor}
+ */
+public class JsonRpcRequestProcessorTest {
+    private static final int ENDPOINT_ID = 0;
+    private static final int TASKS       = 100;
+
+    private JsonRpcRequestProcessor processor;
+
+    @BeforeMethod
+    public void setUp() {
+        processor = new JsonRpcRequestProcessor(4);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        processor.stop();
+    }
+
+    @Test
+    public void shouldRunOrderedTasksOfEndpointOneByOneInOrderOfSubmission() throws Exception {
+        final List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(TASKS);
+
+        for (int i = 0; i < TASKS; i++) {
+            final int number = i;
+            processor.process(ENDPOINT_ID, true, () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.yield();
+                executed.add(number);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, SECONDS));
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            expected.add(i);
+        }
+        assertEquals(executed, expected);
+        assertEquals(maxRunning.get(), 1);
+    }
+
+    @Test
+    public void shouldRejectOrderedTasksOfEndpointWhenTooManyAreWaiting() throws Exception {
+        processor.stop();
+        processor = new JsonRpcRequestProcessor(1, 1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch waitingDone = new CountDownLatch(1);
+
+        assertTrue(processor.process(ENDPOINT_ID, true, () -> {
+            try {
+                release.await(10, SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(processor.process(ENDPOINT_ID, true, waitingDone::countDown));
+        assertFalse(processor.process(ENDPOINT_ID, true, () -> {}));
+
+        release.countDown();
+        assertTrue(waitingDone.await(10, SECONDS));
+        assertTrue(processor.process(ENDPOINT_ID, true, () -> {}));
+    }
+
+    @Test
+    public void shouldRunNextOrderedTaskOfEndpointWhenPreviousOneFails() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+
+        processor.process(ENDPOINT_ID, true, () -> {
+            throw new RuntimeException("test exception");
+        });
+        processor.process(ENDPOINT_ID, true, done::countDown);
+
+        assertTrue(done.await(10, SECONDS));
+    }
+
+    @Test
+    public void shouldNotBlockTasksOfOtherEndpointsWhileOrderedTaskIsRunning() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch otherEndpointDone = new CountDownLatch(1);
+        final CountDownLatch blockedEndpointDone = new CountDownLatch(1);
+
+        processor.process(ENDPOINT_ID, true, () -> {
+            try {
+                release.await(10, SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        processor.process(ENDPOINT_ID, true, blockedEndpointDone::countDown);
+        processor.process(ENDPOINT_ID + 1, true, otherEndpointDone::countDown);
+
+        assertTrue(otherEndpointDone.await(10, SECONDS));
+        assertEquals(blockedEndpointDone.getCount(), 1);
+
+        release.countDown();
+        assertTrue(blockedEndpointDone.await(10, SECONDS));
+    }
+
+    @Test
+    public void shouldNotBlockUnorderedTasksOfEndpointWhileOrderedTaskIsRunning() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch unorderedDone = new CountDownLatch(1);
+
+        processor.process(ENDPOINT_ID, true, () -> {
+            try {
+                release.await(10, SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        processor.process(ENDPOINT_ID, false, unorderedDone::countDown);
+
+        assertTrue(unorderedDone.await(10, SECONDS));
+        release.countDown();
+    }
+}
@@ -12,6 +12,7 @@ package org.eclipse.che.api.core.jsonrpc.impl;
 
 import org.eclipse.che.api.core.jsonrpc.JsonRpcRequestReceiver;
 import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcRequest;
+import org.eclipse.che.api.core.jsonrpc.shared.JsonRpcResponse;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -26,8 +27,15 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
-import static java.util.Collections.singletonMap;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -45,6 +53,10 @@ public class WebSocketJsonRpcRequestDispatcherTest {
 
     @Mock
     private Map<String, JsonRpcRequestReceiver> receivers;
+    @Mock
+    private JsonRpcRequestProcessor             processor;
+    @Mock
+    private WebSocketJsonRpcTransmitter         transmitter;
     @InjectMocks
     private WebSocketJsonRpcRequestDispatcher dispatcher;
 
@@ -53,7 +65,11 @@ public class WebSocketJsonRpcRequestDispatcherTest {
 
     @BeforeMethod
     public void before() {
-        when(receivers.entrySet()).thenReturn(singletonMap(METHOD_NAME, receiver).entrySet());
+        when(receivers.get(METHOD_NAME)).thenReturn(receiver);
+        doAnswer(invocation -> {
+            ((Runnable)invocation.getArguments()[2]).run();
+            return true;
+        }).when(processor).process(anyInt(), anyBoolean(), any(Runnable.class));
     }
 
     @Test
@@ -70,6 +86,60 @@ public class WebSocketJsonRpcRequestDispatcherTest {
         assertEquals(request.getParams(), PARAMS);
     }
 
+    @Test
+    public void shouldRunReceiverWithProcessor() {
+        when(receiver.isOrdered()).thenReturn(true);
+
+        dispatcher.dispatch(getMessage(METHOD_NAME), ENDPOINT_ID);
+
+        verify(processor).process(eq(ENDPOINT_ID), eq(true), any(Runnable.class));
+    }
+
+    @Test
+    public void shouldNotRunReceiverOfOtherMethod() {
+        dispatcher.dispatch(getMessage("other-method"), ENDPOINT_ID);
+
+        verify(receiver, never()).receive(any(JsonRpcRequest.class), anyInt());
+        verify(processor, never()).process(anyInt(), anyBoolean(), any(Runnable.class));
+    }
+
+    @Test
+    public void shouldRunMatchingReceiverForEachRequestOfBatch() {
+        dispatcher.dispatch("[" + getMessage(METHOD_NAME) + "," + getMessage("other-method") + "," + getMessage(METHOD_NAME) + "]",
+                            ENDPOINT_ID);
+
+        verify(receiver, times(2)).receive(any(JsonRpcRequest.class), eq(ENDPOINT_ID));
+    }
+
+    @Test
+    public void shouldSendResponsesToRequestsOfBatchInOneMessage() {
+        final WebSocketJsonRpcResponseTransmitter responseTransmitter = new WebSocketJsonRpcResponseTransmitter(transmitter);
+        doAnswer(invocation -> {
+            final JsonRpcRequest request = (JsonRpcRequest)invocation.getArguments()[0];
+            responseTransmitter.transmit(newDto(JsonRpcResponse.class).withId(request.getId())
+                                                                      .withJsonrpc("2.0")
+                                                                      .withResult("\"" + request.getParams() + "\""),
+                                         ENDPOINT_ID);
+            return null;
+        }).when(receiver).receive(any(JsonRpcRequest.class), eq(ENDPOINT_ID));
+
+        dispatcher.dispatch("[" + getMessage(METHOD_NAME) + "," + getMessage(METHOD_NAME) + "]", ENDPOINT_ID);
+
+        final ArgumentCaptor<String> batchCaptor = ArgumentCaptor.forClass(String.class);
+        verify(transmitter).transmit(eq("response"), batchCaptor.capture(), eq(ENDPOINT_ID));
+        final JsonRpcResponse response = newDto(JsonRpcResponse.class).withId("0")
+                                                                      .withJsonrpc("2.0")
+                                                                      .withResult("\"" + PARAMS + "\"");
+        assertEquals(batchCaptor.getValue(), "[" + response + "," + response + "]");
+    }
+
+    @Test
+    public void shouldNotSendBatchResponseIfReceiversDoNotRespond() {
+        dispatcher.dispatch("[" + getMessage(METHOD_NAME) + "," + getMessage(METHOD_NAME) + "]", ENDPOINT_ID);
+
+        verify(transmitter, never()).transmit(anyString(), anyString(), anyInt());
+    }
+
     private String getMessage(String method) {
         return "{" +
                "\"id\":\"" + "0" + "\"," +
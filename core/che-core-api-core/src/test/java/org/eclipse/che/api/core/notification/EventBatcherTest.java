@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link EventBatcher}
+ */
+public class EventBatcherTest {
+    private static final int  MAX_BATCH_SIZE = 3;
+    private static final long WINDOW_MILLIS  = 50;
+
+    private BlockingQueue<Batch> sent;
+    private EventBatcher<String> batcher;
+
+    @BeforeMethod
+    public void setUp() {
+        sent = new LinkedBlockingQueue<>();
+        batcher = new EventBatcher<>("EventBatcherTest", MAX_BATCH_SIZE, WINDOW_MILLIS, (key, events) -> sent.add(new Batch(key, events)));
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        batcher.stop();
+    }
+
+    @Test
+    public void shouldSendEventsAddedWithinWindowInOneBatch() throws Exception {
+        batcher.add("a", 1);
+        batcher.add("a", 2);
+
+        assertEquals(sent.poll(10, SECONDS), new Batch("a", asList(1, 2)));
+        assertNull(sent.poll(WINDOW_MILLIS * 2, MILLISECONDS));
+    }
+
+    @Test
+    public void shouldSendBatchWhenItReachesMaxSize() throws Exception {
+        batcher.stop();
+        batcher = new EventBatcher<>("EventBatcherTest",
+                                     MAX_BATCH_SIZE,
+                                     HOURS.toMillis(1),
+                                     (key, events) -> sent.add(new Batch(key, events)));
+        for (int i = 0; i < MAX_BATCH_SIZE; i++) {
+            batcher.add("a", i);
+        }
+
+        assertEquals(sent.poll(10, SECONDS), new Batch("a", asList(0, 1, 2)));
+    }
+
+    @Test
+    public void shouldKeepBatchesOfDifferentKeysApart() throws Exception {
+        batcher.add("a", 1);
+        batcher.add("b", 2);
+        batcher.add("a", 3);
+
+        final List<Batch> batches = new ArrayList<>();
+        batches.add(sent.poll(10, SECONDS));
+        batches.add(sent.poll(10, SECONDS));
+
+        assertEquals(batches, asList(new Batch("a", asList(1, 3)), new Batch("b", Collections.singletonList(2))));
+    }
+
+    @Test
+    public void shouldKeepOrderOfEventsOfKeyAcrossBatches() throws Exception {
+        final int events = MAX_BATCH_SIZE * 10 + 1;
+        for (int i = 0; i < events; i++) {
+            batcher.add("a", i);
+        }
+
+        final List<Object> received = new ArrayList<>();
+        while (received.size() < events) {
+            final Batch batch = sent.poll(10, SECONDS);
+            assertTrue(batch.events.size() <= MAX_BATCH_SIZE);
+            received.addAll(batch.events);
+        }
+        for (int i = 0; i < events; i++) {
+            assertEquals(received.get(i), i);
+        }
+    }
+
+    @Test
+    public void shouldDropEventsAfterStop() throws Exception {
+        batcher.add("a", 1);
+        batcher.stop();
+        batcher.add("a", 2);
+
+        assertNull(sent.poll(WINDOW_MILLIS * 2, MILLISECONDS));
+    }
+
+    private static class Batch {
+        final String       key;
+        final List<Object> events;
+
+        Batch(String key, List<?> events) {
+            this.key = key;
+            this.events = new ArrayList<>(events);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Batch && key.equals(((Batch)obj).key) && events.equals(((Batch)obj).events);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() * 31 + events.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return key + events;
+        }
+    }
+}
@@ -11,12 +11,19 @@
 package org.eclipse.che.api.core.notification;
 
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
 
 /**
  * @author andrew00x
@@ -29,6 +36,11 @@ public class EventServiceTest {
         bus = new EventService();
     }
 
+    @AfterMethod
+    public void tearDown() {
+        bus.stop();
+    }
+
     @Test
     public void testSimpleEvent() {
         final List<Object> events = new ArrayList<>();
@@ -191,6 +203,197 @@ public class EventServiceTest {
         bus.unsubscribe(sb, CustomEventImpl.class);
     }
 
+    @Test
+    public void shouldDeliverEventsToAsyncSubscriberInOrderOfPublishing() throws Exception {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch latch = new CountDownLatch(100);
+        final Thread publisher = Thread.currentThread();
+        bus.subscribe(new AsyncEventSubscriber<String>() {
+            @Override
+            public void onEvent(String event) {
+                Assert.assertNotSame(Thread.currentThread(), publisher);
+                events.add(event);
+                latch.countDown();
+            }
+        });
+
+        for (int i = 0; i < 100; i++) {
+            bus.publish(Integer.toString(i));
+        }
+
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(events.get(i), Integer.toString(i));
+        }
+    }
+
+    @Test
+    public void shouldDropOldestEventsWhenQueueOfAsyncSubscriberIsFull() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingSubscriber subscriber = new BlockingSubscriber(release, AsyncEventSubscriber.OverflowPolicy.DROP_OLDEST);
+        bus.subscribe(subscriber);
+
+        bus.publish(new Event("0"));
+        Assert.assertTrue(subscriber.started.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < 10; i++) {
+            bus.publish(new Event(Integer.toString(i)));
+        }
+        release.countDown();
+        Assert.assertTrue(subscriber.finished.await(10, TimeUnit.SECONDS));
+
+        final EventDeliveryStatistics statistics = bus.getDeliveryStatistics().get(subscriber);
+        // the first event is being delivered, 2 events are kept in queue, others are dropped
+        Assert.assertEquals(subscriber.events, asList("0", "8", "9"));
+        Assert.assertEquals(statistics.getDropped(), 7);
+        Assert.assertEquals(statistics.getQueueDepth(), 0);
+    }
+
+    @Test
+    public void shouldCoalesceEventsWithTheSameKeyWhenQueueOfAsyncSubscriberIsFull() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingSubscriber subscriber = new BlockingSubscriber(release, AsyncEventSubscriber.OverflowPolicy.COALESCE_BY_KEY);
+        bus.subscribe(subscriber);
+
+        bus.publish(new Event("a1"));
+        Assert.assertTrue(subscriber.started.await(10, TimeUnit.SECONDS));
+        bus.publish(new Event("b1"));
+        bus.publish(new Event("c1"));
+        bus.publish(new Event("b2"));
+        bus.publish(new Event("b3"));
+        release.countDown();
+        Assert.assertTrue(subscriber.finished.await(10, TimeUnit.SECONDS));
+
+        Assert.assertEquals(subscriber.events, asList("a1", "b3", "c1"));
+        Assert.assertEquals(bus.getDeliveryStatistics().get(subscriber).getDropped(), 2);
+    }
+
+    @Test
+    public void shouldNotDeadlockWhenPartitionsOfAsyncSubscriberPublishEventsToEachOther() throws Exception {
+        final CountDownLatch started = new CountDownLatch(2);
+        final CountDownLatch finished = new CountDownLatch(8);
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        bus.subscribe(new AsyncEventSubscriber<Event>() {
+            @Override
+            public void onEvent(Event event) {
+                events.add(event.data);
+                if (event.data.endsWith("0")) {
+                    // both partitions are busy, so queue of other partition is overflowed by events published below
+                    started.countDown();
+                    try {
+                        started.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    final String otherKey = event.data.startsWith("a") ? "b" : "a";
+                    for (int i = 1; i <= 3; i++) {
+                        bus.publish(new Event(otherKey + i));
+                    }
+                }
+                finished.countDown();
+            }
+
+            @Override
+            public int getQueueCapacity() {
+                return 1;
+            }
+
+            @Override
+            public int getPartitions() {
+                return 2;
+            }
+
+            @Override
+            public Object getEventKey(Event event) {
+                // keys 'a' and 'b' go to different partitions
+                return event.data.substring(0, 1);
+            }
+        });
+
+        bus.publish(new Event("a0"));
+        bus.publish(new Event("b0"));
+
+        Assert.assertTrue(finished.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(new HashSet<>(events), new HashSet<>(asList("a0", "a1", "a2", "a3", "b0", "b1", "b2", "b3")));
+    }
+
+    @Test
+    public void shouldStopDeliveryToAsyncSubscriberAfterUnsubscribe() {
+        final BlockingSubscriber subscriber = new BlockingSubscriber(new CountDownLatch(0),
+                                                                     AsyncEventSubscriber.OverflowPolicy.BLOCK);
+        bus.subscribe(subscriber);
+        bus.unsubscribe(subscriber);
+
+        bus.publish(new Event());
+
+        Assert.assertTrue(bus.getDeliveryStatistics().isEmpty());
+        Assert.assertTrue(subscriber.events.isEmpty());
+    }
+
+    @Test
+    public void shouldReleasePublisherBlockedOnFullQueueOfAsyncSubscriberWhenServiceIsStopped() throws Exception {
+        final BlockingSubscriber subscriber = new BlockingSubscriber(new CountDownLatch(1), AsyncEventSubscriber.OverflowPolicy.BLOCK);
+        bus.subscribe(subscriber);
+        bus.publish(new Event("0"));
+        Assert.assertTrue(subscriber.started.await(10, TimeUnit.SECONDS));
+        bus.publish(new Event("1"));
+        bus.publish(new Event("2"));
+
+        final CountDownLatch published = new CountDownLatch(1);
+        final Thread publisher = new Thread(() -> {
+            bus.publish(new Event("3"));
+            published.countDown();
+        });
+        publisher.setDaemon(true);
+        publisher.start();
+        Assert.assertFalse(published.await(200, TimeUnit.MILLISECONDS));
+
+        bus.stop();
+
+        Assert.assertTrue(published.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(bus.getDeliveryStatistics().get(subscriber).getQueueDepth(), 0);
+    }
+
+    /** Waits for release on the first event, has room for two pending events and is done after three delivered events. */
+    static class BlockingSubscriber implements AsyncEventSubscriber<Event> {
+        final List<String>   events   = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch started  = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(3);
+        final CountDownLatch release;
+        final OverflowPolicy overflowPolicy;
+
+        BlockingSubscriber(CountDownLatch release, OverflowPolicy overflowPolicy) {
+            this.release = release;
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        @Override
+        public void onEvent(Event event) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event.data);
+            finished.countDown();
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return 2;
+        }
+
+        @Override
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        @Override
+        public Object getEventKey(Event event) {
+            return event.data.substring(0, 1);
+        }
+    }
+
     static class CustomEventSubscriber<T extends CustomEvent> implements EventSubscriber<T> {
         final List<String> events = new ArrayList<>();
 
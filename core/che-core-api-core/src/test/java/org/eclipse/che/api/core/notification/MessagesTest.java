@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.everrest.websockets.message.RestInputMessage;
+import org.everrest.websockets.message.RestOutputMessage;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link Messages}
+ */
+public class MessagesTest {
+    @Test
+    public void shouldRestoreEventFromClientMessage() throws Exception {
+        final RestInputMessage message = Messages.clientMessage(new TestEvent("a", 1));
+
+        assertEquals(message.getPath(), "/event-bus");
+        assertEquals(Messages.restoreEventsFromClientMessage(message.getBody()), asList(new TestEvent("a", 1)));
+    }
+
+    @Test
+    public void shouldRestoreEventsFromBatchClientMessageInOrder() throws Exception {
+        final List<TestEvent> events = asList(new TestEvent("a", 1), new TestEvent("b", 2), new TestEvent("c", 3));
+
+        final RestInputMessage message = Messages.batchClientMessage(events);
+
+        assertEquals(message.getPath(), Messages.BATCH_PATH);
+        assertTrue(message.getBody().startsWith("["));
+        assertEquals(Messages.restoreEventsFromClientMessage(message.getBody()), events);
+    }
+
+    @Test
+    public void shouldRestoreNoEventsFromEmptyBatch() throws Exception {
+        final RestInputMessage message = Messages.batchClientMessage(Collections.emptyList());
+
+        assertEquals(message.getBody(), "[]");
+        assertTrue(Messages.restoreEventsFromClientMessage(message.getBody()).isEmpty());
+    }
+
+    @Test
+    public void shouldRestoreEventsFromBroadcastMessages() throws Exception {
+        final ChannelBroadcastMessage single = Messages.broadcastMessage("channel", new TestEvent("a", 1));
+        final ChannelBroadcastMessage batch = Messages.broadcastMessage(Messages.batchChannel("channel"),
+                                                                        asList(new TestEvent("b", 2), new TestEvent("c", 3)));
+
+        assertEquals(single.getChannel(), "channel");
+        assertEquals(batch.getChannel(), "channel" + Messages.BATCH_CHANNEL_SUFFIX);
+        assertEquals(Messages.restoreEventsFromBroadcastMessage(outputMessage(single.getBody())), asList(new TestEvent("a", 1)));
+        assertEquals(Messages.restoreEventsFromBroadcastMessage(outputMessage(batch.getBody())),
+                     asList(new TestEvent("b", 2), new TestEvent("c", 3)));
+    }
+
+    @Test
+    public void shouldSkipValuesWithoutTypeInBatch() throws Exception {
+        final String body = "[{\"name\":\"untyped\"}," + Messages.clientMessage(new TestEvent("a", 1)).getBody() + "]";
+
+        assertEquals(Messages.restoreEventsFromClientMessage(body), asList(new TestEvent("a", 1)));
+    }
+
+    private static RestOutputMessage outputMessage(String body) {
+        final RestOutputMessage message = new RestOutputMessage();
+        message.setBody(body);
+        return message;
+    }
+
+    public static class TestEvent {
+        private String name;
+        private int    number;
+
+        public TestEvent() {
+        }
+
+        TestEvent(String name, int number) {
+            this.name = name;
+            this.number = number;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public void setNumber(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TestEvent)) {
+                return false;
+            }
+            final TestEvent other = (TestEvent)obj;
+            return number == other.number && Objects.equals(name, other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, number);
+        }
+
+        @Override
+        public String toString() {
+            return name + ':' + number;
+        }
+    }
+}
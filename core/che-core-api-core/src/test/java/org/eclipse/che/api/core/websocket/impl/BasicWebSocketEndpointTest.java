@@ -18,8 +18,14 @@ import org.testng.annotations.Test;
 
 import javax.websocket.CloseReason;
 import javax.websocket.Session;
+import java.util.HashMap;
+import java.util.Map;
 
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertTrue;
 
 
 /**
@@ -72,6 +78,16 @@ public class BasicWebSocketEndpointTest {
         verify(reSender).resend(ENDPOINT_ID);
     }
 
+    @Test
+    public void shouldReplayMessagesAfterLastSequenceOnOpen() {
+        when(session.getRequestParameterMap()).thenReturn(singletonMap(BasicWebSocketEndpoint.LAST_SEQUENCE_PARAMETER,
+                                                                       singletonList("42")));
+
+        endpoint.onOpen(session, ENDPOINT_ID);
+
+        verify(reSender).resend(ENDPOINT_ID, 42L);
+    }
+
     @Test
     public void shouldRemoveSessionFromRegistryOnClose() {
         endpoint.onClose(closeReason, ENDPOINT_ID);
@@ -86,4 +102,16 @@ public class BasicWebSocketEndpointTest {
         verify(dispatcher).dispatch(MESSAGE, ENDPOINT_ID);
     }
 
+    @Test
+    public void shouldSwitchSessionToBinaryOnBinaryMessage() {
+        final Map<String, Object> properties = new HashMap<>();
+        when(session.getUserProperties()).thenReturn(properties);
+        final byte[] message = MESSAGE.getBytes();
+
+        endpoint.onMessage(message, session, ENDPOINT_ID);
+
+        verify(dispatcher).dispatch(message, ENDPOINT_ID);
+        assertTrue(WebSocketTransmissions.isBinary(session));
+    }
+
 }
@@ -12,24 +12,41 @@ package org.eclipse.che.api.core.websocket.impl;
 
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
 import org.eclipse.che.dto.server.DtoFactory;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
+import javax.websocket.CloseReason;
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 
 /**
  * Test for {@link BasicWebSocketMessageTransmitter}
@@ -45,28 +62,30 @@ public class BasicWebSocketTransmissionTransmitterTest {
     @Mock
     private WebSocketSessionRegistry         registry;
     @Mock
-    private PendingMessagesReSender          reSender;
-    @Mock
     private WebSocketTransmissionValidator   validator;
-    @InjectMocks
+    private PendingMessagesReSender          reSender;
     private BasicWebSocketMessageTransmitter transmitter;
 
     @Mock
     private Session              session;
     @Mock
-    private RemoteEndpoint.Basic remote;
+    private RemoteEndpoint.Async remote;
 
     private WebSocketTransmission transmission;
 
 
     @BeforeMethod
     public void setUp() throws Exception {
-        when(session.getBasicRemote()).thenReturn(remote);
+        when(session.getAsyncRemote()).thenReturn(remote);
+        when(session.getUserProperties()).thenReturn(new HashMap<>());
         when(session.isOpen()).thenReturn(true);
 
         when(registry.get(eq(ENDPOINT_ID))).thenReturn(Optional.of(session));
         when(registry.getSessions()).thenReturn(emptySet());
 
+        reSender = spy(new PendingMessagesReSender(registry));
+        transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, validator);
+
         transmission = DtoFactory.newDto(WebSocketTransmission.class).withProtocol(PROTOCOL).withMessage(MESSAGE);
     }
 
@@ -88,30 +107,113 @@ public class BasicWebSocketTransmissionTransmitterTest {
     public void shouldSendDirectMessageIfSessionIsOpenAndEndpointIsSet() throws IOException {
         transmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
 
-        verify(session).getBasicRemote();
-        verify(remote).sendText(transmission.toString());
+        verify(session).getAsyncRemote();
+        verify(remote).sendText(eq(directText(1)), any(SendHandler.class));
         verify(reSender, never()).add(eq(ENDPOINT_ID), any(WebSocketTransmission.class));
     }
 
+    @Test
+    public void shouldSendDirectMessageInBinaryFormatIfSessionIsSwitchedToBinary() throws IOException {
+        WebSocketTransmissions.enableBinary(session);
+
+        transmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
+
+        verify(remote).sendBinary(eq(ByteBuffer.wrap(DtoFactory.getInstance().toBinary(transmission.withSequence(1L)))),
+                                  any(SendHandler.class));
+        verify(remote, never()).sendText(anyString(), any(SendHandler.class));
+    }
+
     @Test
     public void shouldSendBroadcastingMessageIfSessionIsOpen() throws IOException {
         transmitter.transmit(PROTOCOL, MESSAGE);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(transmission.toString());
+        verify(session, never()).getAsyncRemote();
+        verify(remote, never()).sendText(eq(transmission.toString()), any(SendHandler.class));
         verify(reSender, never()).add(any(), any(WebSocketTransmission.class));
 
         verify(registry).getSessions();
     }
 
+    @Test
+    public void shouldNotSendNextMessageUntilPreviousOneIsSent() throws IOException {
+        final ArgumentCaptor<SendHandler> handler = ArgumentCaptor.forClass(SendHandler.class);
+
+        transmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
+        transmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
+
+        verify(remote).sendText(eq(directText(1)), handler.capture());
+
+        handler.getValue().onResult(new SendResult());
+
+        verify(remote).sendText(eq(directText(2)), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldCloseSessionIfClientDoesNotKeepUpWithMessages() throws IOException {
+        for (int i = 0; i <= WebSocketSessionOutbox.MAX_PENDING_MESSAGES + 1; i++) {
+            transmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
+        }
+
+        verify(remote).sendText(eq(directText(1)), any(SendHandler.class));
+        verify(session).close(any(CloseReason.class));
+    }
+
+    @Test
+    public void shouldSendConcurrentDirectMessagesInOrderOfTheirSequences() throws Exception {
+        final List<Long> sentSequences = Collections.synchronizedList(new ArrayList<>());
+        // container completes sending asynchronously
+        final ExecutorService container = Executors.newSingleThreadExecutor();
+        doAnswer(invocation -> {
+            final String text = (String)invocation.getArguments()[0];
+            sentSequences.add(DtoFactory.getInstance().createDtoFromJson(text, WebSocketTransmission.class).getSequence());
+            container.execute(() -> ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult()));
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+        final int threads = 4;
+        final int messagesPerThread = 100;
+        final CyclicBarrier start = new CyclicBarrier(threads);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < messagesPerThread; j++) {
+                        transmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(10, SECONDS);
+            }
+            final long deadline = System.currentTimeMillis() + 10_000;
+            while (sentSequences.size() < threads * messagesPerThread && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            executor.shutdownNow();
+            container.shutdownNow();
+        }
+
+        assertEquals(sentSequences.size(), threads * messagesPerThread);
+        for (int i = 0; i < sentSequences.size(); i++) {
+            assertEquals(sentSequences.get(i), Long.valueOf(i + 1));
+        }
+    }
+
     @Test
     public void shouldAddMessageToPendingIfSessionIsNotOpenedAndEndpointIsSet() throws IOException {
         when(session.isOpen()).thenReturn(false);
 
         transmitter.transmit(PROTOCOL, MESSAGE, ENDPOINT_ID);
 
-        verify(session, never()).getBasicRemote();
-        verify(remote, never()).sendText(transmission.toString());
+        verify(session, never()).getAsyncRemote();
+        verify(remote, never()).sendText(eq(transmission.toString()), any(SendHandler.class));
         verify(reSender).add(eq(ENDPOINT_ID), any(WebSocketTransmission.class));
     }
+
+    private String directText(long sequence) {
+        return DtoFactory.newDto(WebSocketTransmission.class).withProtocol(PROTOCOL).withMessage(MESSAGE).withSequence(sequence).toString();
+    }
 }
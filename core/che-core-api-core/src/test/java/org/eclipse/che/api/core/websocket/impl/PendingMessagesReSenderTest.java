@@ -11,7 +11,7 @@
 package org.eclipse.che.api.core.websocket.impl;
 
 import org.eclipse.che.api.core.websocket.shared.WebSocketTransmission;
-import org.mockito.InjectMocks;
+import org.eclipse.che.dto.server.DtoFactory;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -19,15 +19,21 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
 import javax.websocket.Session;
+import java.util.HashMap;
 import java.util.Optional;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Tests for {@link PendingMessagesReSender}
@@ -41,8 +47,8 @@ public class PendingMessagesReSenderTest {
 
     @Mock
     private WebSocketSessionRegistry sessionRegistry;
-    @InjectMocks
-    private PendingMessagesReSender  resender;
+
+    private PendingMessagesReSender resender;
 
     @Mock
     private Session               session;
@@ -57,6 +63,11 @@ public class PendingMessagesReSenderTest {
         when(session.getAsyncRemote()).thenReturn(endpoint);
         when(session.isOpen()).thenReturn(true);
         when(transmission.toString()).thenReturn(MESSAGE);
+        when(session.getUserProperties()).thenReturn(new HashMap<>());
+        doAnswer(invocation -> {
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult());
+            return null;
+        }).when(endpoint).sendText(anyString(), any(SendHandler.class));
     }
 
     @BeforeMethod
@@ -74,7 +85,7 @@ public class PendingMessagesReSenderTest {
 
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
         verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(eq(MESSAGE));
+        verify(endpoint, never()).sendText(eq(MESSAGE), any(SendHandler.class));
     }
 
     @Test
@@ -85,13 +96,13 @@ public class PendingMessagesReSenderTest {
         resender.resend(ENDPOINT_ID);
 
         verify(session, never()).getAsyncRemote();
-        verify(endpoint, never()).sendText(eq(MESSAGE));
+        verify(endpoint, never()).sendText(eq(MESSAGE), any(SendHandler.class));
 
         when(session.isOpen()).thenReturn(true);
         resender.resend(ENDPOINT_ID);
 
         verify(session).getAsyncRemote();
-        verify(endpoint).sendText(eq(MESSAGE));
+        verify(endpoint).sendText(eq(MESSAGE), any(SendHandler.class));
     }
 
     @Test
@@ -102,7 +113,7 @@ public class PendingMessagesReSenderTest {
 
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
         verify(session).getAsyncRemote();
-        verify(endpoint).sendText(eq(MESSAGE));
+        verify(endpoint).sendText(eq(MESSAGE), any(SendHandler.class));
     }
 
     @Test
@@ -116,7 +127,7 @@ public class PendingMessagesReSenderTest {
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
         verify(sessionRegistry).get(eq(1));
         verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(eq(MESSAGE));
+        verify(endpoint, times(2)).sendText(eq(MESSAGE), any(SendHandler.class));
     }
 
     @Test
@@ -126,12 +137,74 @@ public class PendingMessagesReSenderTest {
         resender.resend(ENDPOINT_ID);
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
         verify(session).getAsyncRemote();
-        verify(endpoint).sendText(eq(MESSAGE));
+        verify(endpoint).sendText(eq(MESSAGE), any(SendHandler.class));
 
         resender.resend(ENDPOINT_ID);
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
         verify(session).getAsyncRemote();
-        verify(endpoint).sendText(eq(MESSAGE));
+        verify(endpoint).sendText(eq(MESSAGE), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldReplayMessagesAfterLastSequence() {
+        final WebSocketTransmission first = newTransmission("first");
+        final WebSocketTransmission second = newTransmission("second");
+        final WebSocketTransmission third = newTransmission("third");
+        resender.addSent(ENDPOINT_ID, first);
+        resender.addSent(ENDPOINT_ID, second);
+        resender.add(ENDPOINT_ID, third);
+
+        resender.resend(ENDPOINT_ID, first.getSequence());
+
+        verify(endpoint, never()).sendText(eq(first.toString()), any(SendHandler.class));
+        verify(endpoint).sendText(eq(second.toString()), any(SendHandler.class));
+        verify(endpoint).sendText(eq(third.toString()), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldBufferMessagesFromCallbacksOfSendingToTheSameEndpoint() {
+        final WebSocketTransmission first = newTransmission("first");
+        final WebSocketTransmission second = newTransmission("second");
+        doAnswer(invocation -> {
+            // e.g. session is closed while message is sent and closing callback buffers message
+            resender.add(ENDPOINT_ID, second);
+            ((SendHandler)invocation.getArguments()[1]).onResult(new SendResult());
+            return null;
+        }).when(endpoint).sendText(eq(first.toString()), any(SendHandler.class));
+
+        resender.send(ENDPOINT_ID, first, session);
+        resender.resend(ENDPOINT_ID);
+
+        assertTrue(second.getSequence() > first.getSequence());
+        verify(endpoint).sendText(eq(second.toString()), any(SendHandler.class));
+    }
+
+    @Test
+    public void shouldAssignGrowingSequenceNumbers() {
+        final WebSocketTransmission first = newTransmission("first");
+        final WebSocketTransmission second = newTransmission("second");
+
+        resender.add(ENDPOINT_ID, first);
+        resender.add(1, second);
+
+        assertTrue(second.getSequence() > first.getSequence());
+    }
+
+    @Test
+    public void shouldOverwriteOldestMessagesIfBufferIsFull() {
+        resender = new PendingMessagesReSender(sessionRegistry, 2, 60);
+        final WebSocketTransmission first = newTransmission("first");
+        final WebSocketTransmission second = newTransmission("second");
+        final WebSocketTransmission third = newTransmission("third");
+        resender.add(ENDPOINT_ID, first);
+        resender.add(ENDPOINT_ID, second);
+        resender.add(ENDPOINT_ID, third);
+
+        resender.resend(ENDPOINT_ID);
+
+        verify(endpoint, never()).sendText(eq(first.toString()), any(SendHandler.class));
+        verify(endpoint).sendText(eq(second.toString()), any(SendHandler.class));
+        verify(endpoint).sendText(eq(third.toString()), any(SendHandler.class));
     }
 
     @Test
@@ -145,7 +218,7 @@ public class PendingMessagesReSenderTest {
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
         verify(sessionRegistry).get(eq(1));
         verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(eq(MESSAGE));
+        verify(endpoint, times(2)).sendText(eq(MESSAGE), any(SendHandler.class));
 
         resender.resend(ENDPOINT_ID);
         resender.resend(1);
@@ -153,6 +226,10 @@ public class PendingMessagesReSenderTest {
         verify(sessionRegistry).get(eq(ENDPOINT_ID));
         verify(sessionRegistry).get(eq(1));
         verify(session, times(2)).getAsyncRemote();
-        verify(endpoint, times(2)).sendText(eq(MESSAGE));
+        verify(endpoint, times(2)).sendText(eq(MESSAGE), any(SendHandler.class));
+    }
+
+    private WebSocketTransmission newTransmission(String message) {
+        return DtoFactory.newDto(WebSocketTransmission.class).withProtocol("protocol").withMessage(message);
     }
 }
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.websocket.impl;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.SendHandler;
+import javax.websocket.SendResult;
+import javax.websocket.Session;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures latency of broadcasting with {@link BasicWebSocketMessageTransmitter} to growing number of simulated
+ * endpoints, every tenth of them is a slow client which needs 20ms to receive a message. Latency should stay
+ * flat regardless of slow clients and grow only linearly with number of endpoints.
+ * <p/>
+ * It isn't unit test and isn't run during build, run it with {@code main} method.
+ */
+public class WebSocketBroadcastBenchmark {
+    private static final int  BROADCASTS          = 500;
+    private static final long SLOW_CLIENT_DELAY   = 20;
+    private static final long BROADCAST_INTERVAL  = 2;
+    private static final int  SLOW_CLIENTS_PERIOD = 10;
+
+    public static void main(String[] args) throws Exception {
+        final ScheduledExecutorService network = Executors.newScheduledThreadPool(4);
+        try {
+            for (int endpoints : new int[] {100, 200, 500, 1000}) {
+                final WebSocketSessionRegistry registry = new WebSocketSessionRegistry();
+                for (int i = 0; i < endpoints; i++) {
+                    registry.add(i, newSession(i, i % SLOW_CLIENTS_PERIOD == 0 ? SLOW_CLIENT_DELAY : 0, network));
+                }
+                final BasicWebSocketMessageTransmitter transmitter =
+                        new BasicWebSocketMessageTransmitter(registry, new PendingMessagesReSender(registry), transmission -> {});
+
+                final long[] latencies = new long[BROADCASTS];
+                for (int i = 0; i < BROADCASTS; i++) {
+                    final long start = System.nanoTime();
+                    transmitter.transmit("protocol", "{\"number\":" + i + "}");
+                    latencies[i] = System.nanoTime() - start;
+                    Thread.sleep(BROADCAST_INTERVAL);
+                }
+                Arrays.sort(latencies);
+                System.out.printf("endpoints: %5d, median: %8.3f ms, p99: %8.3f ms%n",
+                                  endpoints,
+                                  latencies[BROADCASTS / 2] / 1e6,
+                                  latencies[BROADCASTS * 99 / 100] / 1e6);
+            }
+        } finally {
+            network.shutdownNow();
+        }
+    }
+
+    /** Creates session which receives messages in {@code delay} milliseconds. */
+    private static Session newSession(int id, long delay, ScheduledExecutorService network) {
+        final RemoteEndpoint.Async remote = (RemoteEndpoint.Async)Proxy.newProxyInstance(
+                WebSocketBroadcastBenchmark.class.getClassLoader(),
+                new Class[] {RemoteEndpoint.Async.class},
+                (proxy, method, args) -> {
+                    if (args != null && args.length == 2 && args[1] instanceof SendHandler) {
+                        network.schedule(() -> ((SendHandler)args[1]).onResult(new SendResult()), delay, TimeUnit.MILLISECONDS);
+                    }
+                    return null;
+                });
+        final Map<String, Object> properties = new HashMap<>();
+        return (Session)Proxy.newProxyInstance(WebSocketBroadcastBenchmark.class.getClassLoader(),
+                                               new Class[] {Session.class},
+                                               (proxy, method, args) -> {
+                                                   switch (method.getName()) {
+                                                       case "getAsyncRemote":
+                                                           return remote;
+                                                       case "getUserProperties":
+                                                           return properties;
+                                                       case "isOpen":
+                                                           return true;
+                                                       case "getId":
+                                                           return Integer.toString(id);
+                                                       case "hashCode":
+                                                           return System.identityHashCode(proxy);
+                                                       case "equals":
+                                                           return proxy == args[0];
+                                                       default:
+                                                           return null;
+                                                   }
+                                               });
+    }
+}
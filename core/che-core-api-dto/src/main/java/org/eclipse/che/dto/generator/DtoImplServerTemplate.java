@@ -12,7 +12,9 @@
 package org.eclipse.che.dto.generator;
 
 import org.eclipse.che.dto.server.JsonArrayImpl;
+import org.eclipse.che.dto.server.JsonElements;
 import org.eclipse.che.dto.server.JsonSerializable;
+import org.eclipse.che.dto.server.JsonStreams;
 import org.eclipse.che.dto.server.JsonStringMapImpl;
 import org.eclipse.che.dto.shared.DelegateRule;
 import org.eclipse.che.dto.shared.DTOImpl;
@@ -30,6 +32,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -39,6 +42,8 @@ import java.util.Set;
 public class DtoImplServerTemplate extends DtoImpl {
     private static final String JSON_ARRAY_IMPL   = JsonArrayImpl.class.getCanonicalName();
     private static final String JSON_MAP_IMPL     = JsonStringMapImpl.class.getCanonicalName();
+    private static final String JSON_ELEMENTS     = JsonElements.class.getCanonicalName();
+    private static final String JSON_STREAMS      = JsonStreams.class.getCanonicalName();
     private static final String SERVER_DTO_MARKER = "  @" + DTOImpl.class.getCanonicalName() + "(\"server\")\n";
 
     DtoImplServerTemplate(DtoTemplate template, Class<?> superInterface) {
@@ -70,8 +75,12 @@ public class DtoImplServerTemplate extends DtoImpl {
         // equals, hashCode, serialization and copy constructor
         emitEqualsAndHashCode(methods, builder);
         emitSerializer(methods, builder);
+        emitStreamingSerializer(methods, builder);
+        emitBinarySerializer(methods, builder);
         emitDeserializer(methods, builder);
         emitDeserializerShortcut(builder);
+        emitStreamingDeserializer(methods, builder);
+        emitBinaryDeserializer(methods, builder);
         emitCopyConstructor(methods, builder);
         // Delegation DTO methods.
         emitDelegateMethods(builder);
@@ -301,8 +310,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("\n");
         builder.append("    @Override\n");
         builder.append("    public String toJson() {\n");
-        // The default toJson() creates its own JSON for internal printing, thus keeping JSONs values is safe
-        builder.append("      return gson.toJson(toJsonElementInt(false));\n");
+        builder.append("      return ").append(JSON_STREAMS).append(".toJson(this);\n");
         builder.append("    }\n");
         builder.append("\n");
         builder.append("    @Override\n");
@@ -420,8 +428,7 @@ public class DtoImplServerTemplate extends DtoImpl {
             builder.append(i).append("JsonElement ").append(outVar).append(" = ").append(depth == 0 ? " this." + inVar : inVar).append(
                     " == null ? JsonNull.INSTANCE : new JsonPrimitive(").append(depth == 0 ? "this." + inVar : inVar).append(");\n");
         } else if (isAny(rawClass)) {
-            // TODO JsonElement.deepCopy() is package-protected, JSONs are serialized to strings then parsed for copying them
-            // outVar = inVar == null ? JsonNull.INSTNACE : (copyJsons ? new JsonParser().parse(inVar) : inVar);
+            // outVar = inVar == null ? JsonNull.INSTNACE : (copyJsons ? JsonElements.copyOf(inVar) : inVar);
             builder.append(i).append("JsonElement ").append(outVar).append(" = ").append(depth == 0 ? " this." + inVar : inVar)
                     .append(" == null || !(").append(inVar).append(" instanceof JsonElement) ? JsonNull.INSTANCE : (");
             appendCopyJsonExpression(inVar, builder).append(");\n");
@@ -451,6 +458,269 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
     }
 
+    /**
+     * Generates a method that writes JSON directly to JsonWriter without building tree of JsonElements. Generated method produces the
+     * same JSON as serialization through {@code toJsonElement()}.
+     */
+    private void emitStreamingSerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void writeTo(JsonWriter writer) throws IOException {\n");
+        if (isCompactJson()) {
+            // Compact DTOs are serialized as arrays, they are rare and are not worth separate streaming implementation.
+            builder.append("      gson.toJson(toJsonElementInt(false), writer);\n");
+        } else {
+            builder.append("      writer.beginObject();\n");
+            for (Method getter : getters) {
+                builder.append("\n");
+                builder.append("      writer.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+                emitWriterImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()), "      ");
+            }
+            builder.append("      writer.endObject();\n");
+        }
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code that writes value of the type with the given variable name to JsonWriter.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java type that will be the input for serialization
+     * @param i
+     *         indentation string
+     */
+    private void emitWriterImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i) {
+        Type type = expandedTypes.get(depth);
+        String value = depth == 0 ? "this." + inVar : inVar;
+        String childInVar = inVar + "_";
+        Class<?> rawClass = getRawClass(type);
+        if (isList(rawClass) || isMap(rawClass)) {
+            String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            String entryVar = "entry" + depth;
+            String childIndentation = i;
+            if (depth == 0) {
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            } else {
+                builder.append(i).append("if (").append(value).append(" == null) {\n");
+                builder.append(i).append("  writer.nullValue();\n");
+                builder.append(i).append("} else {\n");
+                childIndentation = i + "  ";
+            }
+            if (isList(rawClass)) {
+                builder.append(childIndentation).append("writer.beginArray();\n");
+                builder.append(childIndentation).append("for (").append(childInTypeName).append(" ").append(childInVar).append(" : ")
+                       .append(value).append(") {\n");
+            } else {
+                builder.append(childIndentation).append("writer.beginObject();\n");
+                builder.append(childIndentation).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ")
+                       .append(entryVar).append(" : ").append(value).append(".entrySet()) {\n");
+                builder.append(childIndentation).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ")
+                       .append(entryVar).append(".getValue();\n");
+                builder.append(childIndentation).append("  writer.name(").append(entryVar).append(".getKey());\n");
+            }
+            emitWriterImpl(expandedTypes, depth + 1, builder, childInVar, childIndentation + "  ");
+            builder.append(childIndentation).append("}\n");
+            builder.append(childIndentation).append(isList(rawClass) ? "writer.endArray();\n" : "writer.endObject();\n");
+            if (depth != 0) {
+                builder.append(i).append("}\n");
+            }
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("writer.value(").append(value).append(" == null ? null : ").append(value).append(".name());\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            emitWriteDto(getImplNameForDto(rawClass), value, builder, i);
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("writer.value(").append(value).append(");\n");
+        } else if (rawClass == boolean.class
+                   || rawClass == int.class
+                   || rawClass == long.class
+                   || rawClass == double.class
+                   || rawClass == short.class
+                   || rawClass == byte.class) {
+            builder.append(i).append("writer.value(").append(value).append(");\n");
+        } else if (rawClass == float.class) {
+            // write float as Number, otherwise it is converted to double and precision artifacts appear in JSON
+            builder.append(i).append("writer.value(Float.valueOf(").append(value).append("));\n");
+        } else if (rawClass == Boolean.class) {
+            builder.append(i).append("if (").append(value).append(" == null) {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  writer.value(").append(value).append(".booleanValue());\n");
+            builder.append(i).append("}\n");
+        } else if (rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            builder.append(i).append("writer.value((Number)").append(value).append(");\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("if (").append(value).append(" instanceof JsonElement) {\n");
+            builder.append(i).append("  gson.toJson((JsonElement)").append(value).append(", writer);\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  writer.nullValue();\n");
+            builder.append(i).append("}\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                emitWriteDto(dtoImplementation.getCanonicalName(), value, builder, i);
+            } else {
+                throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                   getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                   " is not allowed to use in DTO interface.");
+            }
+        }
+    }
+
+    private void emitWriteDto(String implClassName, String value, StringBuilder builder, String i) {
+        builder.append(i).append("if (").append(value).append(" == null) {\n");
+        builder.append(i).append("  writer.nullValue();\n");
+        builder.append(i).append("} else {\n");
+        builder.append(i).append("  ((").append(implClassName).append(")").append(value).append(").writeTo(writer);\n");
+        builder.append(i).append("}\n");
+    }
+
+    /**
+     * Generates a method that writes DTO in binary format, see {@link org.eclipse.che.dto.server.DtoBinaryOutput}. Fields of compact DTOs
+     * are identified by their serialization indexes and fields of other DTOs by their JSON names.
+     */
+    private void emitBinarySerializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    @Override\n");
+        builder.append("    public void writeTo(DtoBinaryOutput output) throws IOException {\n");
+        builder.append("      output.beginObject();\n");
+        for (Method getter : getBinaryFields(getters)) {
+            builder.append("\n");
+            if (isCompactJson()) {
+                builder.append("      output.index(").append(getter.getAnnotation(SerializationIndex.class).value()).append(");\n");
+            } else {
+                builder.append("      output.name(").append(quoteStringLiteral(getJsonFieldName(getter))).append(");\n");
+            }
+            emitBinaryWriterImpl(expandType(getter.getGenericReturnType()), 0, builder, getJavaFieldName(getter.getName()), "      ");
+        }
+        builder.append("      output.endObject();\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Getters of fields written in binary format. If few getters have the same JSON name only the last one is used, the same as in JSON
+     * produced by {@code toJsonElement()}.
+     */
+    private List<Method> getBinaryFields(List<Method> getters) {
+        final Map<String, Method> fields = new LinkedHashMap<>();
+        for (Method getter : getters) {
+            final String key = isCompactJson() ? String.valueOf(getter.getAnnotation(SerializationIndex.class).value())
+                                               : getJsonFieldName(getter);
+            fields.remove(key);
+            fields.put(key, getter);
+        }
+        return new ArrayList<>(fields.values());
+    }
+
+    /**
+     * Produces code that writes value of the type with the given variable name to DtoBinaryOutput.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param inVar
+     *         the java type that will be the input for serialization
+     * @param i
+     *         indentation string
+     */
+    private void emitBinaryWriterImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String inVar, String i) {
+        Type type = expandedTypes.get(depth);
+        String value = depth == 0 ? "this." + inVar : inVar;
+        String childInVar = inVar + "_";
+        Class<?> rawClass = getRawClass(type);
+        if (isList(rawClass) || isMap(rawClass)) {
+            String childInTypeName = getImplName(expandedTypes.get(depth + 1), false);
+            String entryVar = "entry" + depth;
+            String childIndentation = i;
+            if (depth == 0) {
+                builder.append(i).append("this.").append(getEnsureName(inVar)).append("();\n");
+            } else {
+                builder.append(i).append("if (").append(value).append(" == null) {\n");
+                builder.append(i).append("  output.nullValue();\n");
+                builder.append(i).append("} else {\n");
+                childIndentation = i + "  ";
+            }
+            if (isList(rawClass)) {
+                builder.append(childIndentation).append("output.beginArray(").append(value).append(".size());\n");
+                builder.append(childIndentation).append("for (").append(childInTypeName).append(" ").append(childInVar).append(" : ")
+                       .append(value).append(") {\n");
+            } else {
+                builder.append(childIndentation).append("output.beginObject();\n");
+                builder.append(childIndentation).append("for (java.util.Map.Entry<String, ").append(childInTypeName).append("> ")
+                       .append(entryVar).append(" : ").append(value).append(".entrySet()) {\n");
+                builder.append(childIndentation).append("  ").append(childInTypeName).append(" ").append(childInVar).append(" = ")
+                       .append(entryVar).append(".getValue();\n");
+                builder.append(childIndentation).append("  output.name(").append(entryVar).append(".getKey());\n");
+            }
+            emitBinaryWriterImpl(expandedTypes, depth + 1, builder, childInVar, childIndentation + "  ");
+            builder.append(childIndentation).append("}\n");
+            if (isMap(rawClass)) {
+                builder.append(childIndentation).append("output.endObject();\n");
+            }
+            if (depth != 0) {
+                builder.append(i).append("}\n");
+            }
+        } else if (rawClass.isEnum()) {
+            builder.append(i).append("output.value(").append(value).append(" == null ? null : ").append(value).append(".name());\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            emitWriteBinaryDto(getImplNameForDto(rawClass), value, builder, i);
+        } else if (rawClass.equals(String.class)
+                   || rawClass == boolean.class
+                   || rawClass == int.class
+                   || rawClass == long.class
+                   || rawClass == double.class
+                   || rawClass == float.class
+                   || rawClass == short.class
+                   || rawClass == byte.class) {
+            builder.append(i).append("output.value(").append(value).append(");\n");
+        } else if (rawClass == Boolean.class
+                   || rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            final String unboxed = rawClass == Boolean.class ? "booleanValue"
+                                   : rawClass == Double.class ? "doubleValue"
+                                   : rawClass == Float.class ? "floatValue" : "longValue";
+            builder.append(i).append("if (").append(value).append(" == null) {\n");
+            builder.append(i).append("  output.nullValue();\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  output.value(").append(value).append(".").append(unboxed).append("());\n");
+            builder.append(i).append("}\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("if (").append(value).append(" instanceof JsonElement) {\n");
+            builder.append(i).append("  output.json((JsonElement)").append(value).append(");\n");
+            builder.append(i).append("} else {\n");
+            builder.append(i).append("  output.nullValue();\n");
+            builder.append(i).append("}\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                emitWriteBinaryDto(dtoImplementation.getCanonicalName(), value, builder, i);
+            } else {
+                throw new IllegalArgumentException("Unable to generate server implementation for DTO interface " +
+                                                   getDtoInterface().getCanonicalName() + ". Type " + rawClass +
+                                                   " is not allowed to use in DTO interface.");
+            }
+        }
+    }
+
+    private void emitWriteBinaryDto(String implClassName, String value, StringBuilder builder, String i) {
+        builder.append(i).append("if (").append(value).append(" == null) {\n");
+        builder.append(i).append("  output.nullValue();\n");
+        builder.append(i).append("} else {\n");
+        builder.append(i).append("  ((").append(implClassName).append(")").append(value).append(").writeTo(output);\n");
+        builder.append(i).append("}\n");
+    }
+
     /** Generates a static factory method that creates a new instance based on a JsonElement. */
     private void emitDeserializer(List<Method> getters, StringBuilder builder) {
         // The default fromJsonElement(json) works in unsafe mode and clones the JSON's for 'any' properties
@@ -489,6 +759,241 @@ public class DtoImplServerTemplate extends DtoImpl {
         builder.append("    }\n\n");
     }
 
+    /**
+     * Generates a static factory method that reads a new instance directly from JsonReader without building tree of JsonElements.
+     * Unknown fields are skipped.
+     */
+    private void emitStreamingDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(" readFrom(JsonReader reader) throws IOException {\n");
+        Set<String> jsonFieldNames = new HashSet<>();
+        boolean uniqueJsonFieldNames = true;
+        for (Method getter : getters) {
+            uniqueJsonFieldNames &= jsonFieldNames.add(getJsonFieldName(getter));
+        }
+        if (isCompactJson() || !uniqueJsonFieldNames) {
+            // Fields can't be matched by name, read tree of JsonElements, it is created by the reader thus it is safe to keep its parts.
+            builder.append("      return fromJsonElement(new JsonParser().parse(reader), false);\n");
+            builder.append("    }\n\n");
+            return;
+        }
+        builder.append("      if (").append(JSON_STREAMS).append(".nextNull(reader)) {\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      reader.beginObject();\n");
+        builder.append("      while (reader.hasNext()) {\n");
+        builder.append("        switch (reader.nextName()) {\n");
+        for (Method getter : getters) {
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            builder.append("          case ").append(quoteStringLiteral(getJsonFieldName(getter))).append(": {\n");
+            emitReaderImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, "            ");
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            reader.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      reader.endObject();\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code that reads value of the type from JsonReader and declares variable with the given name for it.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will be the output for deserialization
+     * @param i
+     *         indentation string
+     */
+    private void emitReaderImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        Type type = expandedTypes.get(depth);
+        String childOutVar = outVar + "_";
+        Class<?> rawClass = getRawClass(type);
+
+        if (isList(rawClass) || isMap(rawClass)) {
+            String keyVar = "key" + depth;
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (!").append(JSON_STREAMS).append(".nextNull(reader)) {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            builder.append(i).append(isList(rawClass) ? "  reader.beginArray();\n" : "  reader.beginObject();\n");
+            builder.append(i).append("  while (reader.hasNext()) {\n");
+            if (isMap(rawClass)) {
+                builder.append(i).append("    String ").append(keyVar).append(" = reader.nextName();\n");
+            }
+            emitReaderImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+            if (isList(rawClass)) {
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+            } else {
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+            }
+            builder.append(i).append("  }\n");
+            builder.append(i).append(isList(rawClass) ? "  reader.endArray();\n" : "  reader.endObject();\n");
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".readFrom(reader);\n");
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("String ").append(outVar).append(" = ").append(JSON_STREAMS).append(".nextString(reader);\n");
+        } else if (rawClass == boolean.class) {
+            builder.append(i).append("boolean ").append(outVar).append(" = ").append(JSON_STREAMS).append(".nextBoolean(reader);\n");
+        } else if (rawClass == int.class || rawClass == long.class || rawClass == double.class) {
+            String primitiveName = rawClass.getSimpleName();
+            String primitiveNameCap = primitiveName.substring(0, 1).toUpperCase() + primitiveName.substring(1);
+            builder.append(i).append(primitiveName).append(" ").append(outVar).append(" = reader.next").append(primitiveNameCap)
+                   .append("();\n");
+        } else if (rawClass == short.class || rawClass == byte.class) {
+            builder.append(i).append(rawClass.getSimpleName()).append(" ").append(outVar).append(" = (").append(rawClass.getSimpleName())
+                   .append(")reader.nextInt();\n");
+        } else if (rawClass == float.class) {
+            builder.append(i).append("float ").append(outVar).append(" = (float)reader.nextDouble();\n");
+        } else if (isAny(rawClass)) {
+            // reader creates new JsonElement, no need to copy it
+            builder.append(i).append("JsonElement ").append(outVar).append(" = new JsonParser().parse(reader);\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".readFrom(reader);\n");
+            } else {
+                // Use gson to handle all other types.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(reader, ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
+    /** Generates a static factory method that reads a new instance written in binary format. Unknown fields are skipped. */
+    private void emitBinaryDeserializer(List<Method> getters, StringBuilder builder) {
+        builder.append("    public static ").append(getImplClassName()).append(" readFrom(DtoBinaryInput input) throws IOException {\n");
+        builder.append("      if (input.nextNull()) {\n");
+        builder.append("        return null;\n");
+        builder.append("      }\n\n");
+        builder.append("      ").append(getImplClassName()).append(" dto = new ").append(getImplClassName()).append("();\n");
+        builder.append("      input.beginObject();\n");
+        builder.append("      while (input.hasNext()) {\n");
+        builder.append("        switch (input.").append(isCompactJson() ? "nextIndex" : "nextName").append("()) {\n");
+        for (Method getter : getBinaryFields(getters)) {
+            final String fieldName = getFieldNameFromGetterName(getter.getName());
+            final String fieldNameOut = fieldName + "Out";
+            builder.append("          case ");
+            if (isCompactJson()) {
+                builder.append(getter.getAnnotation(SerializationIndex.class).value());
+            } else {
+                builder.append(quoteStringLiteral(getJsonFieldName(getter)));
+            }
+            builder.append(": {\n");
+            emitBinaryReaderImpl(expandType(getter.getGenericReturnType()), 0, builder, fieldNameOut, "            ");
+            builder.append("            dto.").append(getSetterName(fieldName)).append("(").append(fieldNameOut).append(");\n");
+            builder.append("            break;\n");
+            builder.append("          }\n");
+        }
+        builder.append("          default:\n");
+        builder.append("            input.skipValue();\n");
+        builder.append("        }\n");
+        builder.append("      }\n");
+        builder.append("      return dto;\n");
+        builder.append("    }\n\n");
+    }
+
+    /**
+     * Produces code that reads value of the type from DtoBinaryInput and declares variable with the given name for it.
+     *
+     * @param expandedTypes
+     *         the type and its generic (and its generic (..)) expanded into a list, @see {@link #expandType(java.lang.reflect.Type)}
+     * @param depth
+     *         the depth (in the generics) for this recursive call. This can be used to index into {@code expandedTypes}
+     * @param outVar
+     *         the java variable that will be the output for deserialization
+     * @param i
+     *         indentation string
+     */
+    private void emitBinaryReaderImpl(List<Type> expandedTypes, int depth, StringBuilder builder, String outVar, String i) {
+        Type type = expandedTypes.get(depth);
+        String childOutVar = outVar + "_";
+        Class<?> rawClass = getRawClass(type);
+
+        if (isList(rawClass) || isMap(rawClass)) {
+            builder.append(i).append(getImplName(type, false)).append(" ").append(outVar).append(" = null;\n");
+            builder.append(i).append("if (!input.nextNull()) {\n");
+            builder.append(i).append("  ").append(outVar).append(" = new ").append(getImplName(type, true)).append("();\n");
+            if (isList(rawClass)) {
+                String sizeVar = "size" + depth;
+                builder.append(i).append("  for (int ").append(sizeVar).append(" = input.beginArray(); ")
+                       .append(sizeVar).append(" > 0; ").append(sizeVar).append("--) {\n");
+                emitBinaryReaderImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".add(").append(childOutVar).append(");\n");
+            } else {
+                String keyVar = "key" + depth;
+                builder.append(i).append("  input.beginObject();\n");
+                builder.append(i).append("  while (input.hasNext()) {\n");
+                builder.append(i).append("    String ").append(keyVar).append(" = input.nextName();\n");
+                emitBinaryReaderImpl(expandedTypes, depth + 1, builder, childOutVar, i + "    ");
+                builder.append(i).append("    ").append(outVar).append(".put(").append(keyVar).append(", ").append(childOutVar)
+                       .append(");\n");
+            }
+            builder.append(i).append("  }\n");
+            builder.append(i).append("}\n");
+        } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
+            builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                   .append(getImplNameForDto(rawClass)).append(".readFrom(input);\n");
+        } else if (rawClass.isEnum()) {
+            String rawClassName = rawClass.getName().replace('$', '.');
+            builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = input.nextEnum(").append(rawClassName)
+                   .append(".class);\n");
+        } else if (rawClass.equals(String.class)) {
+            builder.append(i).append("String ").append(outVar).append(" = input.nextString();\n");
+        } else if (rawClass == boolean.class
+                   || rawClass == int.class
+                   || rawClass == long.class
+                   || rawClass == double.class
+                   || rawClass == float.class) {
+            String primitiveName = rawClass.getSimpleName();
+            builder.append(i).append(primitiveName).append(" ").append(outVar).append(" = input.next")
+                   .append(Character.toUpperCase(primitiveName.charAt(0))).append(primitiveName.substring(1)).append("();\n");
+        } else if (rawClass == short.class || rawClass == byte.class) {
+            builder.append(i).append(rawClass.getSimpleName()).append(" ").append(outVar).append(" = (").append(rawClass.getSimpleName())
+                   .append(")input.nextInt();\n");
+        } else if (rawClass == Boolean.class
+                   || rawClass == Integer.class
+                   || rawClass == Long.class
+                   || rawClass == Double.class
+                   || rawClass == Float.class
+                   || rawClass == Short.class
+                   || rawClass == Byte.class) {
+            final String read = rawClass == Boolean.class ? "input.nextBoolean()"
+                                : rawClass == Long.class ? "input.nextLong()"
+                                : rawClass == Double.class ? "input.nextDouble()"
+                                : rawClass == Float.class ? "input.nextFloat()"
+                                : rawClass == Integer.class ? "input.nextInt()"
+                                : "(" + Primitives.unwrap(rawClass).getSimpleName() + ")input.nextInt()";
+            builder.append(i).append(rawClass.getSimpleName()).append(" ").append(outVar).append(" = input.nextNull() ? null : ")
+                   .append(read).append(";\n");
+        } else if (isAny(rawClass)) {
+            builder.append(i).append("JsonElement ").append(outVar).append(" = input.nextJson();\n");
+        } else {
+            final Class<?> dtoImplementation = getEnclosingTemplate().getDtoImplementation(rawClass);
+            if (dtoImplementation != null) {
+                builder.append(i).append(getImplName(rawClass, false)).append(" ").append(outVar).append(" = ")
+                       .append(dtoImplementation.getCanonicalName()).append(".readFrom(input);\n");
+            } else {
+                // Use gson to handle all other types.
+                String rawClassName = rawClass.getName().replace('$', '.');
+                builder.append(i).append(rawClassName).append(" ").append(outVar).append(" = gson.fromJson(input.nextJson(), ")
+                       .append(rawClassName).append(".class);\n");
+            }
+        }
+    }
+
     private void emitDeserializeFieldForMethod(Method method, StringBuilder builder) {
         final String fieldName = getFieldNameFromGetterName(method.getName());
         final String fieldNameIn = fieldName + "In";
@@ -586,8 +1091,7 @@ public class DtoImplServerTemplate extends DtoImpl {
             builder.append(i).append(primitiveName).append(" ").append(outVar).append(" = ").append(inVar).append(
                     ".getAs").append(primitiveNameCap).append("();\n");
         } else if (isAny(rawClass)) {
-            // TODO JsonElement.deepCopy() is package-protected, JSONs are serialized to strings then parsed for copying them
-            // outVar = copyJsons ? new JsonParser().parse(inVar) : inVar;
+            // outVar = copyJsons ? JsonElements.copyOf(inVar) : inVar;
             builder.append(i).append("JsonElement ").append(outVar).append(" = ");
             appendCopyJsonExpression(inVar, builder).append(";\n");
         } else {
@@ -612,16 +1116,16 @@ public class DtoImplServerTemplate extends DtoImpl {
      */
     private static StringBuilder appendCopyJsonExpression(String inVar, StringBuilder builder) {
         builder.append(COPY_JSONS_PARAM).append(" ? ");
-        appendNaiveCopyJsonExpression(inVar, builder).append(" : (JsonElement)(").append(inVar).append(")");
+        appendDeepCopyJsonExpression(inVar, builder).append(" : (JsonElement)(").append(inVar).append(")");
         return builder;
     }
-    private static StringBuilder appendNaiveCopyJsonExpression(String inValue, StringBuilder builder) {
-        builder.append("((");
-        builder.append(inValue);
-        builder.append(") != null ? new JsonParser().parse((");
-        builder.append(inValue);
-        builder.append(").toString()) : null)");
-        return builder;
+
+    /**
+     * Append the expression that copies value of 'any' property. JSON objects and arrays are copied structurally without serializing
+     * them to strings.
+     */
+    private static StringBuilder appendDeepCopyJsonExpression(String inValue, StringBuilder builder) {
+        return builder.append(JSON_ELEMENTS).append(".copyOf(").append(inValue).append(")");
     }
 
     private void emitPreamble(Class<?> dtoInterface, StringBuilder builder) {
@@ -643,7 +1147,7 @@ public class DtoImplServerTemplate extends DtoImpl {
         }
         builder.append(" implements ");
         builder.append(dtoInterface.getCanonicalName());
-        builder.append(", JsonSerializable ");
+        builder.append(", JsonSerializable, BinarySerializable ");
         builder.append(" {\n\n");
         emitFactoryMethod(builder);
         emitDefaultConstructor(builder);
@@ -797,7 +1301,7 @@ public class DtoImplServerTemplate extends DtoImpl {
             builder.append(i).append("}\n");
         } else if (isAny(rawClass)) {
             builder.append(i).append("this.").append(fieldName).append(" = ");
-            appendNaiveCopyJsonExpression(origin + "." + getterName + "()", builder).append(";\n");
+            appendDeepCopyJsonExpression(origin + "." + getterName + "()", builder).append(";\n");
         } else if (getEnclosingTemplate().isDtoInterface(rawClass)) {
             builder.append(i).append(rawTypeName).append(" ").append(fieldNameIn).append(" = ").append(origin).append(".")
                    .append(getterName).append("();\n");
@@ -851,6 +1355,10 @@ public class DtoImplServerTemplate extends DtoImpl {
             }
             if (getEnclosingTemplate().isDtoInterface(childRawType)) {
                 emitCheckNullAndCopyDto(childRawType, childVarIn, builder);
+            } else if (isAny(childRawType)) {
+                // items which aren't JSONs are kept as is, the same as items of any other type
+                builder.append(childVarIn).append(" instanceof JsonElement ? ").append(JSON_ELEMENTS).append(".deepCopy((JsonElement)")
+                       .append(childVarIn).append(") : ").append(childVarIn);
             } else {
                 builder.append(childVarIn);
             }
@@ -0,0 +1,26 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import java.io.IOException;
+
+/**
+ * An entity that may serialize itself to compact binary format. Format is described in {@link DtoBinaryOutput}.
+ *
+ * @see DtoProvider#fromBinary(DtoBinaryInput)
+ */
+public interface BinarySerializable {
+    /** Media type of DTOs serialized in binary format. */
+    String MEDIA_TYPE = "application/x-che-dto";
+
+    /** Serializes DTO to binary format with {@code output}. */
+    void writeTo(DtoBinaryOutput output) throws IOException;
+}
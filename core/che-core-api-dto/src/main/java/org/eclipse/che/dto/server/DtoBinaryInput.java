@@ -0,0 +1,458 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.ARRAY;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.DOUBLE;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.END_OF_OBJECT;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.FALSE;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.FLOAT;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.JSON;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.NAMED_KEY;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.NULL;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.NUMBER;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.OBJECT;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.STRING;
+import static org.eclipse.che.dto.server.DtoBinaryOutput.TRUE;
+
+/**
+ * Reads DTOs written by {@link DtoBinaryOutput}. Values are converted between compatible types the same as {@code JsonReader} does it,
+ * e.g. number may be read as string. Malformed data and values of unexpected types cause {@link StreamCorruptedException}.
+ * <p/>
+ * Input may come from untrusted clients, so declared lengths of strings and arrays are never trusted: they are checked against
+ * the rest of the payload, which is limited with maximum length, and memory is allocated as data actually arrives.
+ *
+ * @see DtoProvider#fromBinary(DtoBinaryInput)
+ */
+public final class DtoBinaryInput {
+    /** Maximum length of payload if it isn't specified explicitly. */
+    public static final long DEFAULT_MAX_LENGTH = 64 * 1024 * 1024;
+
+    private static final int NONE = -1;
+
+    private final InputStream input;
+    private final byte[]      buffer;
+    private final long        maxLength;
+
+    private long   received;
+    private int    position;
+    private int    limit;
+    private int    peeked     = NONE;
+    private int    pendingKey = NONE;
+    private String pendingName;
+
+    public DtoBinaryInput(InputStream input) {
+        this(input, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * @param input
+     *         serialized data
+     * @param maxLength
+     *         maximum number of bytes which may be read from {@code input}, e.g. length of request body
+     */
+    public DtoBinaryInput(InputStream input, long maxLength) {
+        this.input = input;
+        this.buffer = new byte[8192];
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Checks whether there are more values.
+     *
+     * @return {@code false} if input is exhausted and {@code true} otherwise
+     */
+    public boolean hasValue() throws IOException {
+        return peeked != NONE || position < limit || fill() > 0;
+    }
+
+    /**
+     * Consumes {@code null} if it is the next value.
+     *
+     * @return {@code true} if {@code null} was consumed and {@code false} otherwise
+     */
+    public boolean nextNull() throws IOException {
+        if (peek() == NULL) {
+            peeked = NONE;
+            return true;
+        }
+        return false;
+    }
+
+    /** Starts reading of DTO or map. */
+    public void beginObject() throws IOException {
+        expect(OBJECT, "object");
+    }
+
+    /** Checks whether current DTO or map has more fields. Ends reading of DTO or map when there are no more fields. */
+    public boolean hasNext() throws IOException {
+        if (pendingKey == NONE) {
+            pendingKey = readInt();
+            if (pendingKey == NAMED_KEY) {
+                pendingName = readString();
+            }
+        }
+        if (pendingKey == END_OF_OBJECT) {
+            pendingKey = NONE;
+            return false;
+        }
+        return true;
+    }
+
+    /** Reads name of field or key of map entry, if field has serialization index instead of name, an empty string is returned. */
+    public String nextName() throws IOException {
+        if (!hasNext()) {
+            throw new StreamCorruptedException("Expected name but was end of object");
+        }
+        final String name = pendingKey == NAMED_KEY ? pendingName : "";
+        pendingKey = NONE;
+        pendingName = null;
+        return name;
+    }
+
+    /** Reads serialization index of field, if field has name instead of index, {@code 0} is returned. */
+    public int nextIndex() throws IOException {
+        if (!hasNext()) {
+            throw new StreamCorruptedException("Expected index but was end of object");
+        }
+        final int index = pendingKey == NAMED_KEY ? 0 : pendingKey - 1;
+        pendingKey = NONE;
+        pendingName = null;
+        return index;
+    }
+
+    /**
+     * Starts reading of array.
+     *
+     * @return number of items in array
+     */
+    public int beginArray() throws IOException {
+        expect(ARRAY, "array");
+        return readCount();
+    }
+
+    public String nextString() throws IOException {
+        final int type = next();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString();
+            case TRUE:
+            case FALSE:
+                return Boolean.toString(type == TRUE);
+            case NUMBER:
+                return Long.toString(readZigZag());
+            case DOUBLE:
+                return Double.toString(Double.longBitsToDouble(readFixed(8)));
+            case FLOAT:
+                return Float.toString(Float.intBitsToFloat((int)readFixed(4)));
+            default:
+                throw unexpected("string", type);
+        }
+    }
+
+    public boolean nextBoolean() throws IOException {
+        final int type = next();
+        switch (type) {
+            case TRUE:
+                return true;
+            case FALSE:
+                return false;
+            case STRING:
+                return Boolean.parseBoolean(readString());
+            default:
+                throw unexpected("boolean", type);
+        }
+    }
+
+    public long nextLong() throws IOException {
+        final int type = next();
+        switch (type) {
+            case NUMBER:
+                return readZigZag();
+            case DOUBLE:
+                return (long)Double.longBitsToDouble(readFixed(8));
+            case FLOAT:
+                return (long)Float.intBitsToFloat((int)readFixed(4));
+            case STRING:
+                try {
+                    return Long.parseLong(readString());
+                } catch (NumberFormatException e) {
+                    throw new StreamCorruptedException(e.getMessage());
+                }
+            default:
+                throw unexpected("number", type);
+        }
+    }
+
+    public int nextInt() throws IOException {
+        final long value = nextLong();
+        if ((int)value != value) {
+            throw new StreamCorruptedException("Expected int but was " + value);
+        }
+        return (int)value;
+    }
+
+    public double nextDouble() throws IOException {
+        final int type = next();
+        switch (type) {
+            case DOUBLE:
+                return Double.longBitsToDouble(readFixed(8));
+            case FLOAT:
+                return Float.intBitsToFloat((int)readFixed(4));
+            case NUMBER:
+                return readZigZag();
+            case STRING:
+                try {
+                    return Double.parseDouble(readString());
+                } catch (NumberFormatException e) {
+                    throw new StreamCorruptedException(e.getMessage());
+                }
+            default:
+                throw unexpected("number", type);
+        }
+    }
+
+    public float nextFloat() throws IOException {
+        return (float)nextDouble();
+    }
+
+    /** Reads enum constant by its name, unknown names are read as {@code null} the same as Gson does it. */
+    public <E extends Enum<E>> E nextEnum(Class<E> enumType) throws IOException {
+        final String name = nextString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(enumType, name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** Reads value of 'any' property, values of other types are converted to {@code JsonElement}. */
+    public JsonElement nextJson() throws IOException {
+        final int type = next();
+        switch (type) {
+            case NULL:
+                return JsonNull.INSTANCE;
+            case JSON:
+                return new JsonParser().parse(readString());
+            case STRING:
+                return new JsonPrimitive(readString());
+            case TRUE:
+            case FALSE:
+                return new JsonPrimitive(type == TRUE);
+            case NUMBER:
+                return new JsonPrimitive(readZigZag());
+            case DOUBLE:
+                return new JsonPrimitive(Double.longBitsToDouble(readFixed(8)));
+            case FLOAT:
+                return new JsonPrimitive(Float.intBitsToFloat((int)readFixed(4)));
+            case ARRAY:
+                final JsonArray array = new JsonArray();
+                for (int size = readCount(); size > 0; size--) {
+                    array.add(nextJson());
+                }
+                return array;
+            case OBJECT:
+                final JsonObject object = new JsonObject();
+                while (hasNext()) {
+                    object.add(nextName(), nextJson());
+                }
+                return object;
+            default:
+                throw unexpected("value", type);
+        }
+    }
+
+    /** Skips the next value, e.g. value of unknown field. */
+    public void skipValue() throws IOException {
+        final int type = next();
+        switch (type) {
+            case NULL:
+            case TRUE:
+            case FALSE:
+                break;
+            case STRING:
+            case JSON:
+                skip(readLength());
+                break;
+            case NUMBER:
+                readVarint();
+                break;
+            case DOUBLE:
+                skip(8);
+                break;
+            case FLOAT:
+                skip(4);
+                break;
+            case ARRAY:
+                for (int size = readCount(); size > 0; size--) {
+                    skipValue();
+                }
+                break;
+            case OBJECT:
+                while (hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                break;
+            default:
+                throw unexpected("value", type);
+        }
+    }
+
+    private int peek() throws IOException {
+        if (peeked == NONE) {
+            peeked = readByte();
+        }
+        return peeked;
+    }
+
+    private int next() throws IOException {
+        final int type = peek();
+        peeked = NONE;
+        return type;
+    }
+
+    private void expect(int expectedType, String expected) throws IOException {
+        final int type = next();
+        if (type != expectedType) {
+            throw unexpected(expected, type);
+        }
+    }
+
+    private StreamCorruptedException unexpected(String expected, int type) {
+        return new StreamCorruptedException("Expected " + expected + " but was value of type " + type);
+    }
+
+    private String readString() throws IOException {
+        final int length = readLength();
+        if (length <= limit - position) {
+            final String value = new String(buffer, position, length, UTF_8);
+            position += length;
+            return value;
+        }
+        // long string is read in chunks, so memory grows with received data rather than with declared length
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(buffer.length);
+        int left = length;
+        while (left > 0) {
+            if (position == limit && fill() <= 0) {
+                throw new EOFException();
+            }
+            final int chunk = Math.min(left, limit - position);
+            bytes.write(buffer, position, chunk);
+            position += chunk;
+            left -= chunk;
+        }
+        return bytes.toString(UTF_8.name());
+    }
+
+    /** Reads length of string in bytes, it can't be greater than the rest of payload. */
+    private int readLength() throws IOException {
+        final int length = readInt();
+        if (length > remaining()) {
+            throw new StreamCorruptedException("Length " + length + " exceeds the rest of payload");
+        }
+        return length;
+    }
+
+    /** Reads number of items of array, each item takes at least one byte, so it can't be greater than the rest of payload. */
+    private int readCount() throws IOException {
+        final int count = readInt();
+        if (count > remaining()) {
+            throw new StreamCorruptedException("Number of items " + count + " exceeds the rest of payload");
+        }
+        return count;
+    }
+
+    /** Returns maximum number of bytes which may be read yet. */
+    private long remaining() {
+        return maxLength - received + limit - position;
+    }
+
+    private long readZigZag() throws IOException {
+        final long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private int readInt() throws IOException {
+        final long value = readVarint();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Malformed length " + value);
+        }
+        return (int)value;
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = readByte();
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("Malformed varint");
+    }
+
+    private long readFixed(int bytes) throws IOException {
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | readByte();
+        }
+        return value;
+    }
+
+    private int readByte() throws IOException {
+        if (position == limit && fill() <= 0) {
+            throw new EOFException();
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    private void skip(int bytes) throws IOException {
+        while (bytes > 0) {
+            if (position == limit && fill() <= 0) {
+                throw new EOFException();
+            }
+            final int skipped = Math.min(bytes, limit - position);
+            position += skipped;
+            bytes -= skipped;
+        }
+    }
+
+    private int fill() throws IOException {
+        position = 0;
+        limit = Math.max(input.read(buffer), 0);
+        received += limit;
+        if (received > maxLength) {
+            throw new StreamCorruptedException("Payload exceeds maximum length " + maxLength);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.JsonElement;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Writes DTOs in compact binary format. Each value starts with byte of its type which is followed by:
+ * <ul>
+ * <li>{@code NULL}, {@code TRUE}, {@code FALSE} - nothing</li>
+ * <li>{@code STRING} - number of UTF-8 bytes as varint and the bytes</li>
+ * <li>{@code NUMBER} - integer number as zigzag encoded varint</li>
+ * <li>{@code DOUBLE}, {@code FLOAT} - 8 or 4 bytes of IEEE 754 representation</li>
+ * <li>{@code ARRAY} - number of items as varint and the items</li>
+ * <li>{@code OBJECT} - fields of DTO or entries of map and {@code 0} after the last one. Each field is a key followed by value. Key is
+ * varint, {@code 1} means that name of field follows it as length-prefixed UTF-8 string, any greater value is
+ * {@link org.eclipse.che.dto.shared.SerializationIndex} of field plus one</li>
+ * <li>{@code JSON} - value of 'any' property as length-prefixed JSON string</li>
+ * </ul>
+ * The same as in JSON, fields and map entries with {@code null} values are skipped. Readers skip fields that they don't know, so DTOs
+ * may get new fields without breaking compatibility.
+ *
+ * @see BinarySerializable
+ * @see DtoBinaryInput
+ */
+public final class DtoBinaryOutput implements Flushable {
+    static final int NULL   = 0;
+    static final int TRUE   = 1;
+    static final int FALSE  = 2;
+    static final int STRING = 3;
+    static final int NUMBER = 4;
+    static final int DOUBLE = 5;
+    static final int FLOAT  = 6;
+    static final int ARRAY  = 7;
+    static final int OBJECT = 8;
+    static final int JSON   = 9;
+
+    static final int END_OF_OBJECT = 0;
+    static final int NAMED_KEY     = 1;
+
+    private final OutputStream output;
+    private final byte[]       buffer;
+
+    private int    position;
+    private String deferredName;
+    private int    deferredIndex;
+
+    public DtoBinaryOutput(OutputStream output) {
+        this.output = output;
+        this.buffer = new byte[8192];
+    }
+
+    /** Starts DTO or map. */
+    public DtoBinaryOutput beginObject() throws IOException {
+        writeDeferredKey();
+        writeByte(OBJECT);
+        return this;
+    }
+
+    /** Ends DTO or map. */
+    public DtoBinaryOutput endObject() throws IOException {
+        writeVarint(END_OF_OBJECT);
+        return this;
+    }
+
+    /** Sets name of the next field or key of the next map entry. It is written together with the next non-null value. */
+    public DtoBinaryOutput name(String name) {
+        deferredName = name;
+        return this;
+    }
+
+    /** Sets serialization index of the next field of compact DTO. It is written together with the next non-null value. */
+    public DtoBinaryOutput index(int index) {
+        deferredIndex = index;
+        return this;
+    }
+
+    /** Starts array with given number of items. */
+    public DtoBinaryOutput beginArray(int size) throws IOException {
+        writeDeferredKey();
+        writeByte(ARRAY);
+        writeVarint(size);
+        return this;
+    }
+
+    public DtoBinaryOutput nullValue() throws IOException {
+        if (deferredName != null || deferredIndex > 0) {
+            // skip field together with its null value
+            deferredName = null;
+            deferredIndex = 0;
+        } else {
+            writeByte(NULL);
+        }
+        return this;
+    }
+
+    public DtoBinaryOutput value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredKey();
+        writeByte(STRING);
+        writeString(value);
+        return this;
+    }
+
+    public DtoBinaryOutput value(boolean value) throws IOException {
+        writeDeferredKey();
+        writeByte(value ? TRUE : FALSE);
+        return this;
+    }
+
+    public DtoBinaryOutput value(long value) throws IOException {
+        writeDeferredKey();
+        writeByte(NUMBER);
+        writeVarint((value << 1) ^ (value >> 63));
+        return this;
+    }
+
+    public DtoBinaryOutput value(double value) throws IOException {
+        writeDeferredKey();
+        writeByte(DOUBLE);
+        writeFixed(Double.doubleToRawLongBits(value), 8);
+        return this;
+    }
+
+    public DtoBinaryOutput value(float value) throws IOException {
+        writeDeferredKey();
+        writeByte(FLOAT);
+        writeFixed(Float.floatToRawIntBits(value), 4);
+        return this;
+    }
+
+    /** Writes value of 'any' property. */
+    public DtoBinaryOutput json(JsonElement value) throws IOException {
+        if (value == null || value.isJsonNull()) {
+            return nullValue();
+        }
+        writeDeferredKey();
+        writeByte(JSON);
+        writeString(value.toString());
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (position > 0) {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+        output.flush();
+    }
+
+    private void writeDeferredKey() throws IOException {
+        if (deferredName != null) {
+            writeVarint(NAMED_KEY);
+            writeString(deferredName);
+            deferredName = null;
+        } else if (deferredIndex > 0) {
+            writeVarint(deferredIndex + 1);
+            deferredIndex = 0;
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        final byte[] bytes = value.getBytes(UTF_8);
+        writeVarint(bytes.length);
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                output.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeVarint(long value) throws IOException {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte)((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte)value;
+    }
+
+    private void writeFixed(long value, int bytes) throws IOException {
+        ensureCapacity(bytes);
+        for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte)(value >>> shift);
+        }
+    }
+
+    private void writeByte(int value) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte)value;
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (buffer.length - position < bytes) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        output.write(buffer, 0, position);
+        position = 0;
+    }
+}
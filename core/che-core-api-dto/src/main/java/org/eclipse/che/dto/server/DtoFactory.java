@@ -16,7 +16,12 @@ import com.google.common.cache.LoadingCache;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
 import org.eclipse.che.commons.lang.reflect.ParameterizedTypeImpl;
 import org.eclipse.che.dto.shared.DTO;
@@ -24,10 +29,15 @@ import org.eclipse.che.dto.shared.JsonArray;
 import org.eclipse.che.dto.shared.JsonStringMap;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -37,6 +47,8 @@ import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 /**
  * Provides implementations of DTO interfaces.
  *
@@ -143,6 +155,29 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Serializes DTO to JSON and writes it to {@code output}. JSON is written directly, without building tree of JSON elements or
+     * whole JSON string in memory. Method doesn't close {@code output}.
+     *
+     * @param dto
+     *         DTO object
+     * @param output
+     *         output for JSON
+     * @throws IllegalArgumentException
+     *         if specified object isn't {@link JsonSerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public <T> void toJson(T dto, Writer output) throws IOException {
+        if (dto instanceof JsonSerializable) {
+            final JsonWriter writer = JsonStreams.newWriter(output);
+            ((JsonSerializable)dto).writeTo(writer);
+            writer.flush();
+            return;
+        }
+        throw new IllegalArgumentException("JsonSerializable instance required. ");
+    }
+
     public <T> JsonElement toJsonElement(T dto) {
         if (dto instanceof JsonSerializable) {
             return ((JsonSerializable)dto).toJsonElement();
@@ -150,6 +185,68 @@ public final class DtoFactory {
         throw new IllegalArgumentException("JsonSerializable instance required. ");
     }
 
+    /**
+     * Serializes DTO to binary format and writes it to {@code output}. Method doesn't close {@code output}.
+     *
+     * @param dto
+     *         DTO object
+     * @param output
+     *         output for serialized DTO
+     * @throws IllegalArgumentException
+     *         if specified object isn't {@link BinarySerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     * @see DtoBinaryOutput
+     */
+    public <T> void toBinary(T dto, OutputStream output) throws IOException {
+        if (dto instanceof BinarySerializable) {
+            final DtoBinaryOutput binaryOutput = new DtoBinaryOutput(output);
+            ((BinarySerializable)dto).writeTo(binaryOutput);
+            binaryOutput.flush();
+            return;
+        }
+        throw new IllegalArgumentException("BinarySerializable instance required. ");
+    }
+
+    /**
+     * Serializes list of DTOs to binary format and writes it to {@code output}. Method doesn't close {@code output}.
+     *
+     * @param dtos
+     *         list of DTOs
+     * @param output
+     *         output for serialized DTOs
+     * @throws IllegalArgumentException
+     *         if any item of list isn't {@link BinarySerializable}
+     * @throws IOException
+     *         if an i/o error occurs
+     */
+    public void toBinary(List<?> dtos, OutputStream output) throws IOException {
+        final DtoBinaryOutput binaryOutput = new DtoBinaryOutput(output);
+        binaryOutput.beginArray(dtos.size());
+        for (Object dto : dtos) {
+            if (dto == null) {
+                binaryOutput.nullValue();
+            } else if (dto instanceof BinarySerializable) {
+                ((BinarySerializable)dto).writeTo(binaryOutput);
+            } else {
+                throw new IllegalArgumentException("BinarySerializable instance required. ");
+            }
+        }
+        binaryOutput.flush();
+    }
+
+    /** Serializes DTO to binary format. */
+    public <T> byte[] toBinary(T dto) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            toBinary(dto, output);
+        } catch (IOException e) {
+            // not expected for ByteArrayOutputStream
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return output.toByteArray();
+    }
+
     /**
      * Creates new instance of class which implements specified DTO interface.
      *
@@ -176,7 +273,16 @@ public final class DtoFactory {
      *         if can't provide any implementation for specified interface
      */
     public <T> T createDtoFromJson(String json, Class<T> dtoInterface) {
-        return getDtoProvider(dtoInterface).fromJson(json);
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return readDto(dtoProvider, new StringReader(json));
+        } catch (IOException e) {
+            // not expected for StringReader
+            throw new JsonIOException(e);
+        }
     }
 
     /**
@@ -208,14 +314,7 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> T createDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
-        DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        StringBuilder sb = new StringBuilder();
-        BufferedReader br = new BufferedReader(json);
-        String line;
-        while ((line = br.readLine()) != null) {
-            sb.append(line);
-        }
-        return dtoProvider.fromJson(sb.toString());
+        return readDto(getDtoProvider(dtoInterface), json);
     }
 
     /**
@@ -223,7 +322,7 @@ public final class DtoFactory {
      * initializing fields of DTO object.
      *
      * @param json
-     *         JSON data
+     *         JSON data in UTF-8
      * @param dtoInterface
      *         DTO interface
      * @throws IllegalArgumentException
@@ -232,7 +331,7 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> T createDtoFromJson(InputStream json, Class<T> dtoInterface) throws IOException {
-        return createDtoFromJson(new InputStreamReader(json), dtoInterface);
+        return createDtoFromJson(new BufferedReader(new InputStreamReader(json, UTF_8)), dtoInterface);
     }
 
     //
@@ -272,19 +371,16 @@ public final class DtoFactory {
      */
     public <T> JsonArray<T> createListDtoFromJson(Reader json, Class<T> dtoInterface) throws IOException {
         final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
-        final List<JsonElement> list;
+        final JsonReader reader = JsonStreams.newReader(json);
+        final List<T> result = new ArrayList<>();
         try {
-            list = gson.fromJson(json, listTypeCache.getUnchecked(JsonElement.class));
-        } catch (JsonSyntaxException e) {
-            final Throwable cause = e.getCause();
-            if (cause instanceof IOException) {
-                throw (IOException)cause;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                result.add(dtoProvider.fromJson(reader));
             }
-            throw e;
-        }
-        final List<T> result = new ArrayList<>(list.size());
-        for (JsonElement e : list) {
-            result.add(dtoProvider.fromJson(e));
+            reader.endArray();
+        } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+            throw new JsonSyntaxException(e);
         }
         return new JsonArrayImpl<>(result);
     }
@@ -293,7 +389,7 @@ public final class DtoFactory {
      * Parses the JSON data from the specified stream into list of objects of the specified type.
      *
      * @param json
-     *         JSON data
+     *         JSON data in UTF-8
      * @param dtoInterface
      *         DTO interface
      * @return list of DTO
@@ -303,7 +399,7 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> JsonArray<T> createListDtoFromJson(InputStream json, Class<T> dtoInterface) throws IOException {
-        return createListDtoFromJson(new InputStreamReader(json), dtoInterface);
+        return createListDtoFromJson(new BufferedReader(new InputStreamReader(json, UTF_8)), dtoInterface);
     }
 
     //
@@ -367,7 +463,7 @@ public final class DtoFactory {
      * Parses the JSON data from the specified stream into map of objects of the specified type.
      *
      * @param json
-     *         JSON data
+     *         JSON data in UTF-8
      * @param dtoInterface
      *         DTO interface
      * @return map of DTO
@@ -377,11 +473,121 @@ public final class DtoFactory {
      *         if an i/o error occurs
      */
     public <T> JsonStringMap<T> createMapDtoFromJson(InputStream json, Class<T> dtoInterface) throws IOException {
-        return createMapDtoFromJson(new InputStreamReader(json), dtoInterface);
+        return createMapDtoFromJson(new InputStreamReader(json, UTF_8), dtoInterface);
+    }
+
+    /**
+     * Reads DTO serialized in binary format from the specified stream. Empty stream is read as {@code null}.
+     *
+     * @param input
+     *         serialized DTO
+     * @param dtoInterface
+     *         DTO interface
+     * @return DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs or data is malformed
+     * @see DtoBinaryInput
+     */
+    public <T> T createDtoFromBinary(InputStream input, Class<T> dtoInterface) throws IOException {
+        return createDtoFromBinary(input, DtoBinaryInput.DEFAULT_MAX_LENGTH, dtoInterface);
+    }
+
+    /**
+     * Reads DTO serialized in binary format from the specified stream. Empty stream is read as {@code null}.
+     *
+     * @param input
+     *         serialized DTO
+     * @param maxLength
+     *         maximum number of bytes which may be read from {@code input}
+     * @param dtoInterface
+     *         DTO interface
+     * @return DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs, data is malformed or longer than {@code maxLength}
+     * @see DtoBinaryInput
+     */
+    public <T> T createDtoFromBinary(InputStream input, long maxLength, Class<T> dtoInterface) throws IOException {
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        final DtoBinaryInput binaryInput = new DtoBinaryInput(input, maxLength);
+        if (!binaryInput.hasValue()) {
+            return null;
+        }
+        return dtoProvider.fromBinary(binaryInput);
+    }
+
+    /**
+     * Reads list of DTOs serialized in binary format from the specified stream.
+     *
+     * @param input
+     *         serialized list of DTOs
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs or data is malformed
+     */
+    public <T> JsonArray<T> createListDtoFromBinary(InputStream input, Class<T> dtoInterface) throws IOException {
+        return createListDtoFromBinary(input, DtoBinaryInput.DEFAULT_MAX_LENGTH, dtoInterface);
+    }
+
+    /**
+     * Reads list of DTOs serialized in binary format from the specified stream.
+     *
+     * @param input
+     *         serialized list of DTOs
+     * @param maxLength
+     *         maximum number of bytes which may be read from {@code input}
+     * @param dtoInterface
+     *         DTO interface
+     * @return list of DTO
+     * @throws IllegalArgumentException
+     *         if can't provide any implementation for specified interface
+     * @throws IOException
+     *         if an i/o error occurs, data is malformed or longer than {@code maxLength}
+     */
+    public <T> JsonArray<T> createListDtoFromBinary(InputStream input, long maxLength, Class<T> dtoInterface) throws IOException {
+        final DtoProvider<T> dtoProvider = getDtoProvider(dtoInterface);
+        final DtoBinaryInput binaryInput = new DtoBinaryInput(input, maxLength);
+        final int size = binaryInput.beginArray();
+        // size comes from the client, list grows with DTOs actually read
+        final List<T> result = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            result.add(dtoProvider.fromBinary(binaryInput));
+        }
+        return new JsonArrayImpl<>(result);
     }
 
     //
 
+    /**
+     * Reads DTO directly from {@code json} without building tree of JSON elements. Empty input is read as {@code null}. Malformed JSON
+     * causes {@link JsonSyntaxException} as it does when JSON is parsed with {@link com.google.gson.JsonParser}.
+     */
+    private <T> T readDto(DtoProvider<T> dtoProvider, Reader json) throws IOException {
+        final JsonReader reader = JsonStreams.newReader(json);
+        try {
+            try {
+                reader.peek();
+            } catch (EOFException e) {
+                return null;
+            }
+            final T dto = dtoProvider.fromJson(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+            return dto;
+        } catch (MalformedJsonException | EOFException | IllegalStateException | NumberFormatException e) {
+            // the same exception as Gson throws for malformed or truncated JSON and unexpected tokens
+            throw new JsonSyntaxException(e);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private <T> DtoProvider<T> getDtoProvider(Class<T> dtoInterface) {
         DtoProvider<?> dtoProvider = dtoInterface2Providers.get(dtoInterface);
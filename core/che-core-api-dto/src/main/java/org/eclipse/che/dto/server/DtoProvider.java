@@ -11,6 +11,9 @@
 package org.eclipse.che.dto.server;
 
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
 
 /**
  * Provides implementation of DTO interface.
@@ -24,6 +27,12 @@ public interface DtoProvider<DTO> {
 
     DTO fromJson(JsonElement json);
 
+    /** Reads DTO directly from {@code reader}, without building tree of JSON elements. */
+    DTO fromJson(JsonReader reader) throws IOException;
+
+    /** Reads DTO serialized in binary format. */
+    DTO fromBinary(DtoBinaryInput input) throws IOException;
+
     DTO newInstance();
 
     DTO clone(DTO origin);
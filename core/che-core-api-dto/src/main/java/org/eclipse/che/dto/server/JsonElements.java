@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.util.Map;
+
+/**
+ * Helpers for copying values of 'any' properties of DTOs which are used by generated DTO implementations.
+ *
+ * @see org.eclipse.che.dto.shared.DTO
+ */
+public final class JsonElements {
+
+    /**
+     * Creates deep copy of value of 'any' property. {@code JsonElement}s are copied structurally, primitives and {@code null}s are
+     * immutable and shared between copies. Any other value is copied through its string representation.
+     *
+     * @return copy of value or {@code null} if value is {@code null}
+     */
+    public static JsonElement copyOf(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof JsonElement) {
+            return deepCopy((JsonElement)value);
+        }
+        return new JsonParser().parse(value.toString());
+    }
+
+    /** Copies JSON objects and arrays recursively, {@code JsonElement#deepCopy()} isn't accessible in all versions of Gson. */
+    public static JsonElement deepCopy(JsonElement element) {
+        if (element.isJsonObject()) {
+            final JsonObject copy = new JsonObject();
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                copy.add(entry.getKey(), deepCopy(entry.getValue()));
+            }
+            return copy;
+        }
+        if (element.isJsonArray()) {
+            final JsonArray copy = new JsonArray();
+            for (JsonElement item : element.getAsJsonArray()) {
+                copy.add(deepCopy(item));
+            }
+            return copy;
+        }
+        return element;
+    }
+
+    private JsonElements() {
+    }
+}
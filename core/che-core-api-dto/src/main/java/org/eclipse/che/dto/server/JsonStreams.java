@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto.server;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Helpers for streaming serialization of DTOs which are used by generated DTO implementations. Readers and writers are configured in
+ * the same way as Gson instance used for serialization of DTOs through tree of {@code JsonElement}s, so both ways produce the same
+ * JSON.
+ *
+ * @see JsonSerializable#writeTo(JsonWriter)
+ * @see DtoProvider#fromJson(JsonReader)
+ */
+public final class JsonStreams {
+
+    /** Creates writer that doesn't escape HTML characters and skips object members with {@code null} values. */
+    public static JsonWriter newWriter(Writer output) {
+        final JsonWriter writer = new JsonWriter(output);
+        writer.setLenient(true);
+        writer.setSerializeNulls(false);
+        writer.setHtmlSafe(false);
+        return writer;
+    }
+
+    /** Creates lenient reader. */
+    public static JsonReader newReader(Reader input) {
+        final JsonReader reader = new JsonReader(input);
+        reader.setLenient(true);
+        return reader;
+    }
+
+    /** Serializes DTO to JSON string. */
+    public static String toJson(JsonSerializable dto) {
+        final StringWriter output = new StringWriter();
+        try {
+            dto.writeTo(newWriter(output));
+        } catch (IOException e) {
+            // not expected for StringWriter
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        return output.toString();
+    }
+
+    /**
+     * Consumes {@code null} if it is the next value of {@code reader}.
+     *
+     * @return {@code true} if {@code null} was consumed and {@code false} otherwise
+     */
+    public static boolean nextNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    /** Reads string, numbers and booleans are converted to string as Gson does it. */
+    public static String nextString(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case NULL:
+                reader.nextNull();
+                return null;
+            case BOOLEAN:
+                return Boolean.toString(reader.nextBoolean());
+            default:
+                return reader.nextString();
+        }
+    }
+
+    /** Reads boolean, string values are accepted as well as {@code JsonPrimitive#getAsBoolean()} does it. */
+    public static boolean nextBoolean(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        }
+        return reader.nextBoolean();
+    }
+
+    private JsonStreams() {
+    }
+}
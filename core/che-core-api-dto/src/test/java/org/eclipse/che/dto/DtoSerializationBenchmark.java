@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.dto;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+
+import org.eclipse.che.dto.definitions.ComplicatedDto;
+import org.eclipse.che.dto.definitions.SimpleDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Compares serialization and deserialization of DTOs through tree of {@code JsonElement}s with streaming serialization and
+ * deserialization and with binary format. Number of nested DTOs in serialized DTO might be set with the first argument (1000 by default).
+ * <p/>
+ * It isn't unit test and isn't run during build, run it with {@code main} method.
+ */
+public class DtoSerializationBenchmark {
+    private static final long DURATION_MILLIS = 3000;
+
+    public static void main(String[] args) throws Exception {
+        final int numberOfDtos = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        final DtoFactory dtoFactory = DtoFactory.getInstance();
+        final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+        final JsonParser parser = new JsonParser();
+
+        final List<SimpleDto> simpleDtos = new ArrayList<>(numberOfDtos);
+        final Map<String, SimpleDto> map = new HashMap<>();
+        final List<String> strings = new ArrayList<>(numberOfDtos);
+        for (int i = 0; i < numberOfDtos; i++) {
+            final SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name" + i).withId(i).withDefault("default" + i);
+            simpleDtos.add(simpleDto);
+            map.put("key" + i, simpleDto);
+            strings.add("string" + i);
+        }
+        final ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                             .withSimpleDtos(simpleDtos)
+                                             .withMap(map)
+                                             .withStrings(strings)
+                                             .withSimpleEnum(ComplicatedDto.SimpleEnum.ONE)
+                                             .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE,
+                                                                                   ComplicatedDto.SimpleEnum.TWO)));
+        final String json = dtoFactory.toJson(dto);
+        final byte[] binary = dtoFactory.toBinary(dto);
+        System.out.printf("size of JSON: %d chars, size of binary: %d bytes%n", json.length(), binary.length);
+
+        final Runnable treeSerialization = () -> gson.toJson(((JsonSerializable)dto).toJsonElement());
+        final Runnable streamingSerialization = () -> dtoFactory.toJson(dto);
+        final Runnable treeDeserialization = () -> dtoFactory.createDtoFromJson(parser.parse(json), ComplicatedDto.class);
+        final Runnable streamingDeserialization = () -> {
+            try {
+                dtoFactory.createDtoFromJson(new StringReader(json), ComplicatedDto.class);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        };
+        final Runnable binarySerialization = () -> dtoFactory.toBinary(dto);
+        final Runnable binaryDeserialization = () -> {
+            try {
+                dtoFactory.createDtoFromBinary(new ByteArrayInputStream(binary), ComplicatedDto.class);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        };
+
+        // warm up
+        run(treeSerialization);
+        run(streamingSerialization);
+        run(treeDeserialization);
+        run(streamingDeserialization);
+        run(binarySerialization);
+        run(binaryDeserialization);
+
+        System.out.printf("serialization through tree:     %10.1f ops/s%n", run(treeSerialization));
+        System.out.printf("streaming serialization:        %10.1f ops/s%n", run(streamingSerialization));
+        System.out.printf("deserialization through tree:   %10.1f ops/s%n", run(treeDeserialization));
+        System.out.printf("streaming deserialization:      %10.1f ops/s%n", run(streamingDeserialization));
+        System.out.printf("binary serialization:           %10.1f ops/s%n", run(binarySerialization));
+        System.out.printf("binary deserialization:         %10.1f ops/s%n", run(binaryDeserialization));
+    }
+
+    private static double run(Runnable operation) {
+        final long end = System.currentTimeMillis() + DURATION_MILLIS;
+        long operations = 0;
+        while (System.currentTimeMillis() < end) {
+            operation.run();
+            operations++;
+        }
+        return operations * 1000.0 / DURATION_MILLIS;
+    }
+}
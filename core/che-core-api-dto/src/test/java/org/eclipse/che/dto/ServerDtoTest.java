@@ -10,11 +10,14 @@
  *******************************************************************************/
 package org.eclipse.che.dto;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
 
 import org.eclipse.che.dto.definitions.ComplicatedDto;
 import org.eclipse.che.dto.definitions.DTOHierarchy;
@@ -25,17 +28,27 @@ import org.eclipse.che.dto.definitions.SimpleDto;
 import org.eclipse.che.dto.definitions.model.Model;
 import org.eclipse.che.dto.definitions.model.ModelComponentDto;
 import org.eclipse.che.dto.definitions.model.ModelDto;
+import org.eclipse.che.dto.server.DtoBinaryOutput;
 import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StreamCorruptedException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Arrays.asList;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -60,6 +73,19 @@ public class ServerDtoTest {
         checkSimpleDto(dto, fooString, fooId, _default);
     }
 
+    @Test
+    public void testDeserializerDecodesStreamAsUtf8() throws Exception {
+        final String fooString = "\u041f\u0440\u0438\u0432\u0435\u0442 \u00e9\u00e8";
+        final String json = dtoFactory.toJson(dtoFactory.createDto(SimpleDto.class).withName(fooString).withId(1));
+
+        SimpleDto dto = dtoFactory.createDtoFromJson(new ByteArrayInputStream(json.getBytes(UTF_8)), SimpleDto.class);
+        List<SimpleDto> list = dtoFactory.createListDtoFromJson(new ByteArrayInputStream(('[' + json + ']').getBytes(UTF_8)),
+                                                                SimpleDto.class);
+
+        assertEquals(dto.getName(), fooString);
+        assertEquals(list.get(0).getName(), fooString);
+    }
+
     @Test
     public void testSimpleDtoSerializer() throws Exception {
         final String fooString = "Something";
@@ -166,6 +192,19 @@ public class ServerDtoTest {
         assertEquals(expJson, json);
     }
 
+    @Test
+    public void shouldCloneDtoWithAnyWithoutSharingJsons() throws Exception {
+        DtoWithAny dto1 = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                    .withObjects(createListTestValueForAny());
+
+        DtoWithAny dto2 = dtoFactory.clone(dto1);
+        ((JsonObject)dto1.getStuff()).addProperty("a", 200);
+        ((JsonObject)dto1.getObjects().get(0)).addProperty("x", 2);
+
+        assertEquals(dto2.getStuff(), createTestValueForAny());
+        assertEquals(dto2.getObjects(), createListTestValueForAny());
+    }
+
     /** Intentionally call several times to ensure non-reference equality */
     private static JsonElement createTestValueForAny() {
         return new JsonParser().parse("{a:100,b:{c:'blah'}}");
@@ -364,4 +403,154 @@ public class ServerDtoTest {
         assertEquals(childDto.getChildField(), "child-field");
         assertEquals(childDto.getParentField(), "parent-field");
     }
+
+    @Test
+    public void streamingSerializationShouldProduceTheSameJsonAsSerializationThroughJsonTree() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("<name> & \"quotes\"").withId(1).withDefault("default");
+        ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                       .withStrings(asList("a", null, "b"))
+                                       .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                       .withMap(Collections.singletonMap("key", simpleDto))
+                                       .withSimpleDtos(asList(simpleDto, null))
+                                       .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE),
+                                                                      asList(ComplicatedDto.SimpleEnum.THREE)));
+        DtoWithAny dtoWithAny = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                          .withObjects(createListTestValueForAny());
+        Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+
+        assertEquals(dtoFactory.toJson(dto), gson.toJson(((JsonSerializable)dto).toJsonElement()));
+        assertEquals(dtoFactory.toJson(dtoWithAny), gson.toJson(((JsonSerializable)dtoWithAny).toJsonElement()));
+    }
+
+    @Test
+    public void shouldWriteDtoToWriter() throws Exception {
+        SimpleDto dto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(1).withDefault("default");
+        StringWriter writer = new StringWriter();
+
+        dtoFactory.toJson(dto, writer);
+
+        assertEquals(writer.toString(), dtoFactory.toJson(dto));
+    }
+
+    @Test
+    public void shouldReadDtoFromReader() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(1).withDefault("default");
+        ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                       .withStrings(asList("a", "b"))
+                                       .withSimpleEnum(ComplicatedDto.SimpleEnum.ONE)
+                                       .withMap(Collections.singletonMap("key", simpleDto))
+                                       .withSimpleDtos(asList(simpleDto))
+                                       .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.TWO)));
+
+        ComplicatedDto result = dtoFactory.createDtoFromJson(new StringReader(dtoFactory.toJson(dto)), ComplicatedDto.class);
+
+        assertEquals(result, dto);
+    }
+
+    @Test
+    public void shouldSkipUnknownFieldsWhenReadDtoFromReader() throws Exception {
+        SimpleDto dto = dtoFactory.createDtoFromJson(new StringReader("{\"unknown\":{\"a\":[1,{}]},\"name\":\"name\",\"id\":1}"),
+                                                     SimpleDto.class);
+
+        checkSimpleDto(dto, "name", 1, null);
+    }
+
+    @Test
+    public void shouldReturnNullWhenReadDtoFromEmptyReader() throws Exception {
+        assertNull(dtoFactory.createDtoFromJson(new StringReader(""), SimpleDto.class));
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException.class)
+    public void shouldThrowJsonSyntaxExceptionWhenReadDtoFromTruncatedJson() throws Exception {
+        dtoFactory.createDtoFromJson("{\"name\":", SimpleDto.class);
+    }
+
+    @Test
+    public void shouldSerializeDtoToBinaryAndBack() throws Exception {
+        SimpleDto simpleDto = dtoFactory.createDto(SimpleDto.class).withName("name").withId(-1).withDefault("default");
+        ComplicatedDto dto = dtoFactory.createDto(ComplicatedDto.class)
+                                       .withStrings(asList("a", null, "b"))
+                                       .withSimpleEnum(ComplicatedDto.SimpleEnum.TWO)
+                                       .withMap(Collections.singletonMap("key", simpleDto))
+                                       .withSimpleDtos(asList(simpleDto, null))
+                                       .withArrayOfArrayOfEnum(asList(asList(ComplicatedDto.SimpleEnum.ONE,
+                                                                             ComplicatedDto.SimpleEnum.THREE)));
+
+        byte[] binary = dtoFactory.toBinary(dto);
+        ComplicatedDto result = dtoFactory.createDtoFromBinary(new ByteArrayInputStream(binary), ComplicatedDto.class);
+
+        assertEquals(result, dto);
+        assertTrue(binary.length < dtoFactory.toJson(dto).length());
+    }
+
+    @Test
+    public void shouldSerializeDtoWithAnyToBinaryAndBack() throws Exception {
+        DtoWithAny dto = dtoFactory.createDto(DtoWithAny.class).withStuff(createTestValueForAny())
+                                   .withObjects(createListTestValueForAny());
+
+        DtoWithAny result = dtoFactory.createDtoFromBinary(new ByteArrayInputStream(dtoFactory.toBinary(dto)), DtoWithAny.class);
+
+        assertEquals(result.getStuff(), createTestValueForAny());
+        assertEquals(result.getObjects(), createListTestValueForAny());
+    }
+
+    @Test
+    public void shouldSerializeListOfDtosToBinaryAndBack() throws Exception {
+        List<SimpleDto> dtos = asList(dtoFactory.createDto(SimpleDto.class).withName("name1").withId(1),
+                                      dtoFactory.createDto(SimpleDto.class).withName("name2").withId(2));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        dtoFactory.toBinary(dtos, output);
+
+        assertEquals(dtoFactory.createListDtoFromBinary(new ByteArrayInputStream(output.toByteArray()), SimpleDto.class), dtos);
+    }
+
+    @Test
+    public void shouldSkipUnknownFieldsWhenReadDtoFromBinary() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DtoBinaryOutput binaryOutput = new DtoBinaryOutput(output);
+        binaryOutput.beginObject();
+        binaryOutput.name("unknown").beginArray(2).value(1.5).beginObject().name("a").value("b").endObject();
+        binaryOutput.name("name").value("name");
+        binaryOutput.name("id").value(1);
+        binaryOutput.endObject();
+        binaryOutput.flush();
+
+        SimpleDto dto = dtoFactory.createDtoFromBinary(new ByteArrayInputStream(output.toByteArray()), SimpleDto.class);
+
+        checkSimpleDto(dto, "name", 1, null);
+    }
+
+    @Test
+    public void shouldReturnNullWhenReadDtoFromEmptyBinary() throws Exception {
+        assertNull(dtoFactory.createDtoFromBinary(new ByteArrayInputStream(new byte[0]), SimpleDto.class));
+    }
+
+    @Test
+    public void shouldReadLongStringFromBinary() throws Exception {
+        String name = String.join("", Collections.nCopies(100_000, "a"));
+        byte[] binary = dtoFactory.toBinary(dtoFactory.createDto(SimpleDto.class).withName(name).withId(1));
+
+        SimpleDto dto = dtoFactory.createDtoFromBinary(new ByteArrayInputStream(binary), binary.length, SimpleDto.class);
+
+        checkSimpleDto(dto, name, 1, null);
+    }
+
+    @Test(expectedExceptions = StreamCorruptedException.class)
+    public void shouldRejectStringLongerThanPayloadWhenReadDtoFromBinary() throws Exception {
+        String name = String.join("", Collections.nCopies(100_000, "a"));
+        byte[] binary = dtoFactory.toBinary(dtoFactory.createDto(SimpleDto.class).withName(name).withId(1));
+
+        dtoFactory.createDtoFromBinary(new ByteArrayInputStream(binary), 10_000, SimpleDto.class);
+    }
+
+    @Test(expectedExceptions = StreamCorruptedException.class)
+    public void shouldRejectArrayLargerThanPayloadWhenReadListOfDtosFromBinary() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        DtoBinaryOutput binaryOutput = new DtoBinaryOutput(output);
+        binaryOutput.beginArray(Integer.MAX_VALUE);
+        binaryOutput.flush();
+
+        dtoFactory.createListDtoFromBinary(new ByteArrayInputStream(output.toByteArray()), SimpleDto.class);
+    }
 }
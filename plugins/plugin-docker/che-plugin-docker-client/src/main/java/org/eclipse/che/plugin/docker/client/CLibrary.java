@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.client;
 
 import com.sun.jna.Library;
+import com.sun.jna.Platform;
 import com.sun.jna.Structure;
 import com.sun.jna.ptr.LongByReference;
 
@@ -25,6 +26,18 @@ public interface CLibrary extends Library {
     int AF_UNIX     = 1; // Defined in 'sys/socket.h'
     int SOCK_STREAM = 1; // Defined in 'sys/socket.h'
 
+    int MSG_PEEK     = 0x02; // Defined in 'sys/socket.h'
+    int MSG_DONTWAIT = Platform.isMac() ? 0x80 : 0x40; // Defined in 'sys/socket.h', differs on Mac OS
+
+    int EINTR  = 4;                          // Defined in 'errno.h'
+    int EAGAIN = Platform.isMac() ? 35 : 11; // Defined in 'errno.h', the same as EWOULDBLOCK, differs on Mac OS
+
+    int EFD_NONBLOCK = 0x800; // Defined in 'sys/eventfd.h'
+
+    int EPOLL_CTL_ADD = 1;     // Defined in 'sys/epoll.h'
+    int EPOLL_CTL_DEL = 2;     // Defined in 'sys/epoll.h'
+    int EPOLLIN       = 0x001; // Defined in 'sys/epoll.h'
+
     // Defined in 'unix.h', see http://man7.org/linux/man-pages/man7/unix.7.html
     class SockAddrUn extends Structure {
         public static final int UNIX_PATH_MAX = 108;
@@ -49,6 +62,31 @@ public interface CLibrary extends Library {
         }
     }
 
+    // Defined in 'sys/epoll.h', see http://man7.org/linux/man-pages/man2/epoll_ctl.2.html
+    class EpollEvent extends Structure {
+        // structure is packed on x86-64 only
+        private static final boolean PACKED = "amd64".equals(System.getProperty("os.arch"))
+                                              || "x86_64".equals(System.getProperty("os.arch"));
+
+        public int  events;
+        public long data;
+
+        public EpollEvent() {
+            super(PACKED ? ALIGN_NONE : ALIGN_DEFAULT);
+        }
+
+        public EpollEvent(int events, long data) {
+            this();
+            this.events = events;
+            this.data = data;
+        }
+
+        @Override
+        protected List getFieldOrder() {
+            return Arrays.asList("events", "data");
+        }
+    }
+
     int socket(int domain, int type, int protocol);
 
     int connect(int fd, SockAddrUn sock_addr, int addr_len);
@@ -71,6 +109,12 @@ public interface CLibrary extends Library {
 
     int open(String path, int mode);
 
+    int epoll_create1(int flags);
+
+    int epoll_ctl(int epfd, int op, int fd, EpollEvent event);
+
+    int epoll_wait(int epfd, EpollEvent events, int maxevents, int timeout);
+
     int O_RDONLY = 0x00;
     int O_WRONLY = 0x01;
 }
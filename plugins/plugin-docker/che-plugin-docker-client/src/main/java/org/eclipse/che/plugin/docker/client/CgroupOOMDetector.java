@@ -11,6 +11,7 @@
 package org.eclipse.che.plugin.docker.client;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.jna.Native;
 import com.sun.jna.ptr.LongByReference;
 
 import org.eclipse.che.api.core.util.SystemInfo;
@@ -18,6 +19,7 @@ import org.eclipse.che.commons.lang.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -29,22 +31,34 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
 /**
- * Docker container OOM detector based on cgroup usage
+ * Docker container OOM detector based on cgroup usage.
+ * <p/>
+ * OOM notifications of all the containers are awaited with single epoll instance,
+ * so number of threads doesn't depend on number of containers.
  *
  * @author Alexander Garagatyi
  */
 public class CgroupOOMDetector implements DockerOOMDetector {
     private static final Logger LOG = LoggerFactory.getLogger(CgroupOOMDetector.class);
 
+    private static final int SELECT_TIMEOUT_MS         = 1000;
+    private static final int MAX_SELECT_FAILURE_WAIT_MS = 30000;
+
     private final Map<String, OOMDetector> oomDetectors;
+    private final Map<Long, OOMDetector>   detectorsByToken;
+    private final AtomicLong               tokens;
     private final URI                      dockerDaemonUri;
     private final DockerConnector          dockerConnector;
     private final ExecutorService          executor;
 
+    private int epfd = -1;
+
     @Inject
     public CgroupOOMDetector(DockerConnectorConfiguration connectorConfiguration, DockerConnector dockerConnector) {
         this(connectorConfiguration.getDockerDaemonUri(), dockerConnector);
@@ -54,9 +68,11 @@ public class CgroupOOMDetector implements DockerOOMDetector {
         this.dockerDaemonUri = dockerDaemonUri;
         this.dockerConnector = dockerConnector;
         this.oomDetectors = new ConcurrentHashMap<>();
-        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("CgroupOOMDetector-%d")
-                                                                                .setDaemon(true)
-                                                                                .build());
+        this.detectorsByToken = new ConcurrentHashMap<>();
+        this.tokens = new AtomicLong();
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("CgroupOOMDetector-%d")
+                                                                                    .setDaemon(true)
+                                                                                    .build());
     }
 
     @Override
@@ -161,26 +177,108 @@ public class CgroupOOMDetector implements DockerOOMDetector {
         }
     }
 
+    /** Stops detection of OOM in all the containers and releases epoll instance. */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        oomDetectors.keySet().forEach(this::stopDetection);
+        try {
+            if (!executor.awaitTermination(SELECT_TIMEOUT_MS * 2, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Unable terminate thread which waits for OOM events");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        synchronized (this) {
+            if (epfd != -1) {
+                getCLibrary().close(epfd);
+                epfd = -1;
+            }
+        }
+    }
+
+    /** Waits for OOM events of all the detected containers in one thread. */
+    private void select() {
+        final CLibrary cLib = getCLibrary();
+        final CLibrary.EpollEvent event = new CLibrary.EpollEvent();
+        int failureWaitMs = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            // timeout lets the thread notice interruption
+            final int ready = cLib.epoll_wait(epfd, event, 1, SELECT_TIMEOUT_MS);
+            if (ready == 1) {
+                failureWaitMs = 0;
+                final OOMDetector oomDetector = detectorsByToken.get(event.data);
+                if (oomDetector != null) {
+                    try {
+                        oomDetector.onEvent();
+                    } catch (RuntimeException e) {
+                        LOG.error(e.getLocalizedMessage(), e);
+                    }
+                }
+            } else if (ready == -1) {
+                final int error = Native.getLastError();
+                // wait interrupted by a signal is just repeated, other errors are repeated by epoll_wait immediately
+                if (error != CLibrary.EINTR) {
+                    if (failureWaitMs == 0) {
+                        LOG.error("Unable wait for OOM events. {}", cLib.strerror(error));
+                    }
+                    failureWaitMs = Math.min(Math.max(failureWaitMs * 2, SELECT_TIMEOUT_MS), MAX_SELECT_FAILURE_WAIT_MS);
+                    try {
+                        Thread.sleep(failureWaitMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            } else {
+                failureWaitMs = 0;
+            }
+        }
+    }
+
+    private synchronized boolean ensureSelectorStarted() {
+        if (executor.isShutdown()) {
+            return false;
+        }
+        if (epfd == -1) {
+            if ((epfd = getCLibrary().epoll_create1(0)) == -1) {
+                LOG.error("Unable create epoll instance for OOM events");
+                return false;
+            }
+            executor.execute(this::select);
+        }
+        return true;
+    }
+
     /**
      * Detects OOM with cgroup notification mechanism.
      * <p/>
      * https://access.redhat.com/documentation/en-US/Red_Hat_Enterprise_Linux/6/html/Resource_Management_Guide/sec-Using_the_Notification_API.html
+     * <p/>
+     * Detector doesn't have own thread, notification file descriptor is registered in epoll instance
+     * which is shared by all the detectors. Epoll events carry unique token of detector instead of the
+     * file descriptor, because number of closed descriptor may be reused by another detector.
      */
-    private class OOMDetector implements Runnable {
+    private class OOMDetector {
         private final String                       container;
         private final MessageProcessor<LogMessage> containerLogProcessor;
         private final long                         memory;
         private final CLibrary                     cLib;
         private final String                       containerCgroup;
+        private final long                         token;
 
         private volatile boolean stopped = false;
         private boolean started = false;
+        private int     efd     = -1;
+        private int     oomfd   = -1;
 
         OOMDetector(String container, MessageProcessor<LogMessage> containerLogProcessor, long memory) {
             this.container = container;
             this.containerLogProcessor = containerLogProcessor;
             this.memory = memory;
             cLib = getCLibrary();
+            token = tokens.incrementAndGet();
 
             if (systemd) {
                 containerCgroup = cgroupMount + "/memory/system.slice/docker-" + container + ".scope/";
@@ -189,67 +287,79 @@ public class CgroupOOMDetector implements DockerOOMDetector {
             }
         }
 
-        @Override
-        public void run() {
+        synchronized void start() {
+            if (started || stopped) {
+                return;
+            }
+            started = true;
+            if (!ensureSelectorStarted() || !register()) {
+                stopDetection(container);
+            }
+        }
+
+        private boolean register() {
             final String cf = containerCgroup + "cgroup.event_control";
             final String oomf = containerCgroup + "memory.oom_control";
-            int efd = -1;
-            int oomfd = -1;
+            // non blocking read is needed because file descriptor number may be reused after the event is selected
+            if ((efd = cLib.eventfd(0, CLibrary.EFD_NONBLOCK)) == -1) {
+                LOG.error("Unable create a file descriptor for event notification");
+                return false;
+            }
+            int cfd;
+            if ((cfd = cLib.open(cf, CLibrary.O_WRONLY)) == -1) {
+                LOG.error("Unable open event control file '{}' for write", cf);
+                return false;
+            }
+            if ((oomfd = cLib.open(oomf, CLibrary.O_RDONLY)) == -1) {
+                LOG.error("Unable open OOM event file '{}' for read", oomf);
+                cLib.close(cfd);
+                return false;
+            }
+            final byte[] data = String.format("%d %d", efd, oomfd).getBytes();
+            if (cLib.write(cfd, data, data.length) != data.length) {
+                LOG.error("Unable write event control data to file '{}'", cf);
+                cLib.close(cfd);
+                return false;
+            }
+            if (cLib.close(cfd) == -1) {
+                LOG.error("Error closing of event control file '{}'", cf);
+                return false;
+            }
+            detectorsByToken.put(token, this);
+            if (cLib.epoll_ctl(epfd, CLibrary.EPOLL_CTL_ADD, efd, new CLibrary.EpollEvent(CLibrary.EPOLLIN, token)) == -1) {
+                LOG.error("Unable register OOM event of container '{}' for notification", container);
+                return false;
+            }
+            return true;
+        }
+
+        /** Called by selector thread when event file descriptor of this detector is ready for read. */
+        void onEvent() {
+            if (!readEvent()) {
+                return;
+            }
             try {
-                if ((efd = cLib.eventfd(0, 1)) == -1) {
-                    LOG.error("Unable create a file descriptor for event notification");
-                    return;
-                }
-                int cfd;
-                if ((cfd = cLib.open(cf, CLibrary.O_WRONLY)) == -1) {
-                    LOG.error("Unable open event control file '{}' for write", cf);
-                    return;
-                }
-                if ((oomfd = cLib.open(oomf, CLibrary.O_RDONLY)) == -1) {
-                    LOG.error("Unable open OOM event file '{}' for read", oomf);
-                    return;
-                }
-                final byte[] data = String.format("%d %d", efd, oomfd).getBytes();
-                if (cLib.write(cfd, data, data.length) != data.length) {
-                    LOG.error("Unable write event control data to file '{}'", cf);
-                    return;
-                }
-                if (cLib.close(cfd) == -1) {
-                    LOG.error("Error closing of event control file '{}'", cf);
-                    return;
-                }
-                final LongByReference eventHolder = new LongByReference();
-                if (cLib.eventfd_read(efd, eventHolder) == 0) {
-                    if (stopped) {
-                        return;
-                    }
-                    LOG.warn("OOM event received for container '{}'", container);
-                    if (readCgroupValue("memory.failcnt") > 0) {
-                        try {
-                            containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
-                                                                         "[ERROR] The processes in this machine need more RAM. This machine started with " +
-                                                                         Size.toHumanSize(memory)));
-                            containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
-                                                                         "[ERROR] Create a new machine configuration that allocates additional RAM or increase" +
-                                                                         " the workspace RAM limit in the user dashboard."));
-                        } catch (/*IOException*/ Exception e) {
-                            LOG.warn(e.getMessage(), e);
-                        }
+                LOG.warn("OOM event received for container '{}'", container);
+                if (readCgroupValue("memory.failcnt") > 0) {
+                    try {
+                        containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
+                                                                     "[ERROR] The processes in this machine need more RAM. This machine started with " +
+                                                                     Size.toHumanSize(memory)));
+                        containerLogProcessor.process(new LogMessage(LogMessage.Type.DOCKER,
+                                                                     "[ERROR] Create a new machine configuration that allocates additional RAM or increase" +
+                                                                     " the workspace RAM limit in the user dashboard."));
+                    } catch (/*IOException*/ Exception e) {
+                        LOG.warn(e.getMessage(), e);
                     }
                 }
             } finally {
-                if (!stopped) {
-                    stopDetection(container);
-                }
-                close(oomfd);
-                close(efd);
+                stopDetection(container);
             }
         }
 
-        private void close(int fd) {
-            if (fd != -1) {
-                cLib.close(fd);
-            }
+        /** Reads event under the lock, so {@link #stop()} can't close the file descriptor in the meantime. */
+        private synchronized boolean readEvent() {
+            return !stopped && cLib.eventfd_read(efd, new LongByReference()) == 0;
         }
 
         long readCgroupValue(String cgroupFile) {
@@ -264,15 +374,19 @@ public class CgroupOOMDetector implements DockerOOMDetector {
             return 0;
         }
 
-        synchronized void start() {
-            if (!started) {
-                started = true;
-                executor.execute(this);
+        synchronized void stop() {
+            if (stopped) {
+                return;
             }
-        }
-
-        void stop() {
             stopped = true;
+            if (efd != -1) {
+                detectorsByToken.remove(token, this);
+                // closing of the file descriptor removes it from epoll instance as well
+                cLib.close(efd);
+            }
+            if (oomfd != -1) {
+                cLib.close(oomfd);
+            }
         }
     }
 }
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+/**
+ * Snapshot of statistics of pool of connections to docker daemon.
+ */
+public final class ConnectionPoolStatistics {
+    private final long created;
+    private final long reused;
+    private final long discarded;
+    private final int  idle;
+
+    ConnectionPoolStatistics(long created, long reused, long discarded, int idle) {
+        this.created = created;
+        this.reused = reused;
+        this.discarded = discarded;
+        this.idle = idle;
+    }
+
+    /** Returns number of connections opened to docker daemon. */
+    public long getCreated() {
+        return created;
+    }
+
+    /** Returns number of requests sent over connections kept alive after previous requests. */
+    public long getReused() {
+        return reused;
+    }
+
+    /** Returns number of connections closed because they were broken, expired or not needed in pool. */
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    /** Returns number of connections which are waiting for the next request. */
+    public int getIdle() {
+        return idle;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolStatistics{" +
+               "created=" + created +
+               ", reused=" + reused +
+               ", discarded=" + discarded +
+               ", idle=" + idle +
+               '}';
+    }
+}
@@ -18,17 +18,24 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 
 import javax.inject.Named;
 import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Factory for connections to docker API.
  *
  * <p>Detects connection implementation by checking docker daemon URI.
+ * Connections are kept alive between requests unless {@value #POOL_MAX_IDLE_PROPERTY} is 0.
  *
  * @author Alexander Garagatyi
  */
 public class DockerConnectionFactory {
     public static final String CONNECTION_TIMEOUT_MS_PROPERTY      = "docker.connection.tcp.connection_timeout_ms";
     public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY = "docker.connection.tcp.read_timeout_ms";
+    public static final String POOL_MAX_IDLE_PROPERTY              = "docker.connection.pool.max_idle";
+    public static final String POOL_IDLE_TIMEOUT_MS_PROPERTY       = "docker.connection.pool.idle_timeout_ms";
 
     @Inject(optional = true)
     @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -38,18 +45,52 @@ public class DockerConnectionFactory {
     @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
     private int connectionReadTimeoutMs = 60000;
 
-    private final DockerCertificates dockerCertificates;
+    /** Max number of idle connections kept alive per docker daemon, 0 disables reuse of connections. */
+    @Inject(optional = true)
+    @Named(POOL_MAX_IDLE_PROPERTY)
+    private int poolMaxIdle = 10;
+
+    @Inject(optional = true)
+    @Named(POOL_IDLE_TIMEOUT_MS_PROPERTY)
+    private int poolIdleTimeoutMs = 30000;
+
+    private final DockerCertificates                              dockerCertificates;
+    private final ConcurrentMap<String, UnixSocketConnectionPool> unixSocketPools;
 
     @Inject
     public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
         this.dockerCertificates = connectorConfiguration.getDockerCertificates();
+        this.unixSocketPools = new ConcurrentHashMap<>();
+    }
+
+    public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration, int poolMaxIdle, int poolIdleTimeoutMs) {
+        this(connectorConfiguration);
+        this.poolMaxIdle = poolMaxIdle;
+        this.poolIdleTimeoutMs = poolIdleTimeoutMs;
     }
 
     public DockerConnection openConnection(URI dockerDaemonUri) {
         if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-            return new UnixSocketConnection(dockerDaemonUri.getPath());
+            if (poolMaxIdle <= 0) {
+                return new UnixSocketConnection(dockerDaemonUri.getPath());
+            }
+            return new UnixSocketConnection(dockerDaemonUri.getPath(),
+                                            unixSocketPools.computeIfAbsent(dockerDaemonUri.getPath(),
+                                                                            path -> new UnixSocketConnectionPool(path,
+                                                                                                                 poolMaxIdle,
+                                                                                                                 poolIdleTimeoutMs)));
         } else {
-            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
+            return new TcpConnection(dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs, poolMaxIdle > 0);
         }
     }
+
+    /**
+     * Returns statistics of pools of connections by paths of docker daemon unix sockets.
+     * Connections over TCP are kept alive by JDK, so they are not present in the statistics.
+     */
+    public Map<String, ConnectionPoolStatistics> getPoolStatistics() {
+        final Map<String, ConnectionPoolStatistics> statistics = new HashMap<>();
+        unixSocketPools.forEach((path, pool) -> statistics.put(path, pool.getStatistics()));
+        return statistics;
+    }
 }
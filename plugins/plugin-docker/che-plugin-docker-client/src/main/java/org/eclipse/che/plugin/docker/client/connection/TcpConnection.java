@@ -17,6 +17,7 @@ import org.eclipse.che.plugin.docker.client.DockerCertificates;
 
 import javax.net.ssl.HttpsURLConnection;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URI;
@@ -32,10 +33,21 @@ public class TcpConnection extends DockerConnection {
     private final DockerCertificates certificates;
     private final int                connectionTimeout;
     private final int                readTimeout;
+    private final boolean            keepAlive;
 
     private HttpURLConnection connection;
+    private boolean           requested;
 
     public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs) {
+        this(baseUri, certificates, connectionTimeoutMs, readTimeoutMs, false);
+    }
+
+    /**
+     * Creates connection which lets JDK keep socket alive for the next requests to the same daemon
+     * if {@code keepAlive} is {@code true}, limits of kept alive sockets are configured with standard
+     * {@code http.keepAlive} and {@code http.maxConnections} system properties.
+     */
+    public TcpConnection(URI baseUri, DockerCertificates certificates, int connectionTimeoutMs, int readTimeoutMs, boolean keepAlive) {
         if ("https".equals(baseUri.getScheme())) {
             if (certificates == null) {
                 throw new IllegalArgumentException("Certificates are required for https connection.");
@@ -47,6 +59,7 @@ public class TcpConnection extends DockerConnection {
         this.certificates = certificates;
         this.connectionTimeout = connectionTimeoutMs;
         this.readTimeout = readTimeoutMs;
+        this.keepAlive = keepAlive;
     }
 
     @Override
@@ -62,8 +75,10 @@ public class TcpConnection extends DockerConnection {
             ((HttpsURLConnection)connection).setSSLSocketFactory(certificates.getSslContext().getSocketFactory());
         }
         connection.setRequestMethod(method);
-        // needed to fix bug https://github.com/docker/docker/issues/12845
-        connection.setRequestProperty("Connection", "close");
+        if (!keepAlive || isHijacking(path)) {
+            // needed to fix bug https://github.com/docker/docker/issues/12845
+            connection.setRequestProperty("Connection", "close");
+        }
         for (Pair<String, ?> header : headers) {
             connection.setRequestProperty(header.first, String.valueOf(header.second));
         }
@@ -79,13 +94,33 @@ public class TcpConnection extends DockerConnection {
                 entity.writeTo(output);
             }
         }
+        requested = true;
         return new TcpDockerResponse(connection);
     }
 
     @Override
     public void close() {
-        if (connection != null) {
-            connection.disconnect();
+        if (connection == null) {
+            return;
         }
+        if (keepAlive && requested) {
+            // closing of the response stream instead of disconnection lets JDK reuse the socket,
+            // it is closed by JDK anyway if the rest of response can't be skipped
+            try {
+                InputStream responseStream = connection.getErrorStream();
+                if (responseStream == null) {
+                    responseStream = connection.getInputStream();
+                }
+                responseStream.close();
+                return;
+            } catch (IOException ignored) {
+            }
+        }
+        connection.disconnect();
+    }
+
+    /** Checks whether docker takes over connection for raw streams of container, such connections can't be reused. */
+    private static boolean isHijacking(String path) {
+        return path.endsWith("/attach") || (path.contains("/exec/") && path.endsWith("/start"));
     }
 }
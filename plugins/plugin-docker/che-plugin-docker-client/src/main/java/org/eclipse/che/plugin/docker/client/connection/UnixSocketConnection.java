@@ -35,36 +35,70 @@ import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-    private final String dockerSocketPath;
+    private final String                   dockerSocketPath;
+    private final UnixSocketConnectionPool pool;
 
-    private int fd = -1;
+    private int                      fd = -1;
+    private UnixSocketDockerResponse response;
 
     public UnixSocketConnection(String dockerSocketPath) {
+        this(dockerSocketPath, null);
+    }
+
+    /**
+     * Creates connection which takes socket from the pool and returns it back on close
+     * if the whole response is read.
+     */
+    UnixSocketConnection(String dockerSocketPath, UnixSocketConnectionPool pool) {
         this.dockerSocketPath = dockerSocketPath;
+        this.pool = pool;
     }
 
     @Override
     protected DockerResponse request(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
             throws IOException {
-        fd = connect();
-        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-        writeHttpHeaders(output, method, path, query, headers);
-        if (entity != null) {
-            entity.writeTo(output);
+        if (pool != null) {
+            fd = pool.leaseIdle();
+            if (fd != -1) {
+                try {
+                    response = send(method, path, query, headers, entity);
+                    // daemon might close idle connection after the check, request without side effects may be repeated
+                    if ("GET".equals(method)) {
+                        response.getStatus();
+                    }
+                    return response;
+                } catch (IOException e) {
+                    if (!"GET".equals(method)) {
+                        throw e;
+                    }
+                    pool.discard(fd);
+                    fd = -1;
+                }
+            }
+            fd = pool.connect();
+        } else {
+            fd = connect(getCLibrary(), dockerSocketPath);
         }
-        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+        return response = send(method, path, query, headers, entity);
     }
 
 
     @Override
     public void close() {
-        if (fd != -1) {
+        if (fd == -1) {
+            return;
+        }
+        if (pool == null) {
             getCLibrary().close(fd);
+        } else if (response != null && response.isEndOfBodyReached()) {
+            pool.release(fd);
+        } else {
+            pool.discard(fd);
         }
+        fd = -1;
     }
 
-    private int connect() throws IOException {
-        final CLibrary cLib = getCLibrary();
+    static int connect(CLibrary cLib, String dockerSocketPath) throws IOException {
         int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
         if (fd == -1) {
             throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
@@ -72,11 +106,22 @@ public class UnixSocketConnection extends DockerConnection {
         final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
         int c = cLib.connect(fd, sockAddr, sockAddr.size());
         if (c == -1) {
+            cLib.close(fd);
             throw new ConnectException(String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
         }
         return fd;
     }
 
+    private UnixSocketDockerResponse send(String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
+            throws IOException {
+        final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
+        writeHttpHeaders(output, method, path, query, headers);
+        if (entity != null) {
+            entity.writeTo(output);
+        }
+        return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    }
+
     private void writeHttpHeaders(OutputStream output, String method, String path, String query, List<Pair<String, ?>> headers)
             throws IOException {
         final Writer writer = new OutputStreamWriter(output);
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.sun.jna.Native;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.EAGAIN;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.plugin.docker.client.CLibrary.MSG_PEEK;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+
+/**
+ * Keeps connections to docker daemon unix socket alive between requests.
+ *
+ * <p>Connection is returned to the pool only when the whole response is read from it, see
+ * {@link UnixSocketDockerResponse#isEndOfBodyReached()}. The most recently used connection is
+ * leased first, connections which are idle longer than idle timeout or closed by daemon are
+ * discarded. Number of connections in use is not limited, because streaming requests such as
+ * events or logs hold their connections for a long time, only number of idle connections is.
+ */
+class UnixSocketConnectionPool {
+    private final CLibrary              cLib;
+    private final String                dockerSocketPath;
+    private final int                   maxIdle;
+    private final long                  idleTimeoutMs;
+    private final Deque<IdleConnection> idle;
+    private final AtomicLong            created;
+    private final AtomicLong            reused;
+    private final AtomicLong            discarded;
+
+    UnixSocketConnectionPool(String dockerSocketPath, int maxIdle, long idleTimeoutMs) {
+        this(getCLibrary(), dockerSocketPath, maxIdle, idleTimeoutMs);
+    }
+
+    UnixSocketConnectionPool(CLibrary cLib, String dockerSocketPath, int maxIdle, long idleTimeoutMs) {
+        this.cLib = cLib;
+        this.dockerSocketPath = dockerSocketPath;
+        this.maxIdle = maxIdle;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.idle = new ArrayDeque<>();
+        this.created = new AtomicLong();
+        this.reused = new AtomicLong();
+        this.discarded = new AtomicLong();
+    }
+
+    /**
+     * Takes idle connection from the pool.
+     *
+     * @return file descriptor of connection or -1 if there is no alive idle connection
+     */
+    int leaseIdle() {
+        for (; ; ) {
+            final IdleConnection connection;
+            synchronized (idle) {
+                connection = idle.pollFirst();
+            }
+            if (connection == null) {
+                return -1;
+            }
+            if (!connection.isExpired() && isOpen(connection.fd)) {
+                reused.incrementAndGet();
+                return connection.fd;
+            }
+            discard(connection.fd);
+        }
+    }
+
+    /**
+     * Opens new connection, it may be returned to the pool after usage.
+     *
+     * @return file descriptor of connection
+     */
+    int connect() throws IOException {
+        final int fd = UnixSocketConnection.connect(cLib, dockerSocketPath);
+        created.incrementAndGet();
+        return fd;
+    }
+
+    /** Returns connection which is ready for the next request to the pool. */
+    void release(int fd) {
+        IdleConnection expired = null;
+        boolean pooled = false;
+        synchronized (idle) {
+            if (!idle.isEmpty() && idle.peekLast().isExpired()) {
+                expired = idle.pollLast();
+            }
+            if (idle.size() < maxIdle) {
+                idle.addFirst(new IdleConnection(fd));
+                pooled = true;
+            }
+        }
+        if (expired != null) {
+            discard(expired.fd);
+        }
+        if (!pooled) {
+            discard(fd);
+        }
+    }
+
+    /** Closes connection which can't be used anymore. */
+    void discard(int fd) {
+        discarded.incrementAndGet();
+        cLib.close(fd);
+    }
+
+    ConnectionPoolStatistics getStatistics() {
+        final int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        return new ConnectionPoolStatistics(created.get(), reused.get(), discarded.get(), idleCount);
+    }
+
+    /**
+     * Checks without blocking that daemon didn't close connection, there must be no data to read between requests.
+     * Read of zero bytes means that daemon closed connection, any error except absence of data means that connection is broken.
+     */
+    private boolean isOpen(int fd) {
+        return cLib.recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT) == -1 && Native.getLastError() == EAGAIN;
+    }
+
+    private class IdleConnection {
+        final int  fd;
+        final long releaseTime;
+
+        IdleConnection(int fd) {
+            this.fd = fd;
+            this.releaseTime = System.currentTimeMillis();
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - releaseTime >= idleTimeoutMs;
+        }
+    }
+}
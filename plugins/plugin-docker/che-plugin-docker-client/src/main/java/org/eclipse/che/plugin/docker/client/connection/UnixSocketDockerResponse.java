@@ -26,6 +26,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
     };
 
+    /** Max number of bytes which are read from connection to reach the end of body when response is closed. */
+    private static final int MAX_DRAINED_BYTES = 8192;
+
     private final InputStream rawData;
 
     private InputStream data;
@@ -144,7 +147,8 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         this.headersFields = headerFields.toArray(new String[headerFields.size()]);
         final int contentLength = getContentLength();
-        if (contentLength == 0) {
+        final int statusCode = getStatus();
+        if (contentLength == 0 || statusCode == 204 || statusCode == 304) {
             return data = EMPTY;
         }
         if (contentLength > 0) {
@@ -152,4 +156,43 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
         return data = "chunked".equals(getHeader("Transfer-Encoding")) ? new ChunkedInputStream(rawData) : rawData;
     }
+
+    /**
+     * Checks whether the whole response is read from connection, so it may be used for the next request.
+     * Body which is already received but not read by client is skipped.
+     */
+    synchronized boolean isEndOfBodyReached() {
+        if (headersFields == null) {
+            return false;
+        }
+        try {
+            if (getStatus() == 101 || "close".equalsIgnoreCase(getHeader("Connection"))) {
+                return false;
+            }
+            final byte[] buffer = new byte[1024];
+            int drained = 0;
+            while (!isEndReached(data) && drained < MAX_DRAINED_BYTES && rawData.available() > 0) {
+                final int n = data.read(buffer);
+                if (n == -1) {
+                    break;
+                }
+                drained += n;
+            }
+            return isEndReached(data);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean isEndReached(InputStream body) {
+        if (body == EMPTY) {
+            return true;
+        } else if (body instanceof LimitedInputStream) {
+            return ((LimitedInputStream)body).isEndReached();
+        } else if (body instanceof ChunkedInputStream) {
+            return ((ChunkedInputStream)body).isEndReached();
+        }
+        // body is delimited by closing of connection
+        return false;
+    }
 }
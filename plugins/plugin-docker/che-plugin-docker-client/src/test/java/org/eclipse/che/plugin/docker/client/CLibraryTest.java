@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client;
+
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests layout of structures of {@link CLibrary} which must match the native ones.
+ */
+public class CLibraryTest {
+
+    @Test
+    public void epollEventShouldBePackedOnAmd64() {
+        final String arch = System.getProperty("os.arch");
+        if (!"amd64".equals(arch) && !"x86_64".equals(arch)) {
+            throw new SkipException("struct epoll_event is packed on x86-64 only, current architecture is " + arch);
+        }
+
+        // 4 bytes of events are followed by 8 bytes of data without padding
+        assertEquals(new CLibrary.EpollEvent().size(), 12);
+    }
+}
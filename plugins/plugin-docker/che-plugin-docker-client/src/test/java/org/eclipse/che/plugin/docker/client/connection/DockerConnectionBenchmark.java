@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.ByteStreams;
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.Pointer;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures number of requests per second sent through {@link DockerConnectionFactory} with and without keeping
+ * connections alive. By default requests are sent to a local stub daemon which listens on unix socket, as docker
+ * daemon does by default, and answers like container inspection does. URI of a real docker daemon might be set with
+ * the first argument (e.g. {@code unix:///var/run/docker.sock}), then {@code /_ping} requests are sent to it.
+ * <p/>
+ * It isn't unit test and isn't run during build, run it with {@code main} method on Linux.
+ */
+public class DockerConnectionBenchmark {
+    private static final int    THREADS         = 8;
+    private static final long   DURATION_MILLIS = 5000;
+    private static final byte[] CONTAINER_INFO  = "{\"Id\":\"container\",\"State\":{\"Running\":true}}".getBytes();
+
+    public static void main(String[] args) throws Exception {
+        UnixSocketStubDaemon stubDaemon = null;
+        final URI daemonUri;
+        final String path;
+        if (args.length > 0) {
+            daemonUri = URI.create(args[0]);
+            path = "/_ping";
+        } else {
+            final Path socket = Files.createTempDirectory("docker-stub").resolve("docker.sock");
+            stubDaemon = new UnixSocketStubDaemon(socket);
+            stubDaemon.start();
+            daemonUri = URI.create("unix://" + socket);
+            path = "/containers/container/json";
+        }
+
+        final ExecutorService clients = Executors.newFixedThreadPool(THREADS);
+        try {
+            final DockerConnectorConfiguration configuration = mock(DockerConnectorConfiguration.class);
+            for (int maxIdle : new int[] {0, THREADS}) {
+                final DockerConnectionFactory factory = new DockerConnectionFactory(configuration, maxIdle, 30000);
+                // warm up
+                run(factory, daemonUri, path, clients, 1000);
+                final long requests = run(factory, daemonUri, path, clients, DURATION_MILLIS);
+                System.out.printf("max idle connections: %2d, requests per second: %8.1f, pools: %s%n",
+                                  maxIdle,
+                                  requests * 1000.0 / DURATION_MILLIS,
+                                  factory.getPoolStatistics());
+            }
+        } finally {
+            clients.shutdownNow();
+            if (stubDaemon != null) {
+                stubDaemon.stop();
+            }
+        }
+    }
+
+    private static long run(DockerConnectionFactory factory,
+                            URI daemonUri,
+                            String path,
+                            ExecutorService clients,
+                            long durationMillis) throws Exception {
+        final long end = System.currentTimeMillis() + durationMillis;
+        final List<Future<Long>> results = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            results.add(clients.submit(() -> {
+                long requests = 0;
+                while (System.currentTimeMillis() < end) {
+                    try (DockerConnection connection = factory.openConnection(daemonUri)
+                                                              .method("GET")
+                                                              .path(path)) {
+                        final DockerResponse response = connection.request();
+                        try (InputStream body = response.getInputStream()) {
+                            ByteStreams.exhaust(body);
+                        }
+                    }
+                    requests++;
+                }
+                return requests;
+            }));
+        }
+        long total = 0;
+        for (Future<Long> result : results) {
+            total += result.get(durationMillis + 60000, TimeUnit.MILLISECONDS);
+        }
+        return total;
+    }
+
+    /** Functions of C library which only the stub daemon needs. */
+    public interface ServerLibrary extends Library {
+        int bind(int fd, CLibrary.SockAddrUn address, int addressLength);
+
+        int listen(int fd, int backlog);
+
+        int accept(int fd, Pointer address, Pointer addressLength);
+    }
+
+    /** Answers each request received on unix socket with container info and keeps connection open until client closes it. */
+    private static class UnixSocketStubDaemon {
+        private final Path            socketPath;
+        private final CLibrary        cLib;
+        private final ServerLibrary   serverLib;
+        private final ExecutorService connections;
+
+        private int fd = -1;
+
+        UnixSocketStubDaemon(Path socketPath) {
+            this.socketPath = socketPath;
+            this.cLib = getCLibrary();
+            this.serverLib = (ServerLibrary)Native.loadLibrary("c", ServerLibrary.class);
+            this.connections = Executors.newCachedThreadPool(runnable -> {
+                final Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void start() throws IOException {
+            fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+            final CLibrary.SockAddrUn address = new CLibrary.SockAddrUn(socketPath.toString());
+            if (fd == -1 || serverLib.bind(fd, address, address.size()) == -1 || serverLib.listen(fd, 128) == -1) {
+                throw new IOException("Unable to listen on unix socket " + socketPath);
+            }
+            connections.execute(() -> {
+                int client;
+                while ((client = serverLib.accept(fd, null, null)) != -1) {
+                    final int connection = client;
+                    connections.execute(() -> serve(connection));
+                }
+            });
+        }
+
+        void stop() throws IOException {
+            connections.shutdownNow();
+            cLib.close(fd);
+            Files.deleteIfExists(socketPath);
+            Files.deleteIfExists(socketPath.getParent());
+        }
+
+        private void serve(int connection) {
+            final byte[] response = ("HTTP/1.1 200 OK\r\n" +
+                                     "Content-Type: application/json\r\n" +
+                                     "Content-Length: " + CONTAINER_INFO.length + "\r\n" +
+                                     "\r\n" +
+                                     new String(CONTAINER_INFO)).getBytes();
+            try (InputStream input = new BufferedInputStream(new UnixSocketInputStream(connection));
+                 OutputStream output = new UnixSocketOutputStream(connection)) {
+                while (skipRequest(input)) {
+                    output.write(response);
+                }
+            } catch (IOException ignored) {
+                // client closed connection
+            } finally {
+                cLib.close(connection);
+            }
+        }
+
+        /** Skips request without body, returns {@code false} if connection is closed before request is received. */
+        private static boolean skipRequest(InputStream input) throws IOException {
+            int matched = 0;
+            int b;
+            while ((b = input.read()) != -1) {
+                // headers end with an empty line
+                if (b == (matched % 2 == 0 ? '\r' : '\n')) {
+                    if (++matched == 4) {
+                        return true;
+                    }
+                } else {
+                    matched = b == '\r' ? 1 : 0;
+                }
+            }
+            return false;
+        }
+    }
+}
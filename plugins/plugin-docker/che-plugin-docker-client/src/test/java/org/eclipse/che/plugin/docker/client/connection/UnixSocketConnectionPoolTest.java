@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.sun.jna.Native;
+
+import org.eclipse.che.plugin.docker.client.CLibrary;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.eclipse.che.plugin.docker.client.CLibrary.EAGAIN;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests {@link UnixSocketConnectionPool}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class UnixSocketConnectionPoolTest {
+    private static final String SOCKET_PATH = "/var/run/docker.sock";
+    private static final int    ECONNRESET  = 104;
+
+    @Mock
+    private CLibrary cLib;
+
+    @BeforeMethod
+    public void setUp() {
+        when(cLib.socket(anyInt(), anyInt(), anyInt())).thenReturn(7, 8);
+        when(cLib.connect(anyInt(), any(CLibrary.SockAddrUn.class), anyInt())).thenReturn(0);
+    }
+
+    @Test
+    public void shouldReuseReleasedConnection() throws Exception {
+        UnixSocketConnectionPool pool = new UnixSocketConnectionPool(cLib, SOCKET_PATH, 1, 30000);
+        recvReturns(-1, EAGAIN);
+
+        pool.release(pool.connect());
+
+        assertEquals(pool.leaseIdle(), 7);
+        assertEquals(pool.leaseIdle(), -1);
+        assertStatistics(pool, 1, 1, 0, 0);
+        verify(cLib, never()).close(anyInt());
+    }
+
+    @Test
+    public void shouldLeaseMostRecentlyReleasedConnectionFirst() throws Exception {
+        UnixSocketConnectionPool pool = new UnixSocketConnectionPool(cLib, SOCKET_PATH, 2, 30000);
+        recvReturns(-1, EAGAIN);
+        int first = pool.connect();
+        int second = pool.connect();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertEquals(pool.leaseIdle(), second);
+        assertEquals(pool.leaseIdle(), first);
+    }
+
+    @Test
+    public void shouldDiscardIdleConnectionClosedByDaemon() throws Exception {
+        UnixSocketConnectionPool pool = new UnixSocketConnectionPool(cLib, SOCKET_PATH, 1, 30000);
+        recvReturns(0, 0);
+
+        pool.release(pool.connect());
+
+        assertEquals(pool.leaseIdle(), -1);
+        verify(cLib).close(7);
+        assertStatistics(pool, 1, 0, 1, 0);
+    }
+
+    @Test
+    public void shouldDiscardIdleConnectionWhichHasDataToRead() throws Exception {
+        UnixSocketConnectionPool pool = new UnixSocketConnectionPool(cLib, SOCKET_PATH, 1, 30000);
+        recvReturns(1, 0);
+
+        pool.release(pool.connect());
+
+        assertEquals(pool.leaseIdle(), -1);
+        verify(cLib).close(7);
+    }
+
+    @Test
+    public void shouldDiscardIdleConnectionWhenPeekFailsWithOtherErrorThanAbsenceOfData() throws Exception {
+        UnixSocketConnectionPool pool = new UnixSocketConnectionPool(cLib, SOCKET_PATH, 1, 30000);
+        recvReturns(-1, ECONNRESET);
+
+        pool.release(pool.connect());
+
+        assertEquals(pool.leaseIdle(), -1);
+        verify(cLib).close(7);
+        assertStatistics(pool, 1, 0, 1, 0);
+    }
+
+    @Test
+    public void shouldDiscardExpiredIdleConnectionWithoutCheckingIt() throws Exception {
+        UnixSocketConnectionPool pool = new UnixSocketConnectionPool(cLib, SOCKET_PATH, 1, 0);
+
+        pool.release(pool.connect());
+
+        assertEquals(pool.leaseIdle(), -1);
+        verify(cLib).close(7);
+        verify(cLib, never()).recv(anyInt(), any(byte[].class), anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldCloseReleasedConnectionWhenPoolIsFull() throws Exception {
+        UnixSocketConnectionPool pool = new UnixSocketConnectionPool(cLib, SOCKET_PATH, 1, 30000);
+        int first = pool.connect();
+        int second = pool.connect();
+
+        pool.release(first);
+        pool.release(second);
+
+        verify(cLib).close(second);
+        verify(cLib, never()).close(first);
+        assertStatistics(pool, 2, 0, 1, 1);
+    }
+
+    @Test
+    public void shouldCloseDiscardedConnection() throws Exception {
+        UnixSocketConnectionPool pool = new UnixSocketConnectionPool(cLib, SOCKET_PATH, 1, 30000);
+
+        pool.discard(pool.connect());
+
+        verify(cLib).close(7);
+        assertStatistics(pool, 1, 0, 1, 0);
+    }
+
+    /** Makes non-blocking peek return given result and set given error code. */
+    private void recvReturns(int result, int errorCode) {
+        when(cLib.recv(anyInt(), any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+            Native.setLastError(errorCode);
+            return result;
+        });
+    }
+
+    private static void assertStatistics(UnixSocketConnectionPool pool, long created, long reused, long discarded, int idle) {
+        ConnectionPoolStatistics statistics = pool.getStatistics();
+        assertEquals(statistics.getCreated(), created);
+        assertEquals(statistics.getReused(), reused);
+        assertEquals(statistics.getDiscarded(), discarded);
+        assertEquals(statistics.getIdle(), idle);
+    }
+}
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.connection;
+
+import com.google.common.io.CharStreams;
+
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests detection of the end of response in {@link UnixSocketDockerResponse} which allows reuse of connection.
+ */
+public class UnixSocketDockerResponseTest {
+
+    @Test
+    public void shouldReachEndOfBodyWhenBodyWithContentLengthIsRead() throws IOException {
+        UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                      "Content-Length: 2\r\n" +
+                                                      "\r\n" +
+                                                      "{}");
+
+        assertEquals(read(response), "{}");
+        assertTrue(response.isEndOfBodyReached());
+    }
+
+    @Test
+    public void shouldSkipReceivedRestOfChunkedBody() throws IOException {
+        UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                      "Transfer-Encoding: chunked\r\n" +
+                                                      "\r\n" +
+                                                      "2\r\n" +
+                                                      "{}\r\n" +
+                                                      "0\r\n" +
+                                                      "\r\n");
+
+        assertEquals(response.getStatus(), 200);
+        assertTrue(response.isEndOfBodyReached());
+    }
+
+    @Test
+    public void shouldReachEndOfBodyOfResponseWithoutContent() throws IOException {
+        UnixSocketDockerResponse response = response("HTTP/1.1 204 No Content\r\n" +
+                                                      "\r\n");
+
+        assertEquals(response.getStatus(), 204);
+        assertTrue(response.isEndOfBodyReached());
+    }
+
+    @Test
+    public void shouldNotReachEndOfBodyWhenDaemonClosesConnection() throws IOException {
+        UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                      "Content-Length: 2\r\n" +
+                                                      "Connection: close\r\n" +
+                                                      "\r\n" +
+                                                      "{}");
+
+        assertEquals(read(response), "{}");
+        assertFalse(response.isEndOfBodyReached());
+    }
+
+    @Test
+    public void shouldNotReachEndOfBodyWhichIsDelimitedByClosingOfConnection() throws IOException {
+        UnixSocketDockerResponse response = response("HTTP/1.1 200 OK\r\n" +
+                                                      "Content-Type: application/vnd.docker.raw-stream\r\n" +
+                                                      "\r\n" +
+                                                      "output");
+
+        assertEquals(read(response), "output");
+        assertFalse(response.isEndOfBodyReached());
+    }
+
+    @Test
+    public void shouldNotReachEndOfBodyIfResponseIsNotReceived() throws IOException {
+        assertFalse(response("").isEndOfBodyReached());
+    }
+
+    private static UnixSocketDockerResponse response(String content) {
+        return new UnixSocketDockerResponse(new ByteArrayInputStream(content.getBytes()));
+    }
+
+    private static String read(UnixSocketDockerResponse response) throws IOException {
+        return CharStreams.toString(new InputStreamReader(response.getInputStream()));
+    }
+}
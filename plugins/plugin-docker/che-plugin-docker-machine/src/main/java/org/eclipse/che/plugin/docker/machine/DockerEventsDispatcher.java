@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.slf4j.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Reads containers events of docker with single connection and delivers them to subscribers.
+ * <p/>
+ * Subscribers are registered either for events of particular container or for events of all the containers.
+ * Events are delivered in the thread which reads them, so subscribers must not block.
+ * Number of threads doesn't depend on number of subscribers.
+ */
+@Singleton
+public class DockerEventsDispatcher {
+    private static final Logger LOG = getLogger(DockerEventsDispatcher.class);
+
+    /** Statuses of docker events which are delivered to subscribers, they change state of container. */
+    public static final Set<String> DISPATCHED_EVENTS = ImmutableSet.of("start",
+                                                                        "restart",
+                                                                        "pause",
+                                                                        "unpause",
+                                                                        "die",
+                                                                        "kill",
+                                                                        "stop",
+                                                                        "oom",
+                                                                        "rename",
+                                                                        "update");
+
+    private final DockerConnector                                      dockerConnector;
+    private final ExecutorService                                      executor;
+    private final ConcurrentMap<String, List<MessageProcessor<Event>>> containerSubscribers;
+    private final List<MessageProcessor<Event>>                        subscribers;
+
+    private volatile long lastEventTime = 0;
+
+    @Inject
+    public DockerEventsDispatcher(DockerConnector dockerConnector) {
+        this.dockerConnector = dockerConnector;
+        this.containerSubscribers = new ConcurrentHashMap<>();
+        this.subscribers = new CopyOnWriteArrayList<>();
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("DockerEventsDispatcher-%d")
+                                                                                    .setDaemon(true)
+                                                                                    .build());
+    }
+
+    /**
+     * Subscribes to events of the container.
+     *
+     * @param containerId
+     *         full id of container
+     * @param subscriber
+     *         consumer of events
+     */
+    public void subscribe(String containerId, MessageProcessor<Event> subscriber) {
+        containerSubscribers.computeIfAbsent(containerId, id -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    /**
+     * Unsubscribes from events of the container.
+     *
+     * @param containerId
+     *         full id of container
+     * @param subscriber
+     *         consumer of events which was subscribed before
+     */
+    public void unsubscribe(String containerId, MessageProcessor<Event> subscriber) {
+        containerSubscribers.computeIfPresent(containerId, (id, containerEventsSubscribers) -> {
+            containerEventsSubscribers.remove(subscriber);
+            return containerEventsSubscribers.isEmpty() ? null : containerEventsSubscribers;
+        });
+    }
+
+    /** Subscribes to events of all the containers. */
+    public void subscribe(MessageProcessor<Event> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /** Unsubscribes from events of all the containers. */
+    public void unsubscribe(MessageProcessor<Event> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @PostConstruct
+    private void start() {
+        final String[] eventsFilter = DISPATCHED_EVENTS.toArray(new String[DISPATCHED_EVENTS.size()]);
+        executor.execute(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    // events since the last received one are requested again after reconnection
+                    dockerConnector.getEvents(GetEventsParams.create()
+                                                             .withSinceSecond(lastEventTime)
+                                                             .withFilters(new Filters().withFilter("event", eventsFilter)),
+                                              this::dispatch);
+                } catch (IOException e) {
+                    // usually connection timeout
+                    LOG.debug(e.getLocalizedMessage(), e);
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    private void stop() {
+        executor.shutdownNow();
+    }
+
+    void dispatch(Event event) {
+        if (event.getType() != null && !"container".equals(event.getType())) {
+            // this check is added because of bug in the docker swarm which do not filter events
+            // in case of new response format of 'get events' we should skip all not filtered by swarm event types
+            return;
+        }
+        if (event.getTime() > lastEventTime) {
+            lastEventTime = event.getTime();
+        }
+        for (MessageProcessor<Event> subscriber : subscribers) {
+            deliver(subscriber, event);
+        }
+        final List<MessageProcessor<Event>> containerEventsSubscribers = containerSubscribers.get(event.getId());
+        if (containerEventsSubscribers != null) {
+            for (MessageProcessor<Event> subscriber : containerEventsSubscribers) {
+                deliver(subscriber, event);
+            }
+        }
+    }
+
+    private void deliver(MessageProcessor<Event> subscriber, Event event) {
+        try {
+            subscriber.process(event);
+        } catch (RuntimeException e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
+}
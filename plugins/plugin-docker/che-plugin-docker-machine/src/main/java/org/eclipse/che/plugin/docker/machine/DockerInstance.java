@@ -29,8 +29,10 @@ import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
+import org.eclipse.che.plugin.docker.client.json.Event;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
@@ -51,6 +53,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -59,6 +63,9 @@ import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.MACHI
 
 /**
  * Docker implementation of {@link Instance}
+ * <p/>
+ * Runtime info is evaluated by inspection of container once and is kept until docker reports event
+ * which changes state of the container, so polling of runtime info doesn't load docker daemon.
  *
  * @author andrew00x
  * @author Alexander Garagatyi
@@ -98,12 +105,14 @@ public class DockerInstance extends AbstractInstance {
     private final String                                      registryNamespace;
     private final DockerNode                                  node;
     private final DockerInstanceStopDetector                  dockerInstanceStopDetector;
+    private final DockerEventsDispatcher                      eventsDispatcher;
+    private final MessageProcessor<Event>                     containerStateListener;
+    private final AtomicReference<MachineRuntimeInfoImpl>     machineRuntime;
+    private final AtomicLong                                  containerStateVersion;
     private final DockerInstanceProcessesCleaner              processesCleaner;
     private final ConcurrentHashMap<Integer, InstanceProcess> machineProcesses;
     private final boolean                                     snapshotUseRegistry;
 
-    private MachineRuntimeInfoImpl machineRuntime;
-
     @Inject
     public DockerInstance(DockerConnector docker,
                           @Named("machine.docker.registry") String registry,
@@ -115,6 +124,7 @@ public class DockerInstance extends AbstractInstance {
                           @Assisted DockerNode node,
                           @Assisted LineConsumer outputConsumer,
                           DockerInstanceStopDetector dockerInstanceStopDetector,
+                          DockerEventsDispatcher eventsDispatcher,
                           DockerInstanceProcessesCleaner processesCleaner,
                           @Named("machine.docker.snapshot_use_registry") boolean snapshotUseRegistry) {
         super(machine);
@@ -127,10 +137,18 @@ public class DockerInstance extends AbstractInstance {
         this.registryNamespace = registryNamespace;
         this.node = node;
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
+        this.eventsDispatcher = eventsDispatcher;
         this.processesCleaner = processesCleaner;
         this.machineProcesses = new ConcurrentHashMap<>();
         processesCleaner.trackProcesses(this);
         this.snapshotUseRegistry = snapshotUseRegistry;
+        this.machineRuntime = new AtomicReference<>();
+        this.containerStateVersion = new AtomicLong();
+        this.containerStateListener = event -> {
+            containerStateVersion.incrementAndGet();
+            machineRuntime.set(null);
+        };
+        eventsDispatcher.subscribe(container, containerStateListener);
     }
 
     @Override
@@ -140,20 +158,27 @@ public class DockerInstance extends AbstractInstance {
 
     @Override
     public MachineRuntimeInfoImpl getRuntime() {
-        // if runtime info is not evaluated yet
-        if (machineRuntime == null) {
+        MachineRuntimeInfoImpl runtime = machineRuntime.get();
+        // if runtime info is not evaluated yet or state of container changed since evaluation
+        if (runtime == null) {
+            final long version = containerStateVersion.get();
             try {
                 final ContainerInfo containerInfo = docker.inspectContainer(container);
-                machineRuntime = new MachineRuntimeInfoImpl(dockerMachineFactory.createMetadata(containerInfo,
-                                                                                                null,
-                                                                                                node.getHost(),
-                                                                                                getConfig()));
+                runtime = new MachineRuntimeInfoImpl(dockerMachineFactory.createMetadata(containerInfo,
+                                                                                         null,
+                                                                                         node.getHost(),
+                                                                                         getConfig()));
             } catch (IOException e) {
                 LOG.error(e.getLocalizedMessage(), e);
                 return null;
             }
+            machineRuntime.set(runtime);
+            // event received during inspection might be not reflected in the result, so it must not be kept
+            if (containerStateVersion.get() != version) {
+                machineRuntime.compareAndSet(runtime, null);
+            }
         }
-        return machineRuntime;
+        return runtime;
     }
 
     @Override
@@ -276,6 +301,7 @@ public class DockerInstance extends AbstractInstance {
         machineProcesses.clear();
         processesCleaner.untrackProcesses(getId());
         dockerInstanceStopDetector.stopDetection(container);
+        eventsDispatcher.unsubscribe(container, containerStateListener);
         try {
             if (getConfig().isDev()) {
                 node.unbindWorkspace();
@@ -12,31 +12,23 @@ package org.eclipse.che.plugin.docker.machine;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.event.InstanceStateEvent;
-import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.json.Event;
-import org.eclipse.che.plugin.docker.client.json.Filters;
-import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.io.IOException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Track docker containers events to detect containers stop or failure.
+ * Events are received from {@link DockerEventsDispatcher} which shares one events stream between all the containers.
  *
  * @author Alexander Garagatyi
  */
@@ -44,10 +36,9 @@ import java.util.concurrent.TimeUnit;
 public class DockerInstanceStopDetector {
     private static final Logger LOG = LoggerFactory.getLogger(DockerInstanceStopDetector.class);
 
-    private final EventService                      eventService;
-    private final DockerConnector                   dockerConnector;
-    private final ExecutorService                   executorService;
-    private final Map<String, Pair<String, String>> instances;
+    private final EventService                 eventService;
+    private final DockerEventsDispatcher       eventsDispatcher;
+    private final Map<String, EventsProcessor> instances;
     /*
        Helps differentiate container main process OOM from other processes OOM
        Algorithm:
@@ -60,22 +51,16 @@ public class DockerInstanceStopDetector {
        That's why cache expires in X seconds.
        X was set as 10 empirically.
     */
-    private final Cache<String, String>             containersOomTimestamps;
-
-    private long lastProcessedEventDate = 0;
+    private final Cache<String, String>        containersOomTimestamps;
 
     @Inject
-    public DockerInstanceStopDetector(EventService eventService, DockerConnector dockerConnector) {
+    public DockerInstanceStopDetector(EventService eventService, DockerEventsDispatcher eventsDispatcher) {
         this.eventService = eventService;
-        this.dockerConnector = dockerConnector;
+        this.eventsDispatcher = eventsDispatcher;
         this.instances = new ConcurrentHashMap<>();
         this.containersOomTimestamps = CacheBuilder.newBuilder()
                                                    .expireAfterWrite(10, TimeUnit.SECONDS)
                                                    .build();
-        this.executorService = Executors.newSingleThreadExecutor(
-                new ThreadFactoryBuilder().setNameFormat("DockerInstanceStopDetector-%d")
-                                          .setDaemon(true)
-                                          .build());
     }
 
     /**
@@ -91,7 +76,12 @@ public class DockerInstanceStopDetector {
     public void startDetection(String containerId,
                                String machineId,
                                String workspaceId) {
-        instances.put(containerId, Pair.of(machineId, workspaceId));
+        final EventsProcessor eventsProcessor = new EventsProcessor(machineId, workspaceId);
+        final EventsProcessor previous = instances.put(containerId, eventsProcessor);
+        if (previous != null) {
+            eventsDispatcher.unsubscribe(containerId, previous);
+        }
+        eventsDispatcher.subscribe(containerId, eventsProcessor);
     }
 
     /**
@@ -101,36 +91,23 @@ public class DockerInstanceStopDetector {
      *         id of a container to start detection for
      */
     public void stopDetection(String containerId) {
-        instances.remove(containerId);
-    }
-
-    @PostConstruct
-    private void detectContainersEvents() {
-        executorService.execute(() -> {
-            //noinspection InfiniteLoopStatement
-            while (true) {
-                try {
-                    dockerConnector.getEvents(GetEventsParams.create()
-                                                             .withSinceSecond(lastProcessedEventDate)
-                                                             .withFilters(new Filters().withFilter("event", "die", "oom")),
-                                              new EventsProcessor());
-                } catch (IOException e) {
-                    // usually connection timeout
-                    LOG.debug(e.getLocalizedMessage(), e);
-                }
-            }
-        });
+        final EventsProcessor eventsProcessor = instances.remove(containerId);
+        if (eventsProcessor != null) {
+            eventsDispatcher.unsubscribe(containerId, eventsProcessor);
+        }
     }
 
     private class EventsProcessor implements MessageProcessor<Event> {
+        private final String machineId;
+        private final String workspaceId;
+
+        EventsProcessor(String machineId, String workspaceId) {
+            this.machineId = machineId;
+            this.workspaceId = workspaceId;
+        }
+
         @Override
         public void process(Event message) {
-            if (message.getType() != null && !"container".equals(message.getType())) {
-                // this check is added because of bug in the docker swarm which do not filter events
-                // in case of new response format of 'get events' we should skip all not filtered by swarm event types
-                return;
-            }
-
             switch (message.getStatus()) {
                 case "oom":
                     containersOomTimestamps.put(message.getId(), message.getId());
@@ -145,13 +122,7 @@ public class DockerInstanceStopDetector {
                     } else {
                         instanceStateChangeType = InstanceStateEvent.Type.DIE;
                     }
-                    Pair<String, String> instanceIds = instances.get(message.getId());
-                    if (instanceIds != null) {
-                        eventService.publish(new InstanceStateEvent(instanceIds.first,
-                                                                    instanceIds.second,
-                                                                    instanceStateChangeType));
-                        lastProcessedEventDate = message.getTime();
-                    }
+                    eventService.publish(new InstanceStateEvent(machineId, workspaceId, instanceStateChangeType));
                     break;
                 default:
                     // we don't care about other event types
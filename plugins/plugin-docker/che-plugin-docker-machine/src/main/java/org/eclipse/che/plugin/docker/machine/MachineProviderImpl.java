@@ -40,6 +40,7 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
 import org.eclipse.che.plugin.docker.client.exception.ContainerNotFoundException;
 import org.eclipse.che.plugin.docker.client.exception.DockerException;
 import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
@@ -82,6 +83,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -127,6 +129,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     private final boolean                                       snapshotUseRegistry;
     private final double                                        memorySwapMultiplier;
     private final Set<String>                                   additionalNetworks;
+    private final SharedImageOperations                         sharedImageOperations;
 
     @Inject
     public MachineProviderImpl(DockerConnector docker,
@@ -147,7 +150,8 @@ public class MachineProviderImpl implements MachineInstanceProvider {
                                @Named("machine.docker.machine_env") Set<String> allMachinesEnvVariables,
                                @Named("machine.docker.snapshot_use_registry") boolean snapshotUseRegistry,
                                @Named("machine.docker.memory_swap_multiplier") double memorySwapMultiplier,
-                               @Named("machine.docker.networks") Set<Set<String>> additionalNetworks)
+                               @Named("machine.docker.networks") Set<Set<String>> additionalNetworks,
+                               SharedImageOperations sharedImageOperations)
             throws IOException {
         this.docker = docker;
         this.dockerCredentials = dockerCredentials;
@@ -158,6 +162,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
         this.privilegeMode = privilegeMode;
         this.projectFolderPath = projectFolderPath;
         this.snapshotUseRegistry = snapshotUseRegistry;
+        this.sharedImageOperations = sharedImageOperations;
         // use-cases:
         //  -1  enable unlimited swap
         //  0   disable swap
@@ -374,12 +379,56 @@ public class MachineProviderImpl implements MachineInstanceProvider {
         return imageName;
     }
 
+    /**
+     * Builds docker image for container creation.
+     * <p/>
+     * Concurrent builds of the same recipe share one build, images built
+     * by another caller are tagged with the given name.
+     *
+     * @param service
+     *         service that provides description of image that should be built
+     * @param machineImageName
+     *         name of the image that should be assigned on build
+     * @param doForcePullOnBuild
+     *         whether base image should be pulled even if it exists locally
+     * @param progressMonitor
+     *         consumer of output
+     * @throws MachineException
+     *         if any error occurs
+     */
     protected void buildImage(CheServiceImpl service,
                               String machineImageName,
                               boolean doForcePullOnBuild,
                               ProgressMonitor progressMonitor)
             throws MachineException {
 
+        AuthConfigs authConfigs = dockerCredentials.getCredentials();
+        List<Object> buildKey = Arrays.asList(service.getBuild().getContext(),
+                                              service.getBuild().getDockerfilePath(),
+                                              service.getBuild().getDockerfileContent(),
+                                              service.getBuild().getArgs(),
+                                              service.getMemLimit(),
+                                              doForcePullOnBuild,
+                                              authConfigs);
+        AtomicBoolean builtByCaller = new AtomicBoolean();
+        try {
+            String imageId = sharedImageOperations.execute(buildKey, progressMonitor, sharedProgressMonitor -> {
+                builtByCaller.set(true);
+                return doBuildImage(service, machineImageName, doForcePullOnBuild, authConfigs, sharedProgressMonitor);
+            });
+            if (!builtByCaller.get()) {
+                docker.tag(TagParams.create(imageId, machineImageName));
+            }
+        } catch (IOException e) {
+            throw new MachineException(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private String doBuildImage(CheServiceImpl service,
+                                String machineImageName,
+                                boolean doForcePullOnBuild,
+                                AuthConfigs authConfigs,
+                                ProgressMonitor progressMonitor) throws IOException {
         File workDir = null;
         try {
             BuildImageParams buildImageParams;
@@ -399,15 +448,13 @@ public class MachineProviderImpl implements MachineInstanceProvider {
             }
             buildImageParams.withForceRemoveIntermediateContainers(true)
                             .withRepository(machineImageName)
-                            .withAuthConfigs(dockerCredentials.getCredentials())
+                            .withAuthConfigs(authConfigs)
                             .withDoForcePull(doForcePullOnBuild)
                             .withMemoryLimit(service.getMemLimit())
                             .withMemorySwapLimit(-1)
                             .withBuildArgs(service.getBuild().getArgs());
 
-            docker.buildImage(buildImageParams, progressMonitor);
-        } catch (IOException e) {
-            throw new MachineException(e.getLocalizedMessage(), e);
+            return docker.buildImage(buildImageParams, progressMonitor);
         } finally {
             if (workDir != null) {
                 FileCleaner.addFile(workDir);
@@ -417,6 +464,8 @@ public class MachineProviderImpl implements MachineInstanceProvider {
 
     /**
      * Pulls docker image for container creation.
+     * <p/>
+     * Concurrent pulls of the same image with the same credentials share one pull, see {@link SharedImageOperations#pullKey}.
      *
      * @param service
      *         service that provides description of image that should be pulled
@@ -448,7 +497,10 @@ public class MachineProviderImpl implements MachineInstanceProvider {
                                                                                     LATEST_TAG))
                                                   .withRegistry(dockerMachineSource.getRegistry())
                                                   .withAuthConfigs(dockerCredentials.getCredentials());
-                docker.pull(pullParams, progressMonitor);
+                sharedImageOperations.execute(SharedImageOperations.pullKey(pullParams), progressMonitor, sharedProgressMonitor -> {
+                    docker.pull(pullParams, sharedProgressMonitor);
+                    return null;
+                });
             }
 
             String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Lets concurrent callers share one in-flight pull or build of the same docker image.
+ * <p/>
+ * The first caller performs the operation, callers which come with the same key while it is
+ * in progress don't touch docker daemon, they wait for result of the running operation and
+ * receive its progress output from the moment they joined.
+ */
+@Singleton
+public class SharedImageOperations {
+    private static final Logger LOG = getLogger(SharedImageOperations.class);
+
+    private final ConcurrentMap<Object, SharedOperation> inProgress = new ConcurrentHashMap<>();
+
+    /**
+     * Performs operation or joins the same operation performed by another caller.
+     *
+     * @param key
+     *         identifies image operation, e.g. {@link #pullKey} or build recipe including credentials
+     *         used by operation, must implement {@code equals} and {@code hashCode}
+     * @param progressMonitor
+     *         consumer of operation output
+     * @param operation
+     *         operation to perform if there is no the same operation in progress
+     * @return result of operation
+     * @throws IOException
+     *         if operation fails or waiting for it is interrupted
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, ProgressMonitor progressMonitor, ImageOperation<T> operation) throws IOException {
+        final SharedOperation newOperation = new SharedOperation(progressMonitor);
+        final SharedOperation running = inProgress.putIfAbsent(key, newOperation);
+        if (running == null) {
+            try {
+                final T result = operation.execute(newOperation);
+                newOperation.result.complete(result);
+                return result;
+            } catch (IOException | RuntimeException | Error e) {
+                newOperation.result.completeExceptionally(e);
+                throw e;
+            } finally {
+                inProgress.remove(key, newOperation);
+            }
+        }
+
+        LOG.debug("Joining image operation {} which is in progress", key);
+        running.monitors.add(progressMonitor);
+        try {
+            return (T)running.result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Waiting for docker image operation was interrupted");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            } else if (cause instanceof Error) {
+                throw (Error)cause;
+            }
+            throw new IOException(cause.getLocalizedMessage(), cause);
+        } finally {
+            running.monitors.remove(progressMonitor);
+        }
+    }
+
+    /**
+     * Returns key of pull of image described by given parameters.
+     * <p/>
+     * Key includes credentials of the caller, so pull which fails or succeeds because of credentials
+     * is never shared with another caller. Absent and empty credentials are the same, so pulls which
+     * don't need user credentials, e.g. stack images prefetch, are shared with each other.
+     */
+    public static Object pullKey(PullParams pullParams) {
+        final AuthConfigs authConfigs = pullParams.getAuthConfigs();
+        final boolean noCredentials = authConfigs == null || authConfigs.getConfigs() == null || authConfigs.getConfigs().isEmpty();
+        return Arrays.asList("pull",
+                             pullParams.getRegistry(),
+                             pullParams.getImage(),
+                             pullParams.getTag(),
+                             noCredentials ? null : authConfigs);
+    }
+
+    /** Docker image operation which reports its output to the given progress monitor. */
+    public interface ImageOperation<T> {
+        T execute(ProgressMonitor progressMonitor) throws IOException;
+    }
+
+    /** Operation in progress, delivers its output to all the callers waiting for it. */
+    private static class SharedOperation implements ProgressMonitor {
+        final List<ProgressMonitor>     monitors = new CopyOnWriteArrayList<>();
+        final CompletableFuture<Object> result   = new CompletableFuture<>();
+
+        SharedOperation(ProgressMonitor progressMonitor) {
+            monitors.add(progressMonitor);
+        }
+
+        @Override
+        public void updateProgress(ProgressStatus currentProgressStatus) {
+            for (ProgressMonitor monitor : monitors) {
+                try {
+                    monitor.updateProgress(currentProgressStatus);
+                } catch (RuntimeException e) {
+                    LOG.error(e.getLocalizedMessage(), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.base.MoreObjects;
+
+import org.eclipse.che.api.environment.server.EnvironmentParser;
+import org.eclipse.che.api.environment.server.model.CheServiceImpl;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
+import org.eclipse.che.commons.schedule.ScheduleRate;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.eclipse.che.plugin.docker.machine.DockerInstance.LATEST_TAG;
+import static org.eclipse.che.plugin.docker.machine.MachineProviderImpl.SNAPSHOT_LOCATION_PATTERN;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Job for periodically pulling images of stacks, so workspaces created from them don't wait for the pull on start.
+ * Pulls go through {@link SharedImageOperations}, so workspace which is started during prefetch of its image
+ * joins the running pull, unless the workspace owner has registry credentials, see {@link SharedImageOperations#pullKey}.
+ * <p/>
+ * Prefetch is disabled when {@code machine.docker.prefetch_stack_images} is not positive,
+ * otherwise it is the number of stacks which images are prefetched.
+ */
+@Singleton
+public class StackImagesPrefetcher implements Runnable {
+    private static final Logger LOG = getLogger(StackImagesPrefetcher.class);
+
+    private final StackDao              stackDao;
+    private final EnvironmentParser     environmentParser;
+    private final DockerConnector       docker;
+    private final SharedImageOperations sharedImageOperations;
+    private final int                   maxStacks;
+
+    @Inject
+    public StackImagesPrefetcher(StackDao stackDao,
+                                 EnvironmentParser environmentParser,
+                                 DockerConnector docker,
+                                 SharedImageOperations sharedImageOperations,
+                                 @Named("machine.docker.prefetch_stack_images") int maxStacks) {
+        this.stackDao = stackDao;
+        this.environmentParser = environmentParser;
+        this.docker = docker;
+        this.sharedImageOperations = sharedImageOperations;
+        this.maxStacks = maxStacks;
+    }
+
+    @ScheduleRate(initialDelay = 1,
+                  periodParameterName = "machine.docker.prefetch_stack_images_period_min",
+                  unit = TimeUnit.MINUTES)
+    @Override
+    public void run() {
+        if (maxStacks <= 0) {
+            return;
+        }
+        Set<String> images = new LinkedHashSet<>();
+        try {
+            for (StackImpl stack : stackDao.searchStacks(null, null, 0, maxStacks)) {
+                if (stack.getWorkspaceConfig() == null) {
+                    continue;
+                }
+                for (EnvironmentImpl environment : stack.getWorkspaceConfig().getEnvironments().values()) {
+                    try {
+                        for (CheServiceImpl service : environmentParser.parse(environment).getServices().values()) {
+                            if (service.getImage() != null && !SNAPSHOT_LOCATION_PATTERN.matcher(service.getImage()).matches()) {
+                                images.add(service.getImage());
+                            }
+                        }
+                    } catch (Exception e) {
+                        LOG.debug("Can't get images of stack '{}'. {}", stack.getId(), e.getLocalizedMessage());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            LOG.error("Failed to get stacks for images prefetch", e);
+            return;
+        }
+
+        for (String image : images) {
+            try {
+                pull(image);
+            } catch (Exception e) {
+                LOG.warn("Failed to prefetch image '{}'. {}", image, e.getLocalizedMessage());
+            }
+        }
+    }
+
+    private void pull(String image) throws Exception {
+        DockerMachineSource source = new DockerMachineSource(new MachineSourceImpl("image").setLocation(image));
+        if (source.getRepository() == null) {
+            return;
+        }
+        // pulls without user credentials, so it joins only pulls of workspaces which don't need credentials either
+        PullParams pullParams = PullParams.create(source.getRepository())
+                                          .withTag(MoreObjects.firstNonNull(source.getTag(), LATEST_TAG))
+                                          .withRegistry(source.getRegistry());
+        sharedImageOperations.execute(SharedImageOperations.pullKey(pullParams), ProgressMonitor.DEV_NULL, progressMonitor -> {
+            docker.pull(pullParams, progressMonitor);
+            return null;
+        });
+        LOG.debug("Image '{}' is prefetched", image);
+    }
+}
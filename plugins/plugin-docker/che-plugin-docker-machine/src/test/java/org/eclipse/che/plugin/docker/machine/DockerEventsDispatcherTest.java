@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.MessageProcessor;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests {@link DockerEventsDispatcher}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerEventsDispatcherTest {
+    private static final String CONTAINER       = "container";
+    private static final String OTHER_CONTAINER = "otherContainer";
+
+    @Mock
+    private DockerConnector         dockerConnector;
+    @Mock
+    private MessageProcessor<Event> containerSubscriber;
+    @Mock
+    private MessageProcessor<Event> subscriber;
+
+    private DockerEventsDispatcher dispatcher;
+
+    @BeforeMethod
+    public void setUp() {
+        dispatcher = new DockerEventsDispatcher(dockerConnector);
+    }
+
+    @Test
+    public void shouldDeliverEventOnlyToSubscribersOfItsContainer() {
+        dispatcher.subscribe(CONTAINER, containerSubscriber);
+        final Event event = new Event().withId(OTHER_CONTAINER).withType("container").withStatus("die");
+
+        dispatcher.dispatch(event);
+
+        verify(containerSubscriber, never()).process(any(Event.class));
+    }
+
+    @Test
+    public void shouldDeliverEventToSubscribersOfItsContainerAndToSubscribersOfAllContainers() {
+        dispatcher.subscribe(CONTAINER, containerSubscriber);
+        dispatcher.subscribe(subscriber);
+        final Event event = new Event().withId(CONTAINER).withType("container").withStatus("die");
+
+        dispatcher.dispatch(event);
+
+        verify(containerSubscriber).process(event);
+        verify(subscriber).process(event);
+    }
+
+    @Test
+    public void shouldNotDeliverEventAfterUnsubscription() {
+        dispatcher.subscribe(CONTAINER, containerSubscriber);
+        dispatcher.unsubscribe(CONTAINER, containerSubscriber);
+
+        dispatcher.dispatch(new Event().withId(CONTAINER).withType("container").withStatus("die"));
+
+        verify(containerSubscriber, never()).process(any(Event.class));
+    }
+
+    @Test
+    public void shouldSkipEventsOfNotContainers() {
+        dispatcher.subscribe(subscriber);
+
+        dispatcher.dispatch(new Event().withId("image").withType("image").withStatus("delete"));
+
+        verify(subscriber, never()).process(any(Event.class));
+    }
+
+    @Test
+    public void shouldDeliverEventToOtherSubscribersIfOneOfThemFails() {
+        dispatcher.subscribe(subscriber);
+        dispatcher.subscribe(CONTAINER, containerSubscriber);
+        final Event event = new Event().withId(CONTAINER).withType("container").withStatus("die");
+        doThrow(new RuntimeException("failed")).when(subscriber).process(event);
+
+        dispatcher.dispatch(event);
+
+        verify(containerSubscriber).process(event);
+    }
+}
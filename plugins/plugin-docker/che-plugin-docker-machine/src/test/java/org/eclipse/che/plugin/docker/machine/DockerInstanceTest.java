@@ -25,11 +25,14 @@ import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
+import org.eclipse.che.plugin.docker.client.json.Event;
 import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.PushParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.BeforeMethod;
@@ -39,7 +42,9 @@ import org.testng.annotations.Test;
 import java.io.IOException;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyMap;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -81,6 +86,10 @@ public class DockerInstanceTest {
     private DockerInstanceStopDetector dockerInstanceStopDetectorMock;
     @Mock
     private LineConsumer               outputConsumer;
+    @Mock
+    private DockerEventsDispatcher     eventsDispatcherMock;
+    @Mock
+    private DockerMachineFactory       dockerMachineFactoryMock;
 
     private DockerInstance dockerInstance;
 
@@ -98,6 +107,39 @@ public class DockerInstanceTest {
           .startExec(any(StartExecParams.class), any());
     }
 
+    @Test
+    public void shouldInspectContainerOnceUntilItsStateChanges() throws Exception {
+        mockContainerInspection();
+
+        dockerInstance.getRuntime();
+        dockerInstance.getRuntime();
+
+        verify(dockerConnectorMock).inspectContainer(CONTAINER);
+    }
+
+    @Test
+    public void shouldInspectContainerAgainAfterEventWhichChangesItsState() throws Exception {
+        mockContainerInspection();
+        ArgumentCaptor<MessageProcessor<Event>> listenerCaptor = ArgumentCaptor.forClass((Class)MessageProcessor.class);
+        verify(eventsDispatcherMock).subscribe(eq(CONTAINER), listenerCaptor.capture());
+
+        dockerInstance.getRuntime();
+        listenerCaptor.getValue().process(new Event().withStatus("die").withId(CONTAINER));
+        dockerInstance.getRuntime();
+
+        verify(dockerConnectorMock, times(2)).inspectContainer(CONTAINER);
+    }
+
+    @Test
+    public void shouldUnsubscribeFromContainerEventsOnDestroy() throws Exception {
+        ArgumentCaptor<MessageProcessor<Event>> listenerCaptor = ArgumentCaptor.forClass((Class)MessageProcessor.class);
+        verify(eventsDispatcherMock).subscribe(eq(CONTAINER), listenerCaptor.capture());
+
+        dockerInstance.destroy();
+
+        verify(eventsDispatcherMock).unsubscribe(CONTAINER, listenerCaptor.getValue());
+    }
+
     @Test(expectedExceptions = MachineException.class)
     public void shouldThrowMachineExceptionWhenStartFromIsNegative() throws Exception {
         dockerInstance.readFileContent(FILE_PATH, -1, -10);
@@ -198,6 +240,15 @@ public class DockerInstanceTest {
         dockerInstance.saveToSnapshot();
     }
 
+    private void mockContainerInspection() throws IOException {
+        ContainerInfo containerInfo = new ContainerInfo();
+        DockerInstanceRuntimeInfo runtimeInfo = mock(DockerInstanceRuntimeInfo.class);
+        when(runtimeInfo.getEnvVariables()).thenReturn(emptyMap());
+        when(runtimeInfo.getProperties()).thenReturn(emptyMap());
+        when(dockerConnectorMock.inspectContainer(CONTAINER)).thenReturn(containerInfo);
+        when(dockerMachineFactoryMock.createMetadata(eq(containerInfo), any(), any(), any())).thenReturn(runtimeInfo);
+    }
+
     private DockerInstance getDockerInstance() {
         return getDockerInstance(getMachine(), REGISTRY, CONTAINER, IMAGE, false);
     }
@@ -210,13 +261,14 @@ public class DockerInstanceTest {
         return new DockerInstance(dockerConnectorMock,
                                   registry,
                                   USERNAME,
-                                  mock(DockerMachineFactory.class),
+                                  dockerMachineFactoryMock,
                                   machine,
                                   container,
                                   image,
                                   mock(DockerNode.class),
                                   outputConsumer,
                                   dockerInstanceStopDetectorMock,
+                                  eventsDispatcherMock,
                                   mock(DockerInstanceProcessesCleaner.class),
                                   snapshotUseRegistry);
     }
@@ -15,16 +15,24 @@ import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.ServerConf;
 import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.environment.server.EnvironmentParser;
 import org.eclipse.che.api.environment.server.model.CheServiceImpl;
+import org.eclipse.che.api.environment.server.model.CheServicesEnvironmentImpl;
 import org.eclipse.che.api.machine.server.model.impl.ServerConfImpl;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
 import org.eclipse.che.api.machine.server.util.RecipeRetriever;
+import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
+import org.eclipse.che.api.workspace.server.model.impl.stack.StackImpl;
+import org.eclipse.che.api.workspace.server.spi.StackDao;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfig;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
 import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
 import org.eclipse.che.plugin.docker.client.json.ContainerState;
@@ -54,19 +62,29 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.DOCKER_FILE_TYPE;
 import static org.eclipse.che.plugin.docker.machine.DockerInstanceProvider.MACHINE_SNAPSHOT_PREFIX;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -1086,6 +1104,79 @@ public class MachineProviderImplTest {
                                                          .collect(Collectors.toList())));
     }
 
+    @Test
+    public void shouldSharePullOfStackImagePrefetchWithMachineStartWithoutCredentials() throws Exception {
+        AuthConfigs credentials = mock(AuthConfigs.class);
+        when(credentials.getConfigs()).thenReturn(emptyMap());
+
+        prefetchAndPullImageOnMachineStart(credentials);
+
+        verify(dockerConnector).pull(any(PullParams.class), any(ProgressMonitor.class));
+        verify(dockerConnector).tag(TagParams.create("codenvy/ubuntu_jdk8:latest", "machineImage"));
+    }
+
+    @Test
+    public void shouldNotSharePullOfStackImagePrefetchWithMachineStartWithCredentials() throws Exception {
+        AuthConfigs credentials = mock(AuthConfigs.class);
+        when(credentials.getConfigs()).thenReturn(singletonMap("docker.io", mock(AuthConfig.class)));
+
+        prefetchAndPullImageOnMachineStart(credentials);
+
+        ArgumentCaptor<PullParams> captor = ArgumentCaptor.forClass(PullParams.class);
+        verify(dockerConnector, times(2)).pull(captor.capture(), any(ProgressMonitor.class));
+        assertEquals(captor.getAllValues().get(1).getAuthConfigs(), credentials);
+    }
+
+    /** Starts prefetch of stack image and pulls the same image on machine start while the prefetch is in progress. */
+    private void prefetchAndPullImageOnMachineStart(AuthConfigs credentials) throws Exception {
+        SharedImageOperations sharedImageOperations = new SharedImageOperations();
+        provider = spy(new MachineProviderBuilder().setSharedImageOperations(sharedImageOperations)
+                                                   .build());
+        when(credentialsReader.getCredentials()).thenReturn(credentials);
+        CheServiceImpl service = createService();
+        service.setImage("codenvy/ubuntu_jdk8:latest");
+
+        StackDao stackDao = mock(StackDao.class);
+        EnvironmentParser environmentParser = mock(EnvironmentParser.class);
+        StackImpl stack = mock(StackImpl.class);
+        WorkspaceConfigImpl workspaceConfig = mock(WorkspaceConfigImpl.class);
+        when(stackDao.searchStacks(null, null, 0, 1)).thenReturn(singletonList(stack));
+        when(stack.getWorkspaceConfig()).thenReturn(workspaceConfig);
+        when(workspaceConfig.getEnvironments()).thenReturn(singletonMap(ENV_NAME, new EnvironmentImpl()));
+        when(environmentParser.parse(any(EnvironmentImpl.class)))
+                .thenReturn(new CheServicesEnvironmentImpl().withServices(singletonMap(MACHINE_NAME, service)));
+        StackImagesPrefetcher prefetcher = new StackImagesPrefetcher(stackDao,
+                                                                     environmentParser,
+                                                                     dockerConnector,
+                                                                     sharedImageOperations,
+                                                                     1);
+
+        CountDownLatch pullStarted = new CountDownLatch(1);
+        CountDownLatch releasePull = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            pullStarted.countDown();
+            assertTrue(releasePull.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(dockerConnector).pull(any(PullParams.class), any(ProgressMonitor.class));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<?> prefetch = executor.submit(prefetcher);
+            assertTrue(pullStarted.await(5, TimeUnit.SECONDS));
+            Future<?> start = executor.submit(() -> {
+                provider.pullImage(service, "machineImage", ProgressMonitor.DEV_NULL);
+                return null;
+            });
+            // let machine start join the running prefetch
+            Thread.sleep(100);
+            releasePull.countDown();
+            prefetch.get(5, TimeUnit.SECONDS);
+            start.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private CheServiceImpl createInstanceFromRecipe() throws Exception {
         CheServiceImpl service = createService();
         createInstanceFromRecipe(service);
@@ -1202,18 +1293,19 @@ public class MachineProviderImplTest {
     }
 
     private class MachineProviderBuilder {
-        private Set<ServerConf>  devMachineServers;
-        private Set<ServerConf>  allMachineServers;
-        private Set<String>      devMachineVolumes;
-        private Set<String>      allMachineVolumes;
-        private String           extraHosts;
-        private boolean          doForcePullOnBuild;
-        private boolean          privilegedMode;
-        private Set<String>      devMachineEnvVars;
-        private Set<String>      allMachineEnvVars;
-        private boolean          snapshotUseRegistry;
-        private Set<Set<String>> additionalNetworks;
-        private double           memorySwapMultiplier;
+        private Set<ServerConf>       devMachineServers;
+        private Set<ServerConf>       allMachineServers;
+        private Set<String>           devMachineVolumes;
+        private Set<String>           allMachineVolumes;
+        private String                extraHosts;
+        private boolean               doForcePullOnBuild;
+        private boolean               privilegedMode;
+        private Set<String>           devMachineEnvVars;
+        private Set<String>           allMachineEnvVars;
+        private boolean               snapshotUseRegistry;
+        private Set<Set<String>>      additionalNetworks;
+        private double                memorySwapMultiplier;
+        private SharedImageOperations sharedImageOperations;
 
         public MachineProviderBuilder() {
             devMachineEnvVars = emptySet();
@@ -1228,6 +1320,12 @@ public class MachineProviderImplTest {
             allMachineVolumes = emptySet();
             extraHosts = null;
             memorySwapMultiplier = MEMORY_SWAP_MULTIPLIER;
+            sharedImageOperations = new SharedImageOperations();
+        }
+
+        public MachineProviderBuilder setSharedImageOperations(SharedImageOperations sharedImageOperations) {
+            this.sharedImageOperations = sharedImageOperations;
+            return this;
         }
 
         public MachineProviderBuilder setDevMachineEnvVars(Set<String> devMachineEnvVars) {
@@ -1299,7 +1397,8 @@ public class MachineProviderImplTest {
                                            allMachineEnvVars,
                                            snapshotUseRegistry,
                                            memorySwapMultiplier,
-                                           additionalNetworks);
+                                           additionalNetworks,
+                                           sharedImageOperations);
         }
     }
 }
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests {@link SharedImageOperations}.
+ */
+public class SharedImageOperationsTest {
+
+    private SharedImageOperations sharedImageOperations;
+    private ExecutorService       executor;
+
+    @BeforeMethod
+    public void setUp() {
+        sharedImageOperations = new SharedImageOperations();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldPerformOperationOnceForConcurrentCallersWithTheSameKey() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        ProgressStatus progressStatus = new ProgressStatus();
+        ProgressMonitor secondMonitor = mock(ProgressMonitor.class);
+
+        Future<String> first = executor.submit(() -> sharedImageOperations.execute("image", ProgressMonitor.DEV_NULL, monitor -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            monitor.updateProgress(progressStatus);
+            return "imageId";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<String> second = executor.submit(() -> sharedImageOperations.execute("image", secondMonitor, monitor -> {
+            executions.incrementAndGet();
+            return "otherImageId";
+        }));
+        // let second caller join the running operation
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals(first.get(5, TimeUnit.SECONDS), "imageId");
+        assertEquals(second.get(5, TimeUnit.SECONDS), "imageId");
+        assertEquals(executions.get(), 1);
+        verify(secondMonitor, timeout(1000)).updateProgress(progressStatus);
+    }
+
+    @Test
+    public void shouldPerformOperationAgainAfterPreviousOneIsDone() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+
+        sharedImageOperations.execute("image", ProgressMonitor.DEV_NULL, monitor -> executions.incrementAndGet());
+        sharedImageOperations.execute("image", ProgressMonitor.DEV_NULL, monitor -> executions.incrementAndGet());
+
+        assertEquals(executions.get(), 2);
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "pull failed")
+    public void shouldRethrowFailureOfOperationToJoinedCaller() throws Throwable {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.submit(() -> sharedImageOperations.execute("image", ProgressMonitor.DEV_NULL, monitor -> {
+            started.countDown();
+            await(release);
+            throw new IOException("pull failed");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Object> joined = executor.submit(() -> sharedImageOperations.execute("image", ProgressMonitor.DEV_NULL, monitor -> null));
+        Thread.sleep(100);
+        release.countDown();
+
+        try {
+            joined.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new InterruptedIOException();
+        }
+    }
+}
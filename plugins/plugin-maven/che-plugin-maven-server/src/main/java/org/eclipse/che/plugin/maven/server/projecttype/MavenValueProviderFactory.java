@@ -125,5 +125,10 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
             }
             return null;
         }
+
+        @Override
+        public List<String> getDependencies() {
+            return Collections.singletonList("pom.xml");
+        }
     }
 }
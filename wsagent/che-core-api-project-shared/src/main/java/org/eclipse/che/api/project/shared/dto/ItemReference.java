@@ -85,4 +85,11 @@ public interface ItemReference extends Hyperlinks {
     ProjectConfigDto getProjectConfig();
 
     void setProjectConfig(ProjectConfigDto config);
+
+    /** Occurrences of searched text in file. Set only for results of text search which includes occurrences, otherwise empty. */
+    List<SearchOccurrenceDto> getOccurrences();
+
+    void setOccurrences(List<SearchOccurrenceDto> occurrences);
+
+    ItemReference withOccurrences(List<SearchOccurrenceDto> occurrences);
 }
@@ -93,5 +93,6 @@ public class FileEntry extends VirtualFileEntry {
      */
     public void updateContent(InputStream content) throws ForbiddenException, ServerException {
         getVirtualFile().updateContent(content, null);
+        invalidateProvidedValues();
     }
 }
@@ -195,7 +195,9 @@ public class FolderEntry extends VirtualFileEntry {
         if (isRoot(getVirtualFile())) {
             throw new ForbiddenException("Can't create file in root folder.");
         }
-        return new FileEntry(getVirtualFile().createFile(name, content), projectRegistry);
+        final FileEntry file = new FileEntry(getVirtualFile().createFile(name, content), projectRegistry);
+        file.invalidateProvidedValues();
+        return file;
     }
 
     /**
@@ -212,7 +214,9 @@ public class FolderEntry extends VirtualFileEntry {
      *         if other error occurs
      */
     public FolderEntry createFolder(String name) throws ConflictException, ServerException, ForbiddenException {
-        return new FolderEntry(getVirtualFile().createFolder(name), projectRegistry);
+        final FolderEntry folder = new FolderEntry(getVirtualFile().createFolder(name), projectRegistry);
+        folder.invalidateProvidedValues();
+        return folder;
     }
 
     private boolean isRoot(VirtualFile virtualFile) {
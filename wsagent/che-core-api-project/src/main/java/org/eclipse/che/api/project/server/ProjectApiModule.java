@@ -80,6 +80,8 @@ public class ProjectApiModule extends AbstractModule {
         filtersMultibinder.addBinding().to(MediaTypeFilter.class);
 
         Multibinder<PathMatcher> excludeMatcher = newSetBinder(binder(), PathMatcher.class, Names.named("vfs.index_filter_matcher"));
+        Multibinder<PathMatcher> watcherExcludeMatcher =
+                newSetBinder(binder(), PathMatcher.class, Names.named("vfs.watcher.exclude_matcher"));
 
         bind(SearcherProvider.class).to(FSLuceneSearcherProvider.class);
         bind(VirtualFileSystemProvider.class).to(LocalVirtualFileSystemProvider.class);
@@ -87,6 +89,7 @@ public class ProjectApiModule extends AbstractModule {
         bind(FileWatcherNotificationHandler.class).to(DefaultFileWatcherNotificationHandler.class);
 
         configureVfsFilters(excludeMatcher);
+        configureVfsWatcherFilters(watcherExcludeMatcher);
         configureVfsEvent();
     }
 
@@ -96,6 +99,12 @@ public class ProjectApiModule extends AbstractModule {
         addVfsFilter(excludeMatcher, ".#");
     }
 
+    private void configureVfsWatcherFilters(Multibinder<PathMatcher> watcherExcludeMatcher) {
+        addVfsFilter(watcherExcludeMatcher, ".git");
+        addVfsFilter(watcherExcludeMatcher, "node_modules");
+        addVfsFilter(watcherExcludeMatcher, "target");
+    }
+
     private void addVfsFilter(Multibinder<PathMatcher> excludeMatcher, String filter) {
         excludeMatcher.addBinding().toInstance(path -> {
             for (Path pathElement : path) {
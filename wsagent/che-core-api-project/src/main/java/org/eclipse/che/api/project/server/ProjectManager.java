@@ -127,12 +127,21 @@ public final class ProjectManager {
                                                     .withEventType(eventType));
                     }
                 };
+        // values of attributes computed from files are cached until these files are changed
+        FileWatcherNotificationListener valueProviderCacheListener = new FileWatcherNotificationListener(file -> true) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                projectTypeRegistry.getValueProviderCache().invalidate(virtualFile.getPath().toString());
+            }
+        };
         fileWatchNotifier.addNotificationListener(defaultListener);
+        fileWatchNotifier.addNotificationListener(valueProviderCacheListener);
         try {
             fileWatcher.startup();
         } catch (IOException e) {
             LOG.error(e.getMessage(), e);
             fileWatchNotifier.removeNotificationListener(defaultListener);
+            fileWatchNotifier.removeNotificationListener(valueProviderCacheListener);
         }
     }
 
@@ -154,6 +163,22 @@ public final class ProjectManager {
         return provider.getSearcher(vfs);
     }
 
+    /**
+     * Waits until changes of files made before call of this method are applied to searcher index.
+     *
+     * @param timeoutMillis
+     *         max time to wait in milliseconds
+     * @return {@code true} if searcher index is up to date and {@code false} if timeout elapsed or waiting was interrupted
+     */
+    public boolean awaitSearcherIndexed(long timeoutMillis) {
+        try {
+            return vfs.awaitIndexed(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     public void addWatchListener(FileWatcherNotificationListener listener) {
         fileWatchNotifier.addNotificationListener(listener);
     }
@@ -392,6 +417,8 @@ public final class ProjectManager {
                 folder.remove();
                 throw e;
             }
+            // importers write files directly to virtual file system
+            folder.invalidateProvidedValues();
 
             final String name = folder.getPath().getName();
             for (ProjectConfig project : workspaceProjectsHolder.getProjects()) {
@@ -442,7 +469,7 @@ public final class ProjectManager {
             throw new NotFoundException("Folder not found: " + path);
         }
 
-        return projectType.resolveSources(baseFolder);
+        return projectType.resolveSources(baseFolder, projectTypeRegistry.getValueProviderCache());
     }
 
     /**
@@ -493,6 +520,7 @@ public final class ProjectManager {
         final VirtualFile item = vfs.getRoot().getChild(Path.of(apath));
         if (item != null) {
             item.delete();
+            projectRegistry.invalidateProvidedValues(apath);
         }
 
         // delete child projects
@@ -530,6 +558,7 @@ public final class ProjectManager {
         }
 
         final VirtualFile newItem = oldItem.copyTo(newParent, newName, overwrite);
+        projectRegistry.invalidateProvidedValues(newItem.getPath().toString());
         final RegisteredProject owner = projectRegistry.getParentProject(newItem.getPath().toString());
         if (owner == null) {
             throw new NotFoundException("Parent project not found " + newItem.getPath().toString());
@@ -586,7 +615,10 @@ public final class ProjectManager {
         }
 
         // TODO lock token ?
+        final String oldPath = oldItem.getPath().toString();
         final VirtualFile newItem = oldItem.moveTo(newParent, newName, overwrite, null);
+        projectRegistry.invalidateProvidedValues(oldPath);
+        projectRegistry.invalidateProvidedValues(newItem.getPath().toString());
         final RegisteredProject owner = projectRegistry.getParentProject(newItem.getPath().toString());
         if (owner == null) {
             throw new NotFoundException("Parent project not found " + newItem.getPath().toString());
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -31,10 +33,17 @@ import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -71,22 +80,54 @@ public class ProjectRegistry {
         this.root = new FolderEntry(vfs.getRoot());
     }
 
+    /**
+     * Registers all the projects from workspace configuration and all the unconfigured folders on root.
+     * Project types and attributes of projects are resolved in parallel, {@link ProjectResolvedEvent} is
+     * published as soon as each project is resolved. Configurations with the same path are resolved one
+     * by one in order they are listed in workspace configuration, so the last one is registered as before.
+     * Value providers of different projects are run concurrently, see {@link org.eclipse.che.api.project.server.type.ValueProviderFactory}.
+     */
     @PostConstruct
     public void initProjects() throws ConflictException, NotFoundException, ServerException, ForbiddenException {
 
         List<? extends ProjectConfig> projectConfigs = workspaceHolder.getProjects();
 
+        final Map<String, List<Callable<RegisteredProject>>> configuredByPath = new LinkedHashMap<>();
         // take all the projects from ws's config
         for (ProjectConfig projectConfig : projectConfigs) {
             final String path = projectConfig.getPath();
             final VirtualFile vf = vfs.getRoot().getChild(Path.of(path));
             final FolderEntry projectFolder = ((vf == null) ? null : new FolderEntry(vf, this));
 
-            putProject(projectConfig, projectFolder, false, false);
+            configuredByPath.computeIfAbsent(absolutizePath(path), key -> new ArrayList<>())
+                            .add(() -> resolveProject(projectConfig, projectFolder, false));
+        }
+        // the same path is never resolved concurrently, otherwise registered project would depend on which resolution finishes last
+        final List<Callable<RegisteredProject>> configured = new ArrayList<>(configuredByPath.size());
+        for (List<Callable<RegisteredProject>> samePath : configuredByPath.values()) {
+            configured.add(() -> {
+                RegisteredProject project = null;
+                for (Callable<RegisteredProject> resolution : samePath) {
+                    project = resolution.call();
+                }
+                return project;
+            });
+        }
+        final Set<String> configuredPaths = configuredByPath.keySet();
 
+        // and all the folders on root which are not configured
+        final List<Callable<RegisteredProject>> unconfigured = new ArrayList<>();
+        try {
+            for (FolderEntry folder : root.getChildFolders()) {
+                if (!configuredPaths.contains(folder.getVirtualFile().getPath().toString())) {
+                    unconfigured.add(() -> resolveProject(null, folder, true));
+                }
+            }
+        } catch (ServerException e) {
+            LOG.warn(e.getLocalizedMessage());
         }
 
-        initUnconfiguredFolders();
+        resolveProjects(configured, unconfigured);
 
         initialized = true;
 
@@ -197,6 +238,77 @@ public class ProjectRegistry {
         return project;
     }
 
+    /**
+     * Creates RegisteredProject, caches it and notifies that project is resolved.
+     */
+    private RegisteredProject resolveProject(ProjectConfig config, FolderEntry folder, boolean updated) throws ServerException,
+                                                                                                              ConflictException,
+                                                                                                              NotFoundException {
+        final RegisteredProject project = putProject(config, folder, updated, false);
+        eventService.publish(new ProjectResolvedEvent(project.getPath()));
+        return project;
+    }
+
+    /**
+     * Resolves projects on a bounded pool of threads and waits until all of them are resolved. Failure to resolve
+     * configured project is rethrown, failure to resolve unconfigured folder is only logged.
+     */
+    private void resolveProjects(List<Callable<RegisteredProject>> configured,
+                                 List<Callable<RegisteredProject>> unconfigured) throws ServerException,
+                                                                                        ConflictException,
+                                                                                        NotFoundException {
+        final int tasks = configured.size() + unconfigured.size();
+        if (tasks == 0) {
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(tasks, 1 + Runtime.getRuntime().availableProcessors()),
+                                                                      new ThreadFactoryBuilder().setNameFormat("ProjectRegistry-Init-%d")
+                                                                                                .setDaemon(true)
+                                                                                                .build());
+        try {
+            final List<Future<RegisteredProject>> configuredFutures = new ArrayList<>(configured.size());
+            for (Callable<RegisteredProject> task : configured) {
+                configuredFutures.add(executor.submit(task));
+            }
+            final List<Future<RegisteredProject>> unconfiguredFutures = new ArrayList<>(unconfigured.size());
+            for (Callable<RegisteredProject> task : unconfigured) {
+                unconfiguredFutures.add(executor.submit(task));
+            }
+
+            for (Future<RegisteredProject> future : configuredFutures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof ServerException) {
+                        throw (ServerException)cause;
+                    } else if (cause instanceof ConflictException) {
+                        throw (ConflictException)cause;
+                    } else if (cause instanceof NotFoundException) {
+                        throw (NotFoundException)cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException)cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error)cause;
+                    }
+                    throw new ServerException(cause.getLocalizedMessage(), cause);
+                }
+            }
+            for (Future<RegisteredProject> future : unconfiguredFutures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    LOG.warn(e.getCause().getLocalizedMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Initialization of projects is interrupted");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Removes all projects on and under the incoming path.
      *
@@ -212,6 +324,18 @@ public class ProjectRegistry {
                                                .ifPresent(removed::add));
 
         removed.forEach(registeredProject -> eventService.publish(new ProjectDeletedEvent(registeredProject.getPath())));
+        projectTypeRegistry.getValueProviderCache().evict(path);
+    }
+
+    /**
+     * Removes cached values of attributes which are computed from the file or files in the folder, should be called right
+     * after the file or folder is changed.
+     *
+     * @param path
+     *         absolute path of changed file or folder
+     */
+    void invalidateProvidedValues(String path) {
+        projectTypeRegistry.getValueProviderCache().invalidate(path);
     }
 
     /*  ------------------------------------------ */
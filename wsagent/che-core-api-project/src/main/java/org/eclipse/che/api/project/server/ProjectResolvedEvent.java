@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.notification.EventOrigin;
+
+/**
+ * Publish when types and attributes of project are resolved during initialization of projects.
+ */
+@EventOrigin("project")
+public class ProjectResolvedEvent {
+
+    private String projectPath;
+
+    public ProjectResolvedEvent(String projectPath) {
+        this.projectPath = projectPath;
+    }
+
+    public ProjectResolvedEvent() {
+    }
+
+    public String getProjectPath() {
+        return projectPath;
+    }
+
+    public void setProjectPath(String projectPath) {
+        this.projectPath = projectPath;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectResolvedEvent{" +
+               "projectPath='" + projectPath + '\'' +
+               '}';
+    }
+}
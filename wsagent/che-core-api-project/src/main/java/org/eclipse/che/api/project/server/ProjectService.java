@@ -67,6 +67,7 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
 import java.io.InputStream;
@@ -112,6 +113,8 @@ public class ProjectService extends Service {
     private static final Logger LOG  = LoggerFactory.getLogger(ProjectService.class);
     private static final Tika   TIKA = new Tika();
 
+    private static final long SEARCH_INDEX_WAIT_TIMEOUT_MILLIS = 10_000;
+
     private final ProjectManager projectManager;
     private final EventService   eventService;
     private final String         workspace;
@@ -408,7 +411,9 @@ public class ProjectService extends Service {
             throw new NotFoundException("Parent not found for " + parentPath);
         }
 
-        return uploadFile(parent.getVirtualFile(), formData);
+        final Response response = uploadFile(parent.getVirtualFile(), formData);
+        parent.invalidateProvidedValues();
+        return response;
     }
 
     @POST
@@ -436,7 +441,9 @@ public class ProjectService extends Service {
             throw new NotFoundException("Parent not found for " + path);
         }
 
-        return uploadZip(parent.getVirtualFile(), formData);
+        final Response response = uploadZip(parent.getVirtualFile(), formData);
+        parent.invalidateProvidedValues();
+        return response;
     }
 
     @ApiOperation(value = "Get file content",
@@ -632,6 +639,7 @@ public class ProjectService extends Service {
         try (InputStream zip = contentItem.getInputStream()) {
             baseProjectFolder.getVirtualFile().unzip(zip, true, stripNumber);
         }
+        baseProjectFolder.invalidateProvidedValues();
 
         return resolveSources(path);
     }
@@ -660,6 +668,7 @@ public class ProjectService extends Service {
         }
 
         importZip(parent.getVirtualFile(), zip, true, skipFirstLevel);
+        parent.invalidateProvidedValues();
 
         try {
             final RegisteredProject project = projectManager.getProject(path);
@@ -683,8 +692,8 @@ public class ProjectService extends Service {
                    @ApiResponse(code = 403, message = "User not authorized to call this operation"),
                    @ApiResponse(code = 404, message = "Not found"),
                    @ApiResponse(code = 500, message = "Internal Server Error")})
-    public InputStream exportZip(@ApiParam(value = "Path to resource to be exported")
-                                 @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
+    public StreamingOutput exportZip(@ApiParam(value = "Path to resource to be exported")
+                                     @PathParam("path") String path) throws NotFoundException, ForbiddenException, ServerException {
 
         final FolderEntry folder = projectManager.asFolder(path);
 
@@ -692,7 +701,15 @@ public class ProjectService extends Service {
             throw new NotFoundException("Folder not found " + path);
         }
 
-        return folder.getVirtualFile().zip();
+        final VirtualFile virtualFile = folder.getVirtualFile();
+        // Archive is written directly to response while folder is traversed
+        return output -> {
+            try {
+                virtualFile.zip(output);
+            } catch (ForbiddenException | ServerException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
     }
 
     @GET
@@ -822,10 +839,14 @@ public class ProjectService extends Service {
                                       @ApiParam(value = "Maximum items to display. If this parameter is dropped, there are no limits")
                                       @QueryParam("maxItems") @DefaultValue("-1") int maxItems,
                                       @ApiParam(value = "Skip count")
-                                      @QueryParam("skipCount") int skipCount) throws NotFoundException,
-                                                                                     ForbiddenException,
-                                                                                     ConflictException,
-                                                                                     ServerException {
+                                      @QueryParam("skipCount") int skipCount,
+                                      @ApiParam(value = "Include occurrences of searched text in found files")
+                                      @QueryParam("includeOccurrences") boolean includeOccurrences,
+                                      @ApiParam(value = "Wait until changes of files made before search are indexed")
+                                      @QueryParam("waitForIndex") boolean waitForIndex) throws NotFoundException,
+                                                                                                ForbiddenException,
+                                                                                                ConflictException,
+                                                                                                ServerException {
         final Searcher searcher;
         try {
             searcher = projectManager.getSearcher();
@@ -838,12 +859,18 @@ public class ProjectService extends Service {
             throw new ConflictException(String.format("Invalid 'skipCount' parameter: %d.", skipCount));
         }
 
+        // index is updated asynchronously, waiting is opt-in since indexing of big changes, e.g. checkout, may take long
+        if (waitForIndex && !projectManager.awaitSearcherIndexed(SEARCH_INDEX_WAIT_TIMEOUT_MILLIS)) {
+            LOG.warn("Searcher index isn't up to date, search results might not contain latest changes of files");
+        }
+
         final QueryExpression expr = new QueryExpression()
                 .setPath(path.startsWith("/") ? path : ('/' + path))
                 .setName(name)
                 .setText(text)
                 .setMaxItems(maxItems)
-                .setSkipCount(skipCount);
+                .setSkipCount(skipCount)
+                .setIncludeOccurrences(includeOccurrences);
 
         final SearchResult result = searcher.search(expr);
         final List<SearchResultEntry> searchResultEntries = result.getResults();
@@ -854,7 +881,14 @@ public class ProjectService extends Service {
             final VirtualFileEntry child = root.getChild(searchResultEntry.getFilePath());
 
             if (child != null && child.isFile()) {
-                items.add(injectFileLinks(asDto((FileEntry)child)));
+                final ItemReference item = injectFileLinks(asDto((FileEntry)child));
+                if (includeOccurrences) {
+                    item.setOccurrences(searchResultEntry.getOccurrences()
+                                                         .stream()
+                                                         .map(DtoConverter::asDto)
+                                                         .collect(Collectors.toList()));
+                }
+                items.add(item);
             }
         }
 
@@ -17,6 +17,7 @@ import org.eclipse.che.api.project.server.RegisteredProject.Problem;
 import org.eclipse.che.api.project.server.type.ProjectTypeConstraintException;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.server.type.ValueProviderCache;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 
 import java.util.ArrayList;
@@ -180,9 +181,10 @@ public class ProjectTypes {
                                                         NotFoundException,
                                                         ProjectTypeConstraintException,
                                                         ValueStorageException {
+        final ValueProviderCache valueProviderCache = projectTypeRegistry.getValueProviderCache();
         for (ProjectTypeDef pt : projectTypeRegistry.getProjectTypes()) {
             // NOTE: Only mixable types allowed
-            if (pt.isMixable() && !pt.isPersisted() && pt.resolveSources(projectFolder).matched()) {
+            if (pt.isMixable() && !pt.isPersisted() && pt.resolveSources(projectFolder, valueProviderCache).matched()) {
                 all.put(pt.getId(), pt);
                 mixins.put(pt.getId(), pt);
                 for (Attribute attr : pt.getAttributes()) {
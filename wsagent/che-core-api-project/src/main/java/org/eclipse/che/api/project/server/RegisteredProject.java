@@ -21,6 +21,7 @@ import org.eclipse.che.api.project.server.type.ProjectTypeConstraintException;
 import org.eclipse.che.api.project.server.type.ProjectTypeDef;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
 import org.eclipse.che.api.project.server.type.ValueProvider;
+import org.eclipse.che.api.project.server.type.ValueProviderCache;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.server.type.Variable;
 import org.eclipse.che.api.vfs.Path;
@@ -43,6 +44,7 @@ public class RegisteredProject implements ProjectConfig {
 
     private final List<Problem>      problems;
     private final Map<String, Value> attributes;
+    private final ValueProviderCache valueProviderCache;
 
     private final FolderEntry   folder;
     private final ProjectConfig config;
@@ -88,6 +90,7 @@ public class RegisteredProject implements ProjectConfig {
         this.config = (config == null) ? new NewProjectConfig(path) : config;
         this.updated = updated;
         this.detected = detected;
+        this.valueProviderCache = projectTypeRegistry.getValueProviderCache();
 
         if (folder == null || folder.isFile()) {
             problems.add(new Problem(10, "No project folder on file system " + this.config.getPath()));
@@ -142,7 +145,7 @@ public class RegisteredProject implements ProjectConfig {
 
                         if (!valueProvider.isSettable() || value.isEmpty()) {
                             // get provided value
-                            value = new AttributeValue(valueProvider.getValues(name));
+                            value = new AttributeValue(valueProviderCache.getValues(valueProvider, folder, name));
                         } else {
                             // set provided (not empty) value
                             valueProvider.setValues(name, value.getList());
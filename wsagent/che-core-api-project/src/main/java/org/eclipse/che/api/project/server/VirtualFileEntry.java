@@ -121,6 +121,7 @@ public abstract class VirtualFileEntry {
      */
     public void remove() throws ServerException, ForbiddenException {
         virtualFile.delete(null);
+        invalidateProvidedValues();
     }
 
     public VirtualFile getVirtualFile() {
@@ -130,4 +131,11 @@ public abstract class VirtualFileEntry {
     public Map<String, String> getAttributes() {
         return attributes;
     }
+
+    /** Removes cached values of attributes which are computed from this file or files in this folder. */
+    void invalidateProvidedValues() {
+        if (projectRegistry != null) {
+            projectRegistry.invalidateProvidedValues(getPath().toString());
+        }
+    }
 }
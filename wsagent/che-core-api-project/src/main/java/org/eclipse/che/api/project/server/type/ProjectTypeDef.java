@@ -170,6 +170,19 @@ public abstract class ProjectTypeDef implements ProjectType {
     }
 
     public ProjectTypeResolution resolveSources(FolderEntry projectFolder) throws ValueStorageException {
+        return resolveSources(projectFolder, null);
+    }
+
+    /**
+     * Resolves whether folder matches this project type, values of attributes are taken from the cache if they are cached.
+     *
+     * @param projectFolder
+     *         folder to resolve
+     * @param valueProviderCache
+     *         cache of provided values or {@code null} to get values from value providers directly
+     */
+    public ProjectTypeResolution resolveSources(FolderEntry projectFolder,
+                                                ValueProviderCache valueProviderCache) throws ValueStorageException {
         Map<String, Value> matchAttrs = new HashMap<>();
         for (Map.Entry<String, Attribute> entry : attributes.entrySet()) {
             Attribute attr = entry.getValue();
@@ -178,7 +191,10 @@ public abstract class ProjectTypeDef implements ProjectType {
                 Variable var = (Variable)attr;
                 ValueProviderFactory factory = var.getValueProviderFactory();
                 if (factory != null) {
-                    Value value = new AttributeValue(factory.newInstance(projectFolder).getValues(name));
+                    final ValueProvider valueProvider = factory.newInstance(projectFolder);
+                    Value value = new AttributeValue(valueProviderCache == null
+                                                     ? valueProvider.getValues(name)
+                                                     : valueProviderCache.getValues(valueProvider, projectFolder, name));
                     if (value.isEmpty()) {
                         if (var.isRequired()) {
                             // this PT is not match
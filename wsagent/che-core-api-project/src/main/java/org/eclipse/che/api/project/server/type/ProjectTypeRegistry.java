@@ -44,6 +44,7 @@ public class ProjectTypeRegistry {
 
     private final Map<String, ProjectTypeDef> projectTypes;
     private final Map<String, ProjectTypeDef> validatedData;
+    private final ValueProviderCache          valueProviderCache;
 
     /**
      * Initialises Set of Project Type definitions
@@ -54,6 +55,7 @@ public class ProjectTypeRegistry {
     public ProjectTypeRegistry(Set<ProjectTypeDef> types) {
         projectTypes = new HashMap<>();
         validatedData = new HashMap<>();
+        valueProviderCache = new ValueProviderCache();
 
         validate(types);
 
@@ -92,6 +94,13 @@ public class ProjectTypeRegistry {
         return pt;
     }
 
+    /**
+     * @return cache of values of attributes provided by value providers of registered project types
+     */
+    public ValueProviderCache getValueProviderCache() {
+        return valueProviderCache;
+    }
+
     /**
      * @return all project types
      */
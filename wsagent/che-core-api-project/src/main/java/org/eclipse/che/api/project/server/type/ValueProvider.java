@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server.type;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -35,4 +36,15 @@ public interface ValueProvider {
      * @return whether this Value Provider intended to initialize values
      */
     boolean isSettable();
+
+    /**
+     * Returns paths, relative to project folder, of files values are computed from. Values of provider which declares
+     * such files are cached until any of these files is changed, see {@link ValueProviderCache}.
+     * By default no files are declared and values are not cached.
+     *
+     * @return paths of files values depend on
+     */
+    default List<String> getDependencies() {
+        return Collections.emptyList();
+    }
 }
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import org.eclipse.che.api.project.server.FolderEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches values of {@link ValueProvider}s which declare files they are computed from, see {@link ValueProvider#getDependencies()}.
+ * Values are cached per project, attribute and provider until any of the declared files is changed, which should be reported with
+ * {@link #invalidate(String)}. Values of providers which don't declare any files are never cached.
+ * <p/>
+ * Values are indexed by path of project, so change of file touches only projects which contain it and projects inside it.
+ */
+public class ValueProviderCache {
+
+    private final ConcurrentNavigableMap<String, ProjectValues> projects;
+    private final AtomicLong                                    invalidations;
+
+    public ValueProviderCache() {
+        projects = new ConcurrentSkipListMap<>();
+        invalidations = new AtomicLong();
+    }
+
+    /**
+     * Gets values of attribute from cache or from provider if they are not cached yet.
+     *
+     * @param provider
+     *         provider of values
+     * @param projectFolder
+     *         folder of project the provider is created for
+     * @param attributeName
+     *         name of attribute
+     * @return values of attribute
+     * @throws ValueStorageException
+     *         if provider is not able to get values
+     */
+    public List<String> getValues(ValueProvider provider, FolderEntry projectFolder, String attributeName) throws ValueStorageException {
+        final List<String> dependencies = provider.getDependencies();
+        if (projectFolder == null || dependencies == null || dependencies.isEmpty()) {
+            return provider.getValues(attributeName);
+        }
+
+        final ProjectValues projectValues = projects.computeIfAbsent(projectFolder.getPath().toString(), path -> new ProjectValues());
+        final Key key = new Key(attributeName, provider.getClass());
+        final List<String> cached = projectValues.values.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long invalidationsBefore = invalidations.get();
+        for (String dependency : dependencies) {
+            final String path = projectFolder.getPath().newPath(dependency).toString();
+            projectValues.dependents.computeIfAbsent(path, p -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+        final List<String> computed = provider.getValues(attributeName);
+        if (computed != null) {
+            final List<String> unmodifiable = Collections.unmodifiableList(new ArrayList<>(computed));
+            projectValues.values.put(key, unmodifiable);
+            if (invalidations.get() != invalidationsBefore) {
+                // some file was changed while values were computed, they might be already out of date
+                projectValues.values.remove(key, unmodifiable);
+            }
+        }
+        return computed;
+    }
+
+    /**
+     * Removes values which depend on the file or folder from cache. Values of projects inside the folder are removed as well,
+     * since removed or renamed folder doesn't produce events for files inside it. If the folder itself has cached values, e.g. it
+     * is a project or a folder whose type was estimated, its entry is dropped, so entries of deleted folders don't stay in cache.
+     *
+     * @param path
+     *         absolute path of changed file or folder
+     */
+    public void invalidate(String path) {
+        invalidations.incrementAndGet();
+        // values of folder depend only on files inside it, all of them are out of date when folder itself is changed
+        projects.remove(path);
+        // projects which contain changed item
+        for (String parent = parentOf(path); !parent.isEmpty(); parent = parentOf(parent)) {
+            final ProjectValues projectValues = projects.get(parent);
+            if (projectValues != null) {
+                projectValues.invalidate(path);
+            }
+        }
+        descendants(path).clear();
+    }
+
+    /**
+     * Removes all values of project and projects inside it from cache, should be called when project is removed.
+     *
+     * @param projectPath
+     *         absolute path of project
+     */
+    public void evict(String projectPath) {
+        invalidations.incrementAndGet();
+        projects.remove(projectPath);
+        descendants(projectPath).clear();
+    }
+
+    /** Number of projects and folders which have cached values. */
+    int size() {
+        return projects.size();
+    }
+
+    private static String parentOf(String path) {
+        return path.substring(0, Math.max(path.lastIndexOf('/'), 0));
+    }
+
+    private ConcurrentNavigableMap<String, ProjectValues> descendants(String path) {
+        if ("/".equals(path)) {
+            return projects;
+        }
+        // '0' follows '/', so the range contains all paths which start with path followed by '/'
+        return projects.subMap(path + '/', path + '0');
+    }
+
+    /** Values of attributes of one project and files they depend on. */
+    private static class ProjectValues {
+        final ConcurrentMap<Key, List<String>> values     = new ConcurrentHashMap<>();
+        final ConcurrentMap<String, Set<Key>>  dependents = new ConcurrentHashMap<>();
+
+        void invalidate(String path) {
+            final Set<Key> keys = dependents.remove(path);
+            if (keys != null) {
+                keys.forEach(values::remove);
+            }
+            final String prefix = path.endsWith("/") ? path : path + '/';
+            for (Map.Entry<String, Set<Key>> entry : dependents.entrySet()) {
+                if (entry.getKey().startsWith(prefix) && dependents.remove(entry.getKey(), entry.getValue())) {
+                    entry.getValue().forEach(values::remove);
+                }
+            }
+        }
+    }
+
+    private static class Key {
+        final String   attributeName;
+        final Class<?> providerClass;
+
+        Key(String attributeName, Class<?> providerClass) {
+            this.attributeName = attributeName;
+            this.providerClass = providerClass;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)o;
+            return attributeName.equals(other.attributeName) && providerClass.equals(other.providerClass);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(attributeName, providerClass);
+        }
+    }
+}
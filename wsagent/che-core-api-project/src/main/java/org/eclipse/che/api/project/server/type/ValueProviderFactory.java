@@ -14,6 +14,11 @@ import org.eclipse.che.api.project.server.FolderEntry;
 
 /**
  * Factory for {@link ValueProvider}.
+ * <p/>
+ * Implementations must be thread safe. {@link org.eclipse.che.api.project.server.ProjectRegistry} resolves projects in
+ * parallel while it is initialized, so {@link #newInstance(FolderEntry)} and methods of created providers may be called
+ * concurrently for different project folders. During initialization they are never called concurrently for the same
+ * project folder.
  *
  * @author andrew00x
  */
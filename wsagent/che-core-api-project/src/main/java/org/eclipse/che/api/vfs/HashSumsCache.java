@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import org.eclipse.che.api.core.ServerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Cache of hash sums of files used by {@link HashSumsCounter}. Hash sum of file is reused while modification date and length of file
+ * are the same as they were when hash sum was counted. Cache may be persisted in file, so hash sums survive restarts.
+ * <p/>
+ * Instance of cache must be used with single hash function.
+ */
+public class HashSumsCache {
+    private static final Logger LOG = LoggerFactory.getLogger(HashSumsCache.class);
+
+    private static final int FORMAT_VERSION = 1;
+    /**
+     * Hash sum isn't cached for files modified less than this number of milliseconds before hash sum was counted. Resolution of
+     * modification date of file may be low, so file may be changed once more without changing its modification date.
+     */
+    static final long MODIFICATION_DATE_RESOLUTION = 2000;
+
+    private final File                     cacheFile;
+    private final Map<String, CachedHash> hashes;
+
+    private volatile boolean loaded;
+    private volatile boolean dirty;
+
+    /**
+     * @param cacheFile
+     *         file where cache is persisted, if {@code null} cache is kept in memory only
+     */
+    public HashSumsCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+        this.hashes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets cached hash sum of file.
+     *
+     * @return hash sum or {@code null} if there is no hash sum for file or file was modified after hash sum was counted
+     */
+    public String get(String path, long lastModified, long length) {
+        ensureLoaded();
+        final CachedHash cached = hashes.get(path);
+        if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+            return cached.hash;
+        }
+        return null;
+    }
+
+    /**
+     * Caches hash sum of file.
+     *
+     * @param path
+     *         path of file
+     * @param lastModified
+     *         modification date of file, should be read before reading content of file
+     * @param length
+     *         length of file, should be read before reading content of file
+     * @param hash
+     *         hash sum of file
+     */
+    public void put(String path, long lastModified, long length, String hash) {
+        ensureLoaded();
+        if (System.currentTimeMillis() - lastModified < MODIFICATION_DATE_RESOLUTION) {
+            hashes.remove(path);
+        } else {
+            hashes.put(path, new CachedHash(lastModified, length, hash));
+        }
+        dirty = true;
+    }
+
+    /** Removes hash sums of files in {@code folder} except files with given paths. */
+    public void retain(Path folder, Set<String> paths) {
+        ensureLoaded();
+        final String prefix = folder.isRoot() ? "/" : folder.toString() + '/';
+        for (Iterator<String> iterator = hashes.keySet().iterator(); iterator.hasNext(); ) {
+            final String path = iterator.next();
+            if (path.startsWith(prefix) && !paths.contains(path)) {
+                iterator.remove();
+                dirty = true;
+            }
+        }
+    }
+
+    /** Number of cached hash sums. */
+    public int size() {
+        ensureLoaded();
+        return hashes.size();
+    }
+
+    /** Writes cache to file if it was changed since last saving. */
+    public synchronized void save() throws ServerException {
+        if (cacheFile == null || !dirty) {
+            return;
+        }
+        dirty = false;
+        final File parent = cacheFile.getParentFile();
+        if (!(parent.exists() || parent.mkdirs())) {
+            throw new ServerException(String.format("Unable create directory %s", parent));
+        }
+        final File tmpFile = new File(parent, cacheFile.getName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(hashes.size());
+            for (Map.Entry<String, CachedHash> entry : hashes.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeLong(entry.getValue().lastModified);
+                output.writeLong(entry.getValue().length);
+                output.writeUTF(entry.getValue().hash);
+            }
+        } catch (IOException e) {
+            dirty = true;
+            throw new ServerException(e.getMessage(), e);
+        }
+        try {
+            Files.move(tmpFile.toPath(), cacheFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    /** Loads cache from file once, after that it is a single volatile read, so concurrent get and put don't contend for lock. */
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    private void load() {
+        if (cacheFile == null || !cacheFile.exists()) {
+            return;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            for (int i = 0, size = input.readInt(); i < size; i++) {
+                final String path = input.readUTF();
+                final long lastModified = input.readLong();
+                final long length = input.readLong();
+                final String hash = input.readUTF();
+                hashes.put(path, new CachedHash(lastModified, length, hash));
+            }
+        } catch (IOException e) {
+            // cache is rebuilt while counting hash sums
+            LOG.warn("Unable read hash sums cache {}: {}", cacheFile, e.getMessage());
+            hashes.clear();
+        }
+    }
+
+    private static class CachedHash {
+        final long   lastModified;
+        final long   length;
+        final String hash;
+
+        CachedHash(long lastModified, long length, String hash) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.hash = hash;
+        }
+    }
+}
@@ -20,7 +20,15 @@ import org.eclipse.che.commons.lang.Pair;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.hash.Funnels.asOutputStream;
@@ -28,17 +36,43 @@ import static com.google.common.hash.Funnels.asOutputStream;
 /**
  * Traverses recursively all files in folder given in constructor and calculates hash sum for each file.
  * Algorithm specified by {@code hashFunction} is used for calculating hash sum.
+ * <p/>
+ * Content of files may be hashed in parallel, in this case folder is traversed by calling thread and files are hashed by pool of
+ * threads given in constructor. Pool isn't owned by counter, it may be shared by many counters and must be shut down by its owner.
+ * If {@link HashSumsCache} is given, hash sums of files that were not changed since previous counting are taken from cache, so only
+ * modified files are read.
  */
 public class HashSumsCounter implements VirtualFileVisitor {
-    private final VirtualFile                folder;
-    private final HashFunction               hashFunction;
-    private final List<Pair<String, String>> hashSums;
+    private final VirtualFile   folder;
+    private final HashFunction  hashFunction;
+    private final HashSumsCache   cache;
+    private final ExecutorService executor;
 
+    private Consumer<Pair<String, String>>    consumer;
+    private CompletionService<HashSumResult> hashingService;
+    private int                              pendingHashSums;
+    private Set<String>                      visitedFiles;
+    private volatile boolean                 cancelled;
 
     public HashSumsCounter(VirtualFile folder, HashFunction hashFunction) {
+        this(folder, hashFunction, null, null);
+    }
+
+    /**
+     * @param folder
+     *         folder to traverse
+     * @param hashFunction
+     *         hash function
+     * @param cache
+     *         cache of hash sums counted with the same {@code hashFunction}, may be {@code null}
+     * @param executor
+     *         pool of threads that read and hash content of files, if {@code null} files are hashed by calling thread
+     */
+    public HashSumsCounter(VirtualFile folder, HashFunction hashFunction, HashSumsCache cache, ExecutorService executor) {
         this.folder = folder;
         this.hashFunction = hashFunction;
-        hashSums = newArrayList();
+        this.cache = cache;
+        this.executor = executor;
     }
 
     /**
@@ -50,22 +84,60 @@ public class HashSumsCounter implements VirtualFileVisitor {
      * </pre>
      */
     public List<Pair<String, String>> countHashSums() throws ServerException {
-        folder.accept(this);
+        final List<Pair<String, String>> hashSums = newArrayList();
+        countHashSums(hashSums::add);
         return hashSums;
     }
 
+    /**
+     * Counts hash sums of files and passes each of them to {@code consumer} as soon as it is ready, see {@link #countHashSums()} for
+     * structure of passed {@code Pair}. Order of hash sums isn't guaranteed. Consumer is always called by the calling thread.
+     */
+    public void countHashSums(Consumer<Pair<String, String>> consumer) throws ServerException {
+        this.consumer = consumer;
+        this.visitedFiles = cache == null ? null : new HashSet<>();
+        hashingService = executor == null ? null : new ExecutorCompletionService<>(executor);
+        pendingHashSums = 0;
+        cancelled = false;
+        boolean completed = false;
+        try {
+            folder.accept(this);
+            while (pendingHashSums > 0) {
+                takeHashSum();
+            }
+            completed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Counting of hash sums was interrupted");
+        } finally {
+            // pool is shared, so tasks that are still queued are skipped instead of shutting down pool
+            cancelled = !completed;
+        }
+        if (cache != null) {
+            cache.retain(folder.getPath(), visitedFiles);
+            cache.save();
+        }
+    }
+
     @Override
     public void visit(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.isFile()) {
-            try (InputStream in = virtualFile.getContent()) {
-                final Hasher hasher = hashFunction.newHasher();
-                ByteStreams.copy(in, asOutputStream(hasher));
-                final String hexHash = hasher.hash().toString();
-                hashSums.add(Pair.of(hexHash, virtualFile.getPath().subPath(folder.getPath()).toString()));
-            } catch (IOException e) {
-                throw new ServerException(e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
+            final String relativePath = virtualFile.getPath().subPath(folder.getPath()).toString();
+            if (cache != null) {
+                final String path = virtualFile.getPath().toString();
+                visitedFiles.add(path);
+                final String cachedHash = cache.get(path, virtualFile.getLastModificationDate(), virtualFile.getLength());
+                if (cachedHash != null) {
+                    consumer.accept(Pair.of(cachedHash, relativePath));
+                    return;
+                }
+            }
+            if (hashingService == null) {
+                consumer.accept(Pair.of(countHashSum(virtualFile), relativePath));
+            } else {
+                hashingService.submit(() -> cancelled ? null : new HashSumResult(countHashSum(virtualFile), relativePath));
+                pendingHashSums++;
+                pollHashSums();
             }
         } else {
             for (VirtualFile child : virtualFile.getChildren()) {
@@ -73,4 +145,63 @@ public class HashSumsCounter implements VirtualFileVisitor {
             }
         }
     }
+
+    private String countHashSum(VirtualFile virtualFile) throws ServerException {
+        final long lastModified = cache == null ? 0 : virtualFile.getLastModificationDate();
+        final long length = cache == null ? 0 : virtualFile.getLength();
+        try (InputStream in = virtualFile.getContent()) {
+            final Hasher hasher = hashFunction.newHasher();
+            ByteStreams.copy(in, asOutputStream(hasher));
+            final String hexHash = hasher.hash().toString();
+            if (cache != null) {
+                cache.put(virtualFile.getPath().toString(), lastModified, length, hexHash);
+            }
+            return hexHash;
+        } catch (IOException e) {
+            throw new ServerException(e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    /** Passes hash sums that are already counted to consumer without waiting for others. */
+    private void pollHashSums() throws ServerException {
+        Future<HashSumResult> result;
+        while ((result = hashingService.poll()) != null) {
+            pendingHashSums--;
+            consume(result);
+        }
+    }
+
+    private void takeHashSum() throws ServerException, InterruptedException {
+        final Future<HashSumResult> result = hashingService.take();
+        pendingHashSums--;
+        consume(result);
+    }
+
+    private void consume(Future<HashSumResult> result) throws ServerException {
+        try {
+            final HashSumResult hashSum = result.get();
+            consumer.accept(Pair.of(hashSum.hash, hashSum.relativePath));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Counting of hash sums was interrupted");
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        }
+    }
+
+    private static class HashSumResult {
+        final String hash;
+        final String relativePath;
+
+        HashSumResult(String hash, String relativePath) {
+            this.hash = hash;
+            this.relativePath = relativePath;
+        }
+    }
 }
@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.commons.lang.Pair;
 
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -112,6 +113,20 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream getContent() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of the file to {@code output}. Content is taken at once as by {@link #getContent()}, so slow {@code output}
+     * doesn't block updates of the file. Method doesn't close {@code output}.
+     *
+     * @param output
+     *         output for content of the file
+     * @throws ForbiddenException
+     *         if this item is not a file
+     * @throws ServerException
+     *         if other error occurs, e.g. if content can't be written to {@code output}
+     * @see #isFile()
+     */
+    void transferContentTo(OutputStream output) throws ForbiddenException, ServerException;
+
     /**
      * Gets content of the file as bytes.
      *
@@ -504,6 +519,19 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream zip() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of folder denoted by this VirtualFile as zip archive to {@code output}. Archive is written while folder is
+     * traversed, without temporary files. Method doesn't close {@code output}.
+     *
+     * @param output
+     *         output for zip archive
+     * @throws ForbiddenException
+     *         if this item does not denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     */
+    void zip(OutputStream output) throws ForbiddenException, ServerException;
+
     /**
      * Extracts zip archive to the folder denoted by this VirtualFile.
      *
@@ -537,6 +565,19 @@ public interface VirtualFile extends Comparable<VirtualFile> {
      */
     InputStream tar() throws ForbiddenException, ServerException;
 
+    /**
+     * Writes content of folder denoted by this VirtualFile as TAR archive to {@code output}. Archive is written while folder is
+     * traversed, without temporary files. Method doesn't close {@code output}.
+     *
+     * @param output
+     *         output for TAR archive
+     * @throws ForbiddenException
+     *         if this item does not denote a folder
+     * @throws ServerException
+     *         if other error occurs
+     */
+    void tar(OutputStream output) throws ForbiddenException, ServerException;
+
     /**
      * Extracts tar archive to the folder denoted by this VirtualFile.
      *
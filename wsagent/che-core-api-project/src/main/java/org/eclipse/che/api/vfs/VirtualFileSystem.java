@@ -33,6 +33,18 @@ public interface VirtualFileSystem {
      */
     SearcherProvider getSearcherProvider();
 
+    /**
+     * Waits until all changes of files made before call of this method are visible for searcher. Implementation that updates searcher
+     * index synchronously returns {@code true} immediately.
+     *
+     * @param timeoutMillis
+     *         max time to wait in milliseconds
+     * @return {@code true} if searcher index is up to date and {@code false} if timeout elapsed before
+     * @throws InterruptedException
+     *         if current thread is interrupted while waiting
+     */
+    boolean awaitIndexed(long timeoutMillis) throws InterruptedException;
+
     /** Release used resources, e.g. clear caches, searcher index, etc */
     void close() throws ServerException;
 
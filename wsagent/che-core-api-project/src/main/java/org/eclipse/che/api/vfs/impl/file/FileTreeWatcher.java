@@ -33,62 +33,111 @@ import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
-import static com.google.common.collect.Lists.newArrayList;
-import static com.google.common.collect.Maps.newHashMap;
-import static com.google.common.collect.Sets.newLinkedHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
 import static java.nio.file.Files.getLastModifiedTime;
 import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.CREATED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.DELETED;
 import static org.eclipse.che.api.project.shared.dto.event.FileWatcherEventType.MODIFIED;
 
+/**
+ * Watches file tree and notifies {@link FileWatcherNotificationHandler} about created, modified and deleted files.
+ * <p/>
+ * Each directory is registered in {@link WatchService}. Directories that match exclude patterns are not registered and their subtrees
+ * are not traversed, so large generated trees, e.g. {@code node_modules}, {@code target} or {@code .git}, don't waste native watches.
+ * Patterns of {@code vfs.index_filter_matcher} also suppress notifications, patterns of {@code vfs.watcher.exclude_matcher} only
+ * exclude directories from watching: changes of such directory itself are still reported, changes inside it are not. Directories
+ * created while watcher is running are registered when event about their creation is processed.
+ * <p/>
+ * Events are coalesced per directory. Directory is re-scanned when there were no new events in it during {@link #COALESCE_WINDOW_MILLIS},
+ * but not later than {@link #MAX_EVENT_DELAY_MILLIS} after the first not processed event, so burst of changes, e.g. while build, produces
+ * one scan per directory and continuous changes in one directory don't delay notifications about it forever.
+ */
 @Singleton
 public class FileTreeWatcher {
     private static final Logger LOG = LoggerFactory.getLogger(FileTreeWatcher.class);
 
-    private static final long EVENT_PROCESS_TIMEOUT_SEC = 2;
+    static final long COALESCE_WINDOW_MILLIS = 500;
+    static final long MAX_EVENT_DELAY_MILLIS = 2000;
 
     private final File                           watchRoot;
     private final Path                           watchRootPath;
     private final Map<Path, WatchedDirectory>    watchedDirectories;
     private final List<PathMatcher>              excludePatterns;
+    private final List<PathMatcher>              watcherExcludePatterns;
     private final FileWatcherNotificationHandler fileWatcherNotificationHandler;
     private final ExecutorService                executor;
     private final AtomicBoolean                  running;
+    private final AtomicInteger                  failedWatches;
+    private final AtomicInteger                  pendingDirectories;
+    private final AtomicLong                     processedEvents;
+    private final AtomicLong                     lastEventLagMillis;
+    private final AtomicLong                     maxEventLagMillis;
     private       WatchService                   watchService;
     private       WatchEvent.Modifier[]          watchEventModifiers;
 
+    public FileTreeWatcher(File watchRoot,
+                           Set<PathMatcher> excludePatterns,
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler) {
+        this(watchRoot, excludePatterns, Collections.emptySet(), fileWatcherNotificationHandler);
+    }
+
+    /**
+     * @param watchRoot
+     *         root of watched tree
+     * @param excludePatterns
+     *         patterns of files that are excluded from index, watcher doesn't notify about them as well
+     * @param watcherExcludePatterns
+     *         patterns of directories that are not watched, watcher still notifies about them but not about their content
+     * @param fileWatcherNotificationHandler
+     *         handler of file events
+     */
     @Inject
     public FileTreeWatcher(@Named("che.user.workspaces.storage") File watchRoot,
                            @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                           @Named("vfs.watcher.exclude_matcher") Set<PathMatcher> watcherExcludePatterns,
                            FileWatcherNotificationHandler fileWatcherNotificationHandler) {
         watchEventModifiers = new WatchEvent.Modifier[0];
         this.watchRoot = toCanonicalFile(watchRoot);
         this.watchRootPath = this.watchRoot.toPath();
-        this.excludePatterns = newArrayList(excludePatterns);
+        this.excludePatterns = new CopyOnWriteArrayList<>(excludePatterns);
+        this.watcherExcludePatterns = new ArrayList<>(watcherExcludePatterns);
         this.fileWatcherNotificationHandler = fileWatcherNotificationHandler;
 
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setDaemon(true).setNameFormat("FileTreeWatcher-%d").build();
         executor = Executors.newSingleThreadExecutor(threadFactory);
         running = new AtomicBoolean();
-        watchedDirectories = newHashMap();
+        watchedDirectories = new ConcurrentHashMap<>();
+        failedWatches = new AtomicInteger();
+        pendingDirectories = new AtomicInteger();
+        processedEvents = new AtomicLong();
+        lastEventLagMillis = new AtomicLong();
+        maxEventLagMillis = new AtomicLong();
     }
 
     private static File toCanonicalFile(File file) {
@@ -105,7 +154,10 @@ public class FileTreeWatcher {
             watchEventModifiers = new WatchEvent.Modifier[]{createSensitivityWatchEventModifier()};
         }
         running.set(true);
-        walkTreeAndSetupWatches(watchRootPath);
+        final long start = System.currentTimeMillis();
+        setupDirectoryWatcher(watchRootPath);
+        LOG.debug("Registered {} directories of {} in {} ms, failed to register {} directories",
+                  watchedDirectories.size(), watchRoot, System.currentTimeMillis() - start, failedWatches.get());
         executor.execute(new WatchEventTask());
         fileWatcherNotificationHandler.started(watchRoot);
     }
@@ -127,6 +179,7 @@ public class FileTreeWatcher {
 
     public void shutdown() {
         boolean interrupted = false;
+        running.set(false);
         executor.shutdown();
         try {
             if (!executor.awaitTermination(3, SECONDS)) {
@@ -140,11 +193,10 @@ public class FileTreeWatcher {
             executor.shutdownNow();
         }
 
-        try {
-            walkTreeAndRemoveWatches(watchRootPath);
-        } catch (IOException e) {
-            LOG.warn(e.getMessage());
+        for (WatchedDirectory watchedDirectory : watchedDirectories.values()) {
+            watchedDirectory.getWatchKey().cancel();
         }
+        watchedDirectories.clear();
 
         try {
             watchService.close();
@@ -165,17 +217,34 @@ public class FileTreeWatcher {
         this.excludePatterns.remove(exclude);
     }
 
-    private void walkTreeAndSetupWatches(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                Path relativePath = watchRootPath.relativize(dir);
-                if (shouldNotify(relativePath)) {
-                    setupDirectoryWatcher(dir);
-                }
-                return CONTINUE;
-            }
-        });
+    /** Number of directories registered in {@link WatchService}. */
+    public int getWatchedDirectoriesCount() {
+        return watchedDirectories.size();
+    }
+
+    /** Number of directories which watcher failed to register, e.g. because of limit of native watches. */
+    public int getFailedWatchesCount() {
+        return failedWatches.get();
+    }
+
+    /** Number of directories with changes that are waiting for processing. */
+    public int getPendingDirectoriesCount() {
+        return pendingDirectories.get();
+    }
+
+    /** Number of events received from {@link WatchService}, coalesced events are counted once. */
+    public long getProcessedEventsCount() {
+        return processedEvents.get();
+    }
+
+    /** Time in milliseconds between the first event in directory and notifications about its changes, for the last processed directory. */
+    public long getLastEventLagMillis() {
+        return lastEventLagMillis.get();
+    }
+
+    /** Max time in milliseconds between the first event in directory and notifications about its changes. */
+    public long getMaxEventLagMillis() {
+        return maxEventLagMillis.get();
     }
 
     private boolean shouldNotify(Path subPath) {
@@ -187,14 +256,17 @@ public class FileTreeWatcher {
         return true;
     }
 
-    private void walkTreeAndRemoveWatches(Path root) throws IOException {
-        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                cancelDirectoryWatcher(dir);
-                return CONTINUE;
+    /** Whether directory is registered in {@link WatchService} and its content is traversed. */
+    private boolean shouldWatch(Path subPath) {
+        if (!shouldNotify(subPath)) {
+            return false;
+        }
+        for (PathMatcher excludePattern : watcherExcludePatterns) {
+            if (excludePattern.matches(subPath)) {
+                return false;
             }
-        });
+        }
+        return true;
     }
 
     private void walkTreeAndFireCreatedEvents(Path root) throws IOException {
@@ -203,6 +275,9 @@ public class FileTreeWatcher {
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
                 if (!dir.equals(root)) {
                     fireWatchEvent(CREATED, dir, true);
+                    if (!shouldWatch(watchRootPath.relativize(dir))) {
+                        return SKIP_SUBTREE;
+                    }
                 }
                 return CONTINUE;
             }
@@ -215,35 +290,62 @@ public class FileTreeWatcher {
         });
     }
 
+    /** Registers {@code directory} and all its not excluded sub-directories in {@link WatchService}. */
     private void setupDirectoryWatcher(Path directory) throws IOException {
-        if (watchedDirectories.get(directory) == null) {
-            WatchKey watchKey = directory.register(watchService,
-                                                   new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
-                                                   watchEventModifiers);
-            WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
-            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
-                for (Path entry : entries) {
-                    watchedDirectory
-                            .addItem(new DirectoryItem(entry.getFileName(), Files.isDirectory(entry), getLastModifiedInMillis(entry)));
-
-                    if (Files.isDirectory(entry)) {
-                        setupDirectoryWatcher(entry);
-                    }
+        if (watchedDirectories.get(directory) != null
+            || (!directory.equals(watchRootPath) && !shouldWatch(watchRootPath.relativize(directory)))) {
+            return;
+        }
+        final WatchKey watchKey;
+        try {
+            watchKey = directory.register(watchService,
+                                          new WatchEvent.Kind[]{ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY, OVERFLOW},
+                                          watchEventModifiers);
+        } catch (IOException e) {
+            if (directory.equals(watchRootPath)) {
+                throw e;
+            }
+            // e.g. limit of inotify watches is reached, don't fail whole watcher because of single directory
+            if (failedWatches.getAndIncrement() == 0) {
+                LOG.warn("Unable to watch directory {}: {}. Changes in some directories will not be detected.", directory, e.getMessage());
+            }
+            return;
+        }
+        final WatchedDirectory watchedDirectory = new WatchedDirectory(directory, watchKey);
+        final List<Path> subDirectories = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                final boolean isDirectory = Files.isDirectory(entry);
+                try {
+                    watchedDirectory.addItem(new DirectoryItem(entry.getFileName(), isDirectory, getLastModifiedInMillis(entry)));
+                } catch (IOException ignored) {
+                    // removed while directory is being registered
+                    continue;
+                }
+                if (isDirectory) {
+                    subDirectories.add(entry);
                 }
             }
-            watchedDirectories.put(directory, watchedDirectory);
+        }
+        watchedDirectories.put(directory, watchedDirectory);
+        for (Path subDirectory : subDirectories) {
+            setupDirectoryWatcher(subDirectory);
         }
     }
 
-    private void cancelDirectoryWatcher(Path path) {
-        WatchedDirectory watchedDirectory = watchedDirectories.remove(path);
-        if (watchedDirectory != null) {
-            watchedDirectory.getWatchKey().cancel();
+    /** Cancels watching of {@code directory} and all its sub-directories. */
+    private void cancelDirectoryWatcher(Path directory) {
+        for (Iterator<Map.Entry<Path, WatchedDirectory>> iterator = watchedDirectories.entrySet().iterator(); iterator.hasNext(); ) {
+            final Map.Entry<Path, WatchedDirectory> entry = iterator.next();
+            if (entry.getKey().startsWith(directory)) {
+                entry.getValue().getWatchKey().cancel();
+                iterator.remove();
+            }
         }
     }
 
     private class WatchEventTask implements Runnable {
-        final Set<PendingEvent> pendingEvents = newLinkedHashSet();
+        final Map<Path, PendingEvent> pendingEvents = new LinkedHashMap<>();
 
         @Override
         public void run() {
@@ -253,17 +355,14 @@ public class FileTreeWatcher {
                     if (pendingEvents.isEmpty()) {
                         watchKey = watchService.take();
                     } else {
-                        watchKey = watchService.poll(EVENT_PROCESS_TIMEOUT_SEC, SECONDS);
-                        if (watchKey == null) {
-                            processPendingEvents(pendingEvents);
-                            pendingEvents.clear();
-                        }
+                        watchKey = watchService.poll(millisUntilNextPendingEvent(), MILLISECONDS);
                     }
-                    if (watchKey != null) {
-                        pendingEvents.add(new PendingEvent((Path)watchKey.watchable()));
-                        watchKey.pollEvents();
-                        watchKey.reset();
+                    while (watchKey != null) {
+                        addPendingEvent(watchKey);
+                        watchKey = watchService.poll();
                     }
+                    processPendingEvents(pendingEvents);
+                    pendingDirectories.set(pendingEvents.size());
                 } catch (InterruptedException | ClosedWatchServiceException e) {
                     running.set(false);
                 } catch (Throwable e) {
@@ -272,71 +371,113 @@ public class FileTreeWatcher {
                 }
             }
         }
+
+        private void addPendingEvent(WatchKey watchKey) {
+            final Path directory = (Path)watchKey.watchable();
+            final long now = System.currentTimeMillis();
+            final PendingEvent pendingEvent = pendingEvents.get(directory);
+            if (pendingEvent == null) {
+                pendingEvents.put(directory, new PendingEvent(directory, now));
+            } else {
+                pendingEvent.touch(now);
+            }
+            processedEvents.incrementAndGet();
+            watchKey.pollEvents();
+            watchKey.reset();
+        }
+
+        private long millisUntilNextPendingEvent() {
+            final long now = System.currentTimeMillis();
+            long nextDue = Long.MAX_VALUE;
+            for (PendingEvent pendingEvent : pendingEvents.values()) {
+                nextDue = Math.min(nextDue, pendingEvent.getDueTime());
+            }
+            return Math.max(1, nextDue - now);
+        }
     }
 
-    private void processPendingEvents(Collection<PendingEvent> pendingEvents) throws IOException {
-        for (PendingEvent pendingEvent : pendingEvents) {
-            Path eventDirectoryPath = pendingEvent.getPath();
-            WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
-            if (watchedDirectory == null){
-                continue;
+    private void processPendingEvents(Map<Path, PendingEvent> pendingEvents) throws IOException {
+        final long now = System.currentTimeMillis();
+        final Collection<PendingEvent> dueEvents = new ArrayList<>();
+        for (Iterator<PendingEvent> iterator = pendingEvents.values().iterator(); iterator.hasNext(); ) {
+            final PendingEvent pendingEvent = iterator.next();
+            if (pendingEvent.getDueTime() <= now) {
+                dueEvents.add(pendingEvent);
+                iterator.remove();
             }
-            if (Files.exists(eventDirectoryPath)) {
-                boolean isModifiedNotYetReported = true;
-
-                final int hitCounter = watchedDirectory.incrementHitCounter();
-                try (DirectoryStream<Path> entries = Files.newDirectoryStream(eventDirectoryPath)) {
-                    for (Path fsItem : entries) {
-                        DirectoryItem directoryItem = watchedDirectory.getItem(fsItem.getFileName());
-                        if (directoryItem == null) {
-                            try {
-                                boolean directory = Files.isDirectory(fsItem);
-                                directoryItem = new DirectoryItem(fsItem.getFileName(), directory, getLastModifiedInMillis(fsItem));
-                                watchedDirectory.addItem(directoryItem);
-                                if (isModifiedNotYetReported){
-                                    isModifiedNotYetReported = false;
-                                    fireWatchEvent(MODIFIED, eventDirectoryPath, true);
-                                }
-                                fireWatchEvent(CREATED, fsItem, directoryItem.isDirectory());
-                                if (directory) {
-                                    walkTreeAndFireCreatedEvents(fsItem);
-                                    setupDirectoryWatcher(fsItem);
-                                }
-                            } catch (IOException ignored) {
-                            }
-                        } else {
-                            long lastModified;
-                            try {
-                                lastModified = getLastModifiedInMillis(fsItem);
-                            } catch (IOException ignored) {
-                                continue;
+        }
+        for (PendingEvent pendingEvent : dueEvents) {
+            processDirectoryChanges(pendingEvent.getPath());
+            final long lag = System.currentTimeMillis() - pendingEvent.getFirstEventTime();
+            lastEventLagMillis.set(lag);
+            maxEventLagMillis.accumulateAndGet(lag, Math::max);
+        }
+    }
+
+    private void processDirectoryChanges(Path eventDirectoryPath) throws IOException {
+        WatchedDirectory watchedDirectory = watchedDirectories.get(eventDirectoryPath);
+        if (watchedDirectory == null) {
+            return;
+        }
+        if (Files.exists(eventDirectoryPath)) {
+            boolean isModifiedNotYetReported = true;
+
+            final int hitCounter = watchedDirectory.incrementHitCounter();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(eventDirectoryPath)) {
+                for (Path fsItem : entries) {
+                    DirectoryItem directoryItem = watchedDirectory.getItem(fsItem.getFileName());
+                    if (directoryItem == null) {
+                        try {
+                            boolean directory = Files.isDirectory(fsItem);
+                            directoryItem = new DirectoryItem(fsItem.getFileName(), directory, getLastModifiedInMillis(fsItem));
+                            watchedDirectory.addItem(directoryItem);
+                            if (isModifiedNotYetReported) {
+                                isModifiedNotYetReported = false;
+                                fireWatchEvent(MODIFIED, eventDirectoryPath, true);
                             }
-                            if (lastModified != directoryItem.getLastModified() && Files.isRegularFile(fsItem)) {
-                                fireWatchEvent(MODIFIED, fsItem, false);
+                            fireWatchEvent(CREATED, fsItem, directoryItem.isDirectory());
+                            if (directory && shouldWatch(watchRootPath.relativize(fsItem))) {
+                                walkTreeAndFireCreatedEvents(fsItem);
+                                setupDirectoryWatcher(fsItem);
                             }
-                            directoryItem.touch(lastModified);
-                            directoryItem.updateHitCounter(hitCounter);
+                        } catch (IOException ignored) {
+                        }
+                    } else {
+                        long lastModified;
+                        try {
+                            lastModified = getLastModifiedInMillis(fsItem);
+                        } catch (IOException ignored) {
+                            continue;
+                        }
+                        if (lastModified != directoryItem.getLastModified() && Files.isRegularFile(fsItem)) {
+                            fireWatchEvent(MODIFIED, fsItem, false);
                         }
+                        directoryItem.touch(lastModified);
+                        directoryItem.updateHitCounter(hitCounter);
                     }
                 }
+            }
 
-                for (Iterator<DirectoryItem> iterator = watchedDirectory.getItems().iterator(); iterator.hasNext(); ) {
-                    DirectoryItem directoryItem = iterator.next();
-                    if (hitCounter != directoryItem.getHitCount()) {
-                        iterator.remove();
-                        if (isModifiedNotYetReported){
-                            isModifiedNotYetReported = false;
-                            fireWatchEvent(MODIFIED, eventDirectoryPath, true);
-                        }
-                        fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
+            for (Iterator<DirectoryItem> iterator = watchedDirectory.getItems().iterator(); iterator.hasNext(); ) {
+                DirectoryItem directoryItem = iterator.next();
+                if (hitCounter != directoryItem.getHitCount()) {
+                    iterator.remove();
+                    if (isModifiedNotYetReported) {
+                        isModifiedNotYetReported = false;
+                        fireWatchEvent(MODIFIED, eventDirectoryPath, true);
                     }
+                    final Path deletedItemPath = eventDirectoryPath.resolve(directoryItem.getName());
+                    if (directoryItem.isDirectory()) {
+                        cancelDirectoryWatcher(deletedItemPath);
+                    }
+                    fireWatchEvent(DELETED, deletedItemPath, directoryItem.isDirectory());
                 }
-            } else {
-                for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
-                    fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
-                }
-                watchedDirectories.remove(eventDirectoryPath);
             }
+        } else {
+            for (DirectoryItem directoryItem : watchedDirectory.getItems()) {
+                fireWatchEvent(DELETED, eventDirectoryPath.resolve(directoryItem.getName()), directoryItem.isDirectory());
+            }
+            cancelDirectoryWatcher(eventDirectoryPath);
         }
     }
 
@@ -351,45 +492,46 @@ public class FileTreeWatcher {
         return getLastModifiedTime(path, NOFOLLOW_LINKS).toMillis();
     }
 
+    /** Not processed events in directory. */
     static class PendingEvent {
         final Path path;
+        final long firstEventTime;
+        long lastEventTime;
 
-        PendingEvent(Path path) {
+        PendingEvent(Path path, long eventTime) {
             this.path = path;
+            this.firstEventTime = eventTime;
+            this.lastEventTime = eventTime;
         }
 
         Path getPath() {
             return path;
         }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o instanceof PendingEvent) {
-                PendingEvent other = (PendingEvent)o;
-                return Objects.equals(path, other.path);
-            }
-            return false;
+        long getFirstEventTime() {
+            return firstEventTime;
         }
 
-        @Override
-        public int hashCode() {
-            return Objects.hashCode(path);
+        void touch(long eventTime) {
+            this.lastEventTime = eventTime;
+        }
+
+        /** Time when directory should be re-scanned. */
+        long getDueTime() {
+            return Math.min(lastEventTime + COALESCE_WINDOW_MILLIS, firstEventTime + MAX_EVENT_DELAY_MILLIS);
         }
     }
 
     static class WatchedDirectory {
-        final Path                path;
-        final WatchKey            watchKey;
-        final List<DirectoryItem> items;
+        final Path                     path;
+        final WatchKey                 watchKey;
+        final Map<Path, DirectoryItem> items;
         int hitCounter;
 
         WatchedDirectory(Path path, WatchKey watchKey) {
             this.path = path;
             this.watchKey = watchKey;
-            items = newArrayList();
+            items = new HashMap<>();
         }
 
         WatchKey getWatchKey() {
@@ -401,21 +543,16 @@ public class FileTreeWatcher {
         }
 
         DirectoryItem getItem(Path name) {
-            for (DirectoryItem item : items) {
-                if (item.getName().equals(name)) {
-                    return item;
-                }
-            }
-            return null;
+            return items.get(name);
         }
 
         void addItem(DirectoryItem item) {
             item.updateHitCounter(this.hitCounter);
-            items.add(item);
+            items.put(item.getName(), item);
         }
 
-        List<DirectoryItem> getItems() {
-            return items;
+        Collection<DirectoryItem> getItems() {
+            return items.values();
         }
 
         int incrementHitCounter() {
@@ -17,6 +17,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.hash.Hashing;
 import com.google.common.io.ByteStreams;
 import com.google.common.io.Files;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -25,6 +26,7 @@ import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.HashSumsCache;
 import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
@@ -32,9 +34,11 @@ import org.eclipse.che.api.vfs.PathLockFactory;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.search.IndexUpdateQueue;
 import org.eclipse.che.api.vfs.search.Searcher;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
 import org.eclipse.che.api.vfs.util.DeleteOnCloseFileInputStream;
+import org.eclipse.che.api.vfs.util.NotClosableOutputStream;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Pair;
@@ -52,11 +56,17 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.collect.Lists.newArrayList;
@@ -64,6 +74,8 @@ import static com.google.common.collect.Lists.newArrayListWithCapacity;
 import static com.google.common.collect.Maps.newLinkedHashMap;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.Collections.singletonMap;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.eclipse.che.api.vfs.VirtualFileFilters.dotGitFilter;
@@ -82,12 +94,18 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
     private static final int  FILE_LOCK_MAX_THREADS      = 1024;
 
+    private static final long INDEX_UPDATE_BATCH_DELAY_MILLIS = 100;
+    private static final int  INDEX_UPDATE_MAX_BATCH_SIZE     = 1000;
+
     private static final String   VFS_SERVICE_DIR        = ".vfs";
     private static final String   FILE_LOCKS_DIR         = VFS_SERVICE_DIR + File.separatorChar + "locks";
     private static final String   LOCK_FILE_SUFFIX       = "_lock";
     private static final FileLock NO_LOCK                = new FileLock("no_lock", 0);
     private static final String   FILE_PROPERTIES_DIR    = VFS_SERVICE_DIR + File.separatorChar + "props";
     private static final String   PROPERTIES_FILE_SUFFIX = "_props";
+    private static final String   MD5_SUMS_CACHE_FILE    = VFS_SERVICE_DIR + File.separatorChar + "md5sums";
+
+    private static final int HASH_SUMS_PARALLELISM = Runtime.getRuntime().availableProcessors();
 
     private static final FilenameFilter DOT_VFS_DIR_FILTER = (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
 
@@ -124,6 +142,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final ArchiverFactory                                 archiverFactory;
     private final SearcherProvider                                searcherProvider;
     private final AbstractVirtualFileSystemProvider.CloseCallback closeCallback;
+    private final IndexUpdateQueue                                indexUpdateQueue;
 
     /* NOTE -- This does not related to virtual file system locking in any kind. -- */
     private final PathLockFactory pathLockFactory;
@@ -136,15 +155,39 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
-    @SuppressWarnings("unchecked")
+    private final HashSumsCache   md5SumsCache;
+    /** Shared by all counting of hash sums, so threads aren't created for each request. */
+    private final ExecutorService hashSumsExecutor;
+
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
                                   SearcherProvider searcherProvider,
                                   AbstractVirtualFileSystemProvider.CloseCallback closeCallback) {
+        this(ioRoot, archiverFactory, searcherProvider, closeCallback, false);
+    }
+
+    /**
+     * @param asyncIndexUpdates
+     *         if {@code true} then changes of files are applied to searcher index asynchronously with {@link IndexUpdateQueue},
+     *         otherwise index is updated by thread that changes file
+     */
+    @SuppressWarnings("unchecked")
+    public LocalVirtualFileSystem(File ioRoot,
+                                  ArchiverFactory archiverFactory,
+                                  SearcherProvider searcherProvider,
+                                  AbstractVirtualFileSystemProvider.CloseCallback closeCallback,
+                                  boolean asyncIndexUpdates) {
         this.ioRoot = ioRoot;
         this.archiverFactory = archiverFactory;
         this.searcherProvider = searcherProvider;
         this.closeCallback = closeCallback;
+        if (searcherProvider != null && asyncIndexUpdates) {
+            indexUpdateQueue = new IndexUpdateQueue(() -> searcherProvider.getSearcher(this),
+                                                    INDEX_UPDATE_BATCH_DELAY_MILLIS,
+                                                    INDEX_UPDATE_MAX_BATCH_SIZE);
+        } else {
+            indexUpdateQueue = null;
+        }
 
         root = new LocalVirtualFile(ioRoot, Path.ROOT, this);
         pathLockFactory = new PathLockFactory(FILE_LOCK_MAX_THREADS);
@@ -162,6 +205,12 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        md5SumsCache = new HashSumsCache(new File(ioRoot, MD5_SUMS_CACHE_FILE));
+        hashSumsExecutor = Executors.newFixedThreadPool(HASH_SUMS_PARALLELISM, new ThreadFactoryBuilder()
+                .setNameFormat("LocalVirtualFileSystem-HashSums-%d")
+                .setDaemon(true)
+                .build());
     }
 
     @Override
@@ -174,9 +223,23 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return searcherProvider;
     }
 
+    @Override
+    public boolean awaitIndexed(long timeoutMillis) throws InterruptedException {
+        return indexUpdateQueue == null || indexUpdateQueue.awaitIndexed(timeoutMillis);
+    }
+
+    /** Queue of asynchronous updates of searcher index or {@code null} if index is updated synchronously. */
+    public IndexUpdateQueue getIndexUpdateQueue() {
+        return indexUpdateQueue;
+    }
+
     @Override
     public void close() throws ServerException {
         cleanUpCaches();
+        hashSumsExecutor.shutdownNow();
+        if (indexUpdateQueue != null) {
+            indexUpdateQueue.close();
+        }
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -243,7 +306,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         return newArrayList(path.elements()).contains(".vfs");
     }
 
-    synchronized List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
+    /**
+     * Lists children of folder. Folders are listed concurrently without locks, names of items are read from file system at once, so
+     * listing never waits for changes of the folder and sees folder either before or after each change.
+     */
+    List<VirtualFile> getChildren(LocalVirtualFile parent, VirtualFileFilter filter) throws ServerException {
         if (parent.isFolder()) {
             final List<VirtualFile> children = doGetChildren(parent, DOT_VFS_DIR_FILTER, filter);
             Collections.sort(children);
@@ -500,7 +567,10 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                 }
                 // Copy this file to be able release the file lock before leave this method.
                 spoolFile = File.createTempFile("spool_file", null);
-                Files.copy(ioFile, spoolFile);
+                try (FileChannel source = FileChannel.open(ioFile.toPath(), READ);
+                     FileChannel spool = FileChannel.open(spoolFile.toPath(), WRITE)) {
+                    transfer(source, spool);
+                }
                 return new DeleteOnCloseFileInputStream(spoolFile);
             } catch (IOException e) {
                 if (spoolFile != null) {
@@ -518,6 +588,39 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    void transferContent(LocalVirtualFile virtualFile, OutputStream output) throws ForbiddenException, ServerException {
+        // Content is taken under the lock by getContent, lock isn't held while content is written to output which may be slow.
+        // Files are updated in place, so big file is still spooled to send consistent content, but spool is sent channel to channel
+        // rather than copied through a heap buffer of stream.
+        try (InputStream content = getContent(virtualFile)) {
+            if (content instanceof FileInputStream) {
+                transfer(((FileInputStream)content).getChannel(),
+                         output instanceof FileOutputStream ? ((FileOutputStream)output).getChannel() : Channels.newChannel(output));
+            } else {
+                ByteStreams.copy(content, output);
+            }
+        } catch (IOException e) {
+            String errorMessage = String.format("Unable get content of '%s'", virtualFile.getPath());
+            LOG.debug(errorMessage + "\n" + e.getMessage(), e);
+            throw new ServerException(errorMessage + ". " + e.getMessage());
+        }
+    }
+
+    /** Copies content of {@code source} with {@link FileChannel#transferTo(long, long, WritableByteChannel)}. */
+    private void transfer(FileChannel source, WritableByteChannel target) throws IOException {
+        final long size = source.size();
+        long position = 0;
+        while (position < size) {
+            final long transferred = source.transferTo(position, size - position, target);
+            if (transferred <= 0) {
+                // file is truncated by external process
+                break;
+            }
+            position += transferred;
+        }
+    }
+
+
     void updateContent(LocalVirtualFile virtualFile, InputStream content, String lockToken)
             throws ForbiddenException, ServerException {
         if (virtualFile.isFile()) {
@@ -608,6 +711,18 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    void zip(LocalVirtualFile folder, OutputStream output) throws ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            compress(archiverFactory.createArchiver(folder, "zip"), output);
+        } else {
+            throw new ForbiddenException(String.format("Unable export to zip. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
+
     void unzip(LocalVirtualFile parent, InputStream zipped, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if(archiverFactory == null)
@@ -633,6 +748,18 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+
+    void tar(LocalVirtualFile folder, OutputStream output) throws ForbiddenException, ServerException {
+        if(archiverFactory == null)
+            throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
+
+        if (folder.isFolder()) {
+            compress(archiverFactory.createArchiver(folder, "tar"), output);
+        } else {
+            throw new ForbiddenException(String.format("Unable export to tar archive. Item '%s' is not a folder", folder.getPath()));
+        }
+    }
+
     void untar(LocalVirtualFile parent, InputStream tarArchive, boolean overwrite, int stripNumber)
             throws ForbiddenException, ConflictException, ServerException {
         if(archiverFactory == null)
@@ -662,6 +789,14 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
+    private void compress(Archiver archiver, OutputStream output) throws ServerException {
+        try {
+            archiver.compress(new NotClosableOutputStream(output), dotGitFilter());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     private void extract(Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
             throws ConflictException, ServerException, ForbiddenException {
         try {
@@ -908,7 +1043,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         if (virtualFile.isFile()) {
             return emptyList();
         }
-        return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+        return new HashSumsCounter(virtualFile, Hashing.md5(), md5SumsCache, hashSumsExecutor).countHashSums();
     }
 
 
@@ -931,7 +1066,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
 
     private void addInSearcher(LocalVirtualFile newVirtualFile) {
-        if (searcherProvider != null) {
+        if (indexUpdateQueue != null) {
+            indexUpdateQueue.add(newVirtualFile);
+        } else if (searcherProvider != null) {
             try {
                 searcherProvider.getSearcher(this).add(newVirtualFile);
             } catch (ServerException e) {
@@ -941,7 +1078,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
     private void updateInSearcher(LocalVirtualFile virtualFile) {
-        if (searcherProvider != null) {
+        if (indexUpdateQueue != null) {
+            indexUpdateQueue.update(virtualFile);
+        } else if (searcherProvider != null) {
             try {
                 searcherProvider.getSearcher(this).update(virtualFile);
             } catch (ServerException e) {
@@ -951,7 +1090,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
     private void deleteInSearcher(Path path, boolean isFile) {
-        if (searcherProvider != null) {
+        if (indexUpdateQueue != null) {
+            indexUpdateQueue.delete(path.toString(), isFile);
+        } else if (searcherProvider != null) {
             try {
                 searcherProvider.getSearcher(this).delete(path.toString(), isFile);
             } catch (ServerException e) {
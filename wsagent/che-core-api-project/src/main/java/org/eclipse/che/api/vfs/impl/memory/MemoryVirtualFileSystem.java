@@ -72,6 +72,11 @@ public class MemoryVirtualFileSystem implements VirtualFileSystem {
         return searcherProvider;
     }
 
+    @Override
+    public boolean awaitIndexed(long timeoutMillis) {
+        return true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,288 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Queue of updates of searcher index. Updates are applied asynchronously in separate thread, so threads that change files don't wait
+ * for indexing. Updates are coalesced by path, e.g. if file is updated few times while previous updates are still in the queue then
+ * index is updated only once. Updates are applied in order in which they were added, updates that were coalesced take position of the
+ * latest update. Updates are taken from the queue in batches, each batch is taken after short delay since the oldest update in queue
+ * was added, that gives a chance to coalesce bursts of changes, e.g. while {@code git checkout} or import of project.
+ * <p/>
+ * Callers that need to see results of their changes in search results should call {@link #awaitIndexed(long)} before searching.
+ *
+ * @see Searcher
+ */
+public class IndexUpdateQueue {
+    private static final Logger LOG = LoggerFactory.getLogger(IndexUpdateQueue.class);
+
+    /** Provides searcher that should be updated. */
+    @FunctionalInterface
+    public interface SearcherSupplier {
+        Searcher get() throws ServerException;
+    }
+
+    private final SearcherSupplier searcherSupplier;
+    private final long             batchDelayMillis;
+    private final int              maxBatchSize;
+    private final Thread           worker;
+
+    /** Pending updates by path. Order of iteration is order in which updates were added. */
+    private final LinkedHashMap<String, Update> pending = new LinkedHashMap<>();
+
+    private long    addedSequence;
+    private long    appliedSequence;
+    private int     awaitingCallers;
+    private boolean closed;
+
+    private long addedUpdates;
+    private long coalescedUpdates;
+    private long appliedUpdates;
+
+    /**
+     * @param searcherSupplier
+     *         provides searcher that should be updated
+     * @param batchDelayMillis
+     *         max time in milliseconds that update waits in the queue for next updates to be coalesced with
+     * @param maxBatchSize
+     *         max number of updates applied at once
+     */
+    public IndexUpdateQueue(SearcherSupplier searcherSupplier, long batchDelayMillis, int maxBatchSize) {
+        this.searcherSupplier = searcherSupplier;
+        this.batchDelayMillis = batchDelayMillis;
+        this.maxBatchSize = maxBatchSize;
+        worker = new Thread(this::applyUpdates, "IndexUpdateQueue");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Adds file or tree of files in index. */
+    public void add(VirtualFile virtualFile) {
+        enqueue(new Update(UpdateType.ADD, virtualFile.getPath().toString(), virtualFile, virtualFile.isFile()));
+    }
+
+    /** Updates indexed file. */
+    public void update(VirtualFile virtualFile) {
+        enqueue(new Update(UpdateType.UPDATE, virtualFile.getPath().toString(), virtualFile, true));
+    }
+
+    /** Removes file or tree of files from index. */
+    public void delete(String path, boolean isFile) {
+        enqueue(new Update(UpdateType.DELETE, path, null, isFile));
+    }
+
+    /**
+     * Waits until all updates that were added in the queue before call of this method are applied.
+     *
+     * @param timeoutMillis
+     *         max time to wait in milliseconds
+     * @return {@code true} if all updates were applied and {@code false} if timeout elapsed before
+     * @throws InterruptedException
+     *         if current thread is interrupted while waiting
+     */
+    public boolean awaitIndexed(long timeoutMillis) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (pending) {
+            final long expectedSequence = addedSequence;
+            awaitingCallers++;
+            pending.notifyAll();
+            try {
+                long remaining = timeoutMillis;
+                while (appliedSequence < expectedSequence && !closed && remaining > 0) {
+                    pending.wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+                return appliedSequence >= expectedSequence;
+            } finally {
+                awaitingCallers--;
+            }
+        }
+    }
+
+    /** Number of updates waiting in the queue. */
+    public int getQueueDepth() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /** Time in milliseconds the oldest update has been waiting in the queue or {@code 0} if queue is empty. */
+    public long getLagMillis() {
+        synchronized (pending) {
+            final Iterator<Update> iterator = pending.values().iterator();
+            return iterator.hasNext() ? System.currentTimeMillis() - iterator.next().addedTime : 0;
+        }
+    }
+
+    /** Total number of updates added in the queue. */
+    public long getAddedUpdatesCount() {
+        synchronized (pending) {
+            return addedUpdates;
+        }
+    }
+
+    /** Total number of updates that were coalesced with updates added later for the same path. */
+    public long getCoalescedUpdatesCount() {
+        synchronized (pending) {
+            return coalescedUpdates;
+        }
+    }
+
+    /** Total number of updates applied to the index. */
+    public long getAppliedUpdatesCount() {
+        synchronized (pending) {
+            return appliedUpdates;
+        }
+    }
+
+    /** Applies all pending updates and stops the queue. Updates added after closing are ignored. */
+    public void close() {
+        synchronized (pending) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.notifyAll();
+        }
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Update update) {
+        synchronized (pending) {
+            if (closed) {
+                LOG.warn("Index update queue is closed, update of {} is ignored", update.path);
+                return;
+            }
+            update.sequence = ++addedSequence;
+            addedUpdates++;
+            final Update previous = pending.remove(update.path);
+            if (previous != null) {
+                coalescedUpdates++;
+                if (previous.type == UpdateType.DELETE && update.type != UpdateType.DELETE) {
+                    // file might be replaced with folder and vice versa, so remove old entries before adding new ones
+                    update.deleteFirst = true;
+                    update.deleteFile = previous.isFile;
+                } else {
+                    update.deleteFirst = previous.deleteFirst;
+                    update.deleteFile = previous.deleteFile;
+                }
+            }
+            pending.put(update.path, update);
+            pending.notifyAll();
+        }
+    }
+
+    private void applyUpdates() {
+        while (true) {
+            final List<Update> batch;
+            synchronized (pending) {
+                try {
+                    while (pending.isEmpty() && !closed) {
+                        pending.wait();
+                    }
+                    if (pending.isEmpty()) {
+                        return;
+                    }
+                    final long deadline = pending.values().iterator().next().addedTime + batchDelayMillis;
+                    long remaining;
+                    while (pending.size() < maxBatchSize && awaitingCallers == 0 && !closed
+                           && (remaining = deadline - System.currentTimeMillis()) > 0) {
+                        pending.wait(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+                final Iterator<Update> iterator = pending.values().iterator();
+                while (iterator.hasNext() && batch.size() < maxBatchSize) {
+                    batch.add(iterator.next());
+                    iterator.remove();
+                }
+            }
+
+            apply(batch);
+
+            synchronized (pending) {
+                appliedSequence = batch.get(batch.size() - 1).sequence;
+                appliedUpdates += batch.size();
+                pending.notifyAll();
+            }
+        }
+    }
+
+    private void apply(List<Update> batch) {
+        final Searcher searcher;
+        try {
+            searcher = searcherSupplier.get();
+        } catch (ServerException e) {
+            LOG.error(e.getMessage(), e);
+            return;
+        }
+        for (Update update : batch) {
+            try {
+                if (update.deleteFirst) {
+                    searcher.delete(update.path, update.deleteFile);
+                }
+                if (update.type == UpdateType.DELETE) {
+                    searcher.delete(update.path, update.isFile);
+                } else if (update.file.exists()) {
+                    // file might be removed together with its parent after update was added in the queue
+                    if (update.type == UpdateType.ADD) {
+                        searcher.add(update.file);
+                    } else {
+                        searcher.update(update.file);
+                    }
+                }
+            } catch (ServerException | RuntimeException e) {
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    private enum UpdateType {
+        ADD, UPDATE, DELETE
+    }
+
+    private static class Update {
+        final UpdateType  type;
+        final String      path;
+        final VirtualFile file;
+        final boolean     isFile;
+        final long        addedTime;
+
+        long    sequence;
+        boolean deleteFirst;
+        boolean deleteFile;
+
+        Update(UpdateType type, String path, VirtualFile file, boolean isFile) {
+            this.type = type;
+            this.path = path;
+            this.file = file;
+            this.isFile = isFile;
+            this.addedTime = System.currentTimeMillis();
+        }
+    }
+}
@@ -12,11 +12,15 @@ package org.eclipse.che.api.vfs.search;
 
 /** Container for parameters of query that executed by Searcher.*/
 public class QueryExpression {
-    private String name;
-    private String path;
-    private String text;
-    private int    skipCount;
-    private int    maxItems;
+    private String  name;
+    private String  path;
+    private String  text;
+    private String  substring;
+    private String  regex;
+    private int     skipCount;
+    private int     maxItems;
+    private String  cursor;
+    private boolean includeOccurrences;
 
     /** Optional file path parameter. Only file with the specified path or children are included in result. */
     public String getPath() {
@@ -48,6 +52,32 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Optional substring for searching. Files that contain this substring, ignoring case, are included in result. Unlike {@link
+     * #getText() text} substring doesn't need to match whole words, e.g. substring {@code etFo} is found in {@code this.getFoo()}.
+     */
+    public String getSubstring() {
+        return substring;
+    }
+
+    public QueryExpression setSubstring(String substring) {
+        this.substring = substring;
+        return this;
+    }
+
+    /**
+     * Optional regular expression for searching. Only files that contain word or identifier, converted to lower case, that matches this
+     * expression are included in result. Supported syntax is described in {@link org.apache.lucene.util.automaton.RegExp}.
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    public QueryExpression setRegex(String regex) {
+        this.regex = regex;
+        return this;
+    }
+
     /** Number of items in search result that should be skipped. This parameter used for paging through large set of search result. */
     public int getSkipCount() {
         return skipCount;
@@ -68,14 +98,45 @@ public class QueryExpression {
         return this;
     }
 
+    /**
+     * Optional opaque cursor that points to the end of previous page of search result. Cursor is provided by {@link
+     * SearchResult#getNextPageCursor()}. If cursor is set next page is retrieved from the position pointed by cursor and {@link
+     * #getSkipCount()} is ignored. Retrieving next page with cursor doesn't require re-reading of all previous pages.
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public QueryExpression setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    /**
+     * If {@code true} then each entry of search result contains line numbers, offsets and content of lines where searched text
+     * occurs. Makes sense only if {@link #getText() text} is set.
+     */
+    public boolean isIncludeOccurrences() {
+        return includeOccurrences;
+    }
+
+    public QueryExpression setIncludeOccurrences(boolean includeOccurrences) {
+        this.includeOccurrences = includeOccurrences;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "QueryExpression{" +
                "text='" + text + '\'' +
+               ", substring='" + substring + '\'' +
+               ", regex='" + regex + '\'' +
                ", name='" + name + '\'' +
                ", path='" + path + '\'' +
                ", skipCount=" + skipCount +
                ", maxItems=" + maxItems +
+               ", cursor='" + cursor + '\'' +
+               ", includeOccurrences=" + includeOccurrences +
                '}';
     }
 }
@@ -27,15 +27,18 @@ public class SearchResult {
 
     private final List<SearchResultEntry>   results;
     private final Optional<QueryExpression> nextPageQueryExpression;
+    private final Optional<String>          nextPageCursor;
     private final int                       totalHits;
     private final long                      elapsedTimeMillis;
 
     private SearchResult(List<SearchResultEntry> results,
                          Optional<QueryExpression> nextPageQueryExpression,
+                         Optional<String> nextPageCursor,
                          int totalHits,
                          long elapsedTimeMillis) {
         this.results = results;
         this.nextPageQueryExpression = nextPageQueryExpression;
+        this.nextPageCursor = nextPageCursor;
         this.totalHits = totalHits;
         this.elapsedTimeMillis = elapsedTimeMillis;
     }
@@ -75,8 +78,17 @@ public class SearchResult {
         return nextPageQueryExpression;
     }
 
+    /**
+     * Optional opaque cursor for retrieving next page, see {@link QueryExpression#setCursor(String)}. Next page retrieved with cursor
+     * is consistent with this page even if index is updated in the meantime.
+     */
+    public Optional<String> getNextPageCursor() {
+        return nextPageCursor;
+    }
+
     public static class SearchResultBuilder {
         private QueryExpression         nextPageQueryExpression;
+        private String                  nextPageCursor;
         private List<SearchResultEntry> results;
         private int                     totalHits;
         private long                    elapsedTimeMillis;
@@ -89,6 +101,11 @@ public class SearchResult {
             return this;
         }
 
+        public SearchResultBuilder withNextPageCursor(String nextPageCursor) {
+            this.nextPageCursor = nextPageCursor;
+            return this;
+        }
+
         public SearchResultBuilder withResults(List<SearchResultEntry> results) {
             this.results = results;
             return this;
@@ -114,7 +131,8 @@ public class SearchResult {
             if (results == null) {
                 results = emptyList();
             }
-            return new SearchResult(results, optionalPageNexQueryExpression, totalHits, elapsedTimeMillis);
+            return new SearchResult(results, optionalPageNexQueryExpression, Optional.fromNullable(nextPageCursor), totalHits,
+                                    elapsedTimeMillis);
         }
     }
 }
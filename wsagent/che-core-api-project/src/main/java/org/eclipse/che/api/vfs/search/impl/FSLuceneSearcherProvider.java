@@ -26,25 +26,49 @@ import static com.google.common.collect.Sets.newHashSet;
 
 @Singleton
 public class FSLuceneSearcherProvider extends AbstractLuceneSearcherProvider {
+    private static final int DEFAULT_INDEXING_BATCH_SIZE = 100;
+
     private final File indexRootDirectory;
+    private final int  indexingParallelism;
+    private final int  indexingBatchSize;
+
+    /**
+     * @param indexRootDirectory
+     *         root directory for creation index
+     * @param excludePatterns
+     *         set filter for files that should not be indexed
+     * @see LuceneSearcher
+     */
+    public FSLuceneSearcherProvider(File indexRootDirectory, Set<PathMatcher> excludePatterns) throws IOException {
+        this(indexRootDirectory, excludePatterns, Runtime.getRuntime().availableProcessors(), DEFAULT_INDEXING_BATCH_SIZE);
+    }
 
     /**
      * @param indexRootDirectory
      *         root directory for creation index
      * @param excludePatterns
      *         set filter for files that should not be indexed
+     * @param indexingParallelism
+     *         number of threads used for indexing tree of files
+     * @param indexingBatchSize
+     *         max number of documents that are added in index at once
      * @see LuceneSearcher
+     * @see TreeIndexingPipeline
      */
     @Inject
     public FSLuceneSearcherProvider(@Named("vfs.local.fs_index_root_dir") File indexRootDirectory,
-                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns) throws IOException {
+                                    @Named("vfs.index_filter_matcher") Set<PathMatcher> excludePatterns,
+                                    @Named("vfs.index.parallelism") int indexingParallelism,
+                                    @Named("vfs.index.batch_size") int indexingBatchSize) throws IOException {
         super(newHashSet(transform(excludePatterns, VirtualFileFilters::wrap)));
         this.indexRootDirectory = indexRootDirectory;
+        this.indexingParallelism = indexingParallelism;
+        this.indexingBatchSize = indexingBatchSize;
         Files.createDirectories(indexRootDirectory.toPath());
     }
 
     @Override
     protected LuceneSearcher createLuceneSearcher(CloseCallback closeCallback) {
-        return new FSLuceneSearcher(indexRootDirectory, fileIndexFilter, closeCallback);
+        return new FSLuceneSearcher(indexRootDirectory, fileIndexFilter, closeCallback, indexingParallelism, indexingBatchSize);
     }
 }
@@ -10,34 +10,61 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs.search.impl;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.apache.commons.io.input.CharSequenceReader;
 import org.apache.lucene.analysis.Analyzer;
-import org.apache.lucene.analysis.TokenStream;
-import org.apache.lucene.analysis.Tokenizer;
-import org.apache.lucene.analysis.core.LowerCaseFilter;
-import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.CorruptIndexException;
+import org.apache.lucene.index.IndexFormatTooNewException;
+import org.apache.lucene.index.IndexFormatTooOldException;
+import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.ParseException;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PhraseQuery;
 import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.RegexpQuery;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherLifetimeManager;
 import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.WildcardQuery;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.IOUtils;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileFilters;
@@ -50,16 +77,27 @@ import org.eclipse.che.api.vfs.search.Searcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.hash.Funnels.asOutputStream;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonMap;
+import static org.apache.lucene.index.IndexWriterConfig.OpenMode.CREATE;
 
 /**
  * Lucene based searcher.
@@ -69,16 +107,66 @@ import static com.google.common.collect.Lists.newArrayList;
 public abstract class LuceneSearcher implements Searcher {
     private static final Logger LOG = LoggerFactory.getLogger(LuceneSearcher.class);
 
-    private static final int RESULT_LIMIT = 1000;
+    private static final int RESULT_LIMIT                = 1000;
+    private static final int DEFAULT_INDEXING_BATCH_SIZE = 100;
+    /** Index snapshots used for paging through search results are released after this time. */
+    private static final int SNAPSHOT_MAX_AGE_SECONDS    = 600;
+    /** Max number of occurrences of searched text returned for single file. */
+    private static final int OCCURRENCES_LIMIT           = 100;
+    /** Max number of characters of single file that are indexed, the rest of content isn't searchable but it's still hashed. */
+    private static final int MAX_INDEXED_CONTENT_LENGTH  = 1024 * 1024;
+
+    /**
+     * Documents with the same score are sorted by path. Order in which files are added in index isn't determined since tree of files is
+     * indexed in parallel, so sorting by path keeps order of search results stable.
+     */
+    private static final Sort RESULT_SORT = new Sort(SortField.FIELD_SCORE, new SortField("path", SortField.Type.STRING));
+
+    /** Content of files is tokenized and term vectors with offsets are stored, offsets are used for finding occurrences. */
+    private static final FieldType TEXT_FIELD_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+
+    static {
+        TEXT_FIELD_TYPE.setStoreTermVectors(true);
+        TEXT_FIELD_TYPE.setStoreTermVectorPositions(true);
+        TEXT_FIELD_TYPE.setStoreTermVectorOffsets(true);
+        TEXT_FIELD_TYPE.freeze();
+    }
+
+    /** Trigrams of content are indexed with positions, positions are needed for substring search. */
+    private static final FieldType TRIGRAM_FIELD_TYPE = new FieldType(TextField.TYPE_NOT_STORED);
+
+    static {
+        TRIGRAM_FIELD_TYPE.setOmitNorms(true);
+        TRIGRAM_FIELD_TYPE.freeze();
+    }
+
+    /**
+     * Version of format of index, it is stored together with each commit of index. Index that has other version is re-built from
+     * scratch instead of being reconciled. Version must be changed each time when analyzers or set of indexed fields are changed.
+     */
+    private static final String INDEX_FORMAT_KEY     = "che.index.format";
+    private static final String INDEX_FORMAT_VERSION = "3";
+
+    private static final HashFunction CONTENT_HASH_FUNCTION = Hashing.md5();
+    private static final Set<String>  FINGERPRINT_FIELDS = ImmutableSet.of("path", "length", "hash");
 
     private final List<VirtualFileFilter>                      indexFilters;
     private final AbstractLuceneSearcherProvider.CloseCallback closeCallback;
+    private final int                                          indexingParallelism;
+    private final int                                          indexingBatchSize;
 
-    private IndexWriter     luceneIndexWriter;
-    private SearcherManager searcherManager;
+    private IndexWriter             luceneIndexWriter;
+    private SearcherManager         searcherManager;
+    private SearcherLifetimeManager searcherLifetimeManager;
+    private ForkJoinPool            indexingWalkers;
+    private ExecutorService         indexingWorkers;
+
+    private VirtualFileSystem virtualFileSystem;
 
     private boolean closed = true;
 
+    private volatile boolean reconciling;
+
     protected LuceneSearcher() {
         this(new MediaTypeFilter(), null);
     }
@@ -93,7 +181,28 @@ public abstract class LuceneSearcher implements Searcher {
      *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
      */
     protected LuceneSearcher(VirtualFileFilter indexFilter, AbstractLuceneSearcherProvider.CloseCallback closeCallback) {
+        this(indexFilter, closeCallback, Runtime.getRuntime().availableProcessors(), DEFAULT_INDEXING_BATCH_SIZE);
+    }
+
+    /**
+     * @param indexFilter
+     *         common filter for files that should not be indexed. If complex excluding rules needed then few filters might be combined
+     *         with {@link VirtualFileFilters#createAndFilter} or {@link VirtualFileFilters#createOrFilter} methods
+     * @param indexingParallelism
+     *         number of threads used for traversing and indexing tree of files
+     * @param indexingBatchSize
+     *         max number of documents that are added in index at once while indexing tree of files
+     * @see TreeIndexingPipeline
+     */
+    protected LuceneSearcher(VirtualFileFilter indexFilter,
+                             AbstractLuceneSearcherProvider.CloseCallback closeCallback,
+                             int indexingParallelism,
+                             int indexingBatchSize) {
+        checkArgument(indexingParallelism > 0, "Indexing parallelism must be greater than 0");
+        checkArgument(indexingBatchSize > 0, "Indexing batch size must be greater than 0");
         this.closeCallback = closeCallback;
+        this.indexingParallelism = indexingParallelism;
+        this.indexingBatchSize = indexingBatchSize;
         indexFilters = new CopyOnWriteArrayList<>();
         indexFilters.add(indexFilter);
     }
@@ -108,15 +217,19 @@ public abstract class LuceneSearcher implements Searcher {
         return indexFilters.remove(indexFilter);
     }
 
+    /**
+     * Creates analyzer that is used for indexing content of files. By default content is indexed with {@link SourceCodeAnalyzer} and
+     * additionally split in trigrams with {@link TrigramAnalyzer} for substring search.
+     */
     protected Analyzer makeAnalyzer() {
-        return new Analyzer() {
-            @Override
-            protected TokenStreamComponents createComponents(String fieldName) {
-                Tokenizer tokenizer = new WhitespaceTokenizer();
-                TokenStream filter = new LowerCaseFilter(tokenizer);
-                return new TokenStreamComponents(tokenizer, filter);
-            }
-        };
+        final Map<String, Analyzer> fieldAnalyzers = new HashMap<>();
+        fieldAnalyzers.put("trigram", new TrigramAnalyzer());
+        return new PerFieldAnalyzerWrapper(new SourceCodeAnalyzer(true), fieldAnalyzers);
+    }
+
+    /** Creates analyzer that is used for parsing text of query. */
+    protected Analyzer makeQueryAnalyzer() {
+        return new SourceCodeAnalyzer(false);
     }
 
     protected abstract Directory makeDirectory() throws ServerException;
@@ -130,16 +243,18 @@ public abstract class LuceneSearcher implements Searcher {
      *         if any virtual filesystem error occurs
      */
     public void init(VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
-        addTree(virtualFileSystem.getRoot());
+        indexTree(virtualFileSystem.getRoot());
     }
 
     public void initAsynchronously(ExecutorService executor, VirtualFileSystem virtualFileSystem) throws ServerException {
+        this.virtualFileSystem = virtualFileSystem;
         doInit();
         if (!executor.isShutdown()) {
             executor.execute(() -> {
                 try {
-                    LuceneSearcher.this.addTree(virtualFileSystem.getRoot());
+                    LuceneSearcher.this.indexTree(virtualFileSystem.getRoot());
                 } catch (ServerException e) {
                     LOG.error(e.getMessage());
                 }
@@ -149,18 +264,148 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected final synchronized void doInit() throws ServerException {
         try {
-            luceneIndexWriter = new IndexWriter(makeDirectory(), new IndexWriterConfig(makeAnalyzer()));
+            final Directory directory = makeDirectory();
+            try {
+                luceneIndexWriter = new IndexWriter(directory, new IndexWriterConfig(makeAnalyzer()));
+            } catch (CorruptIndexException | IndexFormatTooOldException | IndexFormatTooNewException e) {
+                LOG.warn("Unable open existed index, it is going to be re-created. Error: {}", e.getMessage());
+                luceneIndexWriter = new IndexWriter(directory, new IndexWriterConfig(makeAnalyzer()).setOpenMode(CREATE));
+            }
             searcherManager = new SearcherManager(luceneIndexWriter, true, new SearcherFactory());
+            searcherLifetimeManager = new SearcherLifetimeManager();
+            indexingWalkers = new ForkJoinPool(indexingParallelism);
+            indexingWorkers = Executors.newFixedThreadPool(indexingParallelism,
+                                                           new ThreadFactoryBuilder().setDaemon(true)
+                                                                                     .setNameFormat("LuceneTreeIndexer-%d")
+                                                                                     .build());
             closed = false;
         } catch (IOException e) {
             throw new ServerException(e);
         }
     }
 
+    /**
+     * Brings index in consistent state with the {@code tree}. If index is empty all files are added in index, otherwise index built
+     * before, e.g. at previous start, is reconciled with {@code tree}, see {@link #reconcileTree(VirtualFile)}.
+     */
+    protected void indexTree(VirtualFile tree) throws ServerException {
+        final IndexWriter indexWriter = getIndexWriter();
+        if (indexWriter.numDocs() == 0) {
+            addTree(tree);
+        } else if (!INDEX_FORMAT_VERSION.equals(indexWriter.getCommitData().get(INDEX_FORMAT_KEY))) {
+            LOG.info("Format of existed index is outdated, index is going to be re-built");
+            try {
+                indexWriter.deleteAll();
+            } catch (IOException e) {
+                throw new ServerException(e.getMessage(), e);
+            }
+            addTree(tree);
+        } else {
+            reconcileTree(tree);
+        }
+        commit();
+    }
+
+    /**
+     * Reconciles index with the {@code tree}. Only new files and files which fingerprint (modification date, length and hash of
+     * content) differs from fingerprint stored in index are re-indexed, files that don't exist anymore are removed from index. Tree is
+     * traversed and files are re-indexed with {@link TreeIndexingPipeline}. Search is served from snapshot of index that was opened
+     * before reconciliation until reconciliation is complete.
+     */
+    protected void reconcileTree(VirtualFile tree) throws ServerException {
+        final long start = System.currentTimeMillis();
+        reconciling = true;
+        try {
+            final Map<String, FileFingerprint> indexed = readFingerprints(tree.getPath().toString());
+            final int reindexedFiles = newIndexingPipeline().index(tree,
+                                                                   file -> isChanged(file, indexed.remove(file.getPath().toString())));
+            for (String deleted : indexed.keySet()) {
+                getIndexWriter().deleteDocuments(new Term("path", deleted));
+            }
+            final long end = System.currentTimeMillis();
+            LOG.debug("Reconciled index of {}, re-indexed {} files, removed {} files, time: {} ms",
+                      tree.getPath(), reindexedFiles, indexed.size(), (end - start));
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } finally {
+            reconciling = false;
+        }
+    }
+
+    /**
+     * Checks whether file was changed since it was indexed. Content hash is calculated only if modification date of file differs from
+     * indexed one. If content is the same then indexed modification date is updated, so file isn't hashed again next time.
+     */
+    private boolean isChanged(VirtualFile file, FileFingerprint fingerprint) throws ServerException, IOException {
+        if (fingerprint == null || fingerprint.modified < 0 || fingerprint.length < 0) {
+            return true;
+        }
+        if (fingerprint.length != file.getLength()) {
+            return true;
+        }
+        final long fileModified = file.getLastModificationDate();
+        if (fingerprint.modified == fileModified) {
+            return false;
+        }
+        if (fingerprint.hash != null && fingerprint.hash.equals(hashContent(file))) {
+            getIndexWriter().updateNumericDocValue(new Term("path", file.getPath().toString()), "modified", fileModified);
+            return false;
+        }
+        return true;
+    }
+
+    private Map<String, FileFingerprint> readFingerprints(String treePath) throws IOException {
+        final Map<String, FileFingerprint> fingerprints = new ConcurrentHashMap<>();
+        final String pathPrefix = "/".equals(treePath) ? treePath : treePath + "/";
+        final IndexSearcher luceneSearcher = searcherManager.acquire();
+        try {
+            final IndexReader reader = luceneSearcher.getIndexReader();
+            for (LeafReaderContext leafContext : reader.leaves()) {
+                final LeafReader leafReader = leafContext.reader();
+                final Bits liveDocs = leafReader.getLiveDocs();
+                final NumericDocValues modified = leafReader.getNumericDocValues("modified");
+                final Bits docsWithModified = leafReader.getDocsWithField("modified");
+                for (int i = 0; i < leafReader.maxDoc(); i++) {
+                    if (liveDocs == null || liveDocs.get(i)) {
+                        final Document doc = leafReader.document(i, FINGERPRINT_FIELDS);
+                        final String path = doc.get("path");
+                        if (path != null && path.startsWith(pathPrefix)) {
+                            final boolean hasModified = modified != null && docsWithModified != null && docsWithModified.get(i);
+                            fingerprints.put(path, FileFingerprint.of(doc, hasModified ? modified.get(i) : -1));
+                        }
+                    }
+                }
+            }
+        } finally {
+            searcherManager.release(luceneSearcher);
+        }
+        return fingerprints;
+    }
+
+    /** Commits all pending changes, after that index survives restart or crash of the searcher. */
+    protected void commit() throws ServerException {
+        try {
+            final IndexWriter indexWriter = getIndexWriter();
+            indexWriter.setCommitData(singletonMap(INDEX_FORMAT_KEY, INDEX_FORMAT_VERSION));
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+        } catch (OutOfMemoryError oome) {
+            close();
+            throw oome;
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        }
+    }
+
     public final synchronized void close() {
         if (!closed) {
+            indexingWalkers.shutdownNow();
+            indexingWorkers.shutdownNow();
             try {
-                IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager);
+                IOUtils.close(getIndexWriter(), getIndexWriter().getDirectory(), searcherManager, searcherLifetimeManager);
                 afterClose();
             } catch (IOException e) {
                 LOG.error(e.getMessage(), e);
@@ -189,82 +434,140 @@ public abstract class LuceneSearcher implements Searcher {
         IndexSearcher luceneSearcher = null;
         try {
             final long startTime = System.currentTimeMillis();
-            searcherManager.maybeRefresh();
-            luceneSearcher = searcherManager.acquire();
-
-            Query luceneQuery = createLuceneQuery(query);
+            final SearchCursor cursor = query.getCursor() == null ? null : SearchCursor.decode(query.getCursor());
+            if (cursor != null) {
+                luceneSearcher = searcherLifetimeManager.acquire(cursor.getSnapshotVersion());
+            }
+            if (luceneSearcher == null) {
+                if (!reconciling) {
+                    searcherManager.maybeRefresh();
+                }
+                searcherLifetimeManager.prune(new SearcherLifetimeManager.PruneByAge(SNAPSHOT_MAX_AGE_SECONDS));
+                luceneSearcher = searcherManager.acquire();
+            }
+            final Query textQuery = query.getText() == null ? null : parseTextQuery(query.getText());
+            Query luceneQuery = createLuceneQuery(query, textQuery);
 
             ScoreDoc after = null;
             final int numSkipDocs = Math.max(0, query.getSkipCount());
-            if (numSkipDocs > 0) {
+            if (cursor != null) {
+                after = cursor.getLastDoc();
+            } else if (numSkipDocs > 0) {
                 after = skipScoreDocs(luceneSearcher, luceneQuery, numSkipDocs);
             }
 
             final int numDocs = query.getMaxItems() > 0 ? Math.min(query.getMaxItems(), RESULT_LIMIT) : RESULT_LIMIT;
-            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs);
+            TopDocs topDocs = luceneSearcher.searchAfter(after, luceneQuery, numDocs, RESULT_SORT);
             final int totalHitsNum = topDocs.totalHits;
 
+            final OccurrencesFinder occurrencesFinder = query.isIncludeOccurrences() && textQuery != null
+                                                        ? OccurrencesFinder.forQuery(textQuery, "text")
+                                                        : null;
             List<SearchResultEntry> results = newArrayList();
             for (int i = 0; i < topDocs.scoreDocs.length; i++) {
                 ScoreDoc scoreDoc = topDocs.scoreDocs[i];
                 String filePath = luceneSearcher.doc(scoreDoc.doc).getField("path").stringValue();
-                results.add(new SearchResultEntry(filePath));
+                if (occurrencesFinder == null) {
+                    results.add(new SearchResultEntry(filePath));
+                } else {
+                    final VirtualFile file = virtualFileSystem == null ? null : virtualFileSystem.getRoot().getChild(Path.of(filePath));
+                    results.add(new SearchResultEntry(filePath, occurrencesFinder.find(luceneSearcher.getIndexReader(), scoreDoc.doc, file,
+                                                                                       OCCURRENCES_LIMIT)));
+                }
             }
 
             final long elapsedTimeMillis = System.currentTimeMillis() - startTime;
 
-            boolean hasMoreToRetrieve = numSkipDocs + topDocs.scoreDocs.length + 1 < totalHitsNum;
+            final int retrievedDocs = (cursor != null ? cursor.getRetrievedDocs() : numSkipDocs) + topDocs.scoreDocs.length;
+            boolean hasMoreToRetrieve = topDocs.scoreDocs.length > 0 && retrievedDocs < totalHitsNum;
             QueryExpression nextPageQueryExpression = null;
+            String nextPageCursor = null;
             if (hasMoreToRetrieve) {
-                nextPageQueryExpression = createNextPageQuery(query, numSkipDocs + topDocs.scoreDocs.length);
+                final FieldDoc lastDoc = (FieldDoc)topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
+                // snapshot is kept for the next pages only, each recorded snapshot holds index reader until it is pruned
+                final long snapshotVersion = searcherLifetimeManager.record(luceneSearcher);
+                nextPageCursor = SearchCursor.of(snapshotVersion, retrievedDocs, lastDoc).encode();
+                nextPageQueryExpression = createNextPageQuery(query, retrievedDocs, nextPageCursor);
             }
 
             return SearchResult.aSearchResult()
                                .withResults(results)
                                .withTotalHits(totalHitsNum)
                                .withNextPageQueryExpression(nextPageQueryExpression)
+                               .withNextPageCursor(nextPageCursor)
                                .withElapsedTimeMillis(elapsedTimeMillis)
                                .build();
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
         } finally {
-            try {
-                searcherManager.release(luceneSearcher);
-            } catch (IOException e) {
-                LOG.error(e.getMessage());
+            if (luceneSearcher != null) {
+                try {
+                    luceneSearcher.getIndexReader().decRef();
+                } catch (IOException e) {
+                    LOG.error(e.getMessage());
+                }
             }
         }
     }
 
-    private Query createLuceneQuery(QueryExpression query) throws ServerException {
+    private Query createLuceneQuery(QueryExpression query, Query textQuery) throws ServerException {
         final BooleanQuery luceneQuery = new BooleanQuery();
         final String name = query.getName();
         final String path = query.getPath();
-        final String text = query.getText();
         if (path != null) {
             luceneQuery.add(new PrefixQuery(new Term("path", path)), BooleanClause.Occur.MUST);
         }
         if (name != null) {
             luceneQuery.add(new WildcardQuery(new Term("name", name)), BooleanClause.Occur.MUST);
         }
-        if (text != null) {
-            QueryParser qParser = new QueryParser("text", makeAnalyzer());
+        if (textQuery != null) {
+            luceneQuery.add(textQuery, BooleanClause.Occur.MUST);
+        }
+        if (query.getSubstring() != null) {
+            luceneQuery.add(createSubstringQuery(query.getSubstring()), BooleanClause.Occur.MUST);
+        }
+        if (query.getRegex() != null) {
             try {
-                luceneQuery.add(qParser.parse(text), BooleanClause.Occur.MUST);
-            } catch (ParseException e) {
-                throw new ServerException(e.getMessage());
+                luceneQuery.add(new RegexpQuery(new Term("text", query.getRegex())), BooleanClause.Occur.MUST);
+            } catch (IllegalArgumentException e) {
+                throw new ServerException(String.format("Invalid regular expression '%s'. %s", query.getRegex(), e.getMessage()));
             }
         }
         return luceneQuery;
     }
 
+    /**
+     * Substring is found by trigrams of content. Substring that is shorter than trigram matches any trigram that starts with it,
+     * longer substring matches phrase of its trigrams.
+     */
+    private Query createSubstringQuery(String substring) {
+        final String lowerCaseSubstring = substring.toLowerCase(Locale.ROOT);
+        if (lowerCaseSubstring.length() < 3) {
+            return new PrefixQuery(new Term("trigram", lowerCaseSubstring));
+        }
+        final PhraseQuery trigramsQuery = new PhraseQuery();
+        for (int i = 0; i + 3 <= lowerCaseSubstring.length(); i++) {
+            trigramsQuery.add(new Term("trigram", lowerCaseSubstring.substring(i, i + 3)));
+        }
+        return trigramsQuery;
+    }
+
+    private Query parseTextQuery(String text) throws ServerException {
+        QueryParser qParser = new QueryParser("text", makeQueryAnalyzer());
+        try {
+            return qParser.parse(text);
+        } catch (ParseException e) {
+            throw new ServerException(e.getMessage());
+        }
+    }
+
     private ScoreDoc skipScoreDocs(IndexSearcher luceneSearcher, Query luceneQuery, int numSkipDocs) throws IOException {
         final int readFrameSize = Math.min(numSkipDocs, RESULT_LIMIT);
         ScoreDoc scoreDoc = null;
         int retrievedDocs = 0;
         TopDocs topDocs;
         do {
-            topDocs = luceneSearcher.searchAfter(scoreDoc, luceneQuery, readFrameSize);
+            topDocs = luceneSearcher.searchAfter(scoreDoc, luceneQuery, readFrameSize, RESULT_SORT);
             if (topDocs.scoreDocs.length > 0) {
                 scoreDoc = topDocs.scoreDocs[topDocs.scoreDocs.length - 1];
             }
@@ -279,12 +582,16 @@ public abstract class LuceneSearcher implements Searcher {
         return scoreDoc;
     }
 
-    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount) {
+    private QueryExpression createNextPageQuery(QueryExpression originalQuery, int newSkipCount, String cursor) {
         return new QueryExpression().setText(originalQuery.getText())
+                                    .setSubstring(originalQuery.getSubstring())
+                                    .setRegex(originalQuery.getRegex())
                                     .setName(originalQuery.getName())
                                     .setPath(originalQuery.getPath())
                                     .setSkipCount(newSkipCount)
-                                    .setMaxItems(originalQuery.getMaxItems());
+                                    .setMaxItems(originalQuery.getMaxItems())
+                                    .setIncludeOccurrences(originalQuery.isIncludeOccurrences())
+                                    .setCursor(cursor);
     }
 
     @Override
@@ -302,40 +609,24 @@ public abstract class LuceneSearcher implements Searcher {
 
     protected void addTree(VirtualFile tree) throws ServerException {
         final long start = System.currentTimeMillis();
-        final LinkedList<VirtualFile> q = new LinkedList<>();
-        q.add(tree);
-        int indexedFiles = 0;
-        while (!q.isEmpty()) {
-            final VirtualFile folder = q.pop();
-            if (folder.exists()) {
-                for (VirtualFile child : folder.getChildren()) {
-                    if (child.isFolder()) {
-                        q.push(child);
-                    } else {
-                        addFile(child);
-                        indexedFiles++;
-                    }
-                }
-            }
-        }
+        final int indexedFiles = newIndexingPipeline().index(tree);
         final long end = System.currentTimeMillis();
         LOG.debug("Indexed {} files from {}, time: {} ms", indexedFiles, tree.getPath(), (end - start));
     }
 
+    private synchronized TreeIndexingPipeline newIndexingPipeline() {
+        return new TreeIndexingPipeline(this, indexingWalkers, indexingWorkers, indexingParallelism, indexingBatchSize);
+    }
+
     protected void addFile(VirtualFile virtualFile) throws ServerException {
         if (virtualFile.exists()) {
-            try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                         ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                         : null) {
-                getIndexWriter()
-                        .updateDocument(new Term("path", virtualFile.getPath().toString()), createDocument(virtualFile, fContentReader));
+            try {
+                getIndexWriter().updateDocument(new Term("path", virtualFile.getPath().toString()), createDocument(virtualFile));
             } catch (OutOfMemoryError oome) {
                 close();
                 throw oome;
             } catch (IOException e) {
                 throw new ServerException(e.getMessage(), e);
-            } catch (ForbiddenException e) {
-                throw new ServerException(e.getServiceError());
             }
         }
     }
@@ -364,31 +655,102 @@ public abstract class LuceneSearcher implements Searcher {
     }
 
     protected void doUpdate(Term deleteTerm, VirtualFile virtualFile) throws ServerException {
-        try (Reader fContentReader = shouldIndexContent(virtualFile)
-                                     ? new BufferedReader(new InputStreamReader(virtualFile.getContent()))
-                                     : null) {
-            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile, fContentReader));
+        try {
+            getIndexWriter().updateDocument(deleteTerm, createDocument(virtualFile));
         } catch (OutOfMemoryError oome) {
             close();
             throw oome;
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Creates document for the {@code virtualFile}. Content of file is read only if it should be indexed, it is streamed once: bytes
+     * are hashed and decoded in single pass and decoded characters are shared by all fields that index content. Only first
+     * {@link #MAX_INDEXED_CONTENT_LENGTH} characters are kept in memory and indexed, the rest of content is only hashed.
+     */
+    Document createDocument(VirtualFile virtualFile) throws ServerException {
+        if (!shouldIndexContent(virtualFile)) {
+            return createDocument(virtualFile, null, null);
+        }
+        try (HashingInputStream in = new HashingInputStream(CONTENT_HASH_FUNCTION, virtualFile.getContent())) {
+            final StringBuilder content = new StringBuilder((int)Math.min(virtualFile.getLength(), MAX_INDEXED_CONTENT_LENGTH));
+            final Reader reader = new InputStreamReader(in, UTF_8);
+            final char[] chars = new char[8192];
+            int read;
+            while (content.length() < MAX_INDEXED_CONTENT_LENGTH
+                   && (read = reader.read(chars, 0, Math.min(chars.length, MAX_INDEXED_CONTENT_LENGTH - content.length()))) != -1) {
+                content.append(chars, 0, read);
+            }
+            // fingerprint covers the whole file, so changes beyond indexed part still cause re-indexing
+            ByteStreams.exhaust(in);
+            return createDocument(virtualFile, content, in.hash().toString());
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
         } catch (ForbiddenException e) {
             throw new ServerException(e.getServiceError());
         }
     }
 
-    protected Document createDocument(VirtualFile virtualFile, Reader reader) throws ServerException {
+    /**
+     * @param virtualFile
+     *         file
+     * @param content
+     *         content of file or {@code null} if content should not be indexed
+     * @param contentHash
+     *         hash of content of file or {@code null} if content should not be indexed
+     */
+    protected Document createDocument(VirtualFile virtualFile, CharSequence content, String contentHash) throws ServerException {
         final Document doc = new Document();
         doc.add(new StringField("path", virtualFile.getPath().toString(), Field.Store.YES));
+        doc.add(new SortedDocValuesField("path", new BytesRef(virtualFile.getPath().toString())));
         doc.add(new StringField("name", virtualFile.getName(), Field.Store.YES));
-        if (reader != null) {
-            doc.add(new TextField("text", reader));
+        // modification date is kept in doc values, so it can be updated without re-indexing of file
+        doc.add(new NumericDocValuesField("modified", virtualFile.getLastModificationDate()));
+        doc.add(new StoredField("length", virtualFile.getLength()));
+        if (content != null) {
+            doc.add(new StoredField("hash", contentHash));
+            // each field gets own reader over the same characters, content isn't copied in strings
+            doc.add(new Field("text", new CharSequenceReader(content), TEXT_FIELD_TYPE));
+            doc.add(new Field("trigram", new CharSequenceReader(content), TRIGRAM_FIELD_TYPE));
         }
         return doc;
     }
 
-    private boolean shouldIndexContent(VirtualFile virtualFile) {
+    String hashContent(VirtualFile virtualFile) throws ServerException {
+        try (InputStream in = virtualFile.getContent()) {
+            final Hasher hasher = CONTENT_HASH_FUNCTION.newHasher();
+            ByteStreams.copy(in, asOutputStream(hasher));
+            return hasher.hash().toString();
+        } catch (IOException e) {
+            throw new ServerException(e.getMessage(), e);
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+
+    /** Modification date, length and hash of content of file at the moment when file was indexed. */
+    private static class FileFingerprint {
+        static FileFingerprint of(Document doc, long modified) {
+            final IndexableField length = doc.getField("length");
+            return new FileFingerprint(modified,
+                                       length == null ? -1 : length.numericValue().longValue(),
+                                       doc.get("hash"));
+        }
+
+        final long   modified;
+        final long   length;
+        final String hash;
+
+        FileFingerprint(long modified, long length, String hash) {
+            this.modified = modified;
+            this.length = length;
+            this.hash = hash;
+        }
+    }
+
+    boolean shouldIndexContent(VirtualFile virtualFile) {
         for (VirtualFileFilter indexFilter : indexFilters) {
             if (!indexFilter.accept(virtualFile)) {
                 return false;
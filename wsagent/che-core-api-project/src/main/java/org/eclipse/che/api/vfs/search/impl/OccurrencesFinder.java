@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.PostingsEnum;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.Terms;
+import org.apache.lucene.index.TermsEnum;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PhraseQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+
+/**
+ * Finds occurrences of terms of text query in indexed file. Offsets of occurrences are taken from term vectors stored in index, so
+ * content of file isn't re-tokenized. Content of file is read only for resolving line numbers and content of lines, it is streamed
+ * and only the part that precedes the last returned occurrence, plus the rest of its line, is kept in memory.
+ */
+class OccurrencesFinder {
+    private static final int MAX_LINE_CONTENT_LENGTH = 256;
+
+    /** Creates finder for terms of field {@code field} which are used in {@code textQuery}. */
+    static OccurrencesFinder forQuery(Query textQuery, String field) {
+        final List<Predicate<String>> termMatchers = new ArrayList<>();
+        collectTermMatchers(textQuery, field, termMatchers);
+        return new OccurrencesFinder(field, termMatchers);
+    }
+
+    private static void collectTermMatchers(Query query, String field, List<Predicate<String>> termMatchers) {
+        if (query instanceof BooleanQuery) {
+            for (BooleanClause clause : ((BooleanQuery)query).clauses()) {
+                if (!clause.isProhibited()) {
+                    collectTermMatchers(clause.getQuery(), field, termMatchers);
+                }
+            }
+        } else if (query instanceof TermQuery) {
+            addExactMatcher(((TermQuery)query).getTerm(), field, termMatchers);
+        } else if (query instanceof PhraseQuery) {
+            for (Term term : ((PhraseQuery)query).getTerms()) {
+                addExactMatcher(term, field, termMatchers);
+            }
+        } else if (query instanceof PrefixQuery) {
+            final Term prefix = ((PrefixQuery)query).getPrefix();
+            if (field.equals(prefix.field())) {
+                final String text = prefix.text();
+                termMatchers.add(term -> term.startsWith(text));
+            }
+        } else if (query instanceof WildcardQuery) {
+            final Term wildcard = ((WildcardQuery)query).getTerm();
+            if (field.equals(wildcard.field())) {
+                final CharacterRunAutomaton automaton = new CharacterRunAutomaton(WildcardQuery.toAutomaton(wildcard));
+                termMatchers.add(automaton::run);
+            }
+        }
+    }
+
+    private static void addExactMatcher(Term term, String field, List<Predicate<String>> termMatchers) {
+        if (field.equals(term.field())) {
+            final String text = term.text();
+            termMatchers.add(text::equals);
+        }
+    }
+
+    private final String                  field;
+    private final List<Predicate<String>> termMatchers;
+
+    private OccurrencesFinder(String field, List<Predicate<String>> termMatchers) {
+        this.field = field;
+        this.termMatchers = termMatchers;
+    }
+
+    /**
+     * Finds occurrences in document {@code doc}.
+     *
+     * @param reader
+     *         index reader
+     * @param doc
+     *         id of document
+     * @param file
+     *         file that corresponds to document {@code doc}
+     * @param limit
+     *         max number of occurrences
+     * @return occurrences sorted by offset or empty list if there is no term vectors for document, e.g. if content of file isn't indexed
+     */
+    List<SearchOccurrence> find(IndexReader reader, int doc, VirtualFile file, int limit) throws IOException, ServerException {
+        if (termMatchers.isEmpty() || file == null || !file.exists()) {
+            return emptyList();
+        }
+        final Terms termVector = reader.getTermVector(doc, field);
+        if (termVector == null || !termVector.hasOffsets()) {
+            return emptyList();
+        }
+        final List<int[]> offsets = new ArrayList<>();
+        final TermsEnum termsEnum = termVector.iterator();
+        PostingsEnum postings = null;
+        BytesRef term;
+        while ((term = termsEnum.next()) != null) {
+            if (matches(term.utf8ToString())) {
+                postings = termsEnum.postings(null, postings, PostingsEnum.OFFSETS);
+                postings.nextDoc();
+                for (int i = 0, freq = postings.freq(); i < freq; i++) {
+                    postings.nextPosition();
+                    offsets.add(new int[]{postings.startOffset(), postings.endOffset()});
+                }
+            }
+        }
+        if (offsets.isEmpty()) {
+            return emptyList();
+        }
+        offsets.sort((a, b) -> Integer.compare(a[0], b[0]));
+        final List<int[]> limitedOffsets = offsets.subList(0, Math.min(limit, offsets.size()));
+        int maxEnd = 0;
+        for (int[] offset : limitedOffsets) {
+            maxEnd = Math.max(maxEnd, offset[1]);
+        }
+        // content of line is cut to MAX_LINE_CONTENT_LENGTH characters around occurrence, characters after that aren't needed
+        final int contentLength = (int)Math.min((long)maxEnd + MAX_LINE_CONTENT_LENGTH + 1, Integer.MAX_VALUE);
+        return toOccurrences(readContent(file, contentLength), limitedOffsets);
+    }
+
+    private boolean matches(String term) {
+        for (Predicate<String> termMatcher : termMatchers) {
+            if (termMatcher.test(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<SearchOccurrence> toOccurrences(String content, List<int[]> sortedOffsets) {
+        final List<SearchOccurrence> occurrences = new ArrayList<>(sortedOffsets.size());
+        int lineNumber = 1;
+        int lineStart = 0;
+        for (int[] offset : sortedOffsets) {
+            final int start = offset[0];
+            final int end = Math.min(offset[1], content.length());
+            if (start >= content.length()) {
+                break;
+            }
+            for (int i = content.indexOf('\n', lineStart); i >= 0 && i < start; i = content.indexOf('\n', lineStart)) {
+                lineNumber++;
+                lineStart = i + 1;
+            }
+            int lineEnd = content.indexOf('\n', start);
+            if (lineEnd < 0) {
+                lineEnd = content.length();
+            }
+            occurrences.add(new SearchOccurrence(lineNumber, start, end, lineContent(content, lineStart, lineEnd, start)));
+        }
+        return occurrences;
+    }
+
+    private String lineContent(String content, int lineStart, int lineEnd, int occurrenceStart) {
+        if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+        if (lineEnd - lineStart <= MAX_LINE_CONTENT_LENGTH) {
+            return content.substring(lineStart, lineEnd);
+        }
+        final int snippetStart = Math.max(lineStart, occurrenceStart - MAX_LINE_CONTENT_LENGTH / 2);
+        final int snippetEnd = Math.min(lineEnd, snippetStart + MAX_LINE_CONTENT_LENGTH);
+        return content.substring(snippetStart, snippetEnd);
+    }
+
+    /** Reads at most {@code maxLength} first characters of content of {@code file}. */
+    private String readContent(VirtualFile file, int maxLength) throws IOException, ServerException {
+        try (Reader reader = new InputStreamReader(file.getContent(), UTF_8)) {
+            final StringBuilder content = new StringBuilder(Math.min(maxLength, 8192));
+            final char[] chars = new char[8192];
+            int read;
+            while (content.length() < maxLength
+                   && (read = reader.read(chars, 0, Math.min(chars.length, maxLength - content.length()))) != -1) {
+                content.append(chars, 0, read);
+            }
+            return content.toString();
+        } catch (ForbiddenException e) {
+            throw new ServerException(e.getServiceError());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.util.BytesRef;
+import org.eclipse.che.api.core.ServerException;
+
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Position of last document of search results page. Cursor contains version of index snapshot that was used for search, number of
+ * documents retrieved with previous pages and sort values of last retrieved document, so next page is retrieved from the same
+ * snapshot, if it is still available, without re-reading all previous pages.
+ * <p/>
+ * Cursor is passed to clients as opaque string, see {@link #encode()} and {@link #decode(String)}.
+ */
+class SearchCursor {
+    private static final char SEPARATOR = ':';
+
+    /** Decodes cursor that was encoded with method {@link #encode()}. */
+    static SearchCursor decode(String cursor) throws ServerException {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+            final String[] parts = decoded.split(String.valueOf(SEPARATOR), 5);
+            if (parts.length != 5) {
+                throw new ServerException(String.format("Invalid search cursor '%s'", cursor));
+            }
+            return new SearchCursor(Long.parseLong(parts[0]),
+                                    Integer.parseInt(parts[1]),
+                                    Integer.parseInt(parts[2]),
+                                    Float.intBitsToFloat(Integer.parseInt(parts[3])),
+                                    parts[4]);
+        } catch (IllegalArgumentException e) {
+            throw new ServerException(String.format("Invalid search cursor '%s'", cursor));
+        }
+    }
+
+    /**
+     * Creates cursor which points to document {@code lastDoc} retrieved from index snapshot with version {@code snapshotVersion}.
+     * Score is taken from sort values since {@link FieldDoc#score} isn't computed when results are sorted.
+     *
+     * @param retrievedDocs
+     *         number of documents retrieved with this and all previous pages
+     */
+    static SearchCursor of(long snapshotVersion, int retrievedDocs, FieldDoc lastDoc) {
+        return new SearchCursor(snapshotVersion,
+                                retrievedDocs,
+                                lastDoc.doc,
+                                (Float)lastDoc.fields[0],
+                                ((BytesRef)lastDoc.fields[1]).utf8ToString());
+    }
+
+    private final long   snapshotVersion;
+    private final int    retrievedDocs;
+    private final int    doc;
+    private final float  score;
+    private final String path;
+
+    private SearchCursor(long snapshotVersion, int retrievedDocs, int doc, float score, String path) {
+        this.snapshotVersion = snapshotVersion;
+        this.retrievedDocs = retrievedDocs;
+        this.doc = doc;
+        this.score = score;
+        this.path = path;
+    }
+
+    /** Version of index snapshot that was used for retrieving page of search results. */
+    long getSnapshotVersion() {
+        return snapshotVersion;
+    }
+
+    /** Number of documents retrieved before the next page. */
+    int getRetrievedDocs() {
+        return retrievedDocs;
+    }
+
+    /** Last document of page, next page starts after this document. */
+    FieldDoc getLastDoc() {
+        return new FieldDoc(doc, score, new Object[]{score, new BytesRef(path)});
+    }
+
+    String encode() {
+        final String cursor = String.valueOf(snapshotVersion) + SEPARATOR + retrievedDocs + SEPARATOR + doc
+                              + SEPARATOR + Float.floatToIntBits(score) + SEPARATOR + path;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(UTF_8));
+    }
+}
@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.LowerCaseFilter;
+import org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter;
+import org.apache.lucene.analysis.util.CharTokenizer;
+
+import static org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter.GENERATE_NUMBER_PARTS;
+import static org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter.GENERATE_WORD_PARTS;
+import static org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter.PRESERVE_ORIGINAL;
+import static org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter.SPLIT_ON_CASE_CHANGE;
+import static org.apache.lucene.analysis.miscellaneous.WordDelimiterFilter.SPLIT_ON_NUMERICS;
+
+/**
+ * Analyzer for source code. Text is split in identifiers, i.e. sequences of letters, digits, '_' and '$', so {@code getFoo} is found
+ * in {@code this.getFoo()}. If {@code splitIdentifiers} is {@code true} then identifiers are additionally split in parts by
+ * camelCase, '_' and digits, e.g. {@code getFooBar} is indexed as {@code getfoobar}, {@code get}, {@code foo} and {@code bar}. All
+ * tokens are converted to lower case.
+ * <p/>
+ * Identifiers should be split when content is indexed but not when query is parsed, otherwise query {@code getFoo} matches all files
+ * that contain either {@code get} or {@code foo}.
+ */
+public class SourceCodeAnalyzer extends Analyzer {
+    private static final int SPLIT_FLAGS = GENERATE_WORD_PARTS | GENERATE_NUMBER_PARTS | SPLIT_ON_CASE_CHANGE | SPLIT_ON_NUMERICS
+                                           | PRESERVE_ORIGINAL;
+
+    private final boolean splitIdentifiers;
+
+    public SourceCodeAnalyzer(boolean splitIdentifiers) {
+        this.splitIdentifiers = splitIdentifiers;
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        final Tokenizer tokenizer = new IdentifierTokenizer();
+        TokenStream filter = tokenizer;
+        if (splitIdentifiers) {
+            filter = new WordDelimiterFilter(filter, SPLIT_FLAGS, null);
+        }
+        filter = new LowerCaseFilter(filter);
+        return new TokenStreamComponents(tokenizer, filter);
+    }
+
+    private static class IdentifierTokenizer extends CharTokenizer {
+        @Override
+        protected boolean isTokenChar(int c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+        }
+    }
+}
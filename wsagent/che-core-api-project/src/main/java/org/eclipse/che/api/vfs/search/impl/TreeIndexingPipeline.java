@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.VirtualFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Adds tree of files in index of {@link LuceneSearcher}. Indexing is done in few stages:
+ * <ul>
+ * <li>folders are traversed in parallel with {@link ForkJoinPool}, found files are put in bounded queue, traversal is blocked while
+ * queue is full so it can't run away from indexing, blocking is managed with {@link ForkJoinPool.ManagedBlocker} so pool may
+ * compensate blocked threads</li>
+ * <li>pool of workers takes files from queue, reads their content and groups created documents in batches</li>
+ * <li>each document of batch replaces document with the same path with {@link IndexWriter#updateDocument}, so file never disappears
+ * from index while it is re-indexed, content is tokenized by the worker that added batch</li>
+ * </ul>
+ * Pools are owned by {@link LuceneSearcher} and shared between pipelines. Instance of this class is not reusable, new one should be
+ * created for each tree.
+ */
+class TreeIndexingPipeline {
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final LuceneSearcher             searcher;
+    private final ForkJoinPool               walkers;
+    private final ExecutorService            indexers;
+    private final int                        parallelism;
+    private final int                        batchSize;
+    private final BlockingQueue<VirtualFile> files;
+    private final AtomicInteger              indexedFiles;
+
+    private FileSelector selector;
+
+    private volatile boolean   walkCompleted;
+    private volatile Throwable failure;
+
+    /**
+     * @param searcher
+     *         searcher which index is updated
+     * @param walkers
+     *         pool that traverses folders
+     * @param indexers
+     *         pool that reads and indexes files
+     * @param parallelism
+     *         number of tasks that read and index files
+     * @param batchSize
+     *         max number of documents added in index at once
+     */
+    TreeIndexingPipeline(LuceneSearcher searcher, ForkJoinPool walkers, ExecutorService indexers, int parallelism, int batchSize) {
+        this.searcher = searcher;
+        this.walkers = walkers;
+        this.indexers = indexers;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.files = new ArrayBlockingQueue<>(parallelism * batchSize * 2);
+        this.indexedFiles = new AtomicInteger();
+    }
+
+    /**
+     * Adds all files from the {@code tree} in index.
+     *
+     * @return number of indexed files
+     * @throws ServerException
+     *         if any error occurs while traversing tree or updating index
+     */
+    int index(VirtualFile tree) throws ServerException {
+        return index(tree, file -> true);
+    }
+
+    /**
+     * Adds files from the {@code tree} which are accepted by {@code selector} in index. Selector is called by indexing threads, so
+     * it may do expensive checks, e.g. compare hash of content of file with indexed one.
+     *
+     * @return number of indexed files
+     * @throws ServerException
+     *         if any error occurs while traversing tree or updating index
+     */
+    int index(VirtualFile tree, FileSelector selector) throws ServerException {
+        this.selector = selector;
+        final List<Future<?>> indexerResults = new ArrayList<>(parallelism);
+        try {
+            for (int i = 0; i < parallelism; i++) {
+                indexerResults.add(indexers.submit(this::indexFiles));
+            }
+            try {
+                walkers.invoke(new FolderWalker(tree));
+            } catch (RuntimeException e) {
+                fail(e);
+            } finally {
+                walkCompleted = true;
+            }
+            for (Future<?> indexerResult : indexerResults) {
+                indexerResult.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        } catch (ExecutionException e) {
+            fail(e.getCause());
+        } finally {
+            walkCompleted = true;
+            if (failure != null) {
+                // indexers that are already running stop by themselves, interruption of running indexer may break index writer
+                indexerResults.forEach(indexerResult -> indexerResult.cancel(false));
+            }
+        }
+        rethrowFailure();
+        return indexedFiles.get();
+    }
+
+    private void indexFiles() {
+        final List<VirtualFile> batch = new ArrayList<>(batchSize);
+        try {
+            while (failure == null) {
+                final VirtualFile file = files.poll(POLL_TIMEOUT_MILLIS, MILLISECONDS);
+                if (file != null) {
+                    batch.add(file);
+                    if (batch.size() == batchSize) {
+                        addBatch(batch);
+                        batch.clear();
+                    }
+                } else if (walkCompleted && files.isEmpty()) {
+                    break;
+                }
+            }
+            if (failure == null && !batch.isEmpty()) {
+                addBatch(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e);
+        } catch (OutOfMemoryError oome) {
+            fail(oome);
+            searcher.close();
+        } catch (Throwable e) {
+            fail(e);
+        }
+    }
+
+    private void addBatch(List<VirtualFile> batch) throws ServerException, IOException {
+        final IndexWriter indexWriter = searcher.getIndexWriter();
+        for (VirtualFile file : batch) {
+            if (file.exists() && selector.select(file)) {
+                final Document document = searcher.createDocument(file);
+                indexWriter.updateDocument(new Term("path", file.getPath().toString()), document);
+                indexedFiles.incrementAndGet();
+            }
+        }
+    }
+
+    private void fail(Throwable error) {
+        if (failure == null) {
+            failure = error;
+        }
+    }
+
+    private void rethrowFailure() throws ServerException {
+        final Throwable error = failure;
+        if (error instanceof ServerException) {
+            throw (ServerException)error;
+        } else if (error instanceof Error) {
+            throw (Error)error;
+        } else if (error != null) {
+            throw new ServerException(error.getMessage(), error);
+        }
+    }
+
+    /** Puts file in full queue, lets pool compensate thread which is blocked. */
+    private class QueueOffer implements ForkJoinPool.ManagedBlocker {
+        private final VirtualFile file;
+
+        private boolean offered;
+
+        QueueOffer(VirtualFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            while (!isReleasable()) {
+                offered = files.offer(file, POLL_TIMEOUT_MILLIS, MILLISECONDS);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return offered || failure != null || (offered = files.offer(file));
+        }
+    }
+
+    /** Decides whether file should be indexed. */
+    interface FileSelector {
+        boolean select(VirtualFile file) throws ServerException, IOException;
+    }
+
+    private class FolderWalker extends RecursiveAction {
+        private final VirtualFile folder;
+
+        FolderWalker(VirtualFile folder) {
+            this.folder = folder;
+        }
+
+        @Override
+        protected void compute() {
+            if (failure != null || !folder.exists()) {
+                return;
+            }
+            try {
+                final List<FolderWalker> subFolders = new ArrayList<>();
+                for (VirtualFile child : folder.getChildren()) {
+                    if (child.isFolder()) {
+                        subFolders.add(new FolderWalker(child));
+                    } else if (!files.offer(child)) {
+                        // back-pressure, wait until indexers take some files from queue
+                        ForkJoinPool.managedBlock(new QueueOffer(child));
+                    }
+                }
+                invokeAll(subFolders);
+            } catch (ServerException e) {
+                fail(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
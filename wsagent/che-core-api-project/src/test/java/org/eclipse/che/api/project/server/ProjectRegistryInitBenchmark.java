@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.model.project.ProjectConfig;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
+import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
+import org.eclipse.che.api.project.server.type.ValueProvider;
+import org.eclipse.che.api.project.server.type.ValueProviderFactory;
+import org.eclipse.che.api.project.server.type.ValueStorageException;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
+import org.eclipse.che.commons.lang.IoUtil;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Measures time of initialization of {@link ProjectRegistry} over synthetic workspace with number of configured projects
+ * and the same number of unconfigured folders, resolution of attribute of each configured project takes
+ * {@link #VALUE_PROVIDER_DELAY} milliseconds like value providers which read project files do. Number of configured projects
+ * might be set with the first argument (50 by default).
+ * <p/>
+ * It isn't unit test and isn't run during build, run it with {@code main} method.
+ */
+public class ProjectRegistryInitBenchmark extends WsAgentTestBase {
+    private static final long VALUE_PROVIDER_DELAY = 20;
+    private static final int  ITERATIONS           = 5;
+
+    public static void main(String[] args) throws Exception {
+        final int numberOfProjects = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        final File fsRoot = new File("target/benchmark_fs");
+        if (fsRoot.exists()) {
+            IoUtil.deleteRecursive(fsRoot);
+        }
+        fsRoot.mkdirs();
+
+        final List<ProjectConfig> configs = new ArrayList<>(numberOfProjects);
+        for (int i = 0; i < numberOfProjects; i++) {
+            new File(fsRoot, "project" + i).mkdir();
+            new File(fsRoot, "folder" + i).mkdir();
+            configs.add(new NewProjectConfig("/project" + i, "slow", null, "project" + i, null, null, null));
+        }
+
+        final LocalVirtualFileSystemProvider vfsProvider = new LocalVirtualFileSystemProvider(fsRoot, null);
+        final ProjectTypeRegistry projectTypeRegistry = new ProjectTypeRegistry(new HashSet<>());
+        projectTypeRegistry.registerProjectType(new SlowProjectType());
+        final ProjectHandlerRegistry projectHandlerRegistry = new ProjectHandlerRegistry(new HashSet<>());
+        final TestWorkspaceHolder workspaceHolder = new TestWorkspaceHolder(configs);
+
+        try {
+            for (int i = 0; i < ITERATIONS; i++) {
+                final long start = System.currentTimeMillis();
+                final ProjectRegistry projectRegistry = new ProjectRegistry(workspaceHolder,
+                                                                            vfsProvider,
+                                                                            projectTypeRegistry,
+                                                                            projectHandlerRegistry,
+                                                                            new EventService());
+                projectRegistry.initProjects();
+                System.out.printf("projects: %d, folders: %d, initialization: %d ms%n",
+                                  numberOfProjects,
+                                  numberOfProjects,
+                                  System.currentTimeMillis() - start);
+            }
+        } finally {
+            IoUtil.deleteRecursive(fsRoot);
+        }
+    }
+
+    private static class SlowProjectType extends ProjectTypeDef {
+
+        SlowProjectType() {
+            super("slow", "slow", true, false);
+            addVariableDefinition("slow-provided", "", false, new SlowValueProviderFactory());
+        }
+    }
+
+    private static class SlowValueProviderFactory implements ValueProviderFactory {
+
+        @Override
+        public ValueProvider newInstance(FolderEntry projectFolder) {
+            return new ReadonlyValueProvider() {
+                @Override
+                public List<String> getValues(String attributeName) throws ValueStorageException {
+                    try {
+                        Thread.sleep(VALUE_PROVIDER_DELAY);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ValueStorageException(e.getMessage());
+                    }
+                    return Collections.singletonList(projectFolder.getName());
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.model.project.ProjectConfig;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
+import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.server.type.ReadonlyValueProvider;
+import org.eclipse.che.api.project.server.type.ValueProviderFactory;
+import org.eclipse.che.api.project.server.type.ValueStorageException;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests for initialization of {@link ProjectRegistry}.
+ */
+public class ProjectRegistryTest {
+    private static final String FS_PATH = "target/registry_fs";
+
+    private File                   root;
+    private ProjectTypeRegistry    projectTypeRegistry;
+    private ProjectHandlerRegistry projectHandlerRegistry;
+    private EventService           eventService;
+
+    @Before
+    public void setUp() throws Exception {
+        root = new File(FS_PATH);
+        if (root.exists()) {
+            IoUtil.deleteRecursive(root);
+        }
+        root.mkdirs();
+
+        projectTypeRegistry = new ProjectTypeRegistry(new HashSet<>());
+        projectHandlerRegistry = new ProjectHandlerRegistry(new HashSet<>());
+        eventService = new EventService();
+    }
+
+    @After
+    public void tearDown() {
+        eventService.stop();
+        IoUtil.deleteRecursive(root);
+    }
+
+    @Test
+    public void shouldResolveProjectsInParallel() throws Exception {
+        final CountDownLatch allResolving = new CountDownLatch(2);
+        final AtomicBoolean resolvedOneByOne = new AtomicBoolean();
+        projectTypeRegistry.registerProjectType(new TestProjectType(projectFolder -> new ReadonlyValueProvider() {
+            @Override
+            public List<String> getValues(String attributeName) throws ValueStorageException {
+                allResolving.countDown();
+                try {
+                    // returns right away only if value of the other project is being resolved at the same time
+                    if (!allResolving.await(10, SECONDS)) {
+                        resolvedOneByOne.set(true);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ValueStorageException(e.getMessage());
+                }
+                return Collections.singletonList(projectFolder.getName());
+            }
+        }));
+        new File(root, "project1").mkdir();
+        new File(root, "project2").mkdir();
+
+        final ProjectRegistry projectRegistry = createRegistry(asList(projectConfig("/project1", null),
+                                                                      projectConfig("/project2", null)));
+        projectRegistry.initProjects();
+
+        assertFalse(resolvedOneByOne.get());
+        assertEquals(projectRegistry.getProject("/project1").getAttributes().get("value"), Collections.singletonList("project1"));
+        assertEquals(projectRegistry.getProject("/project2").getAttributes().get("value"), Collections.singletonList("project2"));
+    }
+
+    @Test
+    public void shouldRegisterLastOfConfigsWithTheSamePath() throws Exception {
+        projectTypeRegistry.registerProjectType(new TestProjectType(projectFolder -> new ReadonlyValueProvider() {
+            @Override
+            public List<String> getValues(String attributeName) throws ValueStorageException {
+                return Collections.singletonList(projectFolder.getName());
+            }
+        }));
+        new File(root, "project").mkdir();
+        final List<ProjectConfig> configs = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            configs.add(projectConfig("/project", "description" + i));
+        }
+
+        final ProjectRegistry projectRegistry = createRegistry(configs);
+        projectRegistry.initProjects();
+
+        assertEquals(projectRegistry.getProject("/project").getDescription(), "description9");
+    }
+
+    @Test
+    public void shouldPublishResolvedEventForEachProjectAndUnconfiguredFolder() throws Exception {
+        projectTypeRegistry.registerProjectType(new TestProjectType(projectFolder -> new ReadonlyValueProvider() {
+            @Override
+            public List<String> getValues(String attributeName) throws ValueStorageException {
+                return Collections.singletonList(projectFolder.getName());
+            }
+        }));
+        new File(root, "project").mkdir();
+        new File(root, "folder").mkdir();
+        final Set<String> resolved = Collections.synchronizedSet(new HashSet<>());
+        eventService.subscribe(new EventSubscriber<ProjectResolvedEvent>() {
+            @Override
+            public void onEvent(ProjectResolvedEvent event) {
+                resolved.add(event.getProjectPath());
+            }
+        });
+
+        createRegistry(Collections.singletonList(projectConfig("/project", null))).initProjects();
+
+        assertEquals(resolved, new HashSet<>(asList("/project", "/folder")));
+    }
+
+    @Test
+    public void shouldComputeProvidedValuesAgainRightAfterTheirFileIsUpdated() throws Exception {
+        final AtomicInteger reads = new AtomicInteger();
+        projectTypeRegistry.registerProjectType(new TestProjectType(projectFolder -> new ReadonlyValueProvider() {
+            @Override
+            public List<String> getValues(String attributeName) throws ValueStorageException {
+                return Collections.singletonList(String.valueOf(reads.incrementAndGet()));
+            }
+
+            @Override
+            public List<String> getDependencies() {
+                return Collections.singletonList("file.txt");
+            }
+        }));
+        new File(root, "project").mkdir();
+        Files.write(new File(root, "project/file.txt").toPath(), "content".getBytes());
+        final ProjectRegistry projectRegistry = createRegistry(Collections.singletonList(projectConfig("/project", null)));
+        projectRegistry.initProjects();
+        final RegisteredProject project = projectRegistry.getProject("/project");
+
+        projectRegistry.putProject(project, project.getBaseFolder(), true, false);
+        assertEquals(reads.get(), 1);
+
+        ((FileEntry)project.getBaseFolder().getChild("file.txt")).updateContent("updated".getBytes());
+        projectRegistry.putProject(project, project.getBaseFolder(), true, false);
+        assertEquals(reads.get(), 2);
+    }
+
+    private ProjectRegistry createRegistry(List<ProjectConfig> configs) throws ServerException {
+        final WsAgentTestBase.TestWorkspaceHolder workspaceHolder = new WsAgentTestBase.TestWorkspaceHolder() {
+            @Override
+            public List<? extends ProjectConfig> getProjects() throws ServerException {
+                return configs;
+            }
+        };
+        return new ProjectRegistry(workspaceHolder,
+                                   new LocalVirtualFileSystemProvider(root, null),
+                                   projectTypeRegistry,
+                                   projectHandlerRegistry,
+                                   eventService);
+    }
+
+    private static ProjectConfig projectConfig(String path, String description) {
+        return new NewProjectConfig(path, TestProjectType.ID, null, path.substring(1), description, null, null);
+    }
+
+    private static class TestProjectType extends ProjectTypeDef {
+        static final String ID = "registry-test";
+
+        TestProjectType(ValueProviderFactory valueProviderFactory) {
+            super(ID, ID, true, false);
+            addVariableDefinition("value", "", false, valueProviderFactory);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.api.project.shared.dto.CopyOptions;
 import org.eclipse.che.api.project.shared.dto.ItemReference;
 import org.eclipse.che.api.project.shared.dto.MoveOptions;
+import org.eclipse.che.api.project.shared.dto.SearchOccurrenceDto;
 import org.eclipse.che.api.project.shared.dto.SourceEstimation;
 import org.eclipse.che.api.project.shared.dto.TreeElement;
 import org.eclipse.che.api.user.server.spi.UserDao;
@@ -1656,7 +1657,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("c").createFile("exclude", "test".getBytes(Charset.defaultCharset()));
 
         ContainerResponse response = launcher.service(GET,
-                                                      "http://localhost:8080/api/project/search/my_project?name=test.txt",
+                                                      "http://localhost:8080/api/project/search/my_project?waitForIndex=true&name=test.txt",
                                                       "http://localhost:8080/api", null, null, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         List<ItemReference> result = (List<ItemReference>)response.getEntity();
@@ -1678,7 +1679,8 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("c").createFile("_test", "searchhit".getBytes(Charset.defaultCharset()));
 
         ContainerResponse response = launcher.service(GET,
-                                                      "http://localhost:8080/api/project/search/my_project?text=searchhit",
+                                                      "http://localhost:8080/api/project/search/my_project?text=searchhit"
+                                                      + "&waitForIndex=true",
                                                       "http://localhost:8080/api", null, null, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         List<ItemReference> result = (List<ItemReference>)response.getEntity();
@@ -1688,6 +1690,27 @@ public class ProjectServiceTest {
         Assert.assertTrue(paths.contains("/my_project/x/y/__test.txt"));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testSearchByTextWithOccurrences() throws Exception {
+        RegisteredProject myProject = pm.getProject("my_project");
+        myProject.getBaseFolder().createFolder("a/b").createFile("test.txt", "hello\nsearch hit".getBytes(Charset.defaultCharset()));
+
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project?text=hit&includeOccurrences=true"
+                                                      + "&waitForIndex=true",
+                                                      "http://localhost:8080/api", null, null, null);
+        assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
+        List<ItemReference> result = (List<ItemReference>)response.getEntity();
+        assertEquals(result.size(), 1);
+        List<SearchOccurrenceDto> occurrences = result.get(0).getOccurrences();
+        assertEquals(occurrences.size(), 1);
+        assertEquals(occurrences.get(0).getLineNumber(), 2);
+        assertEquals(occurrences.get(0).getStartOffset(), 13);
+        assertEquals(occurrences.get(0).getEndOffset(), 16);
+        assertEquals(occurrences.get(0).getLineContent(), "search hit");
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testSearchParticularSequenceWords() throws Exception {
@@ -1704,7 +1727,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("c").createFile("_test", "Pay attention! To be or to not be that is the question".getBytes(Charset.defaultCharset()));
 
         ContainerResponse response =
-                launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch,
+                launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch + "&waitForIndex=true",
                                  "http://localhost:8080/api", null, null, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         List<ItemReference> result = (List<ItemReference>)response.getEntity();
@@ -1730,7 +1753,7 @@ public class ProjectServiceTest {
                  .createFile("notContainsSearchText", "Pay attention! To be or to not be that is the questEon".getBytes(Charset.defaultCharset()));
 
         ContainerResponse response =
-                launcher.service(GET,"http://localhost:8080/api/project/search/my_project" + queryToSearch,
+                launcher.service(GET,"http://localhost:8080/api/project/search/my_project" + queryToSearch + "&waitForIndex=true",
                                  "http://localhost:8080/api", null, null, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         List<ItemReference> result = (List<ItemReference>)response.getEntity();
@@ -1755,7 +1778,7 @@ public class ProjectServiceTest {
                  .createFile("notContainsSearchText", "Pay attention! To be or to not be that is the questEon".getBytes(Charset.defaultCharset()));
 
         ContainerResponse response =
-                launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch,
+                launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch + "&waitForIndex=true",
                                  "http://localhost:8080/api", null, null, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         List<ItemReference> result = (List<ItemReference>)response.getEntity();
@@ -1780,7 +1803,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("c").createFile("alsoNotContainsSearchText", "To be or to not be that is the ...".getBytes(Charset.defaultCharset()));
 
         ContainerResponse response =
-                launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch,
+                launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch + "&waitForIndex=true",
                                  "http://localhost:8080/api", null, null, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         List<ItemReference> result = (List<ItemReference>)response.getEntity();
@@ -1808,7 +1831,9 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("x/y")
                  .createFile("test.txt", "http://localhost:8080/ide/dev6?action=createProject:projectName=test".getBytes(Charset.defaultCharset()));
 
-        ContainerResponse response = launcher.service(GET, "http://localhost:8080/api/project/search/my_project" + queryToSearch,
+        ContainerResponse response = launcher.service(GET,
+                                                      "http://localhost:8080/api/project/search/my_project" + queryToSearch
+                                                      + "&waitForIndex=true",
                                                       "http://localhost:8080/api", null, null, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         List<ItemReference> result = (List<ItemReference>)response.getEntity();
@@ -1827,7 +1852,8 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("c").createFile("test", "test".getBytes(Charset.defaultCharset()));
 
         ContainerResponse response = launcher.service(GET,
-                                                      "http://localhost:8080/api/project/search/my_project?text=test&name=test.txt",
+                                                      "http://localhost:8080/api/project/search/my_project?text=test&name=test.txt"
+                                                      + "&waitForIndex=true",
                                                       "http://localhost:8080/api", null, null, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         List<ItemReference> result = (List<ItemReference>)response.getEntity();
@@ -1851,7 +1877,7 @@ public class ProjectServiceTest {
         myProject.getBaseFolder().createFolder("c").createFile("test.txt", "test".getBytes(Charset.defaultCharset()));
 
         ContainerResponse response = launcher.service(GET,
-                                                      "http://localhost:8080/api/project/search/?text=test&name=test.txt",
+                                                      "http://localhost:8080/api/project/search/?waitForIndex=true&text=test&name=test.txt",
                                                       "http://localhost:8080/api", null, null, null);
         assertEquals(response.getStatus(), 200, "Error: " + response.getEntity());
         List<ItemReference> result = (List<ItemReference>)response.getEntity();
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server.type;
+
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.vfs.Path;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link ValueProviderCache}.
+ */
+public class ValueProviderCacheTest {
+    private static final String ATTRIBUTE = "attribute";
+
+    private ValueProviderCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ValueProviderCache();
+    }
+
+    @Test
+    public void shouldReturnCachedValues() throws Exception {
+        final CountingValueProvider provider = new CountingValueProvider("pom.xml");
+        final FolderEntry project = projectFolder("/project");
+
+        assertEquals(cache.getValues(provider, project, ATTRIBUTE), Collections.singletonList("1"));
+        assertEquals(cache.getValues(provider, project, ATTRIBUTE), Collections.singletonList("1"));
+        assertEquals(provider.calls.get(), 1);
+    }
+
+    @Test
+    public void shouldNotCacheValuesOfProviderWithoutDependencies() throws Exception {
+        final CountingValueProvider provider = new CountingValueProvider();
+        final FolderEntry project = projectFolder("/project");
+
+        cache.getValues(provider, project, ATTRIBUTE);
+        cache.getValues(provider, project, ATTRIBUTE);
+
+        assertEquals(provider.calls.get(), 2);
+    }
+
+    @Test
+    public void shouldInvalidateValuesWhenDependencyIsWritten() throws Exception {
+        final CountingValueProvider provider = new CountingValueProvider("pom.xml");
+        final FolderEntry project = projectFolder("/project");
+        cache.getValues(provider, project, ATTRIBUTE);
+
+        cache.invalidate("/project/pom.xml");
+
+        assertEquals(cache.getValues(provider, project, ATTRIBUTE), Collections.singletonList("2"));
+    }
+
+    @Test
+    public void shouldKeepValuesWhenOtherFileIsWritten() throws Exception {
+        final CountingValueProvider provider = new CountingValueProvider("pom.xml");
+        final FolderEntry project = projectFolder("/project");
+        cache.getValues(provider, project, ATTRIBUTE);
+
+        cache.invalidate("/project/readme.md");
+        cache.invalidate("/other/pom.xml");
+
+        assertEquals(cache.getValues(provider, project, ATTRIBUTE), Collections.singletonList("1"));
+    }
+
+    @Test
+    public void shouldInvalidateValuesWhenFolderWithDependencyIsDeleted() throws Exception {
+        final CountingValueProvider provider = new CountingValueProvider("module/pom.xml");
+        final FolderEntry project = projectFolder("/project");
+        cache.getValues(provider, project, ATTRIBUTE);
+
+        cache.invalidate("/project/module");
+
+        assertEquals(cache.getValues(provider, project, ATTRIBUTE), Collections.singletonList("2"));
+    }
+
+    @Test
+    public void shouldEvictValuesOfProjectsInsideDeletedFolder() throws Exception {
+        final CountingValueProvider provider = new CountingValueProvider("pom.xml");
+        final FolderEntry project = projectFolder("/parent/module");
+        cache.getValues(provider, project, ATTRIBUTE);
+
+        cache.invalidate("/parent");
+
+        assertEquals(cache.getValues(provider, project, ATTRIBUTE), Collections.singletonList("2"));
+    }
+
+    @Test
+    public void shouldEvictEntryOfDeletedFolder() throws Exception {
+        final CountingValueProvider provider = new CountingValueProvider("pom.xml");
+        final FolderEntry folder = projectFolder("/project/estimated");
+        cache.getValues(provider, folder, ATTRIBUTE);
+        cache.getValues(provider, projectFolder("/project"), ATTRIBUTE);
+
+        cache.invalidate("/project/estimated");
+
+        assertEquals(cache.size(), 1);
+        assertEquals(cache.getValues(provider, folder, ATTRIBUTE), Collections.singletonList("3"));
+    }
+
+    @Test
+    public void shouldEvictValuesOfRemovedProjectAndItsModules() throws Exception {
+        final CountingValueProvider parentProvider = new CountingValueProvider("pom.xml");
+        final CountingValueProvider moduleProvider = new CountingValueProvider("pom.xml");
+        final CountingValueProvider otherProvider = new CountingValueProvider("pom.xml");
+        final FolderEntry parent = projectFolder("/parent");
+        final FolderEntry module = projectFolder("/parent/module");
+        final FolderEntry other = projectFolder("/parent-other");
+        cache.getValues(parentProvider, parent, ATTRIBUTE);
+        cache.getValues(moduleProvider, module, ATTRIBUTE);
+        cache.getValues(otherProvider, other, ATTRIBUTE);
+
+        cache.evict("/parent");
+
+        assertEquals(cache.getValues(parentProvider, parent, ATTRIBUTE), Collections.singletonList("2"));
+        assertEquals(cache.getValues(moduleProvider, module, ATTRIBUTE), Collections.singletonList("2"));
+        assertEquals(cache.getValues(otherProvider, other, ATTRIBUTE), Collections.singletonList("1"));
+    }
+
+    private static FolderEntry projectFolder(String path) {
+        final FolderEntry folder = mock(FolderEntry.class);
+        when(folder.getPath()).thenReturn(Path.of(path));
+        return folder;
+    }
+
+    /** Returns number of its calls as value. */
+    private static class CountingValueProvider extends ReadonlyValueProvider {
+        final AtomicInteger calls = new AtomicInteger();
+        final List<String>  dependencies;
+
+        CountingValueProvider(String... dependencies) {
+            this.dependencies = Arrays.asList(dependencies);
+        }
+
+        @Override
+        public List<String> getValues(String attributeName) throws ValueStorageException {
+            return Collections.singletonList(String.valueOf(calls.incrementAndGet()));
+        }
+
+        @Override
+        public List<String> getDependencies() {
+            return dependencies;
+        }
+    }
+}
@@ -14,22 +14,43 @@ import com.google.common.hash.Hashing;
 import com.google.common.io.ByteSource;
 
 import org.eclipse.che.commons.lang.Pair;
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class HashSumsCounterTest {
+    private static final long NOT_RECENTLY_MODIFIED = System.currentTimeMillis() - 60_000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
 
     @Test
     public void countsHashSums() throws Exception {
@@ -45,6 +66,92 @@ public class HashSumsCounterTest {
         assertEquals(expected, hashSums);
     }
 
+    @Test
+    public void countsHashSumsInParallel() throws Exception {
+        VirtualFile fileAB = mockFile("/a/file", "file1".getBytes());
+        VirtualFile fileBA = mockFile("/a/b/file", "file2".getBytes());
+        VirtualFile fileBB = mockFile("/a/b/file2", "file3".getBytes());
+        VirtualFile folderB = mockFolder("/a/b", fileBA, fileBB);
+        VirtualFile folderA = mockFolder("/a", folderB, fileAB);
+        Set<Pair<String, String>> expected = newHashSet(Pair.of(countMd5Sum("file1".getBytes()), "file"),
+                                                        Pair.of(countMd5Sum("file2".getBytes()), "b/file"),
+                                                        Pair.of(countMd5Sum("file3".getBytes()), "b/file2"));
+
+        List<Pair<String, String>> hashSums = new HashSumsCounter(folderA, Hashing.md5(), null, executor).countHashSums();
+
+        assertEquals(3, hashSums.size());
+        assertEquals(expected, newHashSet(hashSums));
+    }
+
+    @Test
+    public void reusesGivenPoolOfThreadsWithoutShuttingItDown() throws Exception {
+        new HashSumsCounter(mockFolder("/a", mockFile("/a/file", "file1".getBytes())), Hashing.md5(), null, executor).countHashSums();
+        VirtualFile folderB = mockFolder("/b", mockFile("/b/file", "file1".getBytes()));
+        List<Pair<String, String>> hashSums = new HashSumsCounter(folderB, Hashing.md5(), null, executor).countHashSums();
+
+        assertFalse(executor.isShutdown());
+        assertEquals(newArrayList(Pair.of(countMd5Sum("file1".getBytes()), "file")), hashSums);
+    }
+
+    @Test
+    public void readsOnlyFilesModifiedSinceHashSumsWereCached() throws Exception {
+        VirtualFile notModifiedFile = mockFile("/a/file", "file1".getBytes());
+        VirtualFile modifiedFile = mockFile("/a/file2", "file2".getBytes());
+        VirtualFile folderA = mockFolder("/a", notModifiedFile, modifiedFile);
+        HashSumsCache cache = new HashSumsCache(null);
+        new HashSumsCounter(folderA, Hashing.md5(), cache, executor).countHashSums();
+
+        when(modifiedFile.getLastModificationDate()).thenReturn(NOT_RECENTLY_MODIFIED + 1000);
+        when(modifiedFile.getContent()).thenReturn(new ByteArrayInputStream("file2 updated".getBytes()));
+        Set<Pair<String, String>> hashSums = newHashSet(new HashSumsCounter(folderA, Hashing.md5(), cache, executor).countHashSums());
+
+        assertEquals(newHashSet(Pair.of(countMd5Sum("file1".getBytes()), "file"),
+                                Pair.of(countMd5Sum("file2 updated".getBytes()), "file2")),
+                     hashSums);
+        verify(notModifiedFile, times(1)).getContent();
+        verify(modifiedFile, times(2)).getContent();
+    }
+
+    @Test
+    public void doesNotCacheHashSumsOfRecentlyModifiedFiles() throws Exception {
+        VirtualFile file = mockFile("/a/file", "file1".getBytes());
+        when(file.getLastModificationDate()).thenReturn(System.currentTimeMillis());
+        VirtualFile folderA = mockFolder("/a", file);
+        HashSumsCache cache = new HashSumsCache(null);
+
+        new HashSumsCounter(folderA, Hashing.md5(), cache, null).countHashSums();
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void persistsHashSumsCache() throws Exception {
+        File cacheFile = new File(temporaryFolder.getRoot(), "md5sums");
+        VirtualFile file = mockFile("/a/file", "file1".getBytes());
+        VirtualFile folderA = mockFolder("/a", file);
+        new HashSumsCounter(folderA, Hashing.md5(), new HashSumsCache(cacheFile), null).countHashSums();
+
+        Set<Pair<String, String>> hashSums = newHashSet(new HashSumsCounter(folderA, Hashing.md5(), new HashSumsCache(cacheFile), null)
+                                                                .countHashSums());
+
+        assertEquals(newHashSet(Pair.of(countMd5Sum("file1".getBytes()), "file")), hashSums);
+        verify(file, times(1)).getContent();
+    }
+
+    @Test
+    public void removesHashSumsOfDeletedFilesFromCache() throws Exception {
+        VirtualFile file = mockFile("/a/file", "file1".getBytes());
+        VirtualFile deletedFile = mockFile("/a/file2", "file2".getBytes());
+        VirtualFile otherFile = mockFile("/b/file", "file3".getBytes());
+        HashSumsCache cache = new HashSumsCache(null);
+        new HashSumsCounter(mockFolder("/a", file, deletedFile), Hashing.md5(), cache, null).countHashSums();
+        new HashSumsCounter(mockFolder("/b", otherFile), Hashing.md5(), cache, null).countHashSums();
+
+        new HashSumsCounter(mockFolder("/a", file), Hashing.md5(), cache, null).countHashSums();
+
+        assertEquals(2, cache.size());
+    }
+
     private String countMd5Sum(byte[] bytes) throws Exception {
         return ByteSource.wrap(bytes).hash(Hashing.md5()).toString();
     }
@@ -55,6 +162,8 @@ public class HashSumsCounterTest {
         when(file.getPath()).thenReturn(Path.of(path));
         when(file.toString()).thenReturn(path);
         when(file.getContent()).thenReturn(new ByteArrayInputStream(content));
+        when(file.getLastModificationDate()).thenReturn(NOT_RECENTLY_MODIFIED);
+        when(file.getLength()).thenReturn((long)content.length);
         accept(file);
         return file;
     }
@@ -41,6 +41,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class FileTreeWatcherTest {
+    private static final long EVENT_TIMEOUT_MILLIS = 10_000;
+
     private File                testDirectory;
     private FileTreeWatcher     fileWatcher;
     private FileWatcherTestTree fileWatcherTestTree;
@@ -298,6 +300,82 @@ public class FileTreeWatcherTest {
         assertEquals(newHashSet(created), newHashSet(createdEvents.getAllValues()));
     }
 
+    @Test
+    public void doesNotRegisterWatchesForExcludedSubtrees() throws Exception {
+        fileWatcherTestTree.createDirectory("", "watched");
+        fileWatcherTestTree.createDirectory("", "node_modules");
+        fileWatcherTestTree.createTree("node_modules", 2, 2);
+
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        PathMatcher excludeMatcher = FileSystems.getDefault().getPathMatcher("glob:node_modules");
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), newHashSet(excludeMatcher), notificationHandler);
+        fileWatcher.startup();
+
+        fileWatcherTestTree.createFile("node_modules");
+        fileWatcherTestTree.createDirectory("node_modules");
+        String file = fileWatcherTestTree.createFile("watched");
+
+        // changes in excluded and watched folders are made at the same time, so once event about watched file is received events
+        // about excluded folder would be received as well if it was watched
+        verify(notificationHandler, timeout(EVENT_TIMEOUT_MILLIS)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), eq(file),
+                                                                                          anyBoolean());
+        awaitNoPendingDirectories();
+
+        assertEquals(2, fileWatcher.getWatchedDirectoriesCount());
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        ArgumentCaptor<String> createdEvents = ArgumentCaptor.forClass(String.class);
+        verify(notificationHandler, times(1)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), createdEvents.capture(), anyBoolean());
+        assertEquals(newHashSet(file), newHashSet(createdEvents.getAllValues()));
+    }
+
+    @Test
+    public void notifiesAboutDirectoriesExcludedFromWatchingButNotAboutTheirContent() throws Exception {
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        PathMatcher excludeMatcher = FileSystems.getDefault().getPathMatcher("glob:node_modules");
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), newHashSet(excludeMatcher), notificationHandler);
+        fileWatcher.startup();
+
+        String excluded = fileWatcherTestTree.createDirectory("", "node_modules");
+        fileWatcherTestTree.createFile(excluded);
+        String file = fileWatcherTestTree.createFile("");
+
+        verify(notificationHandler, timeout(EVENT_TIMEOUT_MILLIS)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), eq(excluded),
+                                                                                          eq(true));
+        verify(notificationHandler, timeout(EVENT_TIMEOUT_MILLIS)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), eq(file),
+                                                                                          eq(false));
+        awaitNoPendingDirectories();
+
+        assertEquals(1, fileWatcher.getWatchedDirectoriesCount());
+        ArgumentCaptor<String> createdEvents = ArgumentCaptor.forClass(String.class);
+        verify(notificationHandler, times(2)).handleFileWatcherEvent(eq(CREATED), eq(testDirectory), createdEvents.capture(), anyBoolean());
+        assertEquals(newHashSet(excluded, file), newHashSet(createdEvents.getAllValues()));
+    }
+
+    @Test
+    public void coalescesBurstOfChangesOfFile() throws Exception {
+        String file = fileWatcherTestTree.createFile("");
+        // modification of file is detected by modification date, make it differ from dates of updates regardless of file system precision
+        assertTrue(new File(testDirectory, file).setLastModified(System.currentTimeMillis() - 10_000));
+
+        FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
+        fileWatcher = new FileTreeWatcher(testDirectory, newHashSet(), notificationHandler);
+        fileWatcher.startup();
+
+        for (int i = 0; i < 10; i++) {
+            fileWatcherTestTree.updateFile(file);
+        }
+
+        verify(notificationHandler, timeout(EVENT_TIMEOUT_MILLIS)).handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), eq(file),
+                                                                                           anyBoolean());
+        awaitNoPendingDirectories();
+
+        verify(notificationHandler, never()).errorOccurred(eq(testDirectory), any(Throwable.class));
+        verify(notificationHandler, times(1)).handleFileWatcherEvent(eq(MODIFIED), eq(testDirectory), eq(file), anyBoolean());
+        assertTrue(fileWatcher.getProcessedEventsCount() > 0);
+        assertEquals(0, fileWatcher.getPendingDirectoriesCount());
+        assertTrue(fileWatcher.getMaxEventLagMillis() >= fileWatcher.getLastEventLagMillis());
+    }
+
     @Test
     public void doesNotNotifyAboutIgnoredFiles() throws Exception {
         FileWatcherNotificationHandler notificationHandler = aNotificationHandler();
@@ -351,6 +429,14 @@ public class FileTreeWatcherTest {
         verify(notificationHandler, timeout(10000)).errorOccurred(eq(testDirectory), eq(error));
     }
 
+    private void awaitNoPendingDirectories() throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + EVENT_TIMEOUT_MILLIS;
+        while (fileWatcher.getPendingDirectoriesCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(0, fileWatcher.getPendingDirectoriesCount());
+    }
+
     private FileWatcherNotificationHandler aNotificationHandler() {
         return mock(FileWatcherNotificationHandler.class);
     }
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.IoUtil;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures throughput of {@link LocalVirtualFileSystem#getChildren(LocalVirtualFile, org.eclipse.che.api.vfs.VirtualFileFilter)} with
+ * growing number of threads. Each thread lists folders of generated tree in loop. Number of folders and number of files in each folder
+ * might be set with the first and the second arguments (100 and 100 by default).
+ * <p/>
+ * It isn't unit test and isn't run during build, run it with {@code main} method.
+ */
+public class LocalVirtualFileSystemListingBenchmark {
+    private static final long DURATION_MILLIS = 3000;
+
+    public static void main(String[] args) throws Exception {
+        final int numberOfFolders = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        final int numberOfFiles = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        final File root = Files.createTempDirectory("vfs-listing-").toFile();
+        try {
+            final LocalVirtualFileSystem fileSystem = new LocalVirtualFileSystem(root, mock(ArchiverFactory.class), null, null);
+            final List<VirtualFile> folders = new ArrayList<>(numberOfFolders);
+            for (int i = 0; i < numberOfFolders; i++) {
+                final VirtualFile folder = fileSystem.getRoot().createFolder("folder" + i);
+                for (int j = 0; j < numberOfFiles; j++) {
+                    folder.createFile("file" + j, "");
+                }
+                folders.add(folder);
+            }
+
+            final int cores = Runtime.getRuntime().availableProcessors();
+            // warm up
+            run(folders, cores);
+            for (int threads = 1; threads <= cores * 2; threads *= 2) {
+                System.out.printf("threads: %3d, listings per second: %10.1f%n", threads, run(folders, threads));
+            }
+        } finally {
+            IoUtil.deleteRecursive(root);
+        }
+    }
+
+    private static double run(List<VirtualFile> folders, int threads) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final AtomicLong listings = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        final long[] end = new long[1];
+        try {
+            for (int i = 0; i < threads; i++) {
+                final int offset = i;
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        int index = offset;
+                        while (System.currentTimeMillis() < end[0]) {
+                            folders.get(index++ % folders.size()).getChildren();
+                            listings.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+            }
+            end[0] = System.currentTimeMillis() + DURATION_MILLIS;
+            start.countDown();
+            Thread.sleep(DURATION_MILLIS);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, MINUTES);
+        }
+        return listings.get() * 1000.0 / DURATION_MILLIS;
+    }
+}
@@ -45,14 +45,21 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -61,6 +68,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -356,6 +364,30 @@ public class LocalVirtualFileTest {
         assertEquals(expectedResult, children);
     }
 
+    @Test
+    public void getsChildrenConcurrently() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+        List<VirtualFile> expectedResult = newArrayList();
+        for (int i = 0; i < 20; i++) {
+            expectedResult.add(folder.createFile(generateFileName(), DEFAULT_CONTENT));
+        }
+        Collections.sort(expectedResult);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<List<VirtualFile>>> listings = newArrayList();
+            for (int i = 0; i < 200; i++) {
+                listings.add(folder::getChildren);
+            }
+            for (Future<List<VirtualFile>> children : executor.invokeAll(listings)) {
+                assertEquals(expectedResult, children.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void getsChild() throws Exception {
         VirtualFile root = getRoot();
@@ -421,6 +453,87 @@ public class LocalVirtualFileTest {
         assertEquals(DEFAULT_CONTENT, content);
     }
 
+    @Test
+    public void transfersContentToStream() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        file.transferContentTo(output);
+
+        assertEquals(DEFAULT_CONTENT, output.toString());
+    }
+
+    @Test
+    public void transfersContentOfBigFileToStream() throws Exception {
+        VirtualFile root = getRoot();
+        byte[] bytes = new byte[LocalVirtualFileSystem.MAX_BUFFER_SIZE * 2];
+        new Random().nextBytes(bytes);
+        VirtualFile file = root.createFile(generateFileName(), bytes);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        file.transferContentTo(output);
+
+        assertTrue(Arrays.equals(bytes, output.toByteArray()));
+    }
+
+    @Test
+    public void doesNotBlockUpdateOfFileWhileContentIsTransferred() throws Exception {
+        VirtualFile root = getRoot();
+        byte[] bytes = new byte[LocalVirtualFileSystem.MAX_BUFFER_SIZE * 2];
+        new Random().nextBytes(bytes);
+        VirtualFile file = root.createFile(generateFileName(), bytes);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream() {
+                @Override
+                public synchronized void write(byte[] b, int off, int len) {
+                    if (size() == 0) {
+                        try {
+                            // client that reads content slowly must not block updates of file
+                            executor.submit(() -> file.updateContent("updated")).get(5, SECONDS);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                    super.write(b, off, len);
+                }
+            };
+            file.transferContentTo(output);
+
+            assertTrue(Arrays.equals(bytes, output.toByteArray()));
+            assertEquals("updated", file.getContentAsString());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void getsContentOfBigFileAsStream() throws Exception {
+        VirtualFile root = getRoot();
+        byte[] bytes = new byte[LocalVirtualFileSystem.MAX_BUFFER_SIZE * 2];
+        new Random().nextBytes(bytes);
+        VirtualFile file = root.createFile(generateFileName(), bytes);
+
+        byte[] content;
+        try (InputStream input = file.getContent()) {
+            content = ByteStreams.toByteArray(input);
+        }
+
+        assertTrue(Arrays.equals(bytes, content));
+    }
+
+    @Test
+    public void failsTransferContentOfFolder() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+
+        thrown.expect(ForbiddenException.class);
+
+        folder.transferContentTo(new ByteArrayOutputStream());
+    }
+
     @Test
     public void failsGetContentOfFolderAsStream() throws Exception {
         VirtualFile root = getRoot();
@@ -1398,6 +1511,23 @@ public class LocalVirtualFileTest {
         verify(archiver).compress(any(OutputStream.class), any(VirtualFileFilter.class));
     }
 
+    @Test
+    public void compressesFolderToZipArchiveInStreamWithoutClosingIt() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        Archiver archiver = mock(Archiver.class);
+        when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
+        doAnswer(invocation -> {
+            ((OutputStream)invocation.getArguments()[0]).close();
+            return null;
+        }).when(archiver).compress(any(OutputStream.class), any(VirtualFileFilter.class));
+        OutputStream output = mock(OutputStream.class);
+
+        folder.zip(output);
+
+        verify(archiver).compress(any(OutputStream.class), any(VirtualFileFilter.class));
+        verify(output, never()).close();
+    }
+
     @Test
     public void failsZipFile() throws Exception {
         VirtualFile root = getRoot();
@@ -1434,6 +1564,15 @@ public class LocalVirtualFileTest {
         verify(archiver).compress(any(OutputStream.class), any(VirtualFileFilter.class));
     }
 
+    @Test
+    public void compressFolderToTarArchiveInStream() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        Archiver archiver = mock(Archiver.class);
+        when(archiverFactory.createArchiver(eq(folder), eq("tar"))).thenReturn(archiver);
+        folder.tar(new ByteArrayOutputStream());
+        verify(archiver).compress(any(OutputStream.class), any(VirtualFileFilter.class));
+    }
+
     @Test
     public void failsTarFile() throws Exception {
         VirtualFile root = getRoot();
@@ -34,6 +34,7 @@ import org.junit.rules.ExpectedException;
 import org.mockito.Mockito;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Collections;
@@ -357,6 +358,27 @@ public class MemoryVirtualFileTest {
         assertEquals(DEFAULT_CONTENT, content);
     }
 
+    @Test
+    public void transfersContentToStream() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile file = root.createFile(generateFileName(), DEFAULT_CONTENT);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        file.transferContentTo(output);
+
+        assertEquals(DEFAULT_CONTENT, output.toString());
+    }
+
+    @Test
+    public void failsTransferContentOfFolder() throws Exception {
+        VirtualFile root = getRoot();
+        VirtualFile folder = root.createFolder(generateFolderName());
+
+        thrown.expect(ForbiddenException.class);
+
+        folder.transferContentTo(new ByteArrayOutputStream());
+    }
+
     @Test
     public void failsGetContentOfFolderAsStream() throws Exception {
         VirtualFile root = getRoot();
@@ -1309,6 +1331,19 @@ public class MemoryVirtualFileTest {
         verify(archiver).compress(any(OutputStream.class));
     }
 
+    @Test
+    public void compressesFolderToZipArchiveInStream() throws Exception {
+        VirtualFile folder = getRoot().createFolder(generateFolderName());
+        Archiver archiver = mock(Archiver.class);
+        when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
+        OutputStream output = mock(OutputStream.class);
+
+        folder.zip(output);
+
+        verify(archiver).compress(any(OutputStream.class));
+        verify(output, never()).close();
+    }
+
     @Test
     public void failsZipFile() throws Exception {
         VirtualFile root = getRoot();
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search;
+
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IndexUpdateQueueTest {
+    private static final long BATCH_DELAY_MILLIS = 10_000;
+    private static final long TIMEOUT_MILLIS     = 5_000;
+
+    private Searcher         searcher;
+    private IndexUpdateQueue indexUpdateQueue;
+
+    @Before
+    public void setUp() throws Exception {
+        searcher = mock(Searcher.class);
+        indexUpdateQueue = new IndexUpdateQueue(() -> searcher, BATCH_DELAY_MILLIS, 1000);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        indexUpdateQueue.close();
+    }
+
+    @Test
+    public void doesNotApplyUpdatesUntilBatchDelayElapses() throws Exception {
+        VirtualFile file = mockFile("/a/file.txt", true);
+
+        indexUpdateQueue.add(file);
+
+        Thread.sleep(100);
+        verify(searcher, never()).add(any(VirtualFile.class));
+        assertEquals(1, indexUpdateQueue.getQueueDepth());
+    }
+
+    @Test
+    public void appliesPendingUpdatesWhenCallerAwaitsIndex() throws Exception {
+        VirtualFile file = mockFile("/a/file.txt", true);
+
+        indexUpdateQueue.add(file);
+
+        assertTrue(indexUpdateQueue.awaitIndexed(TIMEOUT_MILLIS));
+        verify(searcher).add(file);
+        assertEquals(0, indexUpdateQueue.getQueueDepth());
+        assertEquals(0, indexUpdateQueue.getLagMillis());
+        assertEquals(1, indexUpdateQueue.getAppliedUpdatesCount());
+    }
+
+    @Test
+    public void coalescesUpdatesOfTheSameFile() throws Exception {
+        VirtualFile file = mockFile("/a/file.txt", true);
+
+        indexUpdateQueue.update(file);
+        indexUpdateQueue.update(file);
+        indexUpdateQueue.update(file);
+
+        assertTrue(indexUpdateQueue.awaitIndexed(TIMEOUT_MILLIS));
+        verify(searcher, times(1)).update(file);
+        assertEquals(3, indexUpdateQueue.getAddedUpdatesCount());
+        assertEquals(2, indexUpdateQueue.getCoalescedUpdatesCount());
+        assertEquals(1, indexUpdateQueue.getAppliedUpdatesCount());
+    }
+
+    @Test
+    public void doesNotUpdateIndexForFileThatIsDeletedBeforeUpdatesAreApplied() throws Exception {
+        VirtualFile file = mockFile("/a/file.txt", true);
+
+        indexUpdateQueue.add(file);
+        indexUpdateQueue.update(file);
+        indexUpdateQueue.delete("/a/file.txt", true);
+
+        assertTrue(indexUpdateQueue.awaitIndexed(TIMEOUT_MILLIS));
+        verify(searcher, never()).add(any(VirtualFile.class));
+        verify(searcher, never()).update(any(VirtualFile.class));
+        verify(searcher).delete("/a/file.txt", true);
+    }
+
+    @Test
+    public void deletesOldEntriesBeforeAddingNewOnesWhenFileIsReplacedWithFolder() throws Exception {
+        VirtualFile folder = mockFile("/a/item", false);
+
+        indexUpdateQueue.delete("/a/item", true);
+        indexUpdateQueue.add(folder);
+
+        assertTrue(indexUpdateQueue.awaitIndexed(TIMEOUT_MILLIS));
+        InOrder inOrder = inOrder(searcher);
+        inOrder.verify(searcher).delete("/a/item", true);
+        inOrder.verify(searcher).add(folder);
+    }
+
+    @Test
+    public void appliesUpdatesInOrderOfTheirLastChange() throws Exception {
+        VirtualFile first = mockFile("/a/first.txt", true);
+        VirtualFile second = mockFile("/a/second.txt", true);
+
+        indexUpdateQueue.update(first);
+        indexUpdateQueue.update(second);
+        indexUpdateQueue.update(first);
+
+        assertTrue(indexUpdateQueue.awaitIndexed(TIMEOUT_MILLIS));
+        InOrder inOrder = inOrder(searcher);
+        inOrder.verify(searcher).update(second);
+        inOrder.verify(searcher).update(first);
+    }
+
+    @Test
+    public void skipsUpdatesOfFilesThatDoNotExistAnyMore() throws Exception {
+        VirtualFile file = mockFile("/a/file.txt", true);
+        when(file.exists()).thenReturn(false);
+
+        indexUpdateQueue.update(file);
+
+        assertTrue(indexUpdateQueue.awaitIndexed(TIMEOUT_MILLIS));
+        verify(searcher, never()).update(any(VirtualFile.class));
+    }
+
+    @Test
+    public void appliesPendingUpdatesWhenClosed() throws Exception {
+        VirtualFile file = mockFile("/a/file.txt", true);
+
+        indexUpdateQueue.add(file);
+        indexUpdateQueue.close();
+
+        verify(searcher).add(file);
+    }
+
+    @Test
+    public void ignoresUpdatesAfterClosing() throws Exception {
+        indexUpdateQueue.close();
+
+        indexUpdateQueue.delete("/a/file.txt", true);
+
+        verify(searcher, never()).delete(anyString(), anyBoolean());
+        assertEquals(0, indexUpdateQueue.getQueueDepth());
+    }
+
+    private VirtualFile mockFile(String path, boolean isFile) {
+        VirtualFile file = mock(VirtualFile.class);
+        when(file.getPath()).thenReturn(Path.of(path));
+        when(file.isFile()).thenReturn(isFile);
+        when(file.isFolder()).thenReturn(!isFile);
+        when(file.exists()).thenReturn(true);
+        return file;
+    }
+}
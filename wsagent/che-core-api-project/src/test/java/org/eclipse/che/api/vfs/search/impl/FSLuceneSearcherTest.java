@@ -11,13 +11,19 @@
 package org.eclipse.che.api.vfs.search.impl;
 
 import com.google.common.base.Optional;
+import com.google.common.base.Strings;
 
+import org.apache.lucene.document.Document;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
 import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchOccurrence;
 import org.eclipse.che.api.vfs.search.SearchResult;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
@@ -29,8 +35,11 @@ import org.mockito.ArgumentMatcher;
 import java.io.File;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Sets.newHashSet;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -84,6 +93,124 @@ public class FSLuceneSearcherTest {
         assertEquals(newArrayList("/folder/zzz.txt"), paths);
     }
 
+    @Test
+    public void reconcilesExistedIndexWithFileSystemOnInit() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("xxx.txt", TEST_CONTENT[2]);
+        VirtualFile yyy = folder.createFile("yyy.txt", TEST_CONTENT[2]);
+        VirtualFile zzz = folder.createFile("zzz.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+        searcher.close();
+
+        yyy.updateContent(TEST_CONTENT[1]);
+        zzz.delete();
+        folder.createFile("www.txt", TEST_CONTENT[2]);
+
+        List<String> indexedFiles = new CopyOnWriteArrayList<>();
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback) {
+            @Override
+            Document createDocument(VirtualFile virtualFile) throws ServerException {
+                indexedFiles.add(virtualFile.getPath().toString());
+                return super.createDocument(virtualFile);
+            }
+        };
+        searcher.init(virtualFileSystem);
+
+        assertEquals(newHashSet("/folder/www.txt", "/folder/yyy.txt"), newHashSet(indexedFiles));
+        List<String> paths = searcher.search(new QueryExpression().setText("be")).getFilePaths();
+        assertEquals(newHashSet("/folder/www.txt", "/folder/xxx.txt"), newHashSet(paths));
+        paths = searcher.search(new QueryExpression().setText("should")).getFilePaths();
+        assertEquals(newArrayList("/folder/yyy.txt"), paths);
+    }
+
+    @Test
+    public void doesNotHashFileAgainIfOnlyItsModificationDateWasChangedSinceLastReconciliation() throws Exception {
+        File fsRoot = new File(indexDirectory.getParentFile(), NameGenerator.generate("fs-", 4));
+        try {
+            VirtualFileSystem virtualFileSystem = new LocalVirtualFileSystemProvider(fsRoot, null).getVirtualFileSystem();
+            virtualFileSystem.getRoot().createFile("xxx.txt", TEST_CONTENT[2]);
+            searcher.init(virtualFileSystem);
+            searcher.close();
+            File ioFile = new File(fsRoot, "xxx.txt");
+            assertTrue(ioFile.setLastModified(ioFile.lastModified() - 60000));
+
+            List<String> hashedFiles = new CopyOnWriteArrayList<>();
+            List<String> indexedFiles = new CopyOnWriteArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback) {
+                    @Override
+                    String hashContent(VirtualFile virtualFile) throws ServerException {
+                        hashedFiles.add(virtualFile.getPath().toString());
+                        return super.hashContent(virtualFile);
+                    }
+
+                    @Override
+                    Document createDocument(VirtualFile virtualFile) throws ServerException {
+                        indexedFiles.add(virtualFile.getPath().toString());
+                        return super.createDocument(virtualFile);
+                    }
+                };
+                searcher.init(virtualFileSystem);
+                searcher.close();
+            }
+
+            assertEquals(newArrayList("/xxx.txt"), hashedFiles);
+            assertTrue(indexedFiles.isEmpty());
+        } finally {
+            IoUtil.deleteRecursive(fsRoot);
+        }
+    }
+
+    @Test
+    public void indexesFileTreeInParallelWithBatches() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 10; i++) {
+            VirtualFile folder = virtualFileSystem.getRoot().createFolder(String.format("folder%d/a/b", i));
+            for (int j = 0; j < 25; j++) {
+                folder.createFile(String.format("file%02d", j), TEST_CONTENT[j % TEST_CONTENT.length]);
+            }
+        }
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 4, 7);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("mission"));
+        assertEquals(60, result.getTotalHits());
+        result = searcher.search(new QueryExpression().setText("be").setPath("/folder3"));
+        assertEquals(6, result.getTotalHits());
+    }
+
+    @Test
+    public void indexesOnlyBeginningOfLargeFileButHashesWholeContent() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        String content = "Apollo " + Strings.repeat("filler ", 200_000) + "milestones";
+        VirtualFile file = virtualFileSystem.getRoot().createFile("large.txt", content);
+        searcher.init(virtualFileSystem);
+
+        assertEquals(1, searcher.search(new QueryExpression().setText("apollo")).getTotalHits());
+        assertEquals(0, searcher.search(new QueryExpression().setText("milestones")).getTotalHits());
+        assertEquals(searcher.hashContent(file), searcher.createDocument(file).get("hash"));
+    }
+
+    @Test
+    public void replacesDocumentsOfFilesWhenFileTreeIsIndexedAgain() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        for (int i = 0; i < 20; i++) {
+            folder.createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher = new FSLuceneSearcher(indexDirectory, filter, closeCallback, 2, 3);
+        searcher.init(virtualFileSystem);
+
+        folder.getChild(Path.of("file00")).updateContent(TEST_CONTENT[1]);
+        searcher.add(folder);
+        searcher.add(folder);
+
+        assertEquals(5, searcher.search(new QueryExpression().setText("mission")).getTotalHits());
+        assertEquals(6, searcher.search(new QueryExpression().setText("think")).getTotalHits());
+        assertEquals(4, searcher.search(new QueryExpression().setText("spaceflight")).getTotalHits());
+    }
+
     @Test
     public void addsSingleFileInIndex() throws Exception {
         VirtualFileSystem virtualFileSystem = virtualFileSystem();
@@ -294,6 +421,148 @@ public class FSLuceneSearcherTest {
         assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
     }
 
+    @Test
+    public void retrievesNextPageWithCursorFromSameIndexSnapshot() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(8));
+        assertEquals(8, firstPage.getFilePaths().size());
+        assertTrue(firstPage.getNextPageCursor().isPresent());
+
+        searcher.add(virtualFileSystem.getRoot().createFile("file100", TEST_CONTENT[0]));
+
+        SearchResult lastPage = searcher.search(new QueryExpression().setText("spaceflight")
+                                                                     .setMaxItems(100)
+                                                                     .setCursor(firstPage.getNextPageCursor().get()));
+        assertEquals(25, lastPage.getTotalHits());
+        assertEquals(17, lastPage.getFilePaths().size());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), lastPage.getFilePaths()));
+        assertFalse(lastPage.getNextPageCursor().isPresent());
+
+        assertEquals(26, searcher.search(new QueryExpression().setText("spaceflight")).getTotalHits());
+    }
+
+    @Test
+    public void retrievesDifferentFilesOnEachPageWithCursor() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        for (int i = 0; i < 100; i++) {
+            virtualFileSystem.getRoot().createFile(String.format("file%02d", i), TEST_CONTENT[i % TEST_CONTENT.length]);
+        }
+        searcher.init(virtualFileSystem);
+
+        SearchResult firstPage = searcher.search(new QueryExpression().setText("spaceflight").setMaxItems(10));
+        SearchResult secondPage = searcher.search(new QueryExpression().setText("spaceflight")
+                                                                       .setMaxItems(10)
+                                                                       .setCursor(firstPage.getNextPageCursor().get()));
+        SearchResult thirdPage = searcher.search(new QueryExpression().setText("spaceflight")
+                                                                      .setMaxItems(10)
+                                                                      .setCursor(secondPage.getNextPageCursor().get()));
+
+        assertEquals(10, secondPage.getFilePaths().size());
+        assertTrue(Collections.disjoint(firstPage.getFilePaths(), secondPage.getFilePaths()));
+        assertEquals(5, thirdPage.getFilePaths().size());
+        assertFalse(thirdPage.getNextPageCursor().isPresent());
+        Set<String> allPaths = newHashSet(firstPage.getFilePaths());
+        allPaths.addAll(secondPage.getFilePaths());
+        allPaths.addAll(thirdPage.getFilePaths());
+        assertEquals(25, allPaths.size());
+    }
+
+    @Test
+    public void returnsOccurrencesOfSearchedTextWhenRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", "first line\n" + TEST_CONTENT[2] + "\nthird be");
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setIncludeOccurrences(true));
+
+        assertEquals(1, result.getResults().size());
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(3, occurrences.size());
+        assertEquals(2, occurrences.get(0).getLineNumber());
+        assertEquals(14, occurrences.get(0).getStartOffset());
+        assertEquals(16, occurrences.get(0).getEndOffset());
+        assertEquals(TEST_CONTENT[2], occurrences.get(0).getLineContent());
+        assertEquals(2, occurrences.get(1).getLineNumber());
+        assertEquals(27, occurrences.get(1).getStartOffset());
+        assertEquals(3, occurrences.get(2).getLineNumber());
+        assertEquals(36, occurrences.get(2).getStartOffset());
+        assertEquals("third be", occurrences.get(2).getLineContent());
+    }
+
+    @Test
+    public void returnsContentOfLongLinesAroundOccurrencesOfSearchedText() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        String longLine = "be " + Strings.repeat("filler ", 1000);
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", longLine + "\n" + Strings.repeat("filler ", 100_000));
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be").setIncludeOccurrences(true));
+
+        List<SearchOccurrence> occurrences = result.getResults().get(0).getOccurrences();
+        assertEquals(1, occurrences.size());
+        assertEquals(1, occurrences.get(0).getLineNumber());
+        assertEquals(longLine.substring(0, 256), occurrences.get(0).getLineContent());
+    }
+
+    @Test
+    public void doesNotReturnOccurrencesOfSearchedTextWhenTheyAreNotRequested() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        virtualFileSystem.getRoot().createFolder("folder").createFile("xxx.txt", TEST_CONTENT[2]);
+        searcher.init(virtualFileSystem);
+
+        SearchResult result = searcher.search(new QueryExpression().setText("be"));
+
+        assertEquals(1, result.getResults().size());
+        assertTrue(result.getResults().get(0).getOccurrences().isEmpty());
+    }
+
+    @Test
+    public void searchesIdentifiersAndPartsOfIdentifiersInSourceCode() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("Foo.java", "return this.getFooBar();");
+        folder.createFile("Bar.java", "return this.getBar();");
+        searcher.init(virtualFileSystem);
+
+        assertEquals(newArrayList("/folder/Foo.java"), searcher.search(new QueryExpression().setText("getFooBar")).getFilePaths());
+        assertEquals(newArrayList("/folder/Foo.java"), searcher.search(new QueryExpression().setText("foo")).getFilePaths());
+        assertEquals(newArrayList("/folder/Bar.java", "/folder/Foo.java"),
+                     searcher.search(new QueryExpression().setText("this")).getFilePaths());
+    }
+
+    @Test
+    public void searchesSubstring() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("Foo.java", "return this.getFooBar();");
+        folder.createFile("Bar.java", "return this.getBar();");
+        searcher.init(virtualFileSystem);
+
+        assertEquals(newArrayList("/folder/Foo.java"), searcher.search(new QueryExpression().setSubstring("etFoo")).getFilePaths());
+        assertEquals(newArrayList("/folder/Bar.java", "/folder/Foo.java"),
+                     searcher.search(new QueryExpression().setSubstring("s.get")).getFilePaths());
+        assertEquals(newArrayList("/folder/Foo.java"), searcher.search(new QueryExpression().setSubstring("oB")).getFilePaths());
+        assertTrue(searcher.search(new QueryExpression().setSubstring("getBarFoo")).getFilePaths().isEmpty());
+    }
+
+    @Test
+    public void searchesWithRegularExpression() throws Exception {
+        VirtualFileSystem virtualFileSystem = virtualFileSystem();
+        VirtualFile folder = virtualFileSystem.getRoot().createFolder("folder");
+        folder.createFile("Foo.java", "return this.getFooBar();");
+        folder.createFile("Bar.java", "return this.getBar();");
+        searcher.init(virtualFileSystem);
+
+        assertEquals(newArrayList("/folder/Foo.java"), searcher.search(new QueryExpression().setRegex("get.+bar")).getFilePaths());
+        assertEquals(newArrayList("/folder/Bar.java", "/folder/Foo.java"),
+                     searcher.search(new QueryExpression().setRegex("get(foo)?bar")).getFilePaths());
+    }
+
     private VirtualFileSystem virtualFileSystem() throws Exception {
         return new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
     }
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.search.impl;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.core.LowerCaseFilter;
+import org.apache.lucene.analysis.core.WhitespaceTokenizer;
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.VirtualFileSystem;
+import org.eclipse.che.api.vfs.impl.memory.MemoryVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares latency of queries against index built with {@link SourceCodeAnalyzer} and {@link TrigramAnalyzer} with latency of
+ * queries against index built with whitespace analyzer that was used before. Sample repository is generated, its size might be set
+ * with the first argument (number of files, 20000 by default).
+ * <p/>
+ * It isn't unit test and isn't run during build, run it with {@code main} method.
+ */
+public class LuceneSearcherAnalyzerBenchmark {
+    private static final int      WARM_UP_ITERATIONS = 50;
+    private static final int      ITERATIONS         = 200;
+    private static final String[] WORDS              = {"get", "set", "is", "Foo", "Bar", "Workspace", "Project", "Machine", "Config",
+                                                        "Item", "Value", "Name", "Path", "Type", "Status", "Event", "Listener"};
+
+    public static void main(String[] args) throws Exception {
+        final int numberOfFiles = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        final VirtualFileSystem virtualFileSystem = generateSampleRepository(numberOfFiles);
+        final VirtualFileFilter acceptAll = file -> true;
+
+        final LuceneSearcher whitespaceSearcher = new MemoryLuceneSearcher(acceptAll, null) {
+            @Override
+            protected Analyzer makeAnalyzer() {
+                return new Analyzer() {
+                    @Override
+                    protected TokenStreamComponents createComponents(String fieldName) {
+                        Tokenizer tokenizer = new WhitespaceTokenizer();
+                        TokenStream filter = new LowerCaseFilter(tokenizer);
+                        return new TokenStreamComponents(tokenizer, filter);
+                    }
+                };
+            }
+
+            @Override
+            protected Analyzer makeQueryAnalyzer() {
+                return makeAnalyzer();
+            }
+        };
+        final LuceneSearcher sourceCodeSearcher = new MemoryLuceneSearcher(acceptAll, null);
+        try {
+            System.out.printf("Indexing with whitespace analyzer: %d ms%n", time(() -> whitespaceSearcher.init(virtualFileSystem)));
+            System.out.printf("Indexing with source code analyzer: %d ms%n", time(() -> sourceCodeSearcher.init(virtualFileSystem)));
+
+            run("identifier", whitespaceSearcher, sourceCodeSearcher, name -> new QueryExpression().setText("getWorkspaceConfig"));
+            run("part of identifier", whitespaceSearcher, sourceCodeSearcher, name -> new QueryExpression().setText("Workspace"));
+            run("substring (regex vs trigrams)", whitespaceSearcher, sourceCodeSearcher,
+                name -> "whitespace".equals(name) ? new QueryExpression().setRegex(".*etworkspacecon.*")
+                                                  : new QueryExpression().setSubstring("etWorkspaceCon"));
+        } finally {
+            whitespaceSearcher.close();
+            sourceCodeSearcher.close();
+        }
+    }
+
+    private static void run(String title,
+                            LuceneSearcher whitespaceSearcher,
+                            LuceneSearcher sourceCodeSearcher,
+                            Function<String, QueryExpression> queryFactory) throws Exception {
+        final QueryExpression whitespaceQuery = queryFactory.apply("whitespace");
+        final QueryExpression sourceCodeQuery = queryFactory.apply("source code");
+        System.out.printf("%s%n", title);
+        System.out.printf("    whitespace analyzer:  %8.3f ms, hits: %d%n", measure(whitespaceSearcher, whitespaceQuery),
+                          whitespaceSearcher.search(whitespaceQuery).getTotalHits());
+        System.out.printf("    source code analyzer: %8.3f ms, hits: %d%n", measure(sourceCodeSearcher, sourceCodeQuery),
+                          sourceCodeSearcher.search(sourceCodeQuery).getTotalHits());
+    }
+
+    private static double measure(LuceneSearcher searcher, QueryExpression query) throws Exception {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            searcher.search(query);
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            searcher.search(query);
+        }
+        return (System.nanoTime() - start) / 1_000_000.0 / ITERATIONS;
+    }
+
+    private static VirtualFileSystem generateSampleRepository(int numberOfFiles) throws Exception {
+        final VirtualFileSystem virtualFileSystem = new MemoryVirtualFileSystem(mock(ArchiverFactory.class), null);
+        final Random random = new Random(42);
+        VirtualFile folder = null;
+        for (int i = 0; i < numberOfFiles; i++) {
+            if (i % 100 == 0) {
+                folder = virtualFileSystem.getRoot().createFolder(String.format("src/module%d/pkg%d", i / 1000, i / 100));
+            }
+            final StringBuilder content = new StringBuilder();
+            for (int line = 0; line < 50; line++) {
+                content.append("        result = this.")
+                       .append(identifier(random))
+                       .append('(')
+                       .append(identifier(random))
+                       .append(");\n");
+            }
+            folder.createFile(String.format("File%d.java", i), content.toString());
+        }
+        return virtualFileSystem;
+    }
+
+    private static String identifier(Random random) {
+        return WORDS[random.nextInt(3)] + WORDS[3 + random.nextInt(WORDS.length - 3)] + WORDS[3 + random.nextInt(WORDS.length - 3)];
+    }
+
+    private static long time(Action action) throws Exception {
+        final long start = System.currentTimeMillis();
+        action.run();
+        return System.currentTimeMillis() - start;
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+}
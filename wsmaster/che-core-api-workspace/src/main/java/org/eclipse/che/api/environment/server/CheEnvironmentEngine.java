@@ -12,6 +12,7 @@ package org.eclipse.che.api.environment.server;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.core.ApiException;
@@ -59,6 +60,7 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.slf4j.Logger;
 
 import javax.annotation.PostConstruct;
@@ -70,15 +72,26 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptySet;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.DIE;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.OOM;
@@ -96,6 +109,9 @@ public class CheEnvironmentEngine {
 
     private static final Logger LOG = getLogger(CheEnvironmentEngine.class);
 
+    /** Max number of machines of one environment which are started at the same time. */
+    private static final int MAX_PARALLEL_MACHINE_STARTS = 4;
+
     private final Map<String, EnvironmentHolder> environments;
     private final StripedLocks                   stripedLocks;
     private final File                           machineLogsDir;
@@ -110,6 +126,7 @@ public class CheEnvironmentEngine {
     private final RecipeDownloader             recipeDownloader;
     private final Pattern                      recipeApiPattern;
     private final ContainerNameGenerator       containerNameGenerator;
+    private final ExecutorService              machineStartExecutor;
 
     private volatile boolean isPreDestroyInvoked;
 
@@ -143,6 +160,9 @@ public class CheEnvironmentEngine {
                                                 apiEndpoint.substring(apiEndpoint.indexOf(":")) +
                                                 "/recipe/.*$");
         this.containerNameGenerator = containerNameGenerator;
+        this.machineStartExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("CheEnvironmentEngine-%d")
+                                                                                            .setDaemon(true)
+                                                                                            .build());
 
         eventService.subscribe(new MachineCleaner());
     }
@@ -533,10 +553,12 @@ public class CheEnvironmentEngine {
                   environment);
 
         List<String> servicesOrder = startStrategy.order(environment);
+        Map<String, Set<String>> startDependencies = startStrategy.getDependencies(environment);
 
         normilizeVolumesFrom(environment);
 
         EnvironmentHolder environmentHolder = new EnvironmentHolder(servicesOrder,
+                                                                    startDependencies,
                                                                     environment,
                                                                     messageConsumer,
                                                                     EnvStatus.STARTING,
@@ -642,7 +664,13 @@ public class CheEnvironmentEngine {
     }
 
     /**
-     * Starts all machine from machine queue of environment.
+     * Starts all machines from start queue of environment.
+     * <p/>
+     * Machine is started as soon as all the machines it depends on are started, so machines
+     * which don't depend on each other are started in parallel, but not more than
+     * {@link #MAX_PARALLEL_MACHINE_STARTS} at once. If start of any machine fails then no more
+     * machines are started, machines which are being started are awaited and then the whole
+     * environment is destroyed.
      */
     private void startEnvironmentQueue(String namespace,
                                        String workspaceId,
@@ -650,11 +678,10 @@ public class CheEnvironmentEngine {
                                        String networkId,
                                        boolean recover)
             throws ServerException {
-        // Starting all machines in environment one by one by getting configs
-        // from the corresponding starting queue.
-        // Config will be null only if there are no machines left in the queue
         String envName;
         MessageConsumer<MachineLogMessage> envLogger;
+        List<String> startOrder;
+        Map<String, Set<String>> startDependencies;
         try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
             if (environmentHolder == null) {
@@ -662,120 +689,80 @@ public class CheEnvironmentEngine {
             }
             envName = environmentHolder.name;
             envLogger = environmentHolder.logger;
+            startOrder = new ArrayList<>(environmentHolder.startQueue);
+            startDependencies = environmentHolder.startDependencies;
         }
 
         try {
             machineProvider.createNetwork(networkId);
 
-            String machineName = queuePeekOrFail(workspaceId);
-            while (machineName != null) {
-                boolean isDev = devMachineName.equals(machineName);
-                // Environment start is failed when any machine start is failed, so if any error
-                // occurs during machine creation then environment start fail is reported and
-                // start resources such as queue and descriptor must be cleaned up
-                String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
-
-                CheServiceImpl service;
-                try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder == null) {
-                        throw new ServerException("Environment start is interrupted.");
+            String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
+            // machines which are not started yet, in order of their weights in dependency graph
+            Set<String> notStarted = new LinkedHashSet<>(startOrder);
+            Set<String> started = new HashSet<>();
+            CompletionService<String> machineStarts = new ExecutorCompletionService<>(machineStartExecutor);
+            int starting = 0;
+            Throwable failure = null;
+            while (starting > 0 || (failure == null && !notStarted.isEmpty())) {
+                if (failure == null) {
+                    try {
+                        ensureEnvironmentIsStarting(workspaceId);
+                        for (Iterator<String> it = notStarted.iterator(); it.hasNext() && starting < MAX_PARALLEL_MACHINE_STARTS; ) {
+                            String machineName = it.next();
+                            if (started.containsAll(startDependencies.getOrDefault(machineName, emptySet()))) {
+                                it.remove();
+                                machineStarts.submit(ThreadLocalPropagateContext.wrap(() -> {
+                                    startMachine(namespace,
+                                                 workspaceId,
+                                                 envName,
+                                                 envLogger,
+                                                 machineName,
+                                                 devMachineName.equals(machineName),
+                                                 networkId,
+                                                 creator,
+                                                 recover);
+                                    return machineName;
+                                }));
+                                starting++;
+                            }
+                        }
+                    } catch (ServerException | RuntimeException e) {
+                        failure = e;
                     }
-                    service = environmentHolder.environment.getServices().get(machineName);
-                }
-                // should not happen
-                if (service == null) {
-                    LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-                              machineName, workspaceId);
-                    throw new ServerException(
-                            format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
                 }
-
-                final String finalMachineName = machineName;
-                // needed to reuse startInstance method and
-                // create machine instances by different implementation-specific providers
-                MachineStarter machineStarter = (machineLogger, machineSource) -> {
-                    CheServiceImpl serviceWithCorrectSource = getServiceWithCorrectSource(service, machineSource);
-                    return machineProvider.startService(namespace,
-                                                        workspaceId,
-                                                        envName,
-                                                        finalMachineName,
-                                                        isDev,
-                                                        networkId,
-                                                        serviceWithCorrectSource,
-                                                        machineLogger);
-                };
-
-                MachineImpl machine =
-                        MachineImpl.builder()
-                                   .setConfig(MachineConfigImpl.builder()
-                                                               .setDev(isDev)
-                                                               .setLimits(new MachineLimitsImpl(
-                                                                       bytesToMB(service.getMemLimit())))
-                                                               .setType("docker")
-                                                               .setName(machineName)
-                                                               .setEnvVariables(service.getEnvironment())
-                                                               .build())
-                                   .setId(service.getId())
-                                   .setWorkspaceId(workspaceId)
-                                   .setStatus(MachineStatus.CREATING)
-                                   .setEnvName(envName)
-                                   .setOwner(creator)
-                                   .build();
-
-                Instance instance = startInstance(recover,
-                                                  envLogger,
-                                                  machine,
-                                                  machineStarter);
-
-                // Machine destroying is an expensive operation which must be
-                // performed outside of the lock, this section checks if
-                // the environment wasn't stopped while it is starting and sets
-                // polled flag to true if the environment wasn't stopped.
-                // Also polls the proceeded machine configuration from the queue
-                boolean queuePolled = false;
-                try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
-                    ensurePreDestroyIsNotExecuted();
-                    EnvironmentHolder environmentHolder = environments.get(workspaceId);
-                    if (environmentHolder != null) {
-                        final Queue<String> queue = environmentHolder.startQueue;
-                        if (queue != null) {
-                            queue.poll();
-                            queuePolled = true;
-                        }
+                if (starting == 0) {
+                    if (failure == null) {
+                        // should not happen, cyclic dependencies are rejected by start strategy
+                        failure = new ServerException(format("Machines '%s' can't be started because of their dependencies",
+                                                             String.join(", ", notStarted)));
                     }
+                    break;
                 }
 
-                // If machine config is not polled from the queue
-                // then environment was stopped and newly created machine
-                // must be destroyed
-                if (!queuePolled) {
-                    try {
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-
-                        instance.destroy();
-
-                        removeMachine(workspaceId, instance.getId());
-
-                        eventService.publish(newDto(MachineStatusEvent.class)
-                                                     .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                                                     .withDev(isDev)
-                                                     .withMachineName(machineName)
-                                                     .withMachineId(instance.getId())
-                                                     .withWorkspaceId(workspaceId));
-                    } catch (MachineException e) {
-                        LOG.error(e.getLocalizedMessage(), e);
+                try {
+                    Future<String> machineStart = machineStarts.take();
+                    starting--;
+                    started.add(machineStart.get());
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
                     }
-                    throw new ServerException("Workspace '" + workspaceId +
-                                              "' start interrupted. Workspace stopped before all its machines started");
+                } catch (InterruptedException e) {
+                    // machines which are being started destroy themselves when they find environment removed
+                    Thread.currentThread().interrupt();
+                    failure = new ServerException("Environment start is interrupted.");
+                    break;
                 }
+            }
 
-                machineName = queuePeekOrFail(workspaceId);
+            if (failure instanceof ServerException) {
+                throw (ServerException)failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException)failure;
+            } else if (failure instanceof Error) {
+                throw (Error)failure;
+            } else if (failure != null) {
+                throw new ServerException(failure.getLocalizedMessage(), failure);
             }
         } catch (RuntimeException | ServerException e) {
             EnvironmentHolder env;
@@ -792,6 +779,122 @@ public class CheEnvironmentEngine {
         }
     }
 
+    /**
+     * Starts machine from start queue of environment and removes it from the queue.
+     */
+    private void startMachine(String namespace,
+                              String workspaceId,
+                              String envName,
+                              MessageConsumer<MachineLogMessage> envLogger,
+                              String machineName,
+                              boolean isDev,
+                              String networkId,
+                              String creator,
+                              boolean recover)
+            throws ServerException {
+        // Environment start is failed when any machine start is failed, so if any error
+        // occurs during machine creation then environment start fail is reported and
+        // start resources such as queue and descriptor must be cleaned up
+        CheServiceImpl service;
+        try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder == null) {
+                throw new ServerException("Environment start is interrupted.");
+            }
+            service = environmentHolder.environment.getServices().get(machineName);
+        }
+        // should not happen
+        if (service == null) {
+            LOG.error("Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+                      machineName, workspaceId);
+            throw new ServerException(
+                    format("Environment of workspace with ID '%s' failed due to internal error", workspaceId));
+        }
+
+        // needed to reuse startInstance method and
+        // create machine instances by different implementation-specific providers
+        MachineStarter machineStarter = (machineLogger, machineSource) -> {
+            CheServiceImpl serviceWithCorrectSource = getServiceWithCorrectSource(service, machineSource);
+            return machineProvider.startService(namespace,
+                                                workspaceId,
+                                                envName,
+                                                machineName,
+                                                isDev,
+                                                networkId,
+                                                serviceWithCorrectSource,
+                                                machineLogger);
+        };
+
+        MachineImpl machine =
+                MachineImpl.builder()
+                           .setConfig(MachineConfigImpl.builder()
+                                                       .setDev(isDev)
+                                                       .setLimits(new MachineLimitsImpl(
+                                                               bytesToMB(service.getMemLimit())))
+                                                       .setType("docker")
+                                                       .setName(machineName)
+                                                       .setEnvVariables(service.getEnvironment())
+                                                       .build())
+                           .setId(service.getId())
+                           .setWorkspaceId(workspaceId)
+                           .setStatus(MachineStatus.CREATING)
+                           .setEnvName(envName)
+                           .setOwner(creator)
+                           .build();
+
+        Instance instance = startInstance(recover,
+                                          envLogger,
+                                          machine,
+                                          machineStarter);
+
+        // Machine destroying is an expensive operation which must be
+        // performed outside of the lock, this section checks if
+        // the environment wasn't stopped while it is starting and sets
+        // polled flag to true if the environment wasn't stopped.
+        // Also removes the proceeded machine configuration from the queue
+        boolean queuePolled = false;
+        try (StripedLocks.WriteLock lock = stripedLocks.acquireWriteLock(workspaceId)) {
+            ensurePreDestroyIsNotExecuted();
+            EnvironmentHolder environmentHolder = environments.get(workspaceId);
+            if (environmentHolder != null) {
+                final Queue<String> queue = environmentHolder.startQueue;
+                if (queue != null) {
+                    queue.remove(machineName);
+                    queuePolled = true;
+                }
+            }
+        }
+
+        // If machine config is not polled from the queue
+        // then environment was stopped and newly created machine
+        // must be destroyed
+        if (!queuePolled) {
+            try {
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYING)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+
+                instance.destroy();
+
+                removeMachine(workspaceId, instance.getId());
+
+                eventService.publish(newDto(MachineStatusEvent.class)
+                                             .withEventType(MachineStatusEvent.EventType.DESTROYED)
+                                             .withDev(isDev)
+                                             .withMachineName(machineName)
+                                             .withMachineId(instance.getId())
+                                             .withWorkspaceId(workspaceId));
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
+            }
+            throw new ServerException("Workspace '" + workspaceId +
+                                      "' start interrupted. Workspace stopped before all its machines started");
+        }
+    }
+
     private Instance startInstance(boolean recover,
                                    MessageConsumer<MachineLogMessage> environmentLogger,
                                    MachineImpl machine,
@@ -990,21 +1093,17 @@ public class CheEnvironmentEngine {
     }
 
     /**
-     * Gets head config from the queue associated with the given {@code workspaceId}.
-     *
-     * <p>Note that this method won't actually poll the queue.
+     * Checks that start of environment associated with the given {@code workspaceId} is not interrupted.
      *
      * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
      *
-     * @return machine config which is in the queue head, or null
-     * if there are no machine configs left
      * @throws ServerException
      *         if queue doesn't exist which means that {@link #stop(String)} executed
      *         before all the machines started
      * @throws ServerException
-     *         if pre destroy has been invoked before peek config retrieved
+     *         if pre destroy has been invoked
      */
-    private String queuePeekOrFail(String workspaceId) throws ServerException {
+    private void ensureEnvironmentIsStarting(String workspaceId) throws ServerException {
         try (StripedLocks.ReadLock lock = stripedLocks.acquireReadLock(workspaceId)) {
             ensurePreDestroyIsNotExecuted();
             EnvironmentHolder environmentHolder = environments.get(workspaceId);
@@ -1012,7 +1111,6 @@ public class CheEnvironmentEngine {
                 throw new ServerException("Workspace " + workspaceId +
                                           " start interrupted. Workspace was stopped before all its machines were started");
             }
-            return environmentHolder.startQueue.peek();
         }
     }
 
@@ -1073,6 +1171,7 @@ public class CheEnvironmentEngine {
     @SuppressWarnings("unused")
     void cleanup() {
         isPreDestroyInvoked = true;
+        machineStartExecutor.shutdownNow();
         final java.io.File[] files = machineLogsDir.listFiles();
         if (files != null && files.length > 0) {
             for (java.io.File f : files) {
@@ -1164,6 +1263,7 @@ public class CheEnvironmentEngine {
 
     private static class EnvironmentHolder {
         final Queue<String>                      startQueue;
+        final Map<String, Set<String>>           startDependencies;
         final CheServicesEnvironmentImpl         environment;
         final MessageConsumer<MachineLogMessage> logger;
         final String                             name;
@@ -1173,12 +1273,14 @@ public class CheEnvironmentEngine {
         EnvStatus      status;
 
         EnvironmentHolder(List<String> startQueue,
+                          Map<String, Set<String>> startDependencies,
                           CheServicesEnvironmentImpl environment,
                           MessageConsumer<MachineLogMessage> envLogger,
                           EnvStatus envStatus,
                           String name,
                           String networkId) {
             this.startQueue = new ArrayDeque<>(startQueue);
+            this.startDependencies = startDependencies;
             this.machines = new CopyOnWriteArrayList<>();
             this.logger = envLogger;
             this.status = envStatus;
@@ -1189,6 +1291,7 @@ public class CheEnvironmentEngine {
 
         public EnvironmentHolder(EnvironmentHolder environmentHolder) {
             this.startQueue = environmentHolder.startQueue;
+            this.startDependencies = environmentHolder.startDependencies;
             this.machines = environmentHolder.machines;
             this.logger = environmentHolder.logger;
             this.status = environmentHolder.status;
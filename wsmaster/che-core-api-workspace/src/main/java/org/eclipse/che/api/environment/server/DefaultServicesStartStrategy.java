@@ -45,6 +45,18 @@ public class DefaultServicesStartStrategy {
         return sortByWeight(weights);
     }
 
+    /**
+     * Returns mapping of names of machines to names of machines they depend on, e.g. with
+     * {@code depends_on}, {@code links} or {@code volumes_from}. Machine can be started as soon
+     * as all the machines it depends on are started.
+     *
+     * @throws IllegalArgumentException
+     *         if machine depends on not known machine
+     */
+    public Map<String, Set<String>> getDependencies(CheServicesEnvironmentImpl composeEnvironment) throws IllegalArgumentException {
+        return buildDependencies(composeEnvironment.getServices());
+    }
+
     /**
      * Returns mapping of names of machines to its weights in dependency graph.
      *
@@ -58,45 +70,7 @@ public class DefaultServicesStartStrategy {
         Set<String> machinesLeft = new HashSet<>(services.keySet());
 
         // create machines dependency graph
-        Map<String, Set<String>> dependencies = new HashMap<>(services.size());
-        for (Map.Entry<String, CheServiceImpl> serviceEntry : services.entrySet()) {
-            CheServiceImpl service = serviceEntry.getValue();
-
-            Set<String> machineDependencies = Sets.newHashSetWithExpectedSize(service.getDependsOn().size() +
-                                                                              service.getLinks().size() +
-                                                                              service.getVolumesFrom().size());
-
-            for (String dependsOn : service.getDependsOn()) {
-                if (!services.containsKey(dependsOn)) {
-                    throw new IllegalArgumentException(
-                            format("Dependency '%s' in machine '%s' points to not known machine.",
-                                   dependsOn, serviceEntry.getKey()));
-                }
-                machineDependencies.add(dependsOn);
-            }
-
-            // links also counts as dependencies
-            for (String link : service.getLinks()) {
-                String dependency = getServiceFromLink(link);
-                if (!services.containsKey(dependency)) {
-                    throw new IllegalArgumentException(
-                            format("Dependency '%s' in machine '%s' points to not known machine.",
-                                   dependency, serviceEntry.getKey()));
-                }
-                machineDependencies.add(dependency);
-            }
-            // volumesFrom also counts as dependencies
-            for (String volumesFrom : service.getVolumesFrom()) {
-                String dependency = getServiceFromVolumesFrom(volumesFrom);
-                if (!services.containsKey(dependency)) {
-                    throw new IllegalArgumentException(
-                            format("Dependency '%s' in machine '%s' points to not known machine.",
-                                   dependency, serviceEntry.getKey()));
-                }
-                machineDependencies.add(dependency);
-            }
-            dependencies.put(serviceEntry.getKey(), machineDependencies);
-        }
+        Map<String, Set<String>> dependencies = buildDependencies(services);
 
         // Find weight of each machine in graph.
         // Weight of machine is calculated as sum of all weights of machines it depends on.
@@ -148,6 +122,55 @@ public class DefaultServicesStartStrategy {
         return weights;
     }
 
+    /**
+     * Creates machines dependency graph.
+     *
+     * @throws IllegalArgumentException
+     *         if machine depends on not known machine
+     */
+    private Map<String, Set<String>> buildDependencies(Map<String, CheServiceImpl> services) throws IllegalArgumentException {
+        Map<String, Set<String>> dependencies = new HashMap<>(services.size());
+        for (Map.Entry<String, CheServiceImpl> serviceEntry : services.entrySet()) {
+            CheServiceImpl service = serviceEntry.getValue();
+
+            Set<String> machineDependencies = Sets.newHashSetWithExpectedSize(service.getDependsOn().size() +
+                                                                              service.getLinks().size() +
+                                                                              service.getVolumesFrom().size());
+
+            for (String dependsOn : service.getDependsOn()) {
+                if (!services.containsKey(dependsOn)) {
+                    throw new IllegalArgumentException(
+                            format("Dependency '%s' in machine '%s' points to not known machine.",
+                                   dependsOn, serviceEntry.getKey()));
+                }
+                machineDependencies.add(dependsOn);
+            }
+
+            // links also counts as dependencies
+            for (String link : service.getLinks()) {
+                String dependency = getServiceFromLink(link);
+                if (!services.containsKey(dependency)) {
+                    throw new IllegalArgumentException(
+                            format("Dependency '%s' in machine '%s' points to not known machine.",
+                                   dependency, serviceEntry.getKey()));
+                }
+                machineDependencies.add(dependency);
+            }
+            // volumesFrom also counts as dependencies
+            for (String volumesFrom : service.getVolumesFrom()) {
+                String dependency = getServiceFromVolumesFrom(volumesFrom);
+                if (!services.containsKey(dependency)) {
+                    throw new IllegalArgumentException(
+                            format("Dependency '%s' in machine '%s' points to not known machine.",
+                                   dependency, serviceEntry.getKey()));
+                }
+                machineDependencies.add(dependency);
+            }
+            dependencies.put(serviceEntry.getKey(), machineDependencies);
+        }
+        return dependencies;
+    }
+
     /**
      * Parses link content into depends_on field representation - removes column and further chars
      */
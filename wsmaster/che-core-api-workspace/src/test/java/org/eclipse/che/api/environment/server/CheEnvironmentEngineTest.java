@@ -12,6 +12,7 @@ package org.eclipse.che.api.environment.server;
 
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineLogMessage;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
@@ -50,13 +51,13 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -78,6 +79,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertEqualsNoOrder;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
@@ -196,7 +198,7 @@ public class CheEnvironmentEngineTest {
         EnvironmentImpl env = createEnv();
         String envName = "env-1";
         String workspaceId = "wsId";
-        List<Instance> expectedMachines = new ArrayList<>();
+        List<Instance> expectedMachines = new CopyOnWriteArrayList<>();
         when(machineProvider.startService(anyString(),
                                           eq(workspaceId),
                                           eq(envName),
@@ -228,7 +230,85 @@ public class CheEnvironmentEngineTest {
                                                messageConsumer);
 
         // then
-        assertEquals(machines, expectedMachines);
+        assertEqualsNoOrder(machines.toArray(), expectedMachines.toArray());
+    }
+
+    @Test
+    public void shouldStartMachineOnlyAfterMachinesItDependsOnAreStarted() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        env.getRecipe().setContent("services:\n  " +
+                                   "dev-machine:\n    image: codenvy/ubuntu_jdk8\n    depends_on:\n      - machine2\n  " +
+                                   "machine2:\n    image: codenvy/ubuntu_jdk8");
+        List<String> startedMachines = new CopyOnWriteArrayList<>();
+        when(machineProvider.startService(anyString(),
+                                          anyString(),
+                                          anyString(),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    String machineName = (String)arguments[3];
+                    if ("machine2".equals(machineName)) {
+                        // gives dev machine a chance to start earlier if dependency is ignored
+                        Thread.sleep(100);
+                    }
+                    startedMachines.add(machineName);
+                    return spy(new NoOpMachineInstance(createMachine("wsId",
+                                                                     "env-1",
+                                                                     (CheServiceImpl)arguments[6],
+                                                                     machineName,
+                                                                     (boolean)arguments[4])));
+                });
+
+        // when
+        engine.start("wsId", "env-1", env, false, messageConsumer);
+
+        // then
+        assertEquals(startedMachines, asList("machine2", "dev-machine"));
+    }
+
+    @Test(expectedExceptions = ServerException.class, expectedExceptionsMessageRegExp = "machine2 start failed")
+    public void shouldDestroyStartedMachinesIfStartOfAnyMachineFails() throws Exception {
+        // given
+        EnvironmentImpl env = createEnv();
+        List<Instance> startedMachines = new CopyOnWriteArrayList<>();
+        when(machineProvider.startService(anyString(),
+                                          anyString(),
+                                          anyString(),
+                                          anyString(),
+                                          anyBoolean(),
+                                          anyString(),
+                                          any(CheServiceImpl.class),
+                                          any(LineConsumer.class)))
+                .thenAnswer(invocationOnMock -> {
+                    Object[] arguments = invocationOnMock.getArguments();
+                    String machineName = (String)arguments[3];
+                    if ("machine2".equals(machineName)) {
+                        throw new ServerException("machine2 start failed");
+                    }
+                    Instance instance = spy(new NoOpMachineInstance(createMachine("wsId",
+                                                                                  "env-1",
+                                                                                  (CheServiceImpl)arguments[6],
+                                                                                  machineName,
+                                                                                  (boolean)arguments[4])));
+                    startedMachines.add(instance);
+                    return instance;
+                });
+
+        // when
+        try {
+            engine.start("wsId", "env-1", env, false, messageConsumer);
+        } finally {
+            // then
+            for (Instance instance : startedMachines) {
+                verify(instance).destroy();
+            }
+            verify(machineProvider).destroyNetwork(anyString());
+        }
     }
 
     @Test